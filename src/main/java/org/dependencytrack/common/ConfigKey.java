@@ -39,6 +39,25 @@ public enum ConfigKey implements Config.Key {
     REPO_META_ANALYZER_CACHE_STAMPEDE_BLOCKER_ENABLED("repo.meta.analyzer.cacheStampedeBlocker.enabled", true),
     REPO_META_ANALYZER_CACHE_STAMPEDE_BLOCKER_LOCK_BUCKETS("repo.meta.analyzer.cacheStampedeBlocker.lock.buckets", 1000),
     REPO_META_ANALYZER_CACHE_STAMPEDE_BLOCKER_MAX_ATTEMPTS("repo.meta.analyzer.cacheStampedeBlocker.max.attempts", 10),
+    REPO_META_ANALYZER_PARALLELISM("repo.meta.analyzer.parallelism", 8),
+    REPO_META_ANALYZER_HOST_MAX_CONCURRENT_REQUESTS("repo.meta.analyzer.host.maxConcurrentRequests", 4),
+    REPO_META_ANALYZER_HOST_MAX_REQUESTS_PER_SECOND("repo.meta.analyzer.host.maxRequestsPerSecond", 10),
+    METRICS_UPDATE_SET_BASED_ENABLED("metrics.update.setBased.enabled", false),
+    METRICS_PORTFOLIO_UPDATE_MAX_CONCURRENCY("metrics.portfolio.update.max.concurrency", 0),
+    SCANNER_INTERNAL_INDEX_ENABLED("scanner.internal.index.enabled", false),
+    SCANNER_INTERNAL_INDEX_MAX_MEMORY_MB("scanner.internal.index.max.memory.mb", 512),
+    SCANNER_ANALYSIS_CACHE_MEMORY_MAX_SIZE("scanner.analysis.cache.memory.max.size", 100_000),
+    VULNERABILITY_ANALYSIS_PORTFOLIO_PARALLELISM("vulnerability.analysis.portfolio.parallelism", 1),
+    BOM_UPLOAD_QUEUE_WORKERS("bom.upload.queue.workers", 2),
+    BOM_UPLOAD_QUEUE_MAX_SIZE("bom.upload.queue.max.size", 100),
+    BOM_UPLOAD_QUEUE_RETRY_AFTER_SECONDS("bom.upload.queue.retry.after.seconds", 30),
+    BOM_VALIDATION_ASYNC_ENABLED("bom.validation.async.enabled", false),
+    OSV_MIRROR_PARALLELISM("osv.mirror.parallelism", 4),
+    SEARCH_INDEX_REFRESH_INTERVAL_MS("search.index.refresh.interval.ms", 1000),
+    SEARCH_INDEX_COMMIT_INTERVAL_MS("search.index.commit.interval.ms", 10000),
+    SEARCH_INDEX_COMMIT_MAX_PENDING_OPERATIONS("search.index.commit.max.pending.operations", 10000),
+    SEARCH_INDEX_REBUILD_PARALLELISM("search.index.rebuild.parallelism", 2),
+    SEARCH_INDEX_REBUILD_RAM_BUFFER_SIZE_MB("search.index.rebuild.ram.buffer.size.mb", 64),
     ALPINE_WORKER_POOL_DRAIN_TIMEOUT_DURATION("alpine.worker.pool.drain.timeout.duration", "PT5S"),
     TELEMETRY_SUBMISSION_ENABLED_DEFAULT("telemetry.submission.enabled.default", true);
 
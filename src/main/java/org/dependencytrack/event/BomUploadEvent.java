@@ -21,6 +21,8 @@ package org.dependencytrack.event;
 import alpine.event.framework.AbstractChainableEvent;
 import org.dependencytrack.model.Project;
 
+import java.io.File;
+
 import static org.dependencytrack.util.PersistenceUtil.assertNonPersistent;
 
 /**
@@ -32,20 +34,29 @@ import static org.dependencytrack.util.PersistenceUtil.assertNonPersistent;
 public class BomUploadEvent extends AbstractChainableEvent {
 
     private final Project project;
-    private final byte[] bom;
-
-    public BomUploadEvent(final Project project, final byte[] bom) {
+    private final File file;
+
+    /**
+     * @param project The project to upload the BOM to
+     * @param file    The spooled BOM file; Ownership is transferred to the event's subscriber,
+     *                which is responsible for deleting it once processed
+     * @since 4.14.0
+     */
+    public BomUploadEvent(final Project project, final File file) {
         assertNonPersistent(project, "project must not be persistent");
         this.project = project;
-        this.bom = bom.clone();
+        this.file = file;
     }
 
     public Project getProject() {
         return project;
     }
 
-    public byte[] getBom() {
-        return bom == null ? null : bom.clone();
+    /**
+     * @since 4.14.0
+     */
+    public File getFile() {
+        return file;
     }
 
 }
@@ -0,0 +1,423 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.event;
+
+import alpine.Config;
+import alpine.common.logging.Logger;
+import alpine.common.metrics.Metrics;
+import alpine.event.framework.Event;
+import alpine.event.framework.LoggableUncaughtExceptionHandler;
+import io.micrometer.core.instrument.Gauge;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dependencytrack.common.ConfigKey;
+import org.dependencytrack.model.BomUpload;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.persistence.QueryManager;
+import org.dependencytrack.tasks.BomUploadProcessingTask;
+import org.dependencytrack.util.BomSpoolUtil;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A durable queue for uploaded BOMs, backed by the database and the BOM spool directory.
+ * <p>
+ * Uploads are processed by a bounded number of workers, one upload per project at a time.
+ * When a new BOM is uploaded for a project that already has a pending upload, the pending
+ * upload is superseded, such that only the most recent BOM of the project is processed.
+ * The token of a superseded upload keeps reporting the processing status of the upload
+ * that superseded it.
+ * <p>
+ * Uploads survive restarts: Uploads that were being processed when the application stopped
+ * are picked up again when it is started the next time.
+ *
+ * @since 4.14.0
+ */
+public final class BomUploadQueue {
+
+    private static final Logger LOGGER = Logger.getLogger(BomUploadQueue.class);
+    private static final BomUploadQueue INSTANCE = new BomUploadQueue(
+            Config.getInstance().getPropertyAsInt(ConfigKey.BOM_UPLOAD_QUEUE_WORKERS),
+            Config.getInstance().getPropertyAsInt(ConfigKey.BOM_UPLOAD_QUEUE_MAX_SIZE),
+            Config.getInstance().getPropertyAsInt(ConfigKey.BOM_UPLOAD_QUEUE_RETRY_AFTER_SECONDS));
+
+    /**
+     * Interval in which idle workers check for new uploads.
+     * Workers are additionally notified whenever an upload is enqueued.
+     */
+    private static final long POLL_INTERVAL_MS = TimeUnit.SECONDS.toMillis(5);
+
+    private final int numWorkers;
+    private final int maxSize;
+    private final int retryAfterSeconds;
+    private final Object workerMonitor = new Object();
+    private long lastPurgeMillis;
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    BomUploadQueue(final int numWorkers, final int maxSize, final int retryAfterSeconds) {
+        this.numWorkers = numWorkers;
+        this.maxSize = maxSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static BomUploadQueue getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether an upload for the given project would currently be accepted.
+     * <p>
+     * Allows uploads to be rejected before they are spooled and validated. Because other uploads
+     * may be enqueued concurrently, {@link #enqueue(Project, File)} may still reject the upload.
+     *
+     * @param project The {@link Project} a BOM is about to be uploaded to
+     * @throws QueueFullException When the maximum number of pending uploads is reached
+     */
+    public void checkCapacity(final Project project) throws QueueFullException {
+        try (final var qm = new QueryManager()) {
+            if (isFull(qm, qm.getPendingBomUploads(project.getUuid()))) {
+                throw new QueueFullException(retryAfterSeconds);
+            }
+        }
+    }
+
+    /**
+     * Enqueues a spooled BOM for processing.
+     * <p>
+     * Ownership of {@code bomFile} is transferred to the queue, unless {@link QueueFullException} is thrown.
+     *
+     * @param project The {@link Project} the BOM was uploaded to
+     * @param bomFile The spooled BOM {@link File}
+     * @return A token to track the processing status of the upload with
+     * @throws QueueFullException When the maximum number of pending uploads is reached
+     */
+    public UUID enqueue(final Project project, final File bomFile) throws QueueFullException {
+        final UUID token = UUID.randomUUID();
+
+        final List<ClaimedUpload> supersededUploads;
+        synchronized (this) {
+            try (final var qm = new QueryManager()) {
+                supersededUploads = qm.callInTransaction(() -> {
+                    final List<BomUpload> pendingUploads = qm.getPendingBomUploads(project.getUuid());
+                    if (isFull(qm, pendingUploads)) {
+                        return null;
+                    }
+
+                    final List<ClaimedUpload> superseded = pendingUploads.stream()
+                            .map(upload -> new ClaimedUpload(upload.getToken(), upload.getProjectUuid(), upload.getFile()))
+                            .toList();
+                    qm.supersedeBomUploads(pendingUploads, token);
+                    qm.createBomUpload(token, project.getUuid(), bomFile.getAbsolutePath());
+                    return superseded;
+                });
+            }
+        }
+
+        if (supersededUploads == null) {
+            throw new QueueFullException(retryAfterSeconds);
+        }
+
+        for (final ClaimedUpload supersededUpload : supersededUploads) {
+            LOGGER.info("BOM upload %s for project %s is superseded by upload %s"
+                    .formatted(supersededUpload.token(), project.getUuid(), token));
+            BomSpoolUtil.delete(new File(supersededUpload.file()));
+        }
+
+        synchronized (workerMonitor) {
+            workerMonitor.notifyAll();
+        }
+
+        return token;
+    }
+
+    private boolean isFull(final QueryManager qm, final List<BomUpload> pendingUploadsOfProject) {
+        // Superseding a pending upload does not grow the queue, so it is always permitted.
+        return pendingUploadsOfProject.isEmpty() && qm.getPendingBomUploadCount() >= maxSize;
+    }
+
+    /**
+     * Determines whether an upload, or any of the events it triggered, is still being processed.
+     * <p>
+     * For superseded uploads, the status of the upload that superseded it is reported.
+     *
+     * @param token The token of the upload
+     * @return {@code true} when the upload is still being processed, otherwise {@code false}
+     */
+    public boolean isProcessing(final UUID token) {
+        if (Event.isEventBeingProcessed(token)) {
+            return true;
+        }
+
+        try (final var qm = new QueryManager()) {
+            final BomUpload upload = qm.getBomUpload(token);
+            if (upload == null) {
+                return false;
+            }
+            if (upload.getSupersededBy() == null) {
+                return true;
+            }
+
+            // Superseded uploads always reference the latest upload of the chain,
+            // see QueryManager#supersedeBomUploads.
+            return Event.isEventBeingProcessed(upload.getSupersededBy())
+                    || qm.isBomUploadQueued(upload.getSupersededBy());
+        }
+    }
+
+    /**
+     * Recovers uploads from a previous run, and starts the workers.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        recover();
+
+        Gauge.builder("bom_upload_queue_depth", this, BomUploadQueue::getDepth)
+                .description("Number of BOM uploads waiting to be processed")
+                .register(Metrics.getRegistry());
+        Gauge.builder("bom_upload_queue_lag_seconds", this, BomUploadQueue::getLagSeconds)
+                .description("Time the oldest pending BOM upload has been waiting to be processed")
+                .register(Metrics.getRegistry());
+
+        LOGGER.info("Starting %d BOM upload worker(s)".formatted(numWorkers));
+        running = true;
+        executor = Executors.newFixedThreadPool(numWorkers, new BasicThreadFactory.Builder()
+                .namingPattern("BomUploadWorker-%d")
+                .uncaughtExceptionHandler(new LoggableUncaughtExceptionHandler())
+                .build());
+        for (int i = 0; i < numWorkers; i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    /**
+     * Stops the workers, waiting up to {@code drainTimeout} for uploads in progress to complete.
+     * <p>
+     * Uploads that did not complete in time are resumed on the next {@link #start()}.
+     *
+     * @param drainTimeout Maximum {@link Duration} to wait for uploads in progress
+     */
+    public synchronized void shutdown(final Duration drainTimeout) {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        synchronized (workerMonitor) {
+            workerMonitor.notifyAll();
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("BOM upload workers did not complete within %s; Interrupting them".formatted(drainTimeout));
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void recover() {
+        try (final var qm = new QueryManager()) {
+            final long resetUploads = qm.callInTransaction(qm::resetStartedBomUploads);
+            if (resetUploads > 0) {
+                LOGGER.info("Resuming %d BOM upload(s) that were interrupted by a shutdown".formatted(resetUploads));
+            }
+
+            final var spooledFiles = new HashSet<File>();
+            for (final BomUpload upload : qm.getAllBomUploads()) {
+                if (upload.getSupersededBy() != null) {
+                    // Spooled BOMs of superseded uploads are deleted when they are superseded.
+                    continue;
+                }
+
+                final File file = new File(upload.getFile()).getAbsoluteFile();
+                if (file.exists()) {
+                    spooledFiles.add(file);
+                } else {
+                    LOGGER.warn("Spooled BOM of upload %s no longer exists; Discarding it".formatted(upload.getToken()));
+                    qm.runInTransaction(() -> qm.deleteBomUpload(upload.getToken()));
+                }
+            }
+
+            // BOMs may have been spooled, but never been enqueued, when the application stopped.
+            for (final File file : BomSpoolUtil.getSpooledFiles()) {
+                if (!spooledFiles.contains(file)) {
+                    LOGGER.debug("Deleting orphaned spooled BOM %s".formatted(file));
+                    BomSpoolUtil.delete(file);
+                }
+            }
+        }
+    }
+
+    private void work() {
+        while (running) {
+            final ClaimedUpload upload = claimNext();
+            if (upload != null) {
+                process(upload);
+                continue;
+            }
+
+            purgeSupersededUploads();
+
+            synchronized (workerMonitor) {
+                try {
+                    workerMonitor.wait(POLL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims the oldest pending upload of a project that does not currently have an upload being processed.
+     */
+    private synchronized ClaimedUpload claimNext() {
+        try (final var qm = new QueryManager()) {
+            return qm.callInTransaction(() -> {
+                final Set<UUID> busyProjectUuids = qm.getProjectUuidsOfStartedBomUploads();
+                for (final BomUpload upload : qm.getPendingBomUploads()) {
+                    if (!busyProjectUuids.contains(upload.getProjectUuid())) {
+                        upload.setStarted(new Date());
+                        return new ClaimedUpload(upload.getToken(), upload.getProjectUuid(), upload.getFile());
+                    }
+                }
+
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to claim next BOM upload", e);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes superseded uploads once the upload that superseded them, including all events it triggered,
+     * has been processed. Invoked by idle workers, at most once per {@link #POLL_INTERVAL_MS}.
+     */
+    private void purgeSupersededUploads() {
+        synchronized (this) {
+            final long nowMillis = System.currentTimeMillis();
+            if (nowMillis - lastPurgeMillis < POLL_INTERVAL_MS) {
+                return;
+            }
+            lastPurgeMillis = nowMillis;
+        }
+
+        try (final var qm = new QueryManager()) {
+            for (final UUID supersedingToken : qm.getSupersedingBomUploadTokens()) {
+                if (!Event.isEventBeingProcessed(supersedingToken) && !qm.isBomUploadQueued(supersedingToken)) {
+                    LOGGER.debug("Deleting uploads superseded by completed upload %s".formatted(supersedingToken));
+                    qm.runInTransaction(() -> qm.deleteSupersededBomUploads(supersedingToken));
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to delete superseded BOM uploads", e);
+        }
+    }
+
+    private void process(final ClaimedUpload upload) {
+        try {
+            final Project project;
+            try (final var qm = new QueryManager()) {
+                final Project persistentProject = qm.getObjectByUuid(Project.class, upload.projectUuid());
+                project = persistentProject != null ? qm.getPersistenceManager().detachCopy(persistentProject) : null;
+            }
+
+            if (project == null) {
+                LOGGER.warn("Project %s of BOM upload %s no longer exists; Discarding it"
+                        .formatted(upload.projectUuid(), upload.token()));
+                BomSpoolUtil.delete(new File(upload.file()));
+                return;
+            }
+
+            final var event = new BomUploadEvent(project, new File(upload.file()));
+            event.setChainIdentifier(upload.token());
+            new BomUploadProcessingTask().inform(event);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to process BOM upload %s".formatted(upload.token()), e);
+        } finally {
+            try (final var qm = new QueryManager()) {
+                qm.runInTransaction(() -> qm.deleteBomUpload(upload.token()));
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to delete BOM upload %s from the queue".formatted(upload.token()), e);
+            }
+        }
+    }
+
+    private double getDepth() {
+        try (final var qm = new QueryManager()) {
+            return qm.getPendingBomUploadCount();
+        }
+    }
+
+    private double getLagSeconds() {
+        try (final var qm = new QueryManager()) {
+            final Date oldestUploaded = qm.getOldestPendingBomUploadDate();
+            if (oldestUploaded == null) {
+                return 0;
+            }
+
+            return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - oldestUploaded.getTime());
+        }
+    }
+
+    /**
+     * Snapshot of a {@link BomUpload}, such that it can be used after its {@link QueryManager} was closed.
+     */
+    private record ClaimedUpload(UUID token, UUID projectUuid, String file) {
+    }
+
+    /**
+     * Thrown when an upload is rejected because the queue is full.
+     */
+    public static final class QueueFullException extends Exception {
+
+        private final int retryAfterSeconds;
+
+        private QueueFullException(final int retryAfterSeconds) {
+            super("The BOM upload queue is full");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        /**
+         * @return Number of seconds after which the upload may be retried
+         */
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+    }
+
+}
@@ -114,6 +114,8 @@ public class EventSubsystemInitializer implements ServletContextListener {
 
         EVENT_SERVICE_ST.subscribe(IndexEvent.class, IndexTask.class);
 
+        BomUploadQueue.getInstance().start();
+
         TaskScheduler.getInstance();
     }
 
@@ -124,6 +126,7 @@ public class EventSubsystemInitializer implements ServletContextListener {
     public void contextDestroyed(final ServletContextEvent event) {
         LOGGER.info("Shutting down asynchronous event subsystem");
         TaskScheduler.getInstance().shutdown();
+        BomUploadQueue.getInstance().shutdown(DRAIN_TIMEOUT_DURATION);
 
         EVENT_SERVICE.unsubscribe(BomUploadProcessingTask.class);
         EVENT_SERVICE.unsubscribe(VexUploadProcessingTask.class);
@@ -19,6 +19,7 @@
 package org.dependencytrack.event;
 
 import alpine.event.framework.AbstractChainableEvent;
+import alpine.event.framework.Event;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.License;
 import org.dependencytrack.model.Project;
@@ -33,6 +34,13 @@ import org.dependencytrack.search.document.ServiceComponentDocument;
 import org.dependencytrack.search.document.VulnerabilityDocument;
 import org.dependencytrack.search.document.VulnerableSoftwareDocument;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * Defines various Lucene index events.
  *
@@ -47,12 +55,15 @@ public class IndexEvent extends AbstractChainableEvent {
         DELETE,
         COMMIT,
         REINDEX,
-        CHECK
+        CHECK,
+        BATCH
     }
 
     private final Action action;
     private SearchDocument searchDocument;
     private final Class<?> indexableClass;
+    private List<IndexEvent> events;
+    private List<Class<?>> indexableClasses;
 
     public IndexEvent(final Action action, final Project project) {
         this(action, Project.class);
@@ -89,6 +100,31 @@ public class IndexEvent extends AbstractChainableEvent {
         this.indexableClass = clazz;
     }
 
+    /**
+     * Creates an {@link Action#REINDEX} event for multiple indexable classes,
+     * whose indexes are rebuilt concurrently.
+     *
+     * @param classes the indexable classes
+     * @since 4.14.0
+     */
+    public IndexEvent(final List<Class<?>> classes) {
+        this(Action.REINDEX, classes.getFirst());
+        this.indexableClasses = List.copyOf(classes);
+    }
+
+    /**
+     * Creates an {@link Action#BATCH} event, which applies multiple document events
+     * of the same indexable class in a single event.
+     *
+     * @param clazz  the indexable class
+     * @param events the document events to apply
+     * @since 4.14.0
+     */
+    public IndexEvent(final Class<?> clazz, final List<IndexEvent> events) {
+        this(Action.BATCH, clazz);
+        this.events = List.copyOf(events);
+    }
+
     public Action getAction() {
         return action;
     }
@@ -100,4 +136,87 @@ public class IndexEvent extends AbstractChainableEvent {
     public Class<?> getIndexableClass() {
         return indexableClass;
     }
+
+    /**
+     * @return the indexable classes this event applies to
+     * @since 4.14.0
+     */
+    public List<Class<?>> getIndexableClasses() {
+        return indexableClasses != null ? indexableClasses : List.of(indexableClass);
+    }
+
+    /**
+     * @return the document events of an {@link Action#BATCH} event, or {@code null} for any other action
+     * @since 4.14.0
+     */
+    public List<IndexEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Coalesces {@link IndexEvent}s for the same document, and groups them into one
+     * {@link Action#BATCH} event per indexable class.
+     * <p>
+     * For every document, only the most recent state is retained. A document that was deleted
+     * last is deleted, a document that was only ever created is created, and any other document
+     * is updated. Each {@link Action#BATCH} event takes the position of the first event it contains,
+     * all other events retain their original order.
+     *
+     * @param events the events to coalesce
+     * @return the coalesced events
+     * @since 4.14.0
+     */
+    public static List<Event> coalesce(final Collection<? extends Event> events) {
+        final Map<Class<?>, Map<UUID, IndexEvent>> documentEventsByClass = new LinkedHashMap<>();
+        final List<Object> slots = new ArrayList<>(events.size());
+
+        for (final Event event : events) {
+            if (!(event instanceof final IndexEvent indexEvent)
+                    || !isDocumentAction(indexEvent.getAction())
+                    || indexEvent.getDocument() == null
+                    || indexEvent.getDocument().uuid() == null) {
+                slots.add(event);
+                continue;
+            }
+
+            final Map<UUID, IndexEvent> documentEvents = documentEventsByClass.computeIfAbsent(
+                    indexEvent.getIndexableClass(), clazz -> {
+                        slots.add(clazz);
+                        return new LinkedHashMap<>();
+                    });
+            documentEvents.merge(indexEvent.getDocument().uuid(), indexEvent, IndexEvent::merge);
+        }
+
+        final List<Event> coalescedEvents = new ArrayList<>(slots.size());
+        for (final Object slot : slots) {
+            if (slot instanceof final Event event) {
+                coalescedEvents.add(event);
+                continue;
+            }
+
+            final List<IndexEvent> documentEvents = List.copyOf(documentEventsByClass.get((Class<?>) slot).values());
+            if (documentEvents.size() == 1) {
+                coalescedEvents.add(documentEvents.getFirst());
+            } else {
+                coalescedEvents.add(new IndexEvent((Class<?>) slot, documentEvents));
+            }
+        }
+
+        return coalescedEvents;
+    }
+
+    private static boolean isDocumentAction(final Action action) {
+        return action == Action.CREATE || action == Action.UPDATE || action == Action.DELETE;
+    }
+
+    private static IndexEvent merge(final IndexEvent previous, final IndexEvent current) {
+        if (current.getAction() != Action.CREATE || previous.getAction() == Action.CREATE) {
+            return current;
+        }
+
+        // The document may still be indexed, so it must be replaced rather than added.
+        final var event = new IndexEvent(Action.UPDATE, current.getIndexableClass());
+        event.searchDocument = current.getDocument();
+        return event;
+    }
 }
@@ -19,10 +19,14 @@
 package org.dependencytrack.event;
 
 import alpine.event.framework.AbstractChainableEvent;
+import org.dependencytrack.model.Component;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.VulnerabilityAnalysisLevel;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
 
@@ -33,15 +37,33 @@ public class ProjectVulnerabilityAnalysisEvent extends AbstractChainableEvent {
 
     private final UUID projectUuid;
     private final VulnerabilityAnalysisLevel analysisLevel;
+    private final Set<UUID> componentUuids;
 
     public ProjectVulnerabilityAnalysisEvent(
             final Project project,
             final VulnerabilityAnalysisLevel analysisLevel) {
+        this(project, analysisLevel, null);
+    }
+
+    /**
+     * @param project       The {@link Project} to analyze
+     * @param analysisLevel The {@link VulnerabilityAnalysisLevel} of the analysis
+     * @param components    The {@link Component}s of the project to limit the analysis to,
+     *                      or {@code null} to analyze all components of the project
+     * @since 4.14.0
+     */
+    public ProjectVulnerabilityAnalysisEvent(
+            final Project project,
+            final VulnerabilityAnalysisLevel analysisLevel,
+            final Collection<Component> components) {
         requireNonNull(project, "project must not be null");
         requireNonNull(project.getUuid(), "project uuid must not be null");
         requireNonNull(analysisLevel, "analysisLevel must not be null");
         this.projectUuid = project.getUuid();
         this.analysisLevel = analysisLevel;
+        this.componentUuids = components != null
+                ? components.stream().map(Component::getUuid).collect(Collectors.toUnmodifiableSet())
+                : null;
     }
 
     public UUID projectUuid() {
@@ -52,4 +74,12 @@ public class ProjectVulnerabilityAnalysisEvent extends AbstractChainableEvent {
         return analysisLevel;
     }
 
+    /**
+     * @return UUIDs of the components to limit the analysis to, or {@code null} when all components are to be analyzed
+     * @since 4.14.0
+     */
+    public Set<UUID> componentUuids() {
+        return componentUuids;
+    }
+
 }
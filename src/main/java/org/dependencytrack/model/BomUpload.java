@@ -0,0 +1,145 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.model;
+
+import javax.jdo.annotations.Column;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.Index;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+import javax.jdo.annotations.Unique;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Model class for uploaded BOMs that are waiting to be, or are currently being processed.
+ * <p>
+ * The BOM itself is spooled to disk, and only referenced by its file path.
+ * Records are deleted once processing has completed, regardless of its outcome.
+ * <p>
+ * Uploads that were superseded by a newer upload of the same project are retained, and reference
+ * the superseding upload, until that upload has been processed. This allows clients to keep tracking
+ * the processing status using the token of a superseded upload.
+ *
+ * @since 4.14.0
+ */
+@PersistenceCapable
+public class BomUpload implements Serializable {
+
+    private static final long serialVersionUID = 5370853428470960233L;
+
+    @PrimaryKey
+    @Persistent(valueStrategy = IdGeneratorStrategy.NATIVE)
+    private long id;
+
+    @Persistent
+    @Unique(name = "BOMUPLOAD_TOKEN_IDX")
+    @Column(name = "TOKEN", jdbcType = "VARCHAR", length = 36, allowsNull = "false")
+    private UUID token;
+
+    /**
+     * UUID of the project the BOM was uploaded to.
+     * <p>
+     * Intentionally not a foreign key, such that queued uploads do not prevent projects from being deleted.
+     */
+    @Persistent
+    @Index(name = "BOMUPLOAD_PROJECT_UUID_IDX")
+    @Column(name = "PROJECT_UUID", jdbcType = "VARCHAR", length = 36, allowsNull = "false")
+    private UUID projectUuid;
+
+    @Persistent
+    @Column(name = "FILE", jdbcType = "VARCHAR", length = 1024, allowsNull = "false")
+    private String file;
+
+    @Persistent
+    @Index(name = "BOMUPLOAD_UPLOADED_IDX")
+    @Column(name = "UPLOADED", allowsNull = "false")
+    private Date uploaded;
+
+    @Persistent
+    @Column(name = "STARTED")
+    private Date started;
+
+    /**
+     * Token of the upload that superseded this upload, or {@code null} when it was not superseded.
+     */
+    @Persistent
+    @Index(name = "BOMUPLOAD_SUPERSEDED_BY_IDX")
+    @Column(name = "SUPERSEDED_BY", jdbcType = "VARCHAR", length = 36)
+    private UUID supersededBy;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public UUID getToken() {
+        return token;
+    }
+
+    public void setToken(final UUID token) {
+        this.token = token;
+    }
+
+    public UUID getProjectUuid() {
+        return projectUuid;
+    }
+
+    public void setProjectUuid(final UUID projectUuid) {
+        this.projectUuid = projectUuid;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(final String file) {
+        this.file = file;
+    }
+
+    public Date getUploaded() {
+        return uploaded;
+    }
+
+    public void setUploaded(final Date uploaded) {
+        this.uploaded = uploaded;
+    }
+
+    public Date getStarted() {
+        return started;
+    }
+
+    public void setStarted(final Date started) {
+        this.started = started;
+    }
+
+    public UUID getSupersededBy() {
+        return supersededBy;
+    }
+
+    public void setSupersededBy(final UUID supersededBy) {
+        this.supersededBy = supersededBy;
+    }
+
+}
@@ -79,11 +79,9 @@ import java.util.UUID;
                 @Persistent(name = "properties"),
                 @Persistent(name = "vulnerabilities"),
         }),
-        @FetchGroup(name = "BOM_UPLOAD_PROCESSING", members = {
-                @Persistent(name = "properties")
-        }),
         @FetchGroup(name = "COMPONENT_VULN_ANALYSIS", members = {
                 @Persistent(name = "id"),
+                @Persistent(name = "classifier"),
                 @Persistent(name = "group"),
                 @Persistent(name = "name"),
                 @Persistent(name = "version"),
@@ -132,7 +130,6 @@ public class Component implements Serializable {
     public enum FetchGroup {
         ALL,
         COMPONENT_VULN_ANALYSIS,
-        BOM_UPLOAD_PROCESSING,
         INTERNAL_IDENTIFICATION,
         METRICS_UPDATE,
         NOTIFICATION,
@@ -412,6 +409,16 @@ public class Component implements Serializable {
     @JsonDeserialize(using = TrimmedStringDeserializer.class)
     private String notes;
 
+    /**
+     * Hash over the content of the component, as it was last synchronized from a BOM.
+     * Allows BOM processing to skip components that did not change since the previous upload.
+     *
+     * @since 4.14.0
+     */
+    @Persistent
+    @Column(name = "BOM_CONTENT_HASH", jdbcType = "VARCHAR", length = 64, allowsNull = "true")
+    private String bomContentHash;
+
     @Persistent(customValueStrategy = "uuid")
     @Unique(name = "COMPONENT_UUID_IDX")
     @Column(name = "UUID", jdbcType = "VARCHAR", length = 36, allowsNull = "false")
@@ -753,6 +760,16 @@ public class Component implements Serializable {
         this.directDependencies = directDependencies;
     }
 
+    @JsonIgnore
+    public String getBomContentHash() {
+        return bomContentHash;
+    }
+
+    @JsonIgnore
+    public void setBomContentHash(final String bomContentHash) {
+        this.bomContentHash = bomContentHash;
+    }
+
     public List<ExternalReference> getExternalReferences() {
         return externalReferences;
     }
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.model;
+
+import javax.jdo.annotations.Column;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.Index;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+import javax.jdo.annotations.Unique;
+import java.io.Serializable;
+
+/**
+ * Model class for a single edge in the dependency graph of a {@link Project}.
+ * <p>
+ * An edge without parent denotes a direct dependency of the project itself. Such edges are stored
+ * with a parent ID of {@link #PROJECT_PARENT_ID}, rather than {@code NULL}, such that the unique index
+ * on project, parent and child covers them too.
+ * Components are referenced by their ID, rather than through relationships, such that edges
+ * can be written and traversed in bulk without loading the components they connect.
+ * <p>
+ * {@link Component#getDirectDependencies()} and {@link Project#getDirectDependencies()}
+ * remain the source of truth for BOM exports; This table exists to support graph traversal.
+ *
+ * @since 4.14.0
+ */
+@PersistenceCapable(table = "COMPONENT_DEPENDENCY")
+@Unique(name = "COMPONENT_DEPENDENCY_EDGE_IDX", members = {"projectId", "parentId", "childId"})
+public class ComponentDependency implements Serializable {
+
+    private static final long serialVersionUID = -3187766415735125862L;
+
+    /**
+     * Parent ID of edges whose parent is the project. Never assigned to a {@link Component}.
+     */
+    public static final long PROJECT_PARENT_ID = 0;
+
+    /**
+     * Identity of an edge, independent of its persistent ID.
+     *
+     * @param parentId ID of the parent {@link Component}, or {@code null} if the project is the parent
+     * @param childId  ID of the child {@link Component}
+     */
+    public record Edge(Long parentId, long childId) {
+    }
+
+    @PrimaryKey
+    @Persistent(valueStrategy = IdGeneratorStrategy.NATIVE)
+    private long id;
+
+    @Persistent
+    @Index(name = "COMPONENT_DEPENDENCY_PROJECT_ID_IDX")
+    @Column(name = "PROJECT_ID", allowsNull = "false")
+    private long projectId;
+
+    @Persistent
+    @Index(name = "COMPONENT_DEPENDENCY_PARENT_ID_IDX")
+    @Column(name = "PARENT_COMPONENT_ID", allowsNull = "false")
+    private long parentId;
+
+    @Persistent
+    @Index(name = "COMPONENT_DEPENDENCY_CHILD_ID_IDX")
+    @Column(name = "CHILD_COMPONENT_ID", allowsNull = "false")
+    private long childId;
+
+    public ComponentDependency() {
+    }
+
+    public ComponentDependency(final long projectId, final Edge edge) {
+        this.projectId = projectId;
+        this.parentId = edge.parentId() != null ? edge.parentId() : PROJECT_PARENT_ID;
+        this.childId = edge.childId();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(final long projectId) {
+        this.projectId = projectId;
+    }
+
+    public long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(final long parentId) {
+        this.parentId = parentId;
+    }
+
+    public long getChildId() {
+        return childId;
+    }
+
+    public void setChildId(final long childId) {
+        this.childId = childId;
+    }
+
+    public Edge toEdge() {
+        return toEdge(parentId, childId);
+    }
+
+    /**
+     * @param parentId ID of the parent {@link Component}, or {@link #PROJECT_PARENT_ID} if the project is the parent
+     * @param childId  ID of the child {@link Component}
+     * @return The {@link Edge}
+     */
+    public static Edge toEdge(final long parentId, final long childId) {
+        return new Edge(parentId != PROJECT_PARENT_ID ? parentId : null, childId);
+    }
+
+}
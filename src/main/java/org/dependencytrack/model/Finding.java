@@ -104,6 +104,24 @@ public class Finding implements Serializable {
                AND (:includeSuppressed = :true OR "ANALYSIS"."SUPPRESSED" IS NULL OR "ANALYSIS"."SUPPRESSED" = :false)
             """;
 
+    // language=SQL
+    private static final String QUERY_ALL_FINDINGS_FROM = """
+              FROM "COMPONENT"
+             INNER JOIN "COMPONENTS_VULNERABILITIES"
+                ON "COMPONENT"."ID" = "COMPONENTS_VULNERABILITIES"."COMPONENT_ID"
+             INNER JOIN "VULNERABILITY"
+                ON "COMPONENTS_VULNERABILITIES"."VULNERABILITY_ID" = "VULNERABILITY"."ID"
+             INNER JOIN "FINDINGATTRIBUTION"
+                ON "COMPONENT"."ID" = "FINDINGATTRIBUTION"."COMPONENT_ID"
+               AND "VULNERABILITY"."ID" = "FINDINGATTRIBUTION"."VULNERABILITY_ID"
+              LEFT JOIN "ANALYSIS"
+                ON "COMPONENT"."ID" = "ANALYSIS"."COMPONENT_ID"
+               AND "VULNERABILITY"."ID" = "ANALYSIS"."VULNERABILITY_ID"
+               AND "COMPONENT"."PROJECT_ID" = "ANALYSIS"."PROJECT_ID"
+             INNER JOIN "PROJECT"
+                ON "COMPONENT"."PROJECT_ID" = "PROJECT"."ID"
+            """;
+
     // language=SQL
     public static final String QUERY_ALL_FINDINGS = """
             SELECT "COMPONENT"."UUID"
@@ -138,21 +156,12 @@ public class Finding implements Serializable {
                  , "PROJECT"."UUID"
                  , "PROJECT"."NAME"
                  , "PROJECT"."VERSION"
-              FROM "COMPONENT"
-             INNER JOIN "COMPONENTS_VULNERABILITIES"
-                ON "COMPONENT"."ID" = "COMPONENTS_VULNERABILITIES"."COMPONENT_ID"
-             INNER JOIN "VULNERABILITY"
-                ON "COMPONENTS_VULNERABILITIES"."VULNERABILITY_ID" = "VULNERABILITY"."ID"
-             INNER JOIN "FINDINGATTRIBUTION"
-                ON "COMPONENT"."ID" = "FINDINGATTRIBUTION"."COMPONENT_ID"
-               AND "VULNERABILITY"."ID" = "FINDINGATTRIBUTION"."VULNERABILITY_ID"
-              LEFT JOIN "ANALYSIS"
-                ON "COMPONENT"."ID" = "ANALYSIS"."COMPONENT_ID"
-               AND "VULNERABILITY"."ID" = "ANALYSIS"."VULNERABILITY_ID"
-               AND "COMPONENT"."PROJECT_ID" = "ANALYSIS"."PROJECT_ID"
-             INNER JOIN "PROJECT"
-                ON "COMPONENT"."PROJECT_ID" = "PROJECT"."ID"
-            """;
+            """ + QUERY_ALL_FINDINGS_FROM;
+
+    // language=SQL
+    public static final String QUERY_ALL_FINDINGS_COUNT = """
+            SELECT COUNT(*)
+            """ + QUERY_ALL_FINDINGS_FROM;
 
     private final UUID project;
     private final Map<String, Object> component = new LinkedHashMap<>();
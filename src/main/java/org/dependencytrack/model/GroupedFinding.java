@@ -38,22 +38,8 @@ public class GroupedFinding implements Serializable {
 
     private static final long serialVersionUID = 2246518534279822243L;
 
-    @SuppressWarnings("SqlShouldBeInGroupBy")
     // language=SQL
-    public static final String QUERY = """
-            SELECT "VULNERABILITY"."SOURCE"
-                 , "VULNERABILITY"."VULNID"
-                 , "VULNERABILITY"."TITLE"
-                 , "VULNERABILITY"."SEVERITY"
-                 , "VULNERABILITY"."CVSSV2BASESCORE"
-                 , "VULNERABILITY"."CVSSV3BASESCORE"
-                 , "VULNERABILITY"."OWASPRRLIKELIHOODSCORE"
-                 , "VULNERABILITY"."OWASPRRTECHNICALIMPACTSCORE"
-                 , "VULNERABILITY"."OWASPRRBUSINESSIMPACTSCORE"
-                 , "FINDINGATTRIBUTION"."ANALYZERIDENTITY"
-                 , "VULNERABILITY"."PUBLISHED"
-                 , "VULNERABILITY"."CWES"
-                 , COUNT(DISTINCT "PROJECT"."ID") AS "AFFECTED_PROJECT_COUNT"
+    public static final String QUERY_FROM = """
              FROM "COMPONENT"
             INNER JOIN "COMPONENTS_VULNERABILITIES"
                ON "COMPONENT"."ID" = "COMPONENTS_VULNERABILITIES"."COMPONENT_ID"
@@ -70,6 +56,24 @@ public class GroupedFinding implements Serializable {
                ON "COMPONENT"."PROJECT_ID" = "PROJECT"."ID"
             """;
 
+    @SuppressWarnings("SqlShouldBeInGroupBy")
+    // language=SQL
+    public static final String QUERY = """
+            SELECT "VULNERABILITY"."SOURCE"
+                 , "VULNERABILITY"."VULNID"
+                 , "VULNERABILITY"."TITLE"
+                 , "VULNERABILITY"."SEVERITY"
+                 , "VULNERABILITY"."CVSSV2BASESCORE"
+                 , "VULNERABILITY"."CVSSV3BASESCORE"
+                 , "VULNERABILITY"."OWASPRRLIKELIHOODSCORE"
+                 , "VULNERABILITY"."OWASPRRTECHNICALIMPACTSCORE"
+                 , "VULNERABILITY"."OWASPRRBUSINESSIMPACTSCORE"
+                 , "FINDINGATTRIBUTION"."ANALYZERIDENTITY"
+                 , "VULNERABILITY"."PUBLISHED"
+                 , "VULNERABILITY"."CWES"
+                 , COUNT(DISTINCT "PROJECT"."ID") AS "AFFECTED_PROJECT_COUNT"
+            """ + QUERY_FROM;
+
     private final Map<String, Object> vulnerability = new LinkedHashMap<>();
     private final Map<String, Object> attribution = new LinkedHashMap<>();
 
@@ -323,6 +323,14 @@ public class Project implements Serializable {
     @Column(name = "IS_LATEST", defaultValue = "false")
     private boolean isLatest = false; // Added in v4.12.
 
+    /**
+     * Whether the edges of this project's dependency graph have been populated in the {@link ComponentDependency} table.
+     */
+    @Persistent
+    @Column(name = "DEPENDENCY_GRAPH_POPULATED", defaultValue = "false")
+    @JsonIgnore
+    private boolean dependencyGraphPopulated = false; // Added in v4.14.
+
     @Persistent(table = "PROJECT_ACCESS_TEAMS", defaultFetchGroup = "true")
     @Join(column = "PROJECT_ID")
     @Element(column = "TEAM_ID")
@@ -603,6 +611,15 @@ public class Project implements Serializable {
         isLatest = latest != null ? latest : false;
     }
 
+    @JsonIgnore
+    public boolean isDependencyGraphPopulated() {
+        return dependencyGraphPopulated;
+    }
+
+    public void setDependencyGraphPopulated(final boolean dependencyGraphPopulated) {
+        this.dependencyGraphPopulated = dependencyGraphPopulated;
+    }
+
     public String getBomRef() {
         return bomRef;
     }
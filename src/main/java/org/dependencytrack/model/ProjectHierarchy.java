@@ -0,0 +1,110 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.model;
+
+import javax.jdo.annotations.Column;
+import javax.jdo.annotations.IdGeneratorStrategy;
+import javax.jdo.annotations.Index;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+import javax.jdo.annotations.Unique;
+import java.io.Serializable;
+
+/**
+ * Model class for a single ancestor-descendant relationship in the {@link Project} hierarchy.
+ * <p>
+ * The table holds one row per pair of a project and each of its (transitive) descendants, i.e. the
+ * closure of {@link Project#getParent()}. It allows descendant and ancestor lookups to be performed
+ * with a single indexed query, rather than walking the hierarchy one level at a time.
+ * Projects are referenced by their ID, rather than through relationships, such that rows
+ * can be written and deleted in bulk without loading the projects they connect.
+ * <p>
+ * {@link Project#getParent()} remains the source of truth; This table is derived from it.
+ *
+ * @since 4.14.0
+ */
+@PersistenceCapable(table = "PROJECT_HIERARCHY")
+@Unique(name = "PROJECT_HIERARCHY_ANCESTOR_DESCENDANT_IDX", members = {"ancestorId", "descendantId"})
+public class ProjectHierarchy implements Serializable {
+
+    private static final long serialVersionUID = 6046291623373512254L;
+
+    @PrimaryKey
+    @Persistent(valueStrategy = IdGeneratorStrategy.NATIVE)
+    private long id;
+
+    @Persistent
+    @Column(name = "ANCESTOR_PROJECT_ID", allowsNull = "false")
+    private long ancestorId;
+
+    @Persistent
+    @Index(name = "PROJECT_HIERARCHY_DESCENDANT_ID_IDX")
+    @Column(name = "DESCENDANT_PROJECT_ID", allowsNull = "false")
+    private long descendantId;
+
+    /**
+     * Distance between ancestor and descendant, where {@code 1} denotes a direct child.
+     */
+    @Persistent
+    @Column(name = "DEPTH", allowsNull = "false")
+    private int depth;
+
+    public ProjectHierarchy() {
+    }
+
+    public ProjectHierarchy(final long ancestorId, final long descendantId, final int depth) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(final long id) {
+        this.id = id;
+    }
+
+    public long getAncestorId() {
+        return ancestorId;
+    }
+
+    public void setAncestorId(final long ancestorId) {
+        this.ancestorId = ancestorId;
+    }
+
+    public long getDescendantId() {
+        return descendantId;
+    }
+
+    public void setDescendantId(final long descendantId) {
+        this.descendantId = descendantId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(final int depth) {
+        this.depth = depth;
+    }
+
+}
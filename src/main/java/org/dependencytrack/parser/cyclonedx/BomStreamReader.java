@@ -0,0 +1,477 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.cyclonedx.exception.ParseException;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.parsers.XmlParser;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a CycloneDX document from a {@link File}, without ever holding all of its components in memory.
+ * <p>
+ * The counterpart to {@link BomStreamWriter}: The document is first read with its top-level
+ * {@code components} omitted, after which the components are read in a separate pass, in batches
+ * of bounded size. Both are copied into small, partial documents that are deserialized using the
+ * regular {@link org.cyclonedx.parsers.Parser}s, such that version-specific parsing rules still apply.
+ * <p>
+ * Components nested in {@code metadata.component} are considered part of the metadata,
+ * and are thus read along with it.
+ *
+ * @since 4.14.0
+ */
+public abstract class BomStreamReader {
+
+    final File file;
+
+    private BomStreamReader(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates a {@link BomStreamReader} for the given {@link File}, based on whether it contains JSON or XML.
+     *
+     * @param file The {@link File} to read
+     * @return A {@link BomStreamReader}
+     * @throws IOException When the file could not be read
+     */
+    public static BomStreamReader create(final File file) throws IOException {
+        try (final InputStream inputStream = openInputStream(file)) {
+            int nextByte = inputStream.read();
+            while (nextByte != -1 && Character.isWhitespace(nextByte)) {
+                nextByte = inputStream.read();
+            }
+
+            return nextByte == '<' ? new Xml(file) : new Json(file);
+        }
+    }
+
+    /**
+     * Reads the document, omitting all top-level components.
+     * <p>
+     * Must be invoked before {@link #readComponents(int, Consumer)}.
+     *
+     * @return The {@link Bom}, without top-level components
+     * @throws ParseException When the document could not be parsed
+     */
+    public abstract Bom readWithoutComponents() throws ParseException;
+
+    /**
+     * Reads all top-level components of the document, and passes them to {@code consumer} in batches.
+     * <p>
+     * Nested components are part of their respective parent, and thus do not count towards the batch size.
+     *
+     * @param batchSize The maximum number of top-level components per batch
+     * @param consumer  The {@link Consumer} to pass batches to
+     * @throws ParseException When the document could not be parsed
+     */
+    public abstract void readComponents(final int batchSize, final Consumer<List<Component>> consumer) throws ParseException;
+
+    private static InputStream openInputStream(final File file) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(file.toPath()));
+    }
+
+    private static List<Component> getComponents(final Bom bom) {
+        return bom.getComponents() != null ? bom.getComponents() : Collections.emptyList();
+    }
+
+    private static final class Json extends BomStreamReader {
+
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+        private String specVersion;
+
+        private Json(final File file) {
+            super(file);
+        }
+
+        @Override
+        public Bom readWithoutComponents() throws ParseException {
+            final var outputStream = new ByteArrayOutputStream();
+            try (final JsonParser parser = createParser();
+                 final JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)) {
+                generator.writeStartObject();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String fieldName = parser.currentName();
+                    parser.nextToken();
+                    if ("components".equals(fieldName)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    generator.writeFieldName(fieldName);
+                    generator.copyCurrentStructure(parser);
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new ParseException("Unable to parse BOM", e);
+            }
+
+            final Bom bom = new org.cyclonedx.parsers.JsonParser().parse(outputStream.toByteArray());
+            specVersion = bom.getSpecVersion();
+            return bom;
+        }
+
+        @Override
+        public void readComponents(final int batchSize, final Consumer<List<Component>> consumer) throws ParseException {
+            if (specVersion == null) {
+                throw new IllegalStateException("Components can only be read after the remainder of the BOM");
+            }
+
+            try (final JsonParser parser = createParser()) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String fieldName = parser.currentName();
+                    if (parser.nextToken() != JsonToken.START_ARRAY || !"components".equals(fieldName)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    final var outputStream = new ByteArrayOutputStream();
+                    JsonGenerator generator = null;
+                    int batchedComponents = 0;
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (generator == null) {
+                            outputStream.reset();
+                            generator = startBatch(outputStream);
+                        }
+
+                        generator.copyCurrentStructure(parser);
+                        if (++batchedComponents == batchSize) {
+                            consumer.accept(endBatch(generator, outputStream));
+                            generator = null;
+                            batchedComponents = 0;
+                        }
+                    }
+
+                    if (generator != null) {
+                        consumer.accept(endBatch(generator, outputStream));
+                    }
+                }
+            } catch (IOException e) {
+                throw new ParseException("Unable to parse BOM", e);
+            }
+        }
+
+        private JsonParser createParser() throws IOException, ParseException {
+            final JsonParser parser = JSON_FACTORY.createParser(openInputStream(file));
+            try {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new ParseException("Unable to parse BOM: Expected a JSON object");
+                }
+            } catch (IOException | ParseException e) {
+                parser.close();
+                throw e;
+            }
+            return parser;
+        }
+
+        private JsonGenerator startBatch(final ByteArrayOutputStream outputStream) throws IOException {
+            final JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.writeStartObject();
+            generator.writeStringField("bomFormat", "CycloneDX");
+            generator.writeStringField("specVersion", specVersion);
+            generator.writeArrayFieldStart("components");
+            return generator;
+        }
+
+        private static List<Component> endBatch(final JsonGenerator generator,
+                                                final ByteArrayOutputStream outputStream) throws IOException, ParseException {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+            return getComponents(new org.cyclonedx.parsers.JsonParser().parse(outputStream.toByteArray()));
+        }
+
+    }
+
+    private static final class Xml extends BomStreamReader {
+
+        private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+        private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+        private StartElement rootElement;
+
+        private Xml(final File file) {
+            super(file);
+        }
+
+        @Override
+        public Bom readWithoutComponents() throws ParseException {
+            final var outputStream = new ByteArrayOutputStream();
+            try (final InputStream inputStream = openInputStream(file)) {
+                final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+                final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+                try {
+                    writer.writeStartDocument("UTF-8", "1.0");
+                    int depth = 0;
+                    while (reader.hasNext()) {
+                        switch (reader.next()) {
+                            case XMLStreamConstants.START_ELEMENT -> {
+                                final var element = StartElement.of(reader);
+                                if (depth == 0) {
+                                    rootElement = element;
+                                } else if (depth == 1 && "components".equals(reader.getLocalName())) {
+                                    skipElement(reader);
+                                    continue;
+                                }
+
+                                element.writeTo(writer);
+                                depth++;
+                            }
+                            case XMLStreamConstants.END_ELEMENT -> {
+                                writer.writeEndElement();
+                                depth--;
+                            }
+                            case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE, XMLStreamConstants.CDATA -> {
+                                if (depth > 0) {
+                                    copyText(reader, writer);
+                                }
+                            }
+                            default -> {
+                            }
+                        }
+                    }
+                    writer.writeEndDocument();
+                    writer.flush();
+                } finally {
+                    writer.close();
+                    reader.close();
+                }
+            } catch (IOException | XMLStreamException e) {
+                throw new ParseException("Unable to parse BOM", e);
+            }
+
+            if (rootElement == null) {
+                throw new ParseException("Unable to parse BOM: No root element found");
+            }
+
+            return new XmlParser().parse(outputStream.toByteArray());
+        }
+
+        @Override
+        public void readComponents(final int batchSize, final Consumer<List<Component>> consumer) throws ParseException {
+            if (rootElement == null) {
+                throw new IllegalStateException("Components can only be read after the remainder of the BOM");
+            }
+
+            try (final InputStream inputStream = openInputStream(file)) {
+                final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+                try {
+                    final var outputStream = new ByteArrayOutputStream();
+                    XMLStreamWriter writer = null;
+                    StartElement componentsElement = null;
+                    int batchedComponents = 0;
+                    int depth = 0;
+                    while (reader.hasNext()) {
+                        final int event = reader.next();
+                        if (event == XMLStreamConstants.START_ELEMENT) {
+                            if (depth == 1) {
+                                if (!"components".equals(reader.getLocalName())) {
+                                    skipElement(reader);
+                                    continue;
+                                }
+
+                                componentsElement = StartElement.of(reader);
+                            } else if (depth == 2) {
+                                if (writer == null) {
+                                    outputStream.reset();
+                                    writer = startBatch(outputStream, componentsElement);
+                                }
+
+                                copyElement(reader, writer);
+                                if (++batchedComponents == batchSize) {
+                                    consumer.accept(endBatch(writer, outputStream));
+                                    writer = null;
+                                    batchedComponents = 0;
+                                }
+                                continue;
+                            }
+                            depth++;
+                        } else if (event == XMLStreamConstants.END_ELEMENT) {
+                            depth--;
+                        }
+                    }
+
+                    if (writer != null) {
+                        consumer.accept(endBatch(writer, outputStream));
+                    }
+                } finally {
+                    reader.close();
+                }
+            } catch (IOException | XMLStreamException e) {
+                throw new ParseException("Unable to parse BOM", e);
+            }
+        }
+
+        private XMLStreamWriter startBatch(final ByteArrayOutputStream outputStream,
+                                           final StartElement componentsElement) throws XMLStreamException {
+            final XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            rootElement.writeTo(writer);
+            componentsElement.writeTo(writer);
+            return writer;
+        }
+
+        private static List<Component> endBatch(final XMLStreamWriter writer,
+                                                final ByteArrayOutputStream outputStream) throws XMLStreamException, ParseException {
+            writer.writeEndElement(); // components
+            writer.writeEndElement(); // bom
+            writer.writeEndDocument();
+            writer.close();
+            return getComponents(new XmlParser().parse(outputStream.toByteArray()));
+        }
+
+        /**
+         * Copies the element the reader is currently positioned at, including all of its children.
+         */
+        private static void copyElement(final XMLStreamReader reader, final XMLStreamWriter writer) throws XMLStreamException {
+            StartElement.of(reader).writeTo(writer);
+            int depth = 1;
+            while (depth > 0) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        StartElement.of(reader).writeTo(writer);
+                        depth++;
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        writer.writeEndElement();
+                        depth--;
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE, XMLStreamConstants.CDATA ->
+                            copyText(reader, writer);
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        /**
+         * Skips the element the reader is currently positioned at, including all of its children.
+         */
+        private static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                final int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+
+        private static void copyText(final XMLStreamReader reader, final XMLStreamWriter writer) throws XMLStreamException {
+            if (reader.getEventType() == XMLStreamConstants.CDATA) {
+                writer.writeCData(reader.getText());
+            } else {
+                writer.writeCharacters(reader.getText());
+            }
+        }
+
+        private static XMLInputFactory createXmlInputFactory() {
+            final XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+            xmlInputFactory.setProperty(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return xmlInputFactory;
+        }
+
+    }
+
+    /**
+     * An element's name, attributes, and namespace declarations, such that it can be re-written
+     * after the underlying {@link XMLStreamReader} moved on.
+     */
+    private record StartElement(String prefix, String localName, String namespaceUri,
+                                List<Attribute> attributes, List<Namespace> namespaces) {
+
+        private record Attribute(String prefix, String namespaceUri, String localName, String value) {
+        }
+
+        private record Namespace(String prefix, String namespaceUri) {
+        }
+
+        private static StartElement of(final XMLStreamReader reader) {
+            final var attributes = new ArrayList<Attribute>(reader.getAttributeCount());
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                attributes.add(new Attribute(reader.getAttributePrefix(i), reader.getAttributeNamespace(i),
+                        reader.getAttributeLocalName(i), reader.getAttributeValue(i)));
+            }
+
+            final var namespaces = new ArrayList<Namespace>(reader.getNamespaceCount());
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                namespaces.add(new Namespace(reader.getNamespacePrefix(i), reader.getNamespaceURI(i)));
+            }
+
+            return new StartElement(reader.getPrefix(), reader.getLocalName(), reader.getNamespaceURI(),
+                    attributes, namespaces);
+        }
+
+        private void writeTo(final XMLStreamWriter writer) throws XMLStreamException {
+            writer.writeStartElement(toPrefix(prefix), localName, toNamespaceUri(namespaceUri));
+            for (final Attribute attribute : attributes) {
+                if (attribute.namespaceUri() == null || attribute.namespaceUri().isEmpty()) {
+                    writer.writeAttribute(attribute.localName(), attribute.value());
+                } else {
+                    writer.writeAttribute(toPrefix(attribute.prefix()), attribute.namespaceUri(),
+                            attribute.localName(), attribute.value());
+                }
+            }
+            for (final Namespace namespace : namespaces) {
+                if (namespace.prefix() == null || namespace.prefix().isEmpty()) {
+                    writer.writeDefaultNamespace(namespace.namespaceUri());
+                } else {
+                    writer.writeNamespace(namespace.prefix(), namespace.namespaceUri());
+                }
+            }
+        }
+
+        private static String toPrefix(final String prefix) {
+            return prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX;
+        }
+
+        private static String toNamespaceUri(final String namespaceUri) {
+            return namespaceUri != null ? namespaceUri : XMLConstants.NULL_NS_URI;
+        }
+
+    }
+
+}
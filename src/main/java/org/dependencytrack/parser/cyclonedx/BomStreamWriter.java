@@ -0,0 +1,398 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.cyclonedx.Version;
+import org.cyclonedx.exception.GeneratorException;
+import org.cyclonedx.generators.BomGeneratorFactory;
+import org.cyclonedx.model.Bom;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Incrementally writes a CycloneDX document to an {@link OutputStream}.
+ * <p>
+ * Sections of the document are generated from small, partial {@link Bom}s using the regular
+ * {@link BomGeneratorFactory} generators, such that version-specific serialization rules still apply.
+ * Their output is then copied into the document as it is being written, which allows sections to be
+ * populated in batches without ever holding the entire document in memory.
+ * <p>
+ * Sections must be written in the order mandated by the CycloneDX XML schema, that is
+ * {@code components}, {@code services}, {@code dependencies}, {@code vulnerabilities}.
+ *
+ * @since 4.14.0
+ */
+abstract class BomStreamWriter implements Closeable {
+
+    final Version version;
+    private String openSection;
+
+    private BomStreamWriter(final Version version) {
+        this.version = version;
+    }
+
+    static BomStreamWriter create(final CycloneDXExporter.Format format, final Version version,
+                                  final OutputStream outputStream) throws IOException {
+        if (CycloneDXExporter.Format.JSON == format) {
+            return new Json(version, outputStream);
+        }
+        return new Xml(version, outputStream);
+    }
+
+    /**
+     * Starts the document, and writes all top-level fields of the given {@link Bom} to it.
+     *
+     * @param headBom The {@link Bom} holding top-level fields like serial number and metadata
+     */
+    abstract void writeHead(final Bom headBom) throws GeneratorException, IOException;
+
+    /**
+     * Appends all items of {@code section} in the given {@link Bom} to the document.
+     * <p>
+     * The section is opened with its first item, and remains open until another section
+     * is written to, or the document is ended. Sections without items are thus omitted.
+     *
+     * @param section    Name of the section, e.g. {@code components}
+     * @param partialBom The {@link Bom} holding the items to append
+     */
+    abstract void writeSection(final String section, final Bom partialBom) throws GeneratorException, IOException;
+
+    /**
+     * Closes any open section, and ends the document.
+     */
+    abstract void writeEnd() throws IOException;
+
+    abstract void startSection(final String section) throws IOException;
+
+    abstract void endSection() throws IOException;
+
+    void ensureSectionOpen(final String section) throws IOException {
+        if (section.equals(openSection)) {
+            return;
+        }
+        ensureSectionClosed();
+        startSection(section);
+        openSection = section;
+    }
+
+    void ensureSectionClosed() throws IOException {
+        if (openSection != null) {
+            endSection();
+            openSection = null;
+        }
+    }
+
+    private static final class Json extends BomStreamWriter {
+
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+        private final JsonGenerator generator;
+
+        private Json(final Version version, final OutputStream outputStream) throws IOException {
+            super(version);
+            this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .useDefaultPrettyPrinter();
+        }
+
+        @Override
+        void writeHead(final Bom headBom) throws GeneratorException, IOException {
+            generator.writeStartObject();
+            try (final JsonParser parser = createParser(headBom)) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    generator.writeFieldName(parser.currentName());
+                    parser.nextToken();
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+        }
+
+        @Override
+        void writeSection(final String section, final Bom partialBom) throws GeneratorException, IOException {
+            try (final JsonParser parser = createParser(partialBom)) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String fieldName = parser.currentName();
+                    if (parser.nextToken() != JsonToken.START_ARRAY || !section.equals(fieldName)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        ensureSectionOpen(section);
+                        generator.copyCurrentStructure(parser);
+                    }
+                }
+            }
+        }
+
+        @Override
+        void writeEnd() throws IOException {
+            ensureSectionClosed();
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        @Override
+        void startSection(final String section) throws IOException {
+            generator.writeArrayFieldStart(section);
+        }
+
+        @Override
+        void endSection() throws IOException {
+            generator.writeEndArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+
+        private JsonParser createParser(final Bom bom) throws GeneratorException, IOException {
+            final JsonParser parser = JSON_FACTORY.createParser(BomGeneratorFactory.createJson(version, bom).toJsonString());
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.close();
+                throw new IOException("Expected generated BOM to be a JSON object");
+            }
+            return parser;
+        }
+
+    }
+
+    private static final class Xml extends BomStreamWriter {
+
+        private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+        private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+        private final Writer writer;
+        private final XMLStreamWriter xmlWriter;
+        private String namespaceUri;
+
+        private Xml(final Version version, final OutputStream outputStream) throws IOException {
+            super(version);
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                // Write the declaration ourselves, as not all StAX implementations
+                // use double quotes for it, which consumers may rely on.
+                writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+                this.xmlWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        void writeHead(final Bom headBom) throws GeneratorException, IOException {
+            final XMLStreamReader reader = createReader(headBom);
+            try {
+                int depth = 0;
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            if (depth++ == 0) {
+                                namespaceUri = reader.getNamespaceURI();
+                            }
+                            copyStartElement(reader);
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            // The root element is ended in writeEnd.
+                            if (--depth > 0) {
+                                xmlWriter.writeEndElement();
+                            }
+                        }
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE, XMLStreamConstants.CDATA -> {
+                            if (depth > 0) {
+                                copyText(reader);
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                closeQuietly(reader);
+            }
+        }
+
+        @Override
+        void writeSection(final String section, final Bom partialBom) throws GeneratorException, IOException {
+            final XMLStreamReader reader = createReader(partialBom);
+            try {
+                int depth = 0;
+                boolean inSection = false;
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            if (depth == 1 && section.equals(reader.getLocalName())) {
+                                inSection = true;
+                            } else if (inSection) {
+                                ensureSectionOpen(section);
+                                copyStartElement(reader);
+                            }
+                            depth++;
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            depth--;
+                            if (inSection && depth >= 2) {
+                                xmlWriter.writeEndElement();
+                            } else if (depth == 1) {
+                                inSection = false;
+                            }
+                        }
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE, XMLStreamConstants.CDATA -> {
+                            if (inSection && depth >= 3) {
+                                copyText(reader);
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                closeQuietly(reader);
+            }
+        }
+
+        @Override
+        void writeEnd() throws IOException {
+            ensureSectionClosed();
+            try {
+                xmlWriter.writeEndElement();
+                xmlWriter.writeEndDocument();
+                xmlWriter.flush();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+            writer.flush();
+        }
+
+        @Override
+        void startSection(final String section) throws IOException {
+            try {
+                xmlWriter.writeStartElement("", section, namespaceUri);
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        void endSection() throws IOException {
+            try {
+                xmlWriter.writeEndElement();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                xmlWriter.close();
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+            writer.flush();
+        }
+
+        private XMLStreamReader createReader(final Bom bom) throws GeneratorException, IOException {
+            try {
+                return XML_INPUT_FACTORY.createXMLStreamReader(
+                        new StringReader(BomGeneratorFactory.createXml(version, bom).toXmlString()));
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+
+        private void copyStartElement(final XMLStreamReader reader) throws XMLStreamException {
+            xmlWriter.writeStartElement(toPrefix(reader.getPrefix()), reader.getLocalName(), toNamespaceUri(reader.getNamespaceURI()));
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                final String attributeNamespaceUri = reader.getAttributeNamespace(i);
+                if (attributeNamespaceUri == null || attributeNamespaceUri.isEmpty()) {
+                    xmlWriter.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                } else {
+                    xmlWriter.writeAttribute(toPrefix(reader.getAttributePrefix(i)), attributeNamespaceUri,
+                            reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                }
+            }
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                final String prefix = reader.getNamespacePrefix(i);
+                if (prefix == null || prefix.isEmpty()) {
+                    xmlWriter.writeDefaultNamespace(reader.getNamespaceURI(i));
+                } else {
+                    xmlWriter.writeNamespace(prefix, reader.getNamespaceURI(i));
+                }
+            }
+        }
+
+        private void copyText(final XMLStreamReader reader) throws XMLStreamException {
+            if (reader.getEventType() == XMLStreamConstants.CDATA) {
+                xmlWriter.writeCData(reader.getText());
+            } else {
+                xmlWriter.writeCharacters(reader.getText());
+            }
+        }
+
+        private static String toPrefix(final String prefix) {
+            return prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX;
+        }
+
+        private static String toNamespaceUri(final String namespaceUri) {
+            return namespaceUri != null ? namespaceUri : XMLConstants.NULL_NS_URI;
+        }
+
+        private static void closeQuietly(final XMLStreamReader reader) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // Nothing we can do about it.
+            }
+        }
+
+        private static XMLInputFactory createXmlInputFactory() {
+            final XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+            xmlInputFactory.setProperty(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return xmlInputFactory;
+        }
+
+    }
+
+}
@@ -23,6 +23,7 @@ import org.cyclonedx.Version;
 import org.cyclonedx.exception.GeneratorException;
 import org.cyclonedx.generators.BomGeneratorFactory;
 import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Dependency;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.Finding;
 import org.dependencytrack.model.Project;
@@ -31,8 +32,14 @@ import org.dependencytrack.parser.cyclonedx.util.ModelConverter;
 import org.dependencytrack.persistence.QueryManager;
 
 import javax.jdo.FetchGroup;
+import javax.jdo.PersistenceManager;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -50,6 +57,8 @@ public class CycloneDXExporter {
         VEX
     }
 
+    private static final int BATCH_SIZE = 500;
+
     private final QueryManager qm;
     private final CycloneDXExporter.Variant variant;
 
@@ -107,4 +116,116 @@ public class CycloneDXExporter {
         return BomGeneratorFactory.createXml(version, bom).toXmlString();
     }
 
+    /**
+     * Exports a {@link Project} to the given {@link OutputStream}, without building the entire document in memory.
+     * <p>
+     * Components and the dependency graph are loaded and written in batches. The output is equivalent
+     * to that of {@link #export(Bom, Format, Version)} for the {@link Bom} created by {@link #create(Project)}.
+     *
+     * @param project      The {@link Project} to export
+     * @param format       The {@link Format} to export in
+     * @param version      The CycloneDX specification {@link Version} to export
+     * @param outputStream The {@link OutputStream} to write to
+     * @since 4.14.0
+     */
+    public void export(final Project project, final Format format, final Version version,
+                       final OutputStream outputStream) throws GeneratorException, IOException {
+        try (final BomStreamWriter writer = BomStreamWriter.create(format, version, outputStream)) {
+            final Bom headBom = new Bom();
+            headBom.setSerialNumber("urn:uuid:" + UUID.randomUUID());
+            headBom.setVersion(1);
+            headBom.setMetadata(ModelConverter.createMetadata(project));
+            writer.writeHead(headBom);
+
+            if (Variant.VEX != variant) {
+                final Set<String> componentUuids = writeComponents(writer, project);
+                writeServices(writer, project);
+                writeDependencies(writer, project, componentUuids);
+            }
+
+            final List<Finding> findings = switch (variant) {
+                case INVENTORY_WITH_VULNERABILITIES, VDR, VEX -> qm.getFindings(project, true);
+                default -> null;
+            };
+            final var vulnerabilitiesBom = new Bom();
+            vulnerabilitiesBom.setVulnerabilities(ModelConverter.generateVulnerabilities(qm, variant, findings));
+            writer.writeSection("vulnerabilities", vulnerabilitiesBom);
+
+            writer.writeEnd();
+        }
+    }
+
+    private Set<String> writeComponents(final BomStreamWriter writer, final Project project) throws GeneratorException, IOException {
+        final var componentUuids = new HashSet<String>();
+        final PersistenceManager pm = qm.getPersistenceManager();
+
+        long offset = 0;
+        List<Component> components;
+        do {
+            try (final var ignored = new ScopedCustomization(pm).withFetchGroup(FetchGroup.ALL)) {
+                components = qm.getComponents(project, offset, BATCH_SIZE);
+            }
+            offset += components.size();
+
+            final var cycloneComponents = new ArrayList<org.cyclonedx.model.Component>(components.size());
+            for (final Component component : components) {
+                if (Variant.VDR == variant && component.getVulnerabilities().isEmpty()) {
+                    continue;
+                }
+                cycloneComponents.add(ModelConverter.convert(qm, component));
+                componentUuids.add(component.getUuid().toString());
+            }
+            if (!cycloneComponents.isEmpty()) {
+                final var partialBom = new Bom();
+                partialBom.setComponents(cycloneComponents);
+                writer.writeSection("components", partialBom);
+            }
+
+            // Release the batch's state, so it can be garbage collected.
+            pm.evictAll(false, Component.class);
+        } while (components.size() == BATCH_SIZE);
+
+        return componentUuids;
+    }
+
+    private void writeServices(final BomStreamWriter writer, final Project project) throws GeneratorException, IOException {
+        final List<ServiceComponent> services;
+        try (final var ignored = new ScopedCustomization(qm.getPersistenceManager())
+                .withFetchGroup(FetchGroup.ALL)) {
+            services = qm.getAllServiceComponents(project);
+        }
+        if (services == null || services.isEmpty()) {
+            return;
+        }
+
+        final var partialBom = new Bom();
+        partialBom.setServices(services.stream().map(service -> ModelConverter.convert(qm, service)).collect(Collectors.toList()));
+        writer.writeSection("services", partialBom);
+    }
+
+    private void writeDependencies(final BomStreamWriter writer, final Project project, final Set<String> componentUuids) throws GeneratorException, IOException {
+        final var rootBom = new Bom();
+        rootBom.setDependencies(List.of(ModelConverter.generateDependency(project.getUuid().toString(), project.getDirectDependencies(), componentUuids)));
+        writer.writeSection("dependencies", rootBom);
+
+        long offset = 0;
+        Map<String, String> directDependenciesByUuid;
+        do {
+            directDependenciesByUuid = qm.getDirectDependencies(project, offset, BATCH_SIZE);
+            offset += directDependenciesByUuid.size();
+
+            final var dependencies = new ArrayList<Dependency>(directDependenciesByUuid.size());
+            for (final Map.Entry<String, String> entry : directDependenciesByUuid.entrySet()) {
+                if (componentUuids.contains(entry.getKey())) {
+                    dependencies.add(ModelConverter.generateDependency(entry.getKey(), entry.getValue(), componentUuids));
+                }
+            }
+            if (!dependencies.isEmpty()) {
+                final var partialBom = new Bom();
+                partialBom.setDependencies(dependencies);
+                writer.writeSection("dependencies", partialBom);
+            }
+        } while (directDependenciesByUuid.size() == BATCH_SIZE);
+    }
+
 }
@@ -21,23 +21,37 @@ package org.dependencytrack.parser.cyclonedx;
 import alpine.common.logging.Logger;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.ValidationMessage;
 import org.cyclonedx.Version;
-import org.cyclonedx.exception.ParseException;
 import org.cyclonedx.parsers.JsonParser;
-import org.cyclonedx.parsers.Parser;
 import org.cyclonedx.parsers.XmlParser;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
 
 import javax.xml.XMLConstants;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.XMLEvent;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.cyclonedx.CycloneDxSchema.NS_BOM_10;
 import static org.cyclonedx.CycloneDxSchema.NS_BOM_11;
@@ -63,6 +77,8 @@ public class CycloneDxValidator {
     private static final CycloneDxValidator INSTANCE = new CycloneDxValidator();
 
     private final JsonMapper jsonMapper = new JsonMapper();
+    private final Map<Version, JsonSchema> jsonSchemaByVersion = new ConcurrentHashMap<>();
+    private final Map<Version, Schema> xmlSchemaByVersion = new ConcurrentHashMap<>();
 
     CycloneDxValidator() {
     }
@@ -72,32 +88,143 @@ public class CycloneDxValidator {
     }
 
     public void validate(final byte[] bomBytes) {
-        final FormatAndVersion formatAndVersion = detectFormatAndSchemaVersion(bomBytes);
+        final FormatAndVersion formatAndVersion = detectFormatAndSchemaVersion(() -> new ByteArrayInputStream(bomBytes));
 
-        final Parser bomParser = switch (formatAndVersion.format()) {
-            case JSON -> new JsonParser();
-            case XML -> new XmlParser();
-        };
+        final List<String> validationErrors;
+        try {
+            validationErrors = validate(formatAndVersion, () -> new ByteArrayInputStream(bomBytes));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to validate BOM", e);
+        }
+
+        assertNoValidationErrors(validationErrors);
+    }
 
-        final List<ParseException> validationErrors;
+    /**
+     * Validates a BOM without reading it into memory first.
+     *
+     * @param bomFile The BOM {@link File} to validate
+     * @since 4.14.0
+     */
+    public void validate(final File bomFile) {
+        final BomInputStreamSupplier bomInputStreamSupplier =
+                () -> new BufferedInputStream(Files.newInputStream(bomFile.toPath()));
+        final FormatAndVersion formatAndVersion = detectFormatAndSchemaVersion(bomInputStreamSupplier);
+
+        final List<String> validationErrors;
         try {
-            validationErrors = bomParser.validate(bomBytes, formatAndVersion.version());
+            validationErrors = validate(formatAndVersion, bomInputStreamSupplier);
         } catch (IOException e) {
             throw new RuntimeException("Failed to validate BOM", e);
         }
 
+        assertNoValidationErrors(validationErrors);
+    }
+
+    private List<String> validate(final FormatAndVersion formatAndVersion,
+                                  final BomInputStreamSupplier bomInputStreamSupplier) throws IOException {
+        return switch (formatAndVersion.format()) {
+            case JSON -> validateJson(formatAndVersion.version(), bomInputStreamSupplier);
+            case XML -> validateXml(formatAndVersion.version(), bomInputStreamSupplier);
+        };
+    }
+
+    private List<String> validateJson(final Version version,
+                                      final BomInputStreamSupplier bomInputStreamSupplier) throws IOException {
+        final JsonSchema schema = getJsonSchema(version);
+
+        final JsonNode bomNode;
+        try (final InputStream bomInputStream = bomInputStreamSupplier.get()) {
+            bomNode = jsonMapper.readTree(bomInputStream);
+        }
+
+        return schema.validate(bomNode).stream()
+                .map(ValidationMessage::getMessage)
+                .toList();
+    }
+
+    private List<String> validateXml(final Version version,
+                                     final BomInputStreamSupplier bomInputStreamSupplier) throws IOException {
+        final Validator validator = getXmlSchema(version).newValidator();
+        try {
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        } catch (SAXException e) {
+            throw new IllegalStateException("Failed to configure XML schema validator", e);
+        }
+
+        // The document is streamed through the validator, it is never held in memory as a whole.
+        final var validationErrors = new ArrayList<String>();
+        validator.setErrorHandler(new ErrorHandler() {
+
+            @Override
+            public void warning(final SAXParseException exception) {
+            }
+
+            @Override
+            public void error(final SAXParseException exception) {
+                validationErrors.add(exception.getMessage());
+            }
+
+            @Override
+            public void fatalError(final SAXParseException exception) throws SAXException {
+                throw exception;
+            }
+
+        });
+
+        try (final InputStream bomInputStream = bomInputStreamSupplier.get()) {
+            validator.validate(new StreamSource(bomInputStream));
+        } catch (SAXException e) {
+            validationErrors.add(e.getMessage());
+        }
+
+        return validationErrors;
+    }
+
+    /**
+     * Schemas are compiled only once per spec version. Compilation is comparatively expensive,
+     * whereas the compiled {@link JsonSchema} is thread-safe and can be reused for every BOM.
+     */
+    private JsonSchema getJsonSchema(final Version version) {
+        return jsonSchemaByVersion.computeIfAbsent(version, ignored -> {
+            LOGGER.debug("Compiling JSON schema for spec version %s".formatted(version.getVersionString()));
+            try {
+                return new JsonParser().getJsonSchema(version, jsonMapper);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load JSON schema for spec version %s"
+                        .formatted(version.getVersionString()), e);
+            }
+        });
+    }
+
+    /**
+     * Schemas are compiled only once per spec version. Compilation is comparatively expensive,
+     * whereas the compiled {@link Schema} is thread-safe and can be reused for every BOM.
+     */
+    private Schema getXmlSchema(final Version version) {
+        return xmlSchemaByVersion.computeIfAbsent(version, ignored -> {
+            LOGGER.debug("Compiling XML schema for spec version %s".formatted(version.getVersionString()));
+            try {
+                return new XmlParser().getXmlSchema(version);
+            } catch (SAXException e) {
+                throw new IllegalStateException("Failed to load XML schema for spec version %s"
+                        .formatted(version.getVersionString()), e);
+            }
+        });
+    }
+
+    private static void assertNoValidationErrors(final List<String> validationErrors) {
         if (!validationErrors.isEmpty()) {
-            throw new InvalidBomException("Schema validation failed", validationErrors.stream()
-                    .map(ParseException::getMessage)
-                    .toList());
+            throw new InvalidBomException("Schema validation failed", validationErrors);
         }
     }
 
-    private FormatAndVersion detectFormatAndSchemaVersion(final byte[] bomBytes) {
+    private FormatAndVersion detectFormatAndSchemaVersion(final BomInputStreamSupplier bomInputStreamSupplier) {
         final var suppressedExceptions = new ArrayList<Exception>(2);
 
         try {
-            final Version version = detectSchemaVersionFromJson(bomBytes);
+            final Version version = detectSchemaVersionFromJson(bomInputStreamSupplier);
             return new FormatAndVersion(Format.JSON, version);
         } catch (JsonParseException e) {
             suppressedExceptions.add(e);
@@ -109,8 +236,10 @@ public class CycloneDxValidator {
         }
 
         try {
-            final Version version = detectSchemaVersionFromXml(bomBytes);
+            final Version version = detectSchemaVersionFromXml(bomInputStreamSupplier);
             return new FormatAndVersion(Format.XML, version);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         } catch (XMLStreamException e) {
             suppressedExceptions.add(e);
             if (LOGGER.isDebugEnabled()) {
@@ -123,8 +252,9 @@ public class CycloneDxValidator {
         throw exception;
     }
 
-    private Version detectSchemaVersionFromJson(final byte[] bomBytes) throws IOException {
-        try (final com.fasterxml.jackson.core.JsonParser jsonParser = jsonMapper.createParser(bomBytes)) {
+    private Version detectSchemaVersionFromJson(final BomInputStreamSupplier bomInputStreamSupplier) throws IOException {
+        try (final InputStream bomInputStream = bomInputStreamSupplier.get();
+             final com.fasterxml.jackson.core.JsonParser jsonParser = jsonMapper.createParser(bomInputStream)) {
             JsonToken currentToken = jsonParser.nextToken();
             if (currentToken != JsonToken.START_OBJECT) {
                 final String currentTokenAsString = Optional.ofNullable(currentToken)
@@ -162,7 +292,7 @@ public class CycloneDxValidator {
         }
     }
 
-    private Version detectSchemaVersionFromXml(final byte[] bomBytes) throws XMLStreamException {
+    private Version detectSchemaVersionFromXml(final BomInputStreamSupplier bomInputStreamSupplier) throws IOException, XMLStreamException {
         final XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
         xmlInputFactory.setProperty(XMLConstants.FEATURE_SECURE_PROCESSING, true);
         // NB: Setting XMLConstants.ACCESS_EXTERNAL_DTD to empty string is recommended by SAST tools,
@@ -170,8 +300,12 @@ public class CycloneDxValidator {
         // Setting IS_SUPPORTING_EXTERNAL_ENTITIES to false achieves the same:
         // https://github.com/FasterXML/woodstox/issues/50#issuecomment-388842419
         xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-        final var bomBytesStream = new ByteArrayInputStream(bomBytes);
-        final XMLStreamReader xmlStreamReader = xmlInputFactory.createXMLStreamReader(bomBytesStream);
+        try (final InputStream bomInputStream = bomInputStreamSupplier.get()) {
+            return detectSchemaVersionFromXml(xmlInputFactory.createXMLStreamReader(bomInputStream));
+        }
+    }
+
+    private static Version detectSchemaVersionFromXml(final XMLStreamReader xmlStreamReader) throws XMLStreamException {
 
         Version schemaVersion = null;
         while (xmlStreamReader.hasNext()) {
@@ -217,6 +351,13 @@ public class CycloneDxValidator {
         return schemaVersion;
     }
 
+    @FunctionalInterface
+    private interface BomInputStreamSupplier {
+
+        InputStream get() throws IOException;
+
+    }
+
     private enum Format {
         JSON,
         XML
@@ -70,10 +70,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNullElse;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
@@ -968,21 +970,38 @@ public class ModelConverter {
             return Collections.emptyList();
         }
 
-        final var dependencies = new ArrayList<Dependency>();
-        final var rootDependency = new Dependency(project.getUuid().toString());
-        rootDependency.setDependencies(convertDirectDependencies(project.getDirectDependencies(), components));
-        dependencies.add(rootDependency);
+        final Set<String> componentUuids = components.stream()
+                .map(Component::getUuid)
+                .map(UUID::toString)
+                .collect(Collectors.toSet());
 
+        final var dependencies = new ArrayList<Dependency>();
+        dependencies.add(generateDependency(project.getUuid().toString(), project.getDirectDependencies(), componentUuids));
         for (final Component component : components) {
-            final var dependency = new Dependency(component.getUuid().toString());
-            dependency.setDependencies(convertDirectDependencies(component.getDirectDependencies(), components));
-            dependencies.add(dependency);
+            dependencies.add(generateDependency(component.getUuid().toString(), component.getDirectDependencies(), componentUuids));
         }
 
         return dependencies;
     }
 
-    private static List<Dependency> convertDirectDependencies(final String directDependenciesRaw, final List<Component> components) {
+    /**
+     * Converts raw {@link Project#getDirectDependencies()} or {@link Component#getDirectDependencies()}
+     * references of a single node to a CycloneDX dependency.
+     *
+     * @param ref                   The BOM reference of the node
+     * @param directDependenciesRaw The raw direct dependencies of the node
+     * @param componentUuids        UUIDs of all {@link Component}s included in the BOM; References to other
+     *                              {@link Component}s are omitted
+     * @return The CycloneDX representation of the node's dependencies
+     * @since 4.14.0
+     */
+    public static Dependency generateDependency(final String ref, final String directDependenciesRaw, final Set<String> componentUuids) {
+        final var dependency = new Dependency(ref);
+        dependency.setDependencies(convertDirectDependencies(directDependenciesRaw, componentUuids));
+        return dependency;
+    }
+
+    private static List<Dependency> convertDirectDependencies(final String directDependenciesRaw, final Set<String> componentUuids) {
         if (directDependenciesRaw == null || directDependenciesRaw.isBlank()) {
             return Collections.emptyList();
         }
@@ -995,8 +1014,8 @@ public class ModelConverter {
             for (final JsonValue directDependency : directDependenciesJsonArray) {
                 if (directDependency instanceof final JsonObject directDependencyObject) {
                     final String componentUuid = directDependencyObject.getString("uuid", null);
-                    if (componentUuid != null && components.stream().map(Component::getUuid).map(UUID::toString).anyMatch(componentUuid::equals)) {
-                        dependencies.add(new Dependency(directDependencyObject.getString("uuid")));
+                    if (componentUuid != null && componentUuids.contains(componentUuid)) {
+                        dependencies.add(new Dependency(componentUuid));
                     }
                 }
             }
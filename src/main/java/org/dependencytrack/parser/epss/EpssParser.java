@@ -21,15 +21,32 @@ package org.dependencytrack.parser.epss;
 import alpine.common.logging.Logger;
 import org.dependencytrack.model.Vulnerability;
 import org.dependencytrack.persistence.QueryManager;
-import java.io.File;
-import java.io.FileNotFoundException;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.jdo.datastore.JDOConnection;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Parser and processor of EPSS data.
+ * <p>
+ * Scores are read in a streaming fashion, and applied to existing NVD vulnerabilities in chunks.
+ * Per chunk, current scores are fetched with a single query, and only changed scores are written
+ * back using a batched update statement.
  *
  * @author Steve Springett
  * @since 4.5.0
@@ -37,37 +54,159 @@ import java.util.Scanner;
 public final class EpssParser {
 
     private static final Logger LOGGER = Logger.getLogger(EpssParser.class);
+    private static final int CHUNK_SIZE = 1000;
+    private static final int SCALE = 5;
+
+    private record EpssRecord(String cveId, BigDecimal score, BigDecimal percentile) {
+    }
+
+    private record ScoreUpdate(long vulnId, BigDecimal score, BigDecimal percentile) {
+    }
 
-    public void parse(final File file) {
-        if (!file.getName().endsWith(".csv")) {
-            return;
+    /**
+     * Statistics of an EPSS import.
+     *
+     * @param rowsProcessed number of CVE rows read from the feed
+     * @param rowsUpdated   number of vulnerabilities whose scores were updated
+     * @param rowsUnchanged number of rows that did not result in an update, because scores were
+     *                      already current or no matching vulnerability exists
+     * @param durationMs    duration of the import, in milliseconds
+     * @since 4.14.0
+     */
+    public record ImportStats(long rowsProcessed, long rowsUpdated, long rowsUnchanged, long durationMs) {
+
+        public long rowsPerSecond() {
+            return durationMs > 0 ? rowsProcessed * 1000 / durationMs : rowsProcessed;
         }
-        LOGGER.info("Parsing " + file.getName());
-        try (final Scanner scanner = new Scanner(file)) {
-            while (scanner.hasNextLine()) {
-                final List<String> values = new ArrayList<>();
-                try (final Scanner rowScanner = new Scanner(scanner.nextLine())) {
-                    rowScanner.useDelimiter(",");
-                    while (rowScanner.hasNext()) {
-                        values.add(rowScanner.next());
-                    }
+
+    }
+
+    /**
+     * Parses EPSS data in CSV format from the given {@link InputStream}, and applies the scores
+     * to existing vulnerabilities.
+     *
+     * @param inputStream the {@link InputStream} to read uncompressed CSV data from
+     * @return {@link ImportStats} of the import
+     * @throws IOException When reading from the {@link InputStream} failed
+     * @since 4.14.0
+     */
+    public ImportStats parse(final InputStream inputStream) throws IOException {
+        final long startTimeNs = System.nanoTime();
+        long rowsProcessed = 0;
+        long rowsUpdated = 0;
+
+        final var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try (final QueryManager qm = new QueryManager()) {
+            final var chunk = new ArrayList<EpssRecord>(CHUNK_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final EpssRecord record = parseLine(line);
+                if (record == null) {
+                    continue;
                 }
-                if (values.get(0).startsWith("CVE-")) {
-                    final String cveId = values.get(0);
-                    final BigDecimal epssScore = new BigDecimal(values.get(1));
-                    final BigDecimal percentile = new BigDecimal(values.get(2));
-                    try (final QueryManager qm = new QueryManager()) {
-                        final Vulnerability vuln = qm.getVulnerabilityByVulnId(Vulnerability.Source.NVD, cveId);
-                        if (vuln != null) {
-                            vuln.setEpssScore(epssScore);
-                            vuln.setEpssPercentile(percentile);
-                            qm.persist(vuln);
-                        }
-                    }
+
+                chunk.add(record);
+                rowsProcessed++;
+                if (chunk.size() == CHUNK_SIZE) {
+                    rowsUpdated += processChunk(qm, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                rowsUpdated += processChunk(qm, chunk);
+            }
+        }
+
+        final long durationMs = (System.nanoTime() - startTimeNs) / 1_000_000;
+        return new ImportStats(rowsProcessed, rowsUpdated, rowsProcessed - rowsUpdated, durationMs);
+    }
+
+    private static EpssRecord parseLine(final String line) {
+        // Rows have the format "cve,epss,percentile". Comment and header lines do not start with "CVE-".
+        if (!line.startsWith("CVE-")) {
+            return null;
+        }
+
+        final int scoreStart = line.indexOf(',') + 1;
+        final int percentileStart = line.indexOf(',', scoreStart) + 1;
+        if (scoreStart == 0 || percentileStart == 0) {
+            LOGGER.warn("Skipping malformed EPSS row: " + line);
+            return null;
+        }
+        final int percentileEnd = line.indexOf(',', percentileStart);
+
+        try {
+            return new EpssRecord(
+                    line.substring(0, scoreStart - 1),
+                    new BigDecimal(line.substring(scoreStart, percentileStart - 1)).setScale(SCALE, RoundingMode.HALF_EVEN),
+                    new BigDecimal(percentileEnd < 0 ? line.substring(percentileStart) : line.substring(percentileStart, percentileEnd))
+                            .setScale(SCALE, RoundingMode.HALF_EVEN));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Skipping EPSS row with invalid score: " + line);
+            return null;
+        }
+    }
+
+    private static long processChunk(final QueryManager qm, final List<EpssRecord> chunk) {
+        final var recordByCveId = new HashMap<String, EpssRecord>(chunk.size());
+        for (final EpssRecord record : chunk) {
+            recordByCveId.put(record.cveId(), record);
+        }
+
+        final PersistenceManager pm = qm.getPersistenceManager();
+        final Query<Vulnerability> query = pm.newQuery(Vulnerability.class);
+        query.setFilter("source == :source && :cveIds.contains(vulnId)");
+        query.setNamedParameters(Map.of(
+                "source", Vulnerability.Source.NVD.name(),
+                "cveIds", recordByCveId.keySet()));
+        query.setResult("id, vulnId, epssScore, epssPercentile");
+
+        final var updates = new ArrayList<ScoreUpdate>();
+        try {
+            for (final Object[] row : query.executeResultList(Object[].class)) {
+                final EpssRecord record = recordByCveId.get((String) row[1]);
+                if (record == null
+                        || (isEqual(record.score(), (BigDecimal) row[2]) && isEqual(record.percentile(), (BigDecimal) row[3]))) {
+                    continue;
                 }
+
+                updates.add(new ScoreUpdate(((Number) row[0]).longValue(), record.score(), record.percentile()));
             }
-        } catch (FileNotFoundException e) {
-            LOGGER.error("An error occurred while parsing EPSS data", e);
+        } finally {
+            query.closeAll();
         }
+
+        if (!updates.isEmpty()) {
+            qm.runInTransaction(() -> executeUpdates(pm, updates));
+        }
+        return updates.size();
     }
+
+    private static void executeUpdates(final PersistenceManager pm, final List<ScoreUpdate> updates) {
+        final JDOConnection jdoConnection = pm.getDataStoreConnection();
+        final var nativeConnection = (Connection) jdoConnection.getNativeConnection();
+        try (final PreparedStatement ps = nativeConnection.prepareStatement("""
+                UPDATE "VULNERABILITY"
+                   SET "EPSSSCORE" = ?
+                     , "EPSSPERCENTILE" = ?
+                 WHERE "ID" = ?
+                """)) {
+            for (final ScoreUpdate update : updates) {
+                ps.setBigDecimal(1, update.score());
+                ps.setBigDecimal(2, update.percentile());
+                ps.setLong(3, update.vulnId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to update EPSS scores", e);
+        } finally {
+            jdoConnection.close();
+        }
+    }
+
+    private static boolean isEqual(final BigDecimal expected, final BigDecimal actual) {
+        return actual != null && Objects.equals(0, expected.compareTo(actual));
+    }
+
 }
@@ -32,6 +32,7 @@ import org.dependencytrack.model.VulnerableSoftware;
 import org.dependencytrack.parser.common.resolver.CweResolver;
 import org.dependencytrack.parser.snyk.model.SnykError;
 import org.dependencytrack.persistence.QueryManager;
+import org.dependencytrack.tasks.scanners.VulnerableSoftwareIndex;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -119,6 +120,8 @@ public class SnykParser {
             vsList = qm.reconcileVulnerableSoftware(synchronizedVulnerability, vsListOld, vsList, Vulnerability.Source.SNYK);
             synchronizedVulnerability.setVulnerableSoftware(vsList);
             qm.persist(synchronizedVulnerability);
+            // Changes are committed upon persist.
+            VulnerableSoftwareIndex.getInstance().update(synchronizedVulnerability);
         }
         return synchronizedVulnerability;
     }
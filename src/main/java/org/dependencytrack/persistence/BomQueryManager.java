@@ -20,12 +20,15 @@ package org.dependencytrack.persistence;
 
 import alpine.resources.AlpineRequest;
 import org.dependencytrack.model.Bom;
+import org.dependencytrack.model.BomUpload;
 import org.dependencytrack.model.Project;
 
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 final class BomQueryManager extends QueryManager implements IQueryManager {
 
@@ -82,4 +85,211 @@ final class BomQueryManager extends QueryManager implements IQueryManager {
         final Query<Bom> query = pm.newQuery(Bom.class, "project == :project");
         query.deletePersistentAll(project);
     }
+
+    /**
+     * Creates a new {@link BomUpload} for a spooled BOM.
+     * @param token the token identifying the upload
+     * @param projectUuid the UUID of the project the BOM was uploaded to
+     * @param file the path of the spooled BOM file
+     * @return the created {@link BomUpload}
+     * @since 4.14.0
+     */
+    public BomUpload createBomUpload(final UUID token, final UUID projectUuid, final String file) {
+        final var bomUpload = new BomUpload();
+        bomUpload.setToken(token);
+        bomUpload.setProjectUuid(projectUuid);
+        bomUpload.setFile(file);
+        bomUpload.setUploaded(new Date());
+        return persist(bomUpload);
+    }
+
+    /**
+     * Returns the {@link BomUpload} with a given token.
+     * @param token the token of the upload
+     * @return the {@link BomUpload}, or null if it does not exist
+     * @since 4.14.0
+     */
+    public BomUpload getBomUpload(final UUID token) {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("token == :token");
+        query.setParameters(token);
+        return executeAndCloseUnique(query);
+    }
+
+    /**
+     * Returns all {@link BomUpload}s that have not been started or superseded yet, oldest first.
+     * @return a List of {@link BomUpload}s
+     * @since 4.14.0
+     */
+    public List<BomUpload> getPendingBomUploads() {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("started == null && supersededBy == null");
+        query.setOrdering("uploaded asc, id asc");
+        return executeAndCloseList(query);
+    }
+
+    /**
+     * Returns all {@link BomUpload}s of a given project that have not been started or superseded yet.
+     * @param projectUuid the UUID of the project
+     * @return a List of {@link BomUpload}s
+     * @since 4.14.0
+     */
+    public List<BomUpload> getPendingBomUploads(final UUID projectUuid) {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("projectUuid == :projectUuid && started == null && supersededBy == null");
+        query.setParameters(projectUuid);
+        return executeAndCloseList(query);
+    }
+
+    /**
+     * Returns the number of {@link BomUpload}s that have not been started or superseded yet.
+     * @return the number of pending {@link BomUpload}s
+     * @since 4.14.0
+     */
+    public long getPendingBomUploadCount() {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("started == null && supersededBy == null");
+        return getCount(query);
+    }
+
+    /**
+     * Returns the time at which the oldest pending {@link BomUpload} was uploaded.
+     * @return the upload time of the oldest pending {@link BomUpload}, or null if there is none
+     * @since 4.14.0
+     */
+    public Date getOldestPendingBomUploadDate() {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("started == null && supersededBy == null");
+        query.setResult("min(uploaded)");
+        try {
+            return query.executeResultUnique(Date.class);
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Marks {@link BomUpload}s as superseded by another upload.
+     * <p>
+     * Uploads that were previously superseded by any of the given uploads are re-pointed
+     * to the superseding upload, too, such that they never reference a superseded upload.
+     * @param uploads the {@link BomUpload}s to mark as superseded
+     * @param supersedingToken the token of the superseding upload
+     * @since 4.14.0
+     */
+    public void supersedeBomUploads(final List<BomUpload> uploads, final UUID supersedingToken) {
+        if (uploads.isEmpty()) {
+            return;
+        }
+
+        final List<UUID> supersededTokens = uploads.stream().map(BomUpload::getToken).toList();
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter(":tokens.contains(supersededBy)");
+        query.setParameters(supersededTokens);
+        final List<BomUpload> transitivelySupersededUploads = executeAndCloseList(query);
+
+        for (final BomUpload upload : uploads) {
+            upload.setSupersededBy(supersedingToken);
+        }
+        for (final BomUpload upload : transitivelySupersededUploads) {
+            upload.setSupersededBy(supersedingToken);
+        }
+    }
+
+    /**
+     * Returns the tokens of all {@link BomUpload}s that superseded at least one other upload.
+     * @return a Set of tokens
+     * @since 4.14.0
+     */
+    public Set<UUID> getSupersedingBomUploadTokens() {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("supersededBy != null");
+        query.setResult("DISTINCT supersededBy");
+        try {
+            return Set.copyOf(query.executeResultList(UUID.class));
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Deletes all {@link BomUpload}s that were superseded by a given upload.
+     * @param supersedingToken the token of the superseding upload
+     * @since 4.14.0
+     */
+    public void deleteSupersededBomUploads(final UUID supersedingToken) {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class, "supersededBy == :supersedingToken");
+        query.deletePersistentAll(supersedingToken);
+    }
+
+    /**
+     * Returns the UUIDs of all projects for which a {@link BomUpload} is currently being processed.
+     * @return a Set of project UUIDs
+     * @since 4.14.0
+     */
+    public Set<UUID> getProjectUuidsOfStartedBomUploads() {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("started != null");
+        query.setResult("DISTINCT projectUuid");
+        try {
+            return Set.copyOf(query.executeResultList(UUID.class));
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Determines whether a {@link BomUpload} with a given token is pending, or being processed.
+     * <p>
+     * Superseded uploads are not considered to be queued.
+     * @param token the token of the upload
+     * @return true if the upload is queued, otherwise false
+     * @since 4.14.0
+     */
+    public boolean isBomUploadQueued(final UUID token) {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setFilter("token == :token && supersededBy == null");
+        return getCount(query, token) > 0;
+    }
+
+    /**
+     * Deletes the {@link BomUpload} with a given token.
+     * @param token the token of the upload
+     * @since 4.14.0
+     */
+    public void deleteBomUpload(final UUID token) {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class, "token == :token");
+        query.deletePersistentAll(token);
+    }
+
+    /**
+     * Marks all started {@link BomUpload}s as pending again.
+     * <p>
+     * Intended to be used on startup, to resume uploads that were interrupted by a shutdown.
+     * @return the number of {@link BomUpload}s that were reset
+     * @since 4.14.0
+     */
+    public long resetStartedBomUploads() {
+        final Query<?> query = pm.newQuery(Query.JDOQL, """
+                UPDATE org.dependencytrack.model.BomUpload
+                   SET started = null
+                 WHERE started != null
+                """);
+        try {
+            return ((Number) query.execute()).longValue();
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Returns all {@link BomUpload}s, regardless of their state.
+     * @return a List of {@link BomUpload}s
+     * @since 4.14.0
+     */
+    public List<BomUpload> getAllBomUploads() {
+        final Query<BomUpload> query = pm.newQuery(BomUpload.class);
+        query.setOrdering("uploaded asc, id asc");
+        return executeAndCloseList(query);
+    }
 }
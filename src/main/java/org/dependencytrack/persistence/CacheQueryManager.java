@@ -19,14 +19,19 @@
 package org.dependencytrack.persistence;
 
 import alpine.resources.AlpineRequest;
+import org.apache.commons.collections4.ListUtils;
 import org.dependencytrack.model.ComponentAnalysisCache;
+import org.dependencytrack.tasks.scanners.VulnerabilityAnalysisResultCache;
 
 import jakarta.json.JsonObject;
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 public class CacheQueryManager extends QueryManager implements IQueryManager {
 
@@ -56,6 +61,41 @@ public class CacheQueryManager extends QueryManager implements IQueryManager {
         return singleResult(query.executeWithArray(cacheType, targetHost, targetType, target));
     }
 
+    /**
+     * Fetches the most recent {@link ComponentAnalysisCache} entries for multiple targets at once.
+     * <p>
+     * Targets are looked up with a single query per 1000 targets, rather than one query per target.
+     *
+     * @param cacheType  the {@link ComponentAnalysisCache.CacheType} to look up
+     * @param targetHost the host the cached analysis was performed against
+     * @param targetType the type of the targets, e.g. the name of a {@link org.dependencytrack.model.Vulnerability.Source}
+     * @param targets    the targets to look up
+     * @return the most recent cache entry per target; targets without any entry are omitted
+     * @since 4.14.0
+     */
+    public Map<String, ComponentAnalysisCache> getComponentAnalysisCaches(ComponentAnalysisCache.CacheType cacheType, String targetHost, String targetType, Collection<String> targets) {
+        final List<String> distinctTargets = targets.stream().filter(Objects::nonNull).distinct().toList();
+        final var cacheByTarget = new HashMap<String, ComponentAnalysisCache>(distinctTargets.size());
+        for (final List<String> targetsPartition : ListUtils.partition(distinctTargets, 1000)) {
+            final Query<ComponentAnalysisCache> query = pm.newQuery(ComponentAnalysisCache.class,
+                    "cacheType == :cacheType && targetHost == :targetHost && targetType == :targetType && :targets.contains(target)");
+            query.setNamedParameters(Map.of(
+                    "cacheType", cacheType,
+                    "targetHost", targetHost,
+                    "targetType", targetType,
+                    "targets", targetsPartition));
+            try {
+                for (final ComponentAnalysisCache cac : query.executeList()) {
+                    cacheByTarget.merge(cac.getTarget(), cac, (existing, candidate) ->
+                            candidate.getLastOccurrence().after(existing.getLastOccurrence()) ? candidate : existing);
+                }
+            } finally {
+                query.closeAll();
+            }
+        }
+        return cacheByTarget;
+    }
+
     public List<ComponentAnalysisCache> getComponentAnalysisCache(ComponentAnalysisCache.CacheType cacheType, String targetType, String target) {
         final Query<ComponentAnalysisCache> query = pm.newQuery(ComponentAnalysisCache.class,
                 "cacheType == :cacheType && targetType == :targetType && target == :target");
@@ -64,30 +104,51 @@ public class CacheQueryManager extends QueryManager implements IQueryManager {
         return query.executeList();
     }
 
+    /**
+     * Creates or updates a {@link ComponentAnalysisCache} entry.
+     * <p>
+     * The entry is written in a transaction of its own. The corresponding {@link VulnerabilityAnalysisResultCache}
+     * entry is only invalidated after that transaction has been committed, such that concurrent readers can not
+     * re-populate it with the previous state from the database.
+     *
+     * @throws IllegalStateException When invoked while a transaction is already active
+     */
     public synchronized void updateComponentAnalysisCache(ComponentAnalysisCache.CacheType cacheType, String targetHost, String targetType, String target, Date lastOccurrence, JsonObject result) {
-        ComponentAnalysisCache cac = getComponentAnalysisCache(cacheType, targetHost, targetType, target);
-        if (cac == null) {
-            cac = new ComponentAnalysisCache();
-            cac.setCacheType(cacheType);
-            cac.setTargetHost(targetHost);
-            cac.setTargetType(targetType);
-            cac.setTarget(target);
+        if (pm.currentTransaction().isActive()) {
+            throw new IllegalStateException("Component analysis cache must not be updated within an active transaction");
         }
-        cac.setLastOccurrence(lastOccurrence);
-        if (result != null) {
-            cac.setResult(result);
+
+        runInTransaction(() -> {
+            ComponentAnalysisCache cac = getComponentAnalysisCache(cacheType, targetHost, targetType, target);
+            if (cac == null) {
+                cac = new ComponentAnalysisCache();
+                cac.setCacheType(cacheType);
+                cac.setTargetHost(targetHost);
+                cac.setTargetType(targetType);
+                cac.setTarget(target);
+            }
+            cac.setLastOccurrence(lastOccurrence);
+            if (result != null) {
+                cac.setResult(result);
+            }
+            pm.makePersistent(cac);
+        });
+
+        if (cacheType == ComponentAnalysisCache.CacheType.VULNERABILITY) {
+            VulnerabilityAnalysisResultCache.invalidate(new VulnerabilityAnalysisResultCache.Key(targetHost, targetType, target));
         }
-        persist(cac);
     }
 
     public void clearComponentAnalysisCache() {
         final Query<ComponentAnalysisCache> query = pm.newQuery(ComponentAnalysisCache.class);
         query.deletePersistentAll();
+        VulnerabilityAnalysisResultCache.invalidateAll();
     }
 
     public void clearComponentAnalysisCache(Date threshold) {
         final Query<ComponentAnalysisCache> query = pm.newQuery(ComponentAnalysisCache.class, "lastOccurrence < :threshold");
         query.setNamedParameters(Map.of("threshold", threshold));
         query.deletePersistentAll();
+        VulnerabilityAnalysisResultCache.invalidateAll();
     }
 }
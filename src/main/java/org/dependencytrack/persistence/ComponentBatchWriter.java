@@ -0,0 +1,572 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.persistence;
+
+import com.github.packageurl.PackageURL;
+import org.apache.commons.collections4.ListUtils;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.ComponentProperty;
+import org.dependencytrack.model.License;
+import org.dependencytrack.persistence.converter.OrganizationalContactsJsonConverter;
+import org.dependencytrack.persistence.converter.OrganizationalEntityJsonConverter;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.jdo.datastore.JDOConnection;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.dependencytrack.util.PersistenceUtil.assertNonPersistent;
+import static org.dependencytrack.util.PersistenceUtil.assertPersistent;
+
+/**
+ * Writes {@link Component}s and their {@link ComponentProperty}s using batched JDBC statements.
+ * <p>
+ * DataNucleus issues one INSERT per new component, because component IDs are generated by the database,
+ * and one UPDATE per modified component. For large BOMs, these round-trips dominate processing time.
+ * This writer instead sends all INSERTs of a batch at once, and groups UPDATEs by the columns they modify,
+ * such that only changed columns are written, and each group is sent at once.
+ * <p>
+ * Because statements are executed on the connection of the current transaction, but bypass DataNucleus,
+ * instance lifecycle listeners are not notified. Callers are responsible for emitting
+ * {@link org.dependencytrack.event.IndexEvent}s for created and updated components.
+ *
+ * @since 4.14.0
+ */
+public final class ComponentBatchWriter {
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+
+        void bind(PreparedStatement ps, int index, Component component) throws SQLException;
+
+    }
+
+    private record Column(String name, Function<Component, ?> getter, ParameterBinder binder) {
+    }
+
+    private record PendingUpdate(Component persistentComponent, Component incomingComponent) {
+    }
+
+    private static final OrganizationalContactsJsonConverter AUTHORS_CONVERTER = new OrganizationalContactsJsonConverter();
+    private static final OrganizationalEntityJsonConverter SUPPLIER_CONVERTER = new OrganizationalEntityJsonConverter();
+
+    /**
+     * Columns that are synchronized from a BOM, and thus may be updated for existing components.
+     */
+    private static final List<Column> BOM_COLUMNS = List.of(
+            new Column("AUTHORS", Component::getAuthors, (ps, i, c) -> ps.setString(i, AUTHORS_CONVERTER.convertToDatastore(c.getAuthors()))),
+            stringColumn("PUBLISHER", Component::getPublisher),
+            new Column("SUPPLIER", Component::getSupplier, (ps, i, c) -> ps.setString(i, SUPPLIER_CONVERTER.convertToDatastore(c.getSupplier()))),
+            new Column("CLASSIFIER", Component::getClassifier, (ps, i, c) -> ps.setString(i, c.getClassifier() != null ? c.getClassifier().name() : null)),
+            stringColumn("GROUP", Component::getGroup),
+            stringColumn("NAME", Component::getName),
+            stringColumn("VERSION", Component::getVersion),
+            stringColumn("DESCRIPTION", Component::getDescription),
+            stringColumn("COPYRIGHT", Component::getCopyright),
+            stringColumn("CPE", Component::getCpe),
+            new Column("PURL", Component::getPurl, (ps, i, c) -> ps.setString(i, canonicalize(c.getPurl()))),
+            stringColumn("SWIDTAGID", Component::getSwidTagId),
+            stringColumn("MD5", Component::getMd5),
+            stringColumn("SHA1", Component::getSha1),
+            stringColumn("SHA_256", Component::getSha256),
+            stringColumn("SHA_384", Component::getSha384),
+            stringColumn("SHA_512", Component::getSha512),
+            stringColumn("SHA3_256", Component::getSha3_256),
+            stringColumn("SHA3_384", Component::getSha3_384),
+            stringColumn("SHA3_512", Component::getSha3_512),
+            stringColumn("BLAKE2B_256", Component::getBlake2b_256),
+            stringColumn("BLAKE2B_384", Component::getBlake2b_384),
+            stringColumn("BLAKE2B_512", Component::getBlake2b_512),
+            stringColumn("BLAKE3", Component::getBlake3),
+            new Column("LICENSE_ID", Component::getResolvedLicense, (ps, i, c) -> setLicenseId(ps, i, c.getResolvedLicense())),
+            stringColumn("LICENSE", Component::getLicense),
+            stringColumn("LICENSE_URL", Component::getLicenseUrl),
+            stringColumn("LICENSE_EXPRESSION", Component::getLicenseExpression),
+            new Column("INTERNAL", Component::isInternal, (ps, i, c) -> ps.setObject(i, c.isInternal(), Types.BOOLEAN)),
+            new Column("EXTERNAL_REFERENCES", Component::getExternalReferences, (ps, i, c) -> ps.setBytes(i, serialize(c.getExternalReferences()))));
+
+    private static final Column BOM_CONTENT_HASH_COLUMN = stringColumn("BOM_CONTENT_HASH", Component::getBomContentHash);
+
+    private static final List<Column> INSERT_COLUMNS;
+
+    static {
+        final var insertColumns = new ArrayList<>(BOM_COLUMNS);
+        insertColumns.add(new Column("PURLCOORDINATES", Component::getPurlCoordinates, (ps, i, c) -> ps.setString(i, canonicalize(c.getPurlCoordinates()))));
+        insertColumns.add(BOM_CONTENT_HASH_COLUMN);
+        insertColumns.add(new Column("PROJECT_ID", Component::getProject, (ps, i, c) -> ps.setLong(i, c.getProject().getId())));
+        insertColumns.add(new Column("UUID", Component::getUuid, (ps, i, c) -> ps.setString(i, c.getUuid().toString())));
+        INSERT_COLUMNS = List.copyOf(insertColumns);
+    }
+
+    private final PersistenceManager pm;
+    private final Map<List<Column>, List<PendingUpdate>> pendingUpdatesByColumns = new LinkedHashMap<>();
+    private final Map<Component, List<ComponentProperty>> pendingPropertiesByComponent = new IdentityHashMap<>();
+    private int numStatementsExecuted;
+    private long numPropertiesWritten;
+
+    public ComponentBatchWriter(final PersistenceManager pm) {
+        this.pm = pm;
+    }
+
+    /**
+     * Creates new {@link Component}s, including their {@link ComponentProperty}s.
+     * <p>
+     * Components and properties are each inserted with a single batch. The created components
+     * are then loaded with a single query, and the transient BOM ref of their non-persistent
+     * counterpart is carried over.
+     *
+     * @param components The non-persistent {@link Component}s to create
+     * @return The persistent {@link Component}s, in the same order as {@code components}
+     */
+    public List<Component> create(final List<Component> components) {
+        if (components.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        for (final Component component : components) {
+            assertNonPersistent(component, "component must not be persistent");
+            assertPersistent(component.getProject(), "project must be persistent");
+            if (component.getUuid() == null) {
+                component.setUuid(UUID.randomUUID());
+            }
+        }
+
+        pm.flush();
+        executeUpdates(connection -> {
+            final String columnNames = INSERT_COLUMNS.stream()
+                    .map(column -> "\"%s\"".formatted(column.name()))
+                    .collect(Collectors.joining(", "));
+            final String placeholders = INSERT_COLUMNS.stream()
+                    .map(column -> "?")
+                    .collect(Collectors.joining(", "));
+            try (final PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO \"COMPONENT\" (%s) VALUES (%s)".formatted(columnNames, placeholders))) {
+                for (final Component component : components) {
+                    bindColumns(ps, INSERT_COLUMNS, component);
+                    ps.addBatch();
+                }
+
+                executeBatch(ps);
+            }
+        });
+
+        final Map<UUID, Component> persistentComponentByUuid = getComponentsByUuid(components);
+        final var persistentComponents = new ArrayList<Component>(components.size());
+        final var propertiesByComponentId = new LinkedHashMap<Long, List<ComponentProperty>>();
+        for (final Component component : components) {
+            final Component persistentComponent = persistentComponentByUuid.get(component.getUuid());
+            if (persistentComponent == null) {
+                throw new IllegalStateException("Component %s was not created".formatted(component.getUuid()));
+            }
+
+            persistentComponent.setBomRef(component.getBomRef()); // Transient
+            persistentComponent.setNew(component.isNew()); // Transient
+            persistentComponents.add(persistentComponent);
+
+            if (component.getProperties() != null && !component.getProperties().isEmpty()) {
+                propertiesByComponentId.put(persistentComponent.getId(), component.getProperties());
+            }
+        }
+
+        if (!propertiesByComponentId.isEmpty()) {
+            executeUpdates(connection -> createProperties(connection, propertiesByComponentId));
+        }
+
+        return persistentComponents;
+    }
+
+    /**
+     * Schedules an update of a persistent {@link Component} with the values of an incoming one.
+     * <p>
+     * Only columns whose values differ are written. The update is executed upon {@link #flush()}.
+     *
+     * @param persistentComponent The persistent {@link Component} to update
+     * @param incomingComponent   The non-persistent {@link Component} to take values from
+     * @return {@code true} when any value other than the BOM content hash differs, otherwise {@code false}
+     */
+    public boolean update(final Component persistentComponent, final Component incomingComponent) {
+        assertPersistent(persistentComponent, "component must be persistent");
+
+        final var changedColumns = new ArrayList<Column>();
+        for (final Column column : BOM_COLUMNS) {
+            if (!Objects.equals(column.getter().apply(persistentComponent), column.getter().apply(incomingComponent))) {
+                changedColumns.add(column);
+            }
+        }
+
+        final boolean hasChanged = !changedColumns.isEmpty();
+        if (!Objects.equals(persistentComponent.getBomContentHash(), incomingComponent.getBomContentHash())) {
+            changedColumns.add(BOM_CONTENT_HASH_COLUMN);
+        }
+
+        if (!changedColumns.isEmpty()) {
+            pendingUpdatesByColumns
+                    .computeIfAbsent(List.copyOf(changedColumns), ignored -> new ArrayList<>())
+                    .add(new PendingUpdate(persistentComponent, incomingComponent));
+        }
+
+        return hasChanged;
+    }
+
+    /**
+     * Schedules the synchronization of a persistent {@link Component}'s properties with incoming ones.
+     * <p>
+     * Properties of all scheduled components are loaded with a single query upon {@link #flush()},
+     * and compared against the incoming ones in memory. Properties no longer present are deleted,
+     * and new properties are created, each with a single batch.
+     *
+     * @param persistentComponent The persistent {@link Component} to synchronize properties of
+     * @param properties          The incoming properties
+     */
+    public void synchronizeProperties(final Component persistentComponent, final List<ComponentProperty> properties) {
+        assertPersistent(persistentComponent, "component must be persistent");
+        pendingPropertiesByComponent.put(persistentComponent, properties);
+    }
+
+    /**
+     * Executes all scheduled updates and property synchronizations.
+     * <p>
+     * Affected components are evicted and reloaded with a single query afterward,
+     * such that they reflect the state of the database again.
+     */
+    public void flush() {
+        if (pendingUpdatesByColumns.isEmpty() && pendingPropertiesByComponent.isEmpty()) {
+            return;
+        }
+
+        final var propertiesToDelete = new ArrayList<ComponentProperty>();
+        final var propertiesToCreateByComponentId = new LinkedHashMap<Long, List<ComponentProperty>>();
+        diffProperties(propertiesToDelete, propertiesToCreateByComponentId);
+
+        pm.flush();
+        executeUpdates(connection -> {
+            for (final Map.Entry<List<Column>, List<PendingUpdate>> entry : pendingUpdatesByColumns.entrySet()) {
+                updateComponents(connection, entry.getKey(), entry.getValue());
+            }
+
+            if (!propertiesToDelete.isEmpty()) {
+                deleteProperties(connection, propertiesToDelete);
+            }
+            if (!propertiesToCreateByComponentId.isEmpty()) {
+                createProperties(connection, propertiesToCreateByComponentId);
+            }
+        });
+
+        final Set<Component> componentsToRefresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        pendingUpdatesByColumns.values().stream()
+                .flatMap(Collection::stream)
+                .map(PendingUpdate::persistentComponent)
+                .forEach(componentsToRefresh::add);
+        componentsToRefresh.addAll(pendingPropertiesByComponent.keySet());
+        pendingUpdatesByColumns.clear();
+        pendingPropertiesByComponent.clear();
+
+        refresh(componentsToRefresh);
+    }
+
+    /**
+     * @return The number of statement batches sent to the database
+     */
+    public int getNumStatementsExecuted() {
+        return numStatementsExecuted;
+    }
+
+    /**
+     * @return The number of {@link ComponentProperty}s created or deleted
+     */
+    public long getNumPropertiesWritten() {
+        return numPropertiesWritten;
+    }
+
+    private void diffProperties(final List<ComponentProperty> propertiesToDelete,
+                                final Map<Long, List<ComponentProperty>> propertiesToCreateByComponentId) {
+        if (pendingPropertiesByComponent.isEmpty()) {
+            return;
+        }
+
+        final Map<Long, List<ComponentProperty>> existingPropertiesByComponentId =
+                getPropertiesByComponentId(pendingPropertiesByComponent.keySet());
+
+        for (final Map.Entry<Component, List<ComponentProperty>> entry : pendingPropertiesByComponent.entrySet()) {
+            final long componentId = entry.getKey().getId();
+            final List<ComponentProperty> properties = entry.getValue();
+            final List<ComponentProperty> existingProperties =
+                    existingPropertiesByComponentId.getOrDefault(componentId, Collections.emptyList());
+
+            if (properties == null || properties.isEmpty()) {
+                // TODO: We currently remove all existing properties that are no longer included in the BOM.
+                //   This is to stay consistent with the BOM being the source of truth. However, this may feel
+                //   counter-intuitive to some users, who might expect their manual changes to persist.
+                //   If we want to support that, we need a way to track which properties were added and / or
+                //   modified manually.
+                propertiesToDelete.addAll(existingProperties);
+                continue;
+            }
+
+            properties.forEach(property -> assertNonPersistent(property, "property must not be persistent"));
+
+            if (existingProperties.isEmpty()) {
+                propertiesToCreateByComponentId.put(componentId, properties);
+                continue;
+            }
+
+            // Group properties by group, name, and value. Because CycloneDX supports duplicate
+            // property names, uniqueness can only be determined by also considering the value.
+            final var existingPropertyIdentitiesSeen = new HashSet<ComponentProperty.Identity>();
+            final var existingPropertiesByIdentity = existingProperties.stream()
+                    // The legacy BOM processing in <= 4.11.x allowed duplicates to be persisted.
+                    // Collectors#toMap fails upon encounter of duplicate keys.
+                    // Prevent existing duplicates from breaking this.
+                    // https://github.com/DependencyTrack/dependency-track/issues/4027
+                    .filter(property -> {
+                        final var identity = new ComponentProperty.Identity(property);
+                        final boolean isUnique = existingPropertyIdentitiesSeen.add(identity);
+                        if (!isUnique) {
+                            propertiesToDelete.add(property);
+                        }
+
+                        return isUnique;
+                    })
+                    .collect(Collectors.toMap(ComponentProperty.Identity::new, Function.identity()));
+            final var incomingPropertyIdentitiesSeen = new HashSet<ComponentProperty.Identity>();
+            final var incomingPropertiesByIdentity = properties.stream()
+                    .filter(property -> incomingPropertyIdentitiesSeen.add(new ComponentProperty.Identity(property)))
+                    .collect(Collectors.toMap(ComponentProperty.Identity::new, Function.identity()));
+
+            final var propertyIdentities = new HashSet<ComponentProperty.Identity>();
+            propertyIdentities.addAll(existingPropertiesByIdentity.keySet());
+            propertyIdentities.addAll(incomingPropertiesByIdentity.keySet());
+
+            for (final ComponentProperty.Identity identity : propertyIdentities) {
+                final ComponentProperty existingProperty = existingPropertiesByIdentity.get(identity);
+                final ComponentProperty incomingProperty = incomingPropertiesByIdentity.get(identity);
+
+                if (existingProperty == null) {
+                    propertiesToCreateByComponentId
+                            .computeIfAbsent(componentId, ignored -> new ArrayList<>())
+                            .add(incomingProperty);
+                } else if (incomingProperty == null) {
+                    propertiesToDelete.add(existingProperty);
+                }
+            }
+        }
+    }
+
+    private void updateComponents(final Connection connection, final List<Column> columns,
+                                  final List<PendingUpdate> updates) throws SQLException {
+        final String assignments = columns.stream()
+                .map(column -> "\"%s\" = ?".formatted(column.name()))
+                .collect(Collectors.joining(", "));
+        try (final PreparedStatement ps = connection.prepareStatement(
+                "UPDATE \"COMPONENT\" SET %s WHERE \"ID\" = ?".formatted(assignments))) {
+            for (final PendingUpdate update : updates) {
+                bindColumns(ps, columns, update.incomingComponent());
+                ps.setLong(columns.size() + 1, update.persistentComponent().getId());
+                ps.addBatch();
+            }
+
+            executeBatch(ps);
+        }
+    }
+
+    private void createProperties(final Connection connection,
+                                  final Map<Long, List<ComponentProperty>> propertiesByComponentId) throws SQLException {
+        try (final PreparedStatement ps = connection.prepareStatement("""
+                INSERT INTO "COMPONENT_PROPERTY"
+                  ("COMPONENT_ID", "GROUPNAME", "PROPERTYNAME", "PROPERTYVALUE", "PROPERTYTYPE", "DESCRIPTION", "UUID")
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """)) {
+            for (final Map.Entry<Long, List<ComponentProperty>> entry : propertiesByComponentId.entrySet()) {
+                for (final ComponentProperty property : entry.getValue()) {
+                    ps.setLong(1, entry.getKey());
+                    ps.setString(2, property.getGroupName());
+                    ps.setString(3, property.getPropertyName());
+                    ps.setString(4, property.getPropertyValue());
+                    ps.setString(5, property.getPropertyType() != null ? property.getPropertyType().name() : null);
+                    ps.setString(6, property.getDescription());
+                    ps.setString(7, (property.getUuid() != null ? property.getUuid() : UUID.randomUUID()).toString());
+                    ps.addBatch();
+                    numPropertiesWritten++;
+                }
+            }
+
+            executeBatch(ps);
+        }
+    }
+
+    private void deleteProperties(final Connection connection, final List<ComponentProperty> properties) throws SQLException {
+        try (final PreparedStatement ps = connection.prepareStatement("""
+                DELETE FROM "COMPONENT_PROPERTY" WHERE "ID" = ?
+                """)) {
+            for (final ComponentProperty property : properties) {
+                ps.setLong(1, property.getId());
+                ps.addBatch();
+                numPropertiesWritten++;
+            }
+
+            executeBatch(ps);
+        }
+    }
+
+    private void executeBatch(final PreparedStatement ps) throws SQLException {
+        ps.executeBatch();
+        numStatementsExecuted++;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionConsumer {
+
+        void accept(Connection connection) throws SQLException;
+
+    }
+
+    private void executeUpdates(final ConnectionConsumer consumer) {
+        final JDOConnection jdoConnection = pm.getDataStoreConnection();
+        final var nativeConnection = (Connection) jdoConnection.getNativeConnection();
+        try {
+            consumer.accept(nativeConnection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to write components", e);
+        } finally {
+            jdoConnection.close();
+        }
+    }
+
+    private Map<UUID, Component> getComponentsByUuid(final List<Component> components) {
+        final List<UUID> uuids = components.stream().map(Component::getUuid).toList();
+        final var componentByUuid = new HashMap<UUID, Component>(uuids.size());
+        for (final List<UUID> uuidsPartition : ListUtils.partition(uuids, 1000)) {
+            final Query<Component> query = pm.newQuery(Component.class);
+            query.setFilter(":uuids.contains(uuid)");
+            query.setParameters(uuidsPartition);
+            try {
+                query.executeList().forEach(component -> componentByUuid.put(component.getUuid(), component));
+            } finally {
+                query.closeAll();
+            }
+        }
+
+        return componentByUuid;
+    }
+
+    private Map<Long, List<ComponentProperty>> getPropertiesByComponentId(final Collection<Component> components) {
+        final List<Long> componentIds = components.stream().map(Component::getId).toList();
+        final var propertiesByComponentId = new HashMap<Long, List<ComponentProperty>>(componentIds.size());
+        for (final List<Long> componentIdsPartition : ListUtils.partition(componentIds, 1000)) {
+            final Query<ComponentProperty> query = pm.newQuery(ComponentProperty.class);
+            query.setFilter(":ids.contains(component.id)");
+            query.setParameters(componentIdsPartition);
+            query.setOrdering("groupName asc, propertyName asc, id asc");
+            try {
+                for (final ComponentProperty property : query.executeList()) {
+                    propertiesByComponentId
+                            .computeIfAbsent(property.getComponent().getId(), ignored -> new ArrayList<>())
+                            .add(property);
+                }
+            } finally {
+                query.closeAll();
+            }
+        }
+
+        return propertiesByComponentId;
+    }
+
+    /**
+     * Evicts components modified via JDBC, and reloads them with a single query per partition.
+     * <p>
+     * Eviction keeps the same instances, such that references held by callers remain valid.
+     */
+    private void refresh(final Collection<Component> components) {
+        final List<Long> componentIds = components.stream().map(Component::getId).toList();
+        pm.evictAll(components);
+
+        for (final List<Long> componentIdsPartition : ListUtils.partition(componentIds, 1000)) {
+            final Query<Component> query = pm.newQuery(Component.class);
+            query.setFilter(":ids.contains(id)");
+            query.setParameters(componentIdsPartition);
+            try {
+                query.executeList();
+            } finally {
+                query.closeAll();
+            }
+        }
+    }
+
+    private static void bindColumns(final PreparedStatement ps, final List<Column> columns,
+                                    final Component component) throws SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).binder().bind(ps, i + 1, component);
+        }
+    }
+
+    private static Column stringColumn(final String name, final Function<Component, String> getter) {
+        return new Column(name, getter, (ps, i, c) -> ps.setString(i, getter.apply(c)));
+    }
+
+    private static String canonicalize(final PackageURL purl) {
+        return purl != null ? purl.canonicalize() : null;
+    }
+
+    private static void setLicenseId(final PreparedStatement ps, final int index, final License license) throws SQLException {
+        if (license != null) {
+            ps.setLong(index, license.getId());
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * Serializes a value the same way DataNucleus does for fields annotated with {@link javax.jdo.annotations.Serialized}.
+     */
+    private static byte[] serialize(final Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        final var byteArrayOutputStream = new ByteArrayOutputStream();
+        try (final var objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize value", e);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+}
@@ -45,6 +45,7 @@ import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -135,6 +136,53 @@ final class ComponentQueryManager extends QueryManager implements IQueryManager
         return (List<Component>)query.execute(project);
     }
 
+    /**
+     * Returns a slice of all Components for the specified Project, in the same order
+     * as {@link #getAllComponents(Project)}.
+     * This method is designed for iterating over all Components of a Project in bounded batches,
+     * independent of the pagination of the current request.
+     * @param project the Project to retrieve dependencies of
+     * @param offset  the number of Components to skip
+     * @param limit   the maximum number of Components to return
+     * @return a List of Component objects
+     * @since 4.14.0
+     */
+    public List<Component> getComponents(final Project project, final long offset, final int limit) {
+        final Query<Component> query = pm.newQuery(Component.class, "project == :project");
+        query.getFetchPlan().setMaxFetchDepth(2);
+        query.setOrdering("name asc, id asc");
+        query.setRange(offset, offset + limit);
+        query.setParameters(project);
+        return executeAndCloseList(query);
+    }
+
+    /**
+     * Returns the raw direct dependencies of a slice of all Components for the specified Project,
+     * in the same order as {@link #getComponents(Project, long, int)}.
+     * @param project the Project to retrieve direct dependencies of
+     * @param offset  the number of Components to skip
+     * @param limit   the maximum number of Components to return
+     * @return the direct dependencies, keyed by the UUID of the Component they belong to
+     * @since 4.14.0
+     */
+    public Map<String, String> getDirectDependencies(final Project project, final long offset, final int limit) {
+        final Query<Component> query = pm.newQuery(Component.class, "project == :project");
+        query.setOrdering("name asc, id asc");
+        query.setRange(offset, offset + limit);
+        query.setParameters(project);
+        query.setResult("uuid, directDependencies");
+
+        final var directDependenciesByUuid = new LinkedHashMap<String, String>();
+        try {
+            for (final Object[] row : query.executeResultList(Object[].class)) {
+                directDependenciesByUuid.put(row[0].toString(), (String) row[1]);
+            }
+        } finally {
+            query.closeAll();
+        }
+        return directDependenciesByUuid;
+    }
+
     /**
      * Returns a List of Dependency for the specified Project.
      * @param project the Project to retrieve dependencies of
@@ -417,6 +465,8 @@ final class ComponentQueryManager extends QueryManager implements IQueryManager
         component.setAuthors(transientComponent.getAuthors());
         component.setSupplier(transientComponent.getSupplier());
         component.setExternalReferences(transientComponent.getExternalReferences());
+        // The component no longer reflects the BOM it was last synchronized from.
+        component.setBomContentHash(null);
         final Component result = persist(component);
         Event.dispatch(new IndexEvent(IndexEvent.Action.UPDATE, result));
         commitSearchIndex(commitIndex, Component.class);
@@ -447,6 +497,7 @@ final class ComponentQueryManager extends QueryManager implements IQueryManager
         try {
             final Component result = pm.getObjectById(Component.class, component.getId());
             Event.dispatch(new IndexEvent(IndexEvent.Action.DELETE, result));
+            deleteComponentDependencies(component);
             deleteAnalysisTrail(component);
             deleteViolationAnalysisTrail(component);
             deleteMetrics(component);
@@ -686,6 +737,7 @@ final class ComponentQueryManager extends QueryManager implements IQueryManager
                                                      final IConfigProperty.PropertyType propertyType,
                                                      final String description) {
         final ComponentProperty property = new ComponentProperty();
+        component.setBomContentHash(null);
         property.setComponent(component);
         property.setGroupName(groupName);
         property.setPropertyName(propertyName);
@@ -700,6 +752,7 @@ final class ComponentQueryManager extends QueryManager implements IQueryManager
         final Query<ComponentProperty> query = pm.newQuery(ComponentProperty.class);
         query.setFilter("component == :component && uuid == :uuid");
         try {
+            component.setBomContentHash(null);
             return query.deletePersistentAll(component, uuid);
         } finally {
             query.closeAll();
@@ -62,6 +62,7 @@ public class DefaultObjectGenerator implements ServletContextListener {
         loadDefaultRepositories();
         loadDefaultConfigProperties();
         loadDefaultNotificationPublishers();
+        rebuildProjectHierarchy();
     }
 
     /**
@@ -72,6 +73,16 @@ public class DefaultObjectGenerator implements ServletContextListener {
         /* Intentionally blank to satisfy interface */
     }
 
+    /**
+     * Rebuilds the project hierarchy if it is not consistent with the parent relationships of projects,
+     * e.g. after upgrading from a version that did not maintain it.
+     */
+    public void rebuildProjectHierarchy() {
+        try (QueryManager qm = new QueryManager()) {
+            qm.rebuildProjectHierarchyIfNecessary();
+        }
+    }
+
     /**
      * Loads the default licenses into the database if no license data exists.
      */
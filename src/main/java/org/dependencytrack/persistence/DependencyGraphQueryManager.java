@@ -0,0 +1,490 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.persistence;
+
+import alpine.common.logging.Logger;
+import alpine.resources.AlpineRequest;
+import org.apache.commons.collections4.ListUtils;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.ComponentDependency;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.resources.v1.vo.DependencyGraphNode;
+import org.dependencytrack.resources.v1.vo.DependencyGraphPathsResponse;
+import org.dependencytrack.resources.v1.vo.DependencyGraphSubtreeResponse;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * @since 4.14.0
+ */
+final class DependencyGraphQueryManager extends QueryManager implements IQueryManager {
+
+    private static final Logger LOGGER = Logger.getLogger(DependencyGraphQueryManager.class);
+
+    /**
+     * Constructs a new QueryManager.
+     * @param pm a PersistenceManager object
+     */
+    DependencyGraphQueryManager(final PersistenceManager pm) {
+        super(pm);
+    }
+
+    /**
+     * Constructs a new QueryManager.
+     * @param pm a PersistenceManager object
+     * @param request an AlpineRequest object
+     */
+    DependencyGraphQueryManager(final PersistenceManager pm, final AlpineRequest request) {
+        super(pm, request);
+    }
+
+    /**
+     * Synchronizes the dependency graph edges of a {@link Project} with the given ones.
+     * <p>
+     * Existing edges are compared against the given ones in memory. Edges that no longer exist are
+     * deleted, and new edges are created, in bulk. The project is marked as having its graph populated,
+     * even if it has no edges at all.
+     *
+     * @param project The {@link Project} to synchronize edges for
+     * @param edges   All edges of the project's dependency graph
+     * @return The number of edges that were created or deleted
+     */
+    public long synchronizeComponentDependencies(final Project project, final Set<ComponentDependency.Edge> edges) {
+        final Query<ComponentDependency> query = pm.newQuery(ComponentDependency.class);
+        query.setFilter("projectId == :projectId");
+        query.setParameters(project.getId());
+        query.setResult("id, parentId, childId");
+
+        final var edgesSeen = new HashSet<ComponentDependency.Edge>();
+        final var idsToDelete = new ArrayList<Long>();
+        try {
+            for (final Object[] row : query.executeResultList(Object[].class)) {
+                final var edge = ComponentDependency.toEdge((Long) row[1], (Long) row[2]);
+                if (!edges.contains(edge) || !edgesSeen.add(edge)) {
+                    idsToDelete.add((Long) row[0]);
+                }
+            }
+        } finally {
+            query.closeAll();
+        }
+
+        for (final List<Long> idsPartition : ListUtils.partition(idsToDelete, 1000)) {
+            pm.newQuery(ComponentDependency.class, ":ids.contains(id)").deletePersistentAll(idsPartition);
+        }
+
+        final List<ComponentDependency> dependenciesToCreate = edges.stream()
+                .filter(edge -> !edgesSeen.contains(edge))
+                .map(edge -> new ComponentDependency(project.getId(), edge))
+                .toList();
+        if (!dependenciesToCreate.isEmpty()) {
+            pm.makePersistentAll(dependenciesToCreate);
+        }
+
+        if (!project.isDependencyGraphPopulated()) {
+            project.setDependencyGraphPopulated(true);
+        }
+
+        return idsToDelete.size() + dependenciesToCreate.size();
+    }
+
+    /**
+     * Deletes all dependency graph edges of a {@link Project}.
+     *
+     * @param project The {@link Project} to delete edges of
+     */
+    public void deleteComponentDependencies(final Project project) {
+        final Query<ComponentDependency> query = pm.newQuery(ComponentDependency.class);
+        query.setFilter("projectId == :projectId");
+        try {
+            query.deletePersistentAll(project.getId());
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Deletes all dependency graph edges from, and to, a {@link Component}.
+     *
+     * @param component The {@link Component} to delete edges of
+     */
+    public void deleteComponentDependencies(final Component component) {
+        final Query<ComponentDependency> query = pm.newQuery(ComponentDependency.class);
+        query.setFilter("parentId == :componentId || childId == :componentId");
+        try {
+            query.deletePersistentAll(component.getId());
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Returns the subtree of a {@link Project}'s dependency graph, starting at either the project
+     * itself, or at one of its {@link Component}s.
+     * <p>
+     * The graph is traversed breadth-first, one level per query. Components that were already
+     * visited are not traversed again, such that cycles in the graph are safe.
+     *
+     * @param project  The {@link Project} whose graph to traverse
+     * @param root     The {@link Component} to start at, or {@code null} to start at the project
+     * @param maxDepth The maximum number of levels to traverse
+     * @return The nodes and edges of the subtree
+     */
+    public DependencyGraphSubtreeResponse getDependencyGraphSubtree(final Project project, final Component root, final int maxDepth) {
+        ensureComponentDependencies(project);
+
+        final var visitedIds = new LinkedHashSet<Long>();
+        final var edges = new ArrayList<ComponentDependency.Edge>();
+
+        Set<Long> frontierIds;
+        if (root == null) {
+            frontierIds = visitEdges(getDirectDependencyEdges(project), visitedIds, edges);
+        } else {
+            visitedIds.add(root.getId());
+            frontierIds = Set.of(root.getId());
+        }
+
+        for (int depth = root == null ? 1 : 0; depth < maxDepth && !frontierIds.isEmpty(); depth++) {
+            frontierIds = visitEdges(getEdgesByParentIds(project, frontierIds), visitedIds, edges);
+        }
+
+        final boolean truncated = !frontierIds.isEmpty() && !getEdgesByParentIds(project, frontierIds).isEmpty();
+
+        final Map<Long, DependencyGraphNode> nodeById = getNodesById(visitedIds);
+        final List<DependencyGraphSubtreeResponse.Edge> responseEdges = edges.stream()
+                .filter(edge -> edge.parentId() == null || nodeById.containsKey(edge.parentId()))
+                .filter(edge -> nodeById.containsKey(edge.childId()))
+                .map(edge -> new DependencyGraphSubtreeResponse.Edge(
+                        edge.parentId() != null ? nodeById.get(edge.parentId()).uuid() : null,
+                        nodeById.get(edge.childId()).uuid()))
+                .toList();
+
+        return new DependencyGraphSubtreeResponse(List.copyOf(nodeById.values()), responseEdges, truncated);
+    }
+
+    /**
+     * Returns paths from the root of a {@link Project}'s dependency graph to one of its {@link Component}s.
+     * <p>
+     * All ancestors of the component are resolved bottom-up first, one level per query.
+     * Paths are then assembled in memory, without visiting any component twice on the same path,
+     * such that cycles in the graph are safe.
+     *
+     * @param project  The {@link Project} whose graph to traverse
+     * @param target   The {@link Component} to find paths to
+     * @param maxPaths The maximum number of paths to return
+     * @return Paths from direct dependencies of the project to the component
+     */
+    public DependencyGraphPathsResponse getDependencyGraphPaths(final Project project, final Component target, final int maxPaths) {
+        ensureComponentDependencies(project);
+
+        // Resolve all ancestors of the target. A null parent denotes the project itself.
+        final var parentIdsByChildId = new HashMap<Long, Set<Long>>();
+        final var visitedIds = new HashSet<Long>(Set.of(target.getId()));
+        Set<Long> frontierIds = Set.of(target.getId());
+        while (!frontierIds.isEmpty()) {
+            final var nextFrontierIds = new HashSet<Long>();
+            for (final ComponentDependency.Edge edge : getEdgesByChildIds(project, frontierIds)) {
+                parentIdsByChildId.computeIfAbsent(edge.childId(), ignored -> new HashSet<>()).add(edge.parentId());
+                if (edge.parentId() != null && visitedIds.add(edge.parentId())) {
+                    nextFrontierIds.add(edge.parentId());
+                }
+            }
+            frontierIds = nextFrontierIds;
+        }
+
+        // Only ancestors that are themselves reachable from the project can be part of a path.
+        // Knowing them upfront prevents the path assembly from exploring dead ends.
+        final Set<Long> reachableIds = getIdsReachableFromRoot(parentIdsByChildId);
+        if (!reachableIds.contains(target.getId())) {
+            return new DependencyGraphPathsResponse(Collections.emptyList(), false);
+        }
+
+        final var idPaths = new ArrayList<List<Long>>();
+        final boolean truncated = collectPaths(target.getId(), parentIdsByChildId, reachableIds,
+                new ArrayDeque<>(), new HashSet<>(), idPaths, maxPaths);
+
+        final Map<Long, DependencyGraphNode> nodeById = getNodesById(
+                idPaths.stream().flatMap(Collection::stream).distinct().toList());
+        final List<List<DependencyGraphNode>> paths = idPaths.stream()
+                .map(idPath -> idPath.stream().map(nodeById::get).toList())
+                .toList();
+
+        return new DependencyGraphPathsResponse(paths, truncated);
+    }
+
+    /**
+     * @return {@code true} when more paths exist than {@code maxPaths}, otherwise {@code false}
+     */
+    private static boolean collectPaths(
+            final long componentId,
+            final Map<Long, Set<Long>> parentIdsByChildId,
+            final Set<Long> reachableIds,
+            final ArrayDeque<Long> currentPath,
+            final Set<Long> currentPathIds,
+            final List<List<Long>> paths,
+            final int maxPaths) {
+        currentPath.push(componentId);
+        currentPathIds.add(componentId);
+        try {
+            for (final Long parentId : parentIdsByChildId.getOrDefault(componentId, Collections.emptySet())) {
+                if (parentId == null) {
+                    if (paths.size() == maxPaths) {
+                        return true;
+                    }
+
+                    // The deque holds the path from the project down to the target.
+                    paths.add(List.copyOf(currentPath));
+                } else if (reachableIds.contains(parentId) && !currentPathIds.contains(parentId)) {
+                    if (collectPaths(parentId, parentIdsByChildId, reachableIds, currentPath, currentPathIds, paths, maxPaths)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        } finally {
+            currentPath.pop();
+            currentPathIds.remove(componentId);
+        }
+    }
+
+    private static Set<Long> getIdsReachableFromRoot(final Map<Long, Set<Long>> parentIdsByChildId) {
+        final var childIdsByParentId = new HashMap<Long, Set<Long>>();
+        final var reachableIds = new HashSet<Long>();
+        final var queue = new ArrayDeque<Long>();
+        for (final Map.Entry<Long, Set<Long>> entry : parentIdsByChildId.entrySet()) {
+            for (final Long parentId : entry.getValue()) {
+                if (parentId == null) {
+                    if (reachableIds.add(entry.getKey())) {
+                        queue.add(entry.getKey());
+                    }
+                } else {
+                    childIdsByParentId.computeIfAbsent(parentId, ignored -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            for (final Long childId : childIdsByParentId.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (reachableIds.add(childId)) {
+                    queue.add(childId);
+                }
+            }
+        }
+
+        return reachableIds;
+    }
+
+    private static Set<Long> visitEdges(
+            final List<ComponentDependency.Edge> levelEdges,
+            final Set<Long> visitedIds,
+            final List<ComponentDependency.Edge> edges) {
+        final var nextFrontierIds = new HashSet<Long>();
+        for (final ComponentDependency.Edge edge : levelEdges) {
+            edges.add(edge);
+            if (visitedIds.add(edge.childId())) {
+                nextFrontierIds.add(edge.childId());
+            }
+        }
+
+        return nextFrontierIds;
+    }
+
+    private List<ComponentDependency.Edge> getDirectDependencyEdges(final Project project) {
+        final Query<ComponentDependency> query = pm.newQuery(ComponentDependency.class);
+        query.setFilter("projectId == :projectId && parentId == :parentId");
+        query.setParameters(project.getId(), ComponentDependency.PROJECT_PARENT_ID);
+        return executeEdgeQuery(query);
+    }
+
+    private List<ComponentDependency.Edge> getEdgesByParentIds(final Project project, final Collection<Long> parentIds) {
+        final var edges = new ArrayList<ComponentDependency.Edge>();
+        for (final List<Long> parentIdsPartition : ListUtils.partition(List.copyOf(parentIds), 1000)) {
+            final Query<ComponentDependency> query = pm.newQuery(ComponentDependency.class);
+            query.setFilter("projectId == :projectId && :parentIds.contains(parentId)");
+            query.setParameters(project.getId(), parentIdsPartition);
+            edges.addAll(executeEdgeQuery(query));
+        }
+
+        return edges;
+    }
+
+    private List<ComponentDependency.Edge> getEdgesByChildIds(final Project project, final Collection<Long> childIds) {
+        final var edges = new ArrayList<ComponentDependency.Edge>();
+        for (final List<Long> childIdsPartition : ListUtils.partition(List.copyOf(childIds), 1000)) {
+            final Query<ComponentDependency> query = pm.newQuery(ComponentDependency.class);
+            query.setFilter("projectId == :projectId && :childIds.contains(childId)");
+            query.setParameters(project.getId(), childIdsPartition);
+            edges.addAll(executeEdgeQuery(query));
+        }
+
+        return edges;
+    }
+
+    private static List<ComponentDependency.Edge> executeEdgeQuery(final Query<ComponentDependency> query) {
+        query.setResult("parentId, childId");
+        query.setOrdering("id asc");
+        try {
+            return query.executeResultList(Object[].class).stream()
+                    .map(row -> ComponentDependency.toEdge((Long) row[0], (Long) row[1]))
+                    .toList();
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    private Map<Long, DependencyGraphNode> getNodesById(final Collection<Long> ids) {
+        final var nodeById = new HashMap<Long, DependencyGraphNode>(ids.size());
+        for (final List<Long> idsPartition : ListUtils.partition(List.copyOf(ids), 1000)) {
+            final Query<Component> query = pm.newQuery(Component.class);
+            query.setFilter(":ids.contains(id)");
+            query.setParameters(idsPartition);
+            query.setResult("id, uuid, name, version, purl");
+            try {
+                for (final Object[] row : query.executeResultList(Object[].class)) {
+                    nodeById.put((Long) row[0], new DependencyGraphNode(
+                            (UUID) row[1], (String) row[2], (String) row[3], (String) row[4]));
+                }
+            } finally {
+                query.closeAll();
+            }
+        }
+
+        // Retain the order in which nodes were visited.
+        final var orderedNodeById = new LinkedHashMap<Long, DependencyGraphNode>(nodeById.size());
+        for (final Long id : ids) {
+            final DependencyGraphNode node = nodeById.get(id);
+            if (node != null) {
+                orderedNodeById.put(id, node);
+            }
+        }
+
+        return orderedNodeById;
+    }
+
+    /**
+     * Populates the dependency graph edges of a {@link Project} from the directDependencies JSON
+     * of the project and its components, if the project has a graph that was not populated yet.
+     * <p>
+     * This is the case for projects whose last BOM was processed before edges were recorded,
+     * as well as for cloned projects.
+     * <p>
+     * The project's row is locked while doing so, such that concurrent requests for the same
+     * project populate its edges only once, and do not interleave with BOM processing.
+     */
+    private void ensureComponentDependencies(final Project project) {
+        if (project.getDirectDependencies() == null || project.isDependencyGraphPopulated()) {
+            return;
+        }
+
+        runInTransaction(() -> {
+            if (lockProjectAndGetDependencyGraphPopulated(project)) {
+                // Populated by a concurrent request while we were waiting for the lock.
+                return;
+            }
+
+            final Query<Component> query = pm.newQuery(Component.class);
+            query.setFilter("project == :project");
+            query.setParameters(project);
+            query.setResult("id, uuid, directDependencies");
+
+            final var idByUuid = new HashMap<String, Long>();
+            final var directDependenciesById = new HashMap<Long, String>();
+            try {
+                for (final Object[] row : query.executeResultList(Object[].class)) {
+                    idByUuid.put(row[1].toString(), (Long) row[0]);
+                    if (row[2] != null) {
+                        directDependenciesById.put((Long) row[0], (String) row[2]);
+                    }
+                }
+            } finally {
+                query.closeAll();
+            }
+
+            final var edges = new HashSet<ComponentDependency.Edge>();
+            collectEdges(null, project.getDirectDependencies(), idByUuid, edges);
+            directDependenciesById.forEach((id, json) -> collectEdges(id, json, idByUuid, edges));
+
+            LOGGER.info("Populating %d dependency graph edges of project %s".formatted(edges.size(), project.getUuid()));
+            synchronizeComponentDependencies(project, edges);
+        });
+    }
+
+    /**
+     * Locks the row of a {@link Project} until the current transaction completes.
+     *
+     * @return Whether the project's dependency graph has been populated, as of acquiring the lock
+     */
+    private boolean lockProjectAndGetDependencyGraphPopulated(final Project project) {
+        final Query<Project> query = pm.newQuery(Project.class);
+        query.setFilter("id == :id");
+        query.setParameters(project.getId());
+        query.setResult("dependencyGraphPopulated");
+        query.serializeRead(true);
+        try {
+            return Boolean.TRUE.equals(query.executeResultUnique(Boolean.class));
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    private static void collectEdges(
+            final Long parentId,
+            final String directDependenciesJson,
+            final Map<String, Long> idByUuid,
+            final Set<ComponentDependency.Edge> edges) {
+        final JsonArray directDependencies;
+        try (final JsonReader jsonReader = Json.createReader(new StringReader(directDependenciesJson))) {
+            directDependencies = jsonReader.readArray();
+        } catch (JsonException e) {
+            LOGGER.warn("Failed to parse direct dependencies of component with ID %s".formatted(parentId), e);
+            return;
+        }
+
+        for (final JsonValue directDependency : directDependencies) {
+            if (directDependency.getValueType() != JsonValue.ValueType.OBJECT) {
+                continue;
+            }
+
+            final Long childId = idByUuid.get(directDependency.asJsonObject().getString("uuid", null));
+            if (childId != null) {
+                edges.add(new ComponentDependency.Edge(parentId, childId));
+            }
+        }
+    }
+
+}
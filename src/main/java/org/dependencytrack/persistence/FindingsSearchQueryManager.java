@@ -23,22 +23,24 @@ import alpine.persistence.PaginatedResult;
 import alpine.resources.AlpineRequest;
 import alpine.server.util.DbUtil;
 import com.github.packageurl.PackageURL;
-import org.dependencytrack.model.Analysis;
-import org.dependencytrack.model.Component;
 import org.dependencytrack.model.Finding;
 import org.dependencytrack.model.GroupedFinding;
 import org.dependencytrack.model.RepositoryMetaComponent;
 import org.dependencytrack.model.RepositoryType;
-import org.dependencytrack.model.Vulnerability;
+import org.dependencytrack.model.VulnIdAndSource;
 import org.dependencytrack.model.VulnerabilityAlias;
+import org.dependencytrack.persistence.RepositoryQueryManager.RepositoryMetaComponentSearch;
+import org.dependencytrack.util.PurlUtil;
 
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class FindingsSearchQueryManager extends QueryManager implements IQueryManager {
 
@@ -116,37 +118,58 @@ public class FindingsSearchQueryManager extends QueryManager implements IQueryMa
             params.put("showSuppressed", false);
         }
         processFilters(filters, queryFilter, params, false);
-        final Query<Object[]> query = pm.newQuery(Query.SQL, Finding.QUERY_ALL_FINDINGS + queryFilter + (this.orderBy != null ? " ORDER BY " + sortingAttributes.get(this.orderBy) + " " + (this.orderDirection == OrderDirection.DESCENDING ? " DESC" : "ASC") : ""));
-        PaginatedResult result = new PaginatedResult();
+        final PaginatedResult result = new PaginatedResult();
+        result.setTotal(getCount(Finding.QUERY_ALL_FINDINGS_COUNT + queryFilter, params));
+        if (result.getTotal() == 0) {
+            result.setObjects(Collections.emptyList());
+            return result;
+        }
+
+        final Query<Object[]> query = pm.newQuery(Query.SQL, Finding.QUERY_ALL_FINDINGS + queryFilter
+                + getOrderByClause("\"COMPONENT\".\"ID\", \"VULNERABILITY\".\"ID\"")
+                + " " + getOffsetLimitSqlClause());
         query.setNamedParameters(params);
-        final List<Object[]> totalList = query.executeList();
-        result.setTotal(totalList.size());
-        final List<Object[]> list = totalList.subList(this.pagination.getOffset(), Math.min(this.pagination.getOffset() + this.pagination.getLimit(), totalList.size()));
-        final List<Finding> findings = new ArrayList<>();
-        for (final Object[] o : list) {
-            final Finding finding = new Finding(UUID.fromString((String) o[29]), o);
-            final Component component = getObjectByUuid(Component.class, (String) finding.getComponent().get("uuid"));
-            final Vulnerability vulnerability = getObjectByUuid(Vulnerability.class, (String) finding.getVulnerability().get("uuid"));
-            final Analysis analysis = getAnalysis(component, vulnerability);
-            final List<VulnerabilityAlias> aliases = detach(getVulnerabilityAliases(vulnerability));
-            aliases.forEach(alias -> alias.setUuid(null));
-            finding.getVulnerability().put("aliases", aliases);
-            // These are CLOB fields. Handle these here so that database-specific deserialization doesn't need to be performed (in Finding)
-            finding.getVulnerability().put("description", vulnerability.getDescription());
-            finding.getVulnerability().put("recommendation", vulnerability.getRecommendation());
-            final PackageURL purl = component.getPurl();
-            if (purl != null) {
-                final RepositoryType type = RepositoryType.resolve(purl);
-                if (RepositoryType.UNSUPPORTED != type) {
-                    final RepositoryMetaComponent repoMetaComponent = getRepositoryMetaComponent(type, purl.getNamespace(), purl.getName());
-                    if (repoMetaComponent != null) {
-                        finding.getComponent().put("latestVersion", repoMetaComponent.getLatestVersion());
-                    }
-                }
+        final List<Finding> findings = executeAndCloseList(query).stream()
+                .map(row -> new Finding(UUID.fromString((String) row[29]), row))
+                .toList();
+
+        final Map<VulnIdAndSource, List<Finding>> findingsByVulnIdAndSource = findings.stream()
+                .collect(Collectors.groupingBy(
+                        finding -> new VulnIdAndSource(
+                                (String) finding.getVulnerability().get("vulnId"),
+                                (String) finding.getVulnerability().get("source")
+                        )
+                ));
+        final Map<VulnIdAndSource, List<VulnerabilityAlias>> aliasesByVulnIdAndSource =
+                getVulnerabilityAliases(findingsByVulnIdAndSource.keySet());
+        for (final Map.Entry<VulnIdAndSource, List<Finding>> entry : findingsByVulnIdAndSource.entrySet()) {
+            final List<VulnerabilityAlias> aliases = aliasesByVulnIdAndSource.getOrDefault(entry.getKey(), Collections.emptyList());
+            for (final Finding finding : entry.getValue()) {
+                finding.getVulnerability().put("aliases", aliases);
+            }
+        }
 
+        final Map<RepositoryMetaComponentSearch, List<Finding>> findingsByMetaComponentSearch = new HashMap<>();
+        for (final Finding finding : findings) {
+            final PackageURL purl = PurlUtil.silentPurl((String) finding.getComponent().get("purl"));
+            if (purl == null) {
+                continue;
+            }
+
+            final RepositoryType type = RepositoryType.resolve(purl);
+            if (RepositoryType.UNSUPPORTED != type) {
+                findingsByMetaComponentSearch
+                        .computeIfAbsent(new RepositoryMetaComponentSearch(type, purl.getNamespace(), purl.getName()), ignored -> new ArrayList<>())
+                        .add(finding);
+            }
+        }
+        for (final RepositoryMetaComponent metaComponent : getRepositoryMetaComponentsBatch(List.copyOf(findingsByMetaComponentSearch.keySet()), 250)) {
+            final var search = new RepositoryMetaComponentSearch(metaComponent.getRepositoryType(), metaComponent.getNamespace(), metaComponent.getName());
+            for (final Finding finding : findingsByMetaComponentSearch.getOrDefault(search, Collections.emptyList())) {
+                finding.getComponent().put("latestVersion", metaComponent.getLatestVersion());
             }
-            findings.add(finding);
         }
+
         result.setObjects(findings);
         return result;
     }
@@ -165,21 +188,51 @@ public class FindingsSearchQueryManager extends QueryManager implements IQueryMa
             params.put("active", true);
         }
         processFilters(filters, queryFilter, params, true);
-        final Query<Object[]> query = pm.newQuery(Query.SQL, GroupedFinding.QUERY + queryFilter + (this.orderBy != null ? " ORDER BY " + sortingAttributes.get(this.orderBy) + " " + (this.orderDirection == OrderDirection.DESCENDING ? " DESC" : "ASC") : ""));
-        PaginatedResult result = new PaginatedResult();
-        query.setNamedParameters(params);
-        final List<Object[]> totalList = query.executeList();
-        result.setTotal(totalList.size());
-        final List<Object[]> list = totalList.subList(this.pagination.getOffset(), Math.min(this.pagination.getOffset() + this.pagination.getLimit(), totalList.size()));
-        final List<GroupedFinding> findings = new ArrayList<>();
-        for (Object[] o : list) {
-            final GroupedFinding finding = new GroupedFinding(o);
-            findings.add(finding);
+        final PaginatedResult result = new PaginatedResult();
+        result.setTotal(getCount("""
+                SELECT COUNT(*)
+                  FROM (SELECT "VULNERABILITY"."ID"
+                """ + GroupedFinding.QUERY_FROM + queryFilter + """
+                       ) AS "GROUPED_FINDINGS"
+                """, params));
+        if (result.getTotal() == 0) {
+            result.setObjects(Collections.emptyList());
+            return result;
         }
+
+        final Query<Object[]> query = pm.newQuery(Query.SQL, GroupedFinding.QUERY + queryFilter
+                + getOrderByClause("\"VULNERABILITY\".\"ID\", \"FINDINGATTRIBUTION\".\"ANALYZERIDENTITY\"")
+                + " " + getOffsetLimitSqlClause());
+        query.setNamedParameters(params);
+        final List<GroupedFinding> findings = executeAndCloseList(query).stream()
+                .map(GroupedFinding::new)
+                .toList();
         result.setObjects(findings);
         return result;
     }
 
+    private long getCount(final String countQuery, final Map<String, Object> params) {
+        final Query<?> query = pm.newQuery(Query.SQL, countQuery);
+        query.setNamedParameters(params);
+        try {
+            return ((Number) query.executeUnique()).longValue();
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Builds the {@code ORDER BY} clause for the requested sorting. The given tie-breaker columns
+     * are always appended, such that pages are stable when the offset is applied by the database.
+     */
+    private String getOrderByClause(final String tieBreakerColumns) {
+        final String sortingAttribute = this.orderBy != null ? sortingAttributes.get(this.orderBy) : null;
+        if (sortingAttribute == null) {
+            return " ORDER BY " + tieBreakerColumns;
+        }
+        return " ORDER BY " + sortingAttribute + " " + (this.orderDirection == OrderDirection.DESCENDING ? "DESC" : "ASC") + ", " + tieBreakerColumns;
+    }
+
     private void processFilters(Map<String, String> filters, StringBuilder queryFilter, Map<String, Object> params, boolean isGroupedByVulnerabilities) {
         for (String filter : filters.keySet()) {
             switch (filter) {
@@ -20,6 +20,7 @@ package org.dependencytrack.persistence;
 
 import alpine.persistence.PaginatedResult;
 import alpine.resources.AlpineRequest;
+import org.apache.commons.collections4.ListUtils;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.DependencyMetrics;
 import org.dependencytrack.model.PortfolioMetrics;
@@ -29,8 +30,11 @@ import org.dependencytrack.model.VulnerabilityMetrics;
 
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MetricsQueryManager extends QueryManager implements IQueryManager {
 
@@ -105,6 +109,40 @@ public class MetricsQueryManager extends QueryManager implements IQueryManager {
         return singleResult(query.execute(project));
     }
 
+    /**
+     * Retrieves the most recent ProjectMetrics of multiple projects at once.
+     * <p>
+     * The most recent metrics of a project are those with the latest {@code lastOccurrence},
+     * which is determined by a correlated subquery. Metrics that were only touched by a later
+     * update, without changing, are thus still picked up.
+     * @param projects the Projects to retrieve metrics for
+     * @return the most recent ProjectMetrics, mapped by project ID
+     * @since 4.14.0
+     */
+    public Map<Long, ProjectMetrics> getMostRecentProjectMetrics(final Collection<Project> projects) {
+        final List<Long> projectIds = projects.stream().map(Project::getId).distinct().toList();
+        final var metricsByProjectId = new HashMap<Long, ProjectMetrics>(projectIds.size());
+        for (final List<Long> projectIdsPartition : ListUtils.partition(projectIds, 1000)) {
+            final Query<ProjectMetrics> query = pm.newQuery(ProjectMetrics.class);
+            query.setFilter(":projectIds.contains(project.id) && lastOccurrence == latestOccurrence");
+            query.declareVariables("java.util.Date latestOccurrence");
+
+            final Query<ProjectMetrics> subQuery = pm.newQuery(ProjectMetrics.class);
+            subQuery.setFilter("project == :project");
+            subQuery.setResult("max(lastOccurrence)");
+            query.addSubquery(subQuery, "java.util.Date latestOccurrence", null, "this.project");
+
+            // Multiple metrics may share the same lastOccurrence, prefer the most recently created one.
+            query.setOrdering("id desc");
+            query.setParameters(projectIdsPartition);
+            for (final ProjectMetrics metrics : executeAndCloseList(query)) {
+                metricsByProjectId.putIfAbsent(metrics.getProject().getId(), metrics);
+            }
+        }
+
+        return metricsByProjectId;
+    }
+
     /**
      * Retrieves ProjectMetrics in descending order starting with the most recent.
      * @param project the Project to retrieve metrics for
@@ -23,6 +23,7 @@ import alpine.model.Team;
 import alpine.model.UserPrincipal;
 import alpine.persistence.PaginatedResult;
 import alpine.resources.AlpineRequest;
+import org.apache.commons.collections4.ListUtils;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.ConfigPropertyConstants;
 import org.dependencytrack.model.License;
@@ -41,6 +42,7 @@ import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -186,80 +188,61 @@ final class PolicyQueryManager extends QueryManager implements IQueryManager {
             final List<PolicyViolation> existingViolations = getAllPolicyViolations(component);
             final var violationsToCreate = new ArrayList<PolicyViolation>();
             final var violationsToDelete = new ArrayList<PolicyViolation>();
+            reconcilePolicyViolations(existingViolations, reportedViolations, violationsToCreate, violationsToDelete);
 
-            final var existingViolationByIdentity = new HashMap<ViolationIdentity, PolicyViolation>();
-            for (final PolicyViolation violation : existingViolations) {
-                // Previous (<= 4.12.0) reconciliation logic allowed for duplicate violations to exist.
-                // Take that into consideration and ensure their deletion.
-                existingViolationByIdentity.compute(new ViolationIdentity(violation), (ignored, duplicateViolation) -> {
-                    if (duplicateViolation == null) {
-                        return violation;
-                    }
-
-                    // Prefer to keep violations with existing analysis.
-                    if (violation.getAnalysis() != null && duplicateViolation.getAnalysis() == null) {
-                        violationsToDelete.add(duplicateViolation);
-                        return violation;
-                    } else if (violation.getAnalysis() == null && duplicateViolation.getAnalysis() != null) {
-                        violationsToDelete.add(violation);
-                        return duplicateViolation;
-                    }
-
-                    // If none of the violations have an analysis, prefer to keep the oldest.
-                    if (violation.getAnalysis() == null && duplicateViolation.getAnalysis() == null) {
-                        final int timestampComparisonResult = Objects.compare(
-                                violation.getTimestamp(), duplicateViolation.getTimestamp(), Date::compareTo);
-                        if (timestampComparisonResult < 0) {
-                            // Duplicate violation is newer.
-                            violationsToDelete.add(duplicateViolation);
-                            return violation;
-                        } else if (timestampComparisonResult > 0) {
-                            // Duplicate violation is older.
-                            violationsToDelete.add(violation);
-                            return duplicateViolation;
-                        }
-
-                        // Everything else being equal, keep the duplicate violation.
-                        violationsToDelete.add(violation);
-                        return duplicateViolation;
-                    }
-
-                    // If both violations have an analysis, prefer to keep the suppressed one.
-                    if (violation.getAnalysis().isSuppressed() && !duplicateViolation.getAnalysis().isSuppressed()) {
-                        violationsToDelete.add(duplicateViolation);
-                        return violation;
-                    } else if (!violation.getAnalysis().isSuppressed() && duplicateViolation.getAnalysis().isSuppressed()) {
-                        violationsToDelete.add(violation);
-                        return duplicateViolation;
-                    }
-
-                    // Everything else being equal, keep the duplicate violation.
-                    violationsToDelete.add(violation);
-                    return duplicateViolation;
-                });
+            if (!violationsToCreate.isEmpty()) {
+                persist(violationsToCreate);
             }
 
-            final var reportedViolationsByIdentity = new HashMap<ViolationIdentity, PolicyViolation>();
-            for (final PolicyViolation violation : reportedViolations) {
-                reportedViolationsByIdentity.put(new ViolationIdentity(violation), violation);
-            }
+            if (!violationsToDelete.isEmpty()) {
+                for (final PolicyViolation violation : violationsToDelete) {
+                    deleteViolationAnalysisTrail(violation);
+                }
 
-            final Set<ViolationIdentity> violationIdentities = new HashSet<>(
-                    existingViolationByIdentity.size() + reportedViolationsByIdentity.size());
-            violationIdentities.addAll(existingViolationByIdentity.keySet());
-            violationIdentities.addAll(reportedViolationsByIdentity.keySet());
+                delete(violationsToDelete);
+            }
+        });
+    }
 
-            for (final ViolationIdentity identity : violationIdentities) {
-                final PolicyViolation existingViolation = existingViolationByIdentity.get(identity);
-                final PolicyViolation reportedViolation = reportedViolationsByIdentity.get(identity);
+    /**
+     * Reconciles the {@link PolicyViolation}s of multiple components in a single transaction.
+     * <p>
+     * Existing violations of all components are fetched in bulk, rather than one query per component.
+     *
+     * @param reportedViolationsByComponent the complete list of reported violations, per component
+     * @return the {@link PolicyViolation}s that were newly created
+     * @since 4.14.0
+     */
+    public synchronized List<PolicyViolation> reconcilePolicyViolations(
+            final Map<Component, List<PolicyViolation>> reportedViolationsByComponent) {
+        assertPersistentAll(reportedViolationsByComponent.keySet(), "components must be persistent");
+        reportedViolationsByComponent.values().forEach(reportedViolations ->
+                assertNonPersistentAll(reportedViolations, "reportedViolations must not be persistent"));
 
-                if (existingViolation == null) {
-                    violationsToCreate.add(reportedViolation);
-                } else if (reportedViolation == null) {
-                    violationsToDelete.add(existingViolation);
+        final var violationsToCreate = new ArrayList<PolicyViolation>();
+        runInTransaction(() -> {
+            final List<Long> componentIds = reportedViolationsByComponent.keySet().stream()
+                    .map(Component::getId)
+                    .toList();
+            final var existingViolationsByComponentId = new HashMap<Long, List<PolicyViolation>>();
+            for (final List<Long> componentIdsPartition : ListUtils.partition(componentIds, 1000)) {
+                final Query<PolicyViolation> query = pm.newQuery(PolicyViolation.class);
+                query.setFilter(":ids.contains(component.id)");
+                query.setParameters(componentIdsPartition);
+                for (final PolicyViolation violation : executeAndCloseList(query)) {
+                    existingViolationsByComponentId
+                            .computeIfAbsent(violation.getComponent().getId(), ignored -> new ArrayList<>())
+                            .add(violation);
                 }
             }
 
+            final var violationsToDelete = new ArrayList<PolicyViolation>();
+            for (final Map.Entry<Component, List<PolicyViolation>> entry : reportedViolationsByComponent.entrySet()) {
+                reconcilePolicyViolations(
+                        existingViolationsByComponentId.getOrDefault(entry.getKey().getId(), Collections.emptyList()),
+                        entry.getValue(), violationsToCreate, violationsToDelete);
+            }
+
             if (!violationsToCreate.isEmpty()) {
                 persist(violationsToCreate);
             }
@@ -272,6 +255,86 @@ final class PolicyQueryManager extends QueryManager implements IQueryManager {
                 delete(violationsToDelete);
             }
         });
+        return violationsToCreate;
+    }
+
+    private void reconcilePolicyViolations(
+            final List<PolicyViolation> existingViolations,
+            final List<PolicyViolation> reportedViolations,
+            final List<PolicyViolation> violationsToCreate,
+            final List<PolicyViolation> violationsToDelete) {
+        final var existingViolationByIdentity = new HashMap<ViolationIdentity, PolicyViolation>();
+        for (final PolicyViolation violation : existingViolations) {
+            // Previous (<= 4.12.0) reconciliation logic allowed for duplicate violations to exist.
+            // Take that into consideration and ensure their deletion.
+            existingViolationByIdentity.compute(new ViolationIdentity(violation), (ignored, duplicateViolation) -> {
+                if (duplicateViolation == null) {
+                    return violation;
+                }
+
+                // Prefer to keep violations with existing analysis.
+                if (violation.getAnalysis() != null && duplicateViolation.getAnalysis() == null) {
+                    violationsToDelete.add(duplicateViolation);
+                    return violation;
+                } else if (violation.getAnalysis() == null && duplicateViolation.getAnalysis() != null) {
+                    violationsToDelete.add(violation);
+                    return duplicateViolation;
+                }
+
+                // If none of the violations have an analysis, prefer to keep the oldest.
+                if (violation.getAnalysis() == null && duplicateViolation.getAnalysis() == null) {
+                    final int timestampComparisonResult = Objects.compare(
+                            violation.getTimestamp(), duplicateViolation.getTimestamp(), Date::compareTo);
+                    if (timestampComparisonResult < 0) {
+                        // Duplicate violation is newer.
+                        violationsToDelete.add(duplicateViolation);
+                        return violation;
+                    } else if (timestampComparisonResult > 0) {
+                        // Duplicate violation is older.
+                        violationsToDelete.add(violation);
+                        return duplicateViolation;
+                    }
+
+                    // Everything else being equal, keep the duplicate violation.
+                    violationsToDelete.add(violation);
+                    return duplicateViolation;
+                }
+
+                // If both violations have an analysis, prefer to keep the suppressed one.
+                if (violation.getAnalysis().isSuppressed() && !duplicateViolation.getAnalysis().isSuppressed()) {
+                    violationsToDelete.add(duplicateViolation);
+                    return violation;
+                } else if (!violation.getAnalysis().isSuppressed() && duplicateViolation.getAnalysis().isSuppressed()) {
+                    violationsToDelete.add(violation);
+                    return duplicateViolation;
+                }
+
+                // Everything else being equal, keep the duplicate violation.
+                violationsToDelete.add(violation);
+                return duplicateViolation;
+            });
+        }
+
+        final var reportedViolationsByIdentity = new HashMap<ViolationIdentity, PolicyViolation>();
+        for (final PolicyViolation violation : reportedViolations) {
+            reportedViolationsByIdentity.put(new ViolationIdentity(violation), violation);
+        }
+
+        final Set<ViolationIdentity> violationIdentities = new HashSet<>(
+                existingViolationByIdentity.size() + reportedViolationsByIdentity.size());
+        violationIdentities.addAll(existingViolationByIdentity.keySet());
+        violationIdentities.addAll(reportedViolationsByIdentity.keySet());
+
+        for (final ViolationIdentity identity : violationIdentities) {
+            final PolicyViolation existingViolation = existingViolationByIdentity.get(identity);
+            final PolicyViolation reportedViolation = reportedViolationsByIdentity.get(identity);
+
+            if (existingViolation == null) {
+                violationsToCreate.add(reportedViolation);
+            } else if (reportedViolation == null) {
+                violationsToDelete.add(existingViolation);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,343 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.persistence;
+
+import alpine.common.logging.Logger;
+import alpine.resources.AlpineRequest;
+import org.apache.commons.collections4.ListUtils;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.model.ProjectHierarchy;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.jdo.datastore.JDOConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @since 4.14.0
+ */
+final class ProjectHierarchyQueryManager extends QueryManager implements IQueryManager {
+
+    private static final Logger LOGGER = Logger.getLogger(ProjectHierarchyQueryManager.class);
+
+    /**
+     * Constructs a new QueryManager.
+     * @param pm a PersistenceManager object
+     */
+    ProjectHierarchyQueryManager(final PersistenceManager pm) {
+        super(pm);
+    }
+
+    /**
+     * Constructs a new QueryManager.
+     * @param pm a PersistenceManager object
+     * @param request an AlpineRequest object
+     */
+    ProjectHierarchyQueryManager(final PersistenceManager pm, final AlpineRequest request) {
+        super(pm, request);
+    }
+
+    /**
+     * Synchronizes the hierarchy rows of a {@link Project} and all of its descendants
+     * with the project's current {@link Project#getParent()}.
+     * <p>
+     * Relationships between the project's subtree and its previous ancestors are deleted,
+     * and relationships to the new ancestors are created, in bulk. Relationships within
+     * the subtree are not affected.
+     *
+     * @param project The {@link Project} to synchronize the hierarchy for
+     * @return {@code true} when the hierarchy was modified, otherwise {@code false}
+     * @throws IllegalArgumentException When the new parent is the project itself, or one of its descendants
+     */
+    public boolean synchronizeProjectHierarchy(final Project project) {
+        final Long parentId = project.getParent() != null ? project.getParent().getId() : null;
+
+        return callInTransaction(() -> {
+            final Map<Long, Integer> previousAncestorDepthById = getAncestorDepthById(project.getId());
+            final Long previousParentId = previousAncestorDepthById.entrySet().stream()
+                    .filter(entry -> entry.getValue() == 1)
+                    .map(Map.Entry::getKey)
+                    .findAny()
+                    .orElse(null);
+            if (Objects.equals(parentId, previousParentId)) {
+                return false;
+            }
+
+            final Map<Long, Integer> subtreeDepthById = getDescendantDepthById(project.getId());
+            subtreeDepthById.put(project.getId(), 0);
+            if (parentId != null && subtreeDepthById.containsKey(parentId)) {
+                throw new IllegalArgumentException("The parent of a project cannot be the project itself, or one of its descendants");
+            }
+
+            final List<Long> subtreeIds = List.copyOf(subtreeDepthById.keySet());
+            if (!previousAncestorDepthById.isEmpty()) {
+                final List<Long> previousAncestorIds = List.copyOf(previousAncestorDepthById.keySet());
+                for (final List<Long> subtreeIdsPartition : ListUtils.partition(subtreeIds, 1000)) {
+                    final Query<ProjectHierarchy> deleteQuery = pm.newQuery(ProjectHierarchy.class);
+                    deleteQuery.setFilter(":ancestorIds.contains(ancestorId) && :descendantIds.contains(descendantId)");
+                    try {
+                        deleteQuery.deletePersistentAll(previousAncestorIds, subtreeIdsPartition);
+                    } finally {
+                        deleteQuery.closeAll();
+                    }
+                }
+            }
+
+            if (parentId != null) {
+                final Map<Long, Integer> ancestorDepthById = getAncestorDepthById(parentId);
+                ancestorDepthById.put(parentId, 0);
+
+                final var hierarchiesToCreate = new ArrayList<ProjectHierarchy>(ancestorDepthById.size() * subtreeDepthById.size());
+                for (final Map.Entry<Long, Integer> ancestor : ancestorDepthById.entrySet()) {
+                    for (final Map.Entry<Long, Integer> descendant : subtreeDepthById.entrySet()) {
+                        hierarchiesToCreate.add(new ProjectHierarchy(ancestor.getKey(), descendant.getKey(),
+                                ancestor.getValue() + 1 + descendant.getValue()));
+                    }
+                }
+                createProjectHierarchies(hierarchiesToCreate);
+            }
+
+            return true;
+        });
+    }
+
+    /**
+     * Deletes all hierarchy rows from, and to, a {@link Project}.
+     *
+     * @param project The {@link Project} to delete hierarchy rows of
+     */
+    public void deleteProjectHierarchy(final Project project) {
+        final Query<ProjectHierarchy> query = pm.newQuery(ProjectHierarchy.class);
+        query.setFilter("ancestorId == :projectId || descendantId == :projectId");
+        try {
+            query.deletePersistentAll(project.getId());
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Determines whether a {@link Project} is a direct or transitive descendant of another {@link Project}.
+     *
+     * @param project  The potential descendant
+     * @param ancestor The potential ancestor
+     * @return {@code true} when {@code project} is a descendant of {@code ancestor}, otherwise {@code false}
+     */
+    public boolean isDescendantOfProject(final Project project, final Project ancestor) {
+        final Query<ProjectHierarchy> query = pm.newQuery(ProjectHierarchy.class);
+        query.setFilter("ancestorId == :ancestorId && descendantId == :descendantId");
+        query.setParameters(ancestor.getId(), project.getId());
+        query.setResult("count(this)");
+        try {
+            return query.executeResultUnique(Long.class) > 0;
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Determines whether a {@link Project} has at least one active direct or transitive descendant.
+     *
+     * @param project The {@link Project} to check
+     * @return {@code true} when an active descendant exists, otherwise {@code false}
+     */
+    public boolean hasActiveDescendant(final Project project) {
+        final Query<Project> query = pm.newQuery(Project.class);
+        query.setFilter("hierarchy.ancestorId == :ancestorId && hierarchy.descendantId == id && active == true");
+        query.declareVariables("org.dependencytrack.model.ProjectHierarchy hierarchy");
+        query.setParameters(project.getId());
+        query.setResult("count(this)");
+        try {
+            return query.executeResultUnique(Long.class) > 0;
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Fetches the IDs of all ancestors of a {@link Project}, ordered from the direct parent upwards.
+     *
+     * @param project The {@link Project} to fetch ancestors of
+     * @return The IDs of all ancestors
+     */
+    public List<Long> getAncestorProjectIds(final Project project) {
+        return List.copyOf(getAncestorDepthById(project.getId()).keySet());
+    }
+
+    /**
+     * Fetches all descendants of a {@link Project}, ordered from the deepest descendants upwards.
+     *
+     * @param project The {@link Project} to fetch descendants of
+     * @return All descendants
+     */
+    public List<Project> getDescendantProjects(final Project project) {
+        final Query<Project> query = pm.newQuery(Project.class);
+        query.setFilter("hierarchy.ancestorId == :ancestorId && hierarchy.descendantId == id");
+        query.declareVariables("org.dependencytrack.model.ProjectHierarchy hierarchy");
+        query.setOrdering("hierarchy.depth desc, id asc");
+        query.setParameters(project.getId());
+        return executeAndCloseList(query);
+    }
+
+    /**
+     * Rebuilds the entire project hierarchy from {@link Project#getParent()}, if it is not consistent with it.
+     * <p>
+     * This is the case when projects were created before the hierarchy was introduced, or modified
+     * by a version that did not maintain it. The check compares the number of direct relationships
+     * on both sides, and is cheap enough to be performed on every startup.
+     *
+     * @return {@code true} when the hierarchy was rebuilt, otherwise {@code false}
+     */
+    public boolean rebuildProjectHierarchyIfNecessary() {
+        final Query<Project> childCountQuery = pm.newQuery(Project.class);
+        childCountQuery.setFilter("parent != null");
+        childCountQuery.setResult("count(this)");
+        final long childCount;
+        try {
+            childCount = childCountQuery.executeResultUnique(Long.class);
+        } finally {
+            childCountQuery.closeAll();
+        }
+
+        final Query<ProjectHierarchy> directRelationshipCountQuery = pm.newQuery(ProjectHierarchy.class);
+        directRelationshipCountQuery.setFilter("depth == 1");
+        directRelationshipCountQuery.setResult("count(this)");
+        final long directRelationshipCount;
+        try {
+            directRelationshipCount = directRelationshipCountQuery.executeResultUnique(Long.class);
+        } finally {
+            directRelationshipCountQuery.closeAll();
+        }
+
+        if (childCount == directRelationshipCount) {
+            return false;
+        }
+
+        LOGGER.info("Project hierarchy is inconsistent (%d projects with parent, %d direct relationships); Rebuilding it"
+                .formatted(childCount, directRelationshipCount));
+        final Query<Project> parentQuery = pm.newQuery(Project.class);
+        parentQuery.setFilter("parent != null");
+        parentQuery.setResult("id, parent.id");
+        final var parentIdById = new HashMap<Long, Long>();
+        try {
+            for (final Object[] row : parentQuery.executeResultList(Object[].class)) {
+                parentIdById.put((Long) row[0], (Long) row[1]);
+            }
+        } finally {
+            parentQuery.closeAll();
+        }
+
+        final var hierarchiesToCreate = new ArrayList<ProjectHierarchy>();
+        for (final Long descendantId : parentIdById.keySet()) {
+            int depth = 1;
+            Long ancestorId = parentIdById.get(descendantId);
+            // Depth is bounded by the number of projects to guard against cycles in corrupted data.
+            while (ancestorId != null && depth <= parentIdById.size()) {
+                hierarchiesToCreate.add(new ProjectHierarchy(ancestorId, descendantId, depth++));
+                ancestorId = parentIdById.get(ancestorId);
+            }
+        }
+
+        runInTransaction(() -> {
+            final Query<ProjectHierarchy> deleteQuery = pm.newQuery(ProjectHierarchy.class);
+            try {
+                deleteQuery.deletePersistentAll();
+            } finally {
+                deleteQuery.closeAll();
+            }
+            for (final List<ProjectHierarchy> hierarchiesPartition : ListUtils.partition(hierarchiesToCreate, 1000)) {
+                pm.makePersistentAll(hierarchiesPartition);
+            }
+        });
+        LOGGER.info("Rebuilt project hierarchy with %d relationships".formatted(hierarchiesToCreate.size()));
+        return true;
+    }
+
+    /**
+     * Inserts hierarchy rows in batches, bypassing DataNucleus.
+     * <p>
+     * Persisting them via {@link PersistenceManager#makePersistentAll(Object[])} causes
+     * DataNucleus to load the {@link Project#getChildren()} of projects modified in the same
+     * transaction upon commit, which would then leak into API responses.
+     */
+    private void createProjectHierarchies(final List<ProjectHierarchy> hierarchies) {
+        final JDOConnection jdoConnection = pm.getDataStoreConnection();
+        final var nativeConnection = (Connection) jdoConnection.getNativeConnection();
+        try (final PreparedStatement ps = nativeConnection.prepareStatement("""
+                INSERT INTO "PROJECT_HIERARCHY" ("ANCESTOR_PROJECT_ID", "DESCENDANT_PROJECT_ID", "DEPTH")
+                VALUES (?, ?, ?)
+                """)) {
+            for (final List<ProjectHierarchy> hierarchiesPartition : ListUtils.partition(hierarchies, 1000)) {
+                for (final ProjectHierarchy hierarchy : hierarchiesPartition) {
+                    ps.setLong(1, hierarchy.getAncestorId());
+                    ps.setLong(2, hierarchy.getDescendantId());
+                    ps.setInt(3, hierarchy.getDepth());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create project hierarchy", e);
+        } finally {
+            jdoConnection.close();
+        }
+    }
+
+    private Map<Long, Integer> getAncestorDepthById(final long projectId) {
+        final Query<ProjectHierarchy> query = pm.newQuery(ProjectHierarchy.class);
+        query.setFilter("descendantId == :descendantId");
+        query.setParameters(projectId);
+        query.setResult("ancestorId, depth");
+        query.setOrdering("depth asc");
+        final var depthById = new LinkedHashMap<Long, Integer>();
+        try {
+            for (final Object[] row : query.executeResultList(Object[].class)) {
+                depthById.put((Long) row[0], (Integer) row[1]);
+            }
+        } finally {
+            query.closeAll();
+        }
+        return depthById;
+    }
+
+    private Map<Long, Integer> getDescendantDepthById(final long projectId) {
+        final Query<ProjectHierarchy> query = pm.newQuery(ProjectHierarchy.class);
+        query.setFilter("ancestorId == :ancestorId");
+        query.setParameters(projectId);
+        query.setResult("descendantId, depth");
+        final var depthById = new HashMap<Long, Integer>();
+        try {
+            for (final Object[] row : query.executeResultList(Object[].class)) {
+                depthById.put((Long) row[0], (Integer) row[1]);
+            }
+        } finally {
+            query.closeAll();
+        }
+        return depthById;
+    }
+
+}
@@ -51,7 +51,9 @@ import org.dependencytrack.model.FindingAttribution;
 import org.dependencytrack.model.PolicyViolation;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.ProjectCollectionLogic;
+import org.dependencytrack.model.ProjectHierarchy;
 import org.dependencytrack.model.ProjectMetadata;
+import org.dependencytrack.model.ProjectMetrics;
 import org.dependencytrack.model.ProjectProperty;
 import org.dependencytrack.model.ProjectVersion;
 import org.dependencytrack.model.ServiceComponent;
@@ -153,9 +155,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         if (includeMetrics) {
             // Populate each Project object in the paginated result with transitive related
             // data to minimize the number of round trips a client needs to make, process, and render.
-            for (Project project : result.getList(Project.class)) {
-                project.setMetrics(getMostRecentProjectMetrics(project));
-            }
+            populateMostRecentMetrics(result.getList(Project.class));
         }
         return result;
     }
@@ -178,6 +178,20 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         return getProjects(false);
     }
 
+    /**
+     * Populates the most recent metrics of the given projects, using a single query for all of them.
+     */
+    private void populateMostRecentMetrics(final List<Project> projects) {
+        if (projects.isEmpty()) {
+            return;
+        }
+
+        final Map<Long, ProjectMetrics> metricsByProjectId = getMostRecentProjectMetrics(projects);
+        for (final Project project : projects) {
+            project.setMetrics(metricsByProjectId.get(project.getId()));
+        }
+    }
+
     /**
      * Returns a list of projects by their name.
      * @param name the name of the Projects (required)
@@ -353,9 +367,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         if (includeMetrics) {
             // Populate each Project object in the paginated result with transitive related
             // data to minimize the number of round trips a client needs to make, process, and render.
-            for (Project project : result.getList(Project.class)) {
-                project.setMetrics(getMostRecentProjectMetrics(project));
-            }
+            populateMostRecentMetrics(result.getList(Project.class));
         }
         return result;
     }
@@ -390,9 +402,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         if (includeMetrics) {
             // Populate each Project object in the paginated result with transitive related
             // data to minimize the number of round trips a client needs to make, process, and render.
-            for (Project project : result.getList(Project.class)) {
-                project.setMetrics(getMostRecentProjectMetrics(project));
-            }
+            populateMostRecentMetrics(result.getList(Project.class));
         }
         return result;
     }
@@ -485,6 +495,9 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
 
             final Project newProject = persist(project);
             bind(project, resolvedTags);
+            if (newProject.getParent() != null) {
+                synchronizeProjectHierarchy(newProject);
+            }
             return newProject;
         });
 
@@ -544,7 +557,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
             project.setCollectionLogic(transientProject.getCollectionLogic());
         }
 
-        if (Boolean.TRUE.equals(project.isActive()) && !Boolean.TRUE.equals(transientProject.isActive()) && hasActiveChild(project)){
+        if (Boolean.TRUE.equals(project.isActive()) && !Boolean.TRUE.equals(transientProject.isActive()) && hasActiveDescendant(project)){
             throw new IllegalArgumentException("Project cannot be set to inactive if active children are present.");
         }
         project.setActive(transientProject.isActive());
@@ -564,7 +577,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
             Project parent = getObjectByUuid(Project.class, transientProject.getParent().getUuid());
             if (!Boolean.TRUE.equals(parent.isActive())){
                 throw new IllegalArgumentException("An inactive project cannot be selected as a parent");
-            } else if (isChildOf(parent, transientProject.getUuid())){
+            } else if (isDescendantOfProject(parent, project)){
                 throw new IllegalArgumentException("The new parent project cannot be a child of the current project.");
             } else {
                 project.setParent(parent);
@@ -595,6 +608,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
                 project.setCollectionTag(null);
             }
 
+            synchronizeProjectHierarchy(project);
             return persist(project);
         });
 
@@ -713,6 +727,9 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
             }
 
             project = persist(project);
+            if (project.getParent() != null) {
+                synchronizeProjectHierarchy(project);
+            }
 
             if (source.getMetadata() != null) {
                 final var metadata = new ProjectMetadata();
@@ -951,11 +968,25 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
     public void recursivelyDelete(final Project project, final boolean commitIndex) {
         Project parent = project.getParent();
 
-        if (project.getChildren() != null) {
-            for (final Project child: project.getChildren()) {
-                recursivelyDelete(child, false);
-            }
+        // Descendants are resolved in a single query, and ordered such that
+        // no project is deleted before all of its children have been deleted.
+        for (final Project descendant : getDescendantProjects(project)) {
+            deleteProject(descendant, false);
+        }
+        deleteProject(project, commitIndex);
+
+        // if project had a parent we need to re-calculate parents metrics to update collection projects
+        if(commitIndex && parent != null && parent.getCollectionLogic() != ProjectCollectionLogic.NONE) {
+            Event.dispatch(new ProjectMetricsUpdateEvent(parent.getUuid()));
         }
+    }
+
+    /**
+     * Deletes a single Project and all objects dependant on it, except its children.
+     * @param project the Project to delete
+     * @param commitIndex specifies if the search index should be committed (an expensive operation)
+     */
+    private void deleteProject(final Project project, final boolean commitIndex) {
         pm.getFetchPlan().setDetachmentOptions(FetchPlan.DETACH_LOAD_FIELDS);
         final Project result = pm.getObjectById(Project.class, project.getId());
         Event.dispatch(new IndexEvent(IndexEvent.Action.DELETE, result));
@@ -966,6 +997,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         deleteMetrics(project);
         deleteFindingAttributions(project);
         deletePolicyViolations(project);
+        deleteComponentDependencies(project);
         deleteComponents(project);
 
         for (final ServiceComponent s: getAllServiceComponents(project)) {
@@ -979,12 +1011,8 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         delete(project.getProperties());
         delete(getAllBoms(project));
         delete(project.getChildren());
+        deleteProjectHierarchy(project);
         delete(project);
-
-        // if project had a parent we need to re-calculate parents metrics to update collection projects
-        if(commitIndex && parent != null && parent.getCollectionLogic() != ProjectCollectionLogic.NONE) {
-            Event.dispatch(new ProjectMetricsUpdateEvent(parent.getUuid()));
-        }
     }
 
     /**
@@ -1137,6 +1165,18 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
                 );
                 executeAndCloseWithArray(sqlQuery, queryParameter);
 
+                sqlQuery = pm.newQuery(JDOQuery.SQL_QUERY_LANGUAGE, """
+                    DELETE FROM "PROJECT_HIERARCHY" WHERE "ANCESTOR_PROJECT_ID" = ANY(?);
+                    """.replace("= ANY(?)", inExpression)
+                );
+                executeAndCloseWithArray(sqlQuery, queryParameter);
+
+                sqlQuery = pm.newQuery(JDOQuery.SQL_QUERY_LANGUAGE, """
+                    DELETE FROM "PROJECT_HIERARCHY" WHERE "DESCENDANT_PROJECT_ID" = ANY(?);
+                    """.replace("= ANY(?)", inExpression)
+                );
+                executeAndCloseWithArray(sqlQuery, queryParameter);
+
                 sqlQuery = pm.newQuery(JDOQuery.SQL_QUERY_LANGUAGE, """
                     DELETE FROM "PROJECTS_TAGS" WHERE "PROJECT_ID" = ANY(?);
                     """.replace("= ANY(?)", inExpression)
@@ -1637,9 +1677,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         if (includeMetrics) {
             // Populate each Project object in the paginated result with transitive related
             // data to minimize the number of round trips a client needs to make, process, and render.
-            for (Project project : result.getList(Project.class)) {
-                project.setMetrics(getMostRecentProjectMetrics(project));
-            }
+            populateMostRecentMetrics(result.getList(Project.class));
         }
         return result;
     }
@@ -1666,9 +1704,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         if (includeMetrics) {
             // Populate each Project object in the paginated result with transitive related
             // data to minimize the number of round trips a client needs to make, process, and render.
-            for (Project project : result.getList(Project.class)) {
-                project.setMetrics(getMostRecentProjectMetrics(project));
-            }
+            populateMostRecentMetrics(result.getList(Project.class));
         }
         return result;
     }
@@ -1699,9 +1735,7 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         if (includeMetrics) {
             // Populate each Project object in the paginated result with transitive related
             // data to minimize the number of round trips a client needs to make, process, and render.
-            for (Project project : result.getList(Project.class)) {
-                project.setMetrics(getMostRecentProjectMetrics(project));
-            }
+            populateMostRecentMetrics(result.getList(Project.class));
         }
         return result;
     }
@@ -1732,12 +1766,9 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         final String queryFilter = filterBuilder.buildFilter();
         final Map<String, Object> params = filterBuilder.getParams();
 
-        preprocessACLs(query, queryFilter, params, false);
+        preprocessACLs(query, withoutDescendantsOf(query, queryFilter, params, project), params, false);
         result = execute(query, params);
 
-        result.setObjects(result.getList(Project.class).stream().filter(p -> !isChildOf(p, project.getUuid()) && !p.getUuid().equals(project.getUuid())).toList());
-        result.setTotal(result.getObjects().size());
-
         return result;
     }
 
@@ -1768,12 +1799,9 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         final String queryFilter = filterBuilder.buildFilter();
         final Map<String, Object> params = filterBuilder.getParams();
 
-        preprocessACLs(query, queryFilter, params, false);
+        preprocessACLs(query, withoutDescendantsOf(query, queryFilter, params, project), params, false);
         result = execute(query, params);
 
-        result.setObjects(result.getList(Project.class).stream().filter(p -> !isChildOf(p, project.getUuid()) && !p.getUuid().equals(project.getUuid())).toList());
-        result.setTotal(result.getObjects().size());
-
         return result;
     }
 
@@ -1811,30 +1839,25 @@ final class ProjectQueryManager extends QueryManager implements IQueryManager {
         }
     }
 
-    private static boolean isChildOf(Project project, UUID uuid) {
-        boolean isChild = false;
-        if (project.getParent() != null){
-            if (project.getParent().getUuid().equals(uuid)){
-                return true;
-            } else {
-                isChild = isChildOf(project.getParent(), uuid);
-            }
-        }
-        return isChild;
-    }
-
-    private static boolean hasActiveChild(Project project) {
-        boolean hasActiveChild = false;
-        if (project.getChildren() != null){
-            for (Project child: project.getChildren()) {
-                if (Boolean.TRUE.equals(child.isActive()) || hasActiveChild) {
-                    return true;
-                } else {
-                    hasActiveChild = hasActiveChild(child);
-                }
-            }
-        }
-        return hasActiveChild;
+    /**
+     * Extends a query filter such that a given {@link Project}, and all of its descendants, are excluded.
+     * <p>
+     * Descendants are determined using the project hierarchy, such that the exclusion
+     * is performed by the database and pagination is not affected by it.
+     */
+    private String withoutDescendantsOf(final Query<Project> query, final String queryFilter,
+                                        final Map<String, Object> params, final Project project) {
+        final Query<ProjectHierarchy> subQuery = pm.newQuery(ProjectHierarchy.class);
+        subQuery.setFilter("ancestorId == :ancestorId && descendantId == :descendantId");
+        subQuery.setResult("count(id)");
+        query.declareVariables("long ancestorRows");
+        query.addSubquery(subQuery, "long ancestorRows", null, ":excludedProjectId", "this.id");
+
+        params.put("excludedProjectId", project.getId());
+        final String excludeFilter = "id != :excludedProjectId && ancestorRows == 0";
+        return (queryFilter == null || queryFilter.isBlank())
+                ? excludeFilter
+                : "(" + queryFilter + ") && " + excludeFilter;
     }
 
     private List<ProjectVersion> getProjectVersions(Project project) {
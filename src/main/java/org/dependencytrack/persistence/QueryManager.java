@@ -43,9 +43,11 @@ import org.dependencytrack.model.AnalysisJustification;
 import org.dependencytrack.model.AnalysisResponse;
 import org.dependencytrack.model.AnalysisState;
 import org.dependencytrack.model.Bom;
+import org.dependencytrack.model.BomUpload;
 import org.dependencytrack.model.Classifier;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.ComponentAnalysisCache;
+import org.dependencytrack.model.ComponentDependency;
 import org.dependencytrack.model.ComponentIdentity;
 import org.dependencytrack.model.ComponentProperty;
 import org.dependencytrack.model.ConfigPropertyConstants;
@@ -81,7 +83,9 @@ import org.dependencytrack.model.VulnerableSoftware;
 import org.dependencytrack.notification.NotificationScope;
 import org.dependencytrack.notification.publisher.Publisher;
 import org.dependencytrack.resources.v1.vo.AffectedProject;
+import org.dependencytrack.resources.v1.vo.DependencyGraphPathsResponse;
 import org.dependencytrack.resources.v1.vo.DependencyGraphResponse;
+import org.dependencytrack.resources.v1.vo.DependencyGraphSubtreeResponse;
 import org.dependencytrack.tasks.scanners.AnalyzerIdentity;
 
 import jakarta.json.JsonObject;
@@ -117,11 +121,13 @@ public class QueryManager extends AlpineQueryManager {
     private BomQueryManager bomQueryManager;
     private CacheQueryManager cacheQueryManager;
     private ComponentQueryManager componentQueryManager;
+    private DependencyGraphQueryManager dependencyGraphQueryManager;
     private FindingsQueryManager findingsQueryManager;
 
     private FindingsSearchQueryManager findingsSearchQueryManager;
     private LicenseQueryManager licenseQueryManager;
     private MetricsQueryManager metricsQueryManager;
+    private ProjectHierarchyQueryManager projectHierarchyQueryManager;
     private NotificationQueryManager notificationQueryManager;
     private PolicyQueryManager policyQueryManager;
     private ProjectQueryManager projectQueryManager;
@@ -199,6 +205,28 @@ public class QueryManager extends AlpineQueryManager {
         return componentQueryManager;
     }
 
+    /**
+     * Lazy instantiation of DependencyGraphQueryManager.
+     * @return a DependencyGraphQueryManager object
+     */
+    private DependencyGraphQueryManager getDependencyGraphQueryManager() {
+        if (dependencyGraphQueryManager == null) {
+            dependencyGraphQueryManager = (request == null) ? new DependencyGraphQueryManager(getPersistenceManager()) : new DependencyGraphQueryManager(getPersistenceManager(), request);
+        }
+        return dependencyGraphQueryManager;
+    }
+
+    /**
+     * Lazy instantiation of ProjectHierarchyQueryManager.
+     * @return a ProjectHierarchyQueryManager object
+     */
+    private ProjectHierarchyQueryManager getProjectHierarchyQueryManager() {
+        if (projectHierarchyQueryManager == null) {
+            projectHierarchyQueryManager = (request == null) ? new ProjectHierarchyQueryManager(getPersistenceManager()) : new ProjectHierarchyQueryManager(getPersistenceManager(), request);
+        }
+        return projectHierarchyQueryManager;
+    }
+
     /**
      * Lazy instantiation of LicenseQueryManager.
      * @return a LicenseQueryManager object
@@ -526,6 +554,62 @@ public class QueryManager extends AlpineQueryManager {
         getBomQueryManager().deleteBoms(project);
     }
 
+    public BomUpload createBomUpload(final UUID token, final UUID projectUuid, final String file) {
+        return getBomQueryManager().createBomUpload(token, projectUuid, file);
+    }
+
+    public BomUpload getBomUpload(final UUID token) {
+        return getBomQueryManager().getBomUpload(token);
+    }
+
+    public List<BomUpload> getPendingBomUploads() {
+        return getBomQueryManager().getPendingBomUploads();
+    }
+
+    public List<BomUpload> getPendingBomUploads(final UUID projectUuid) {
+        return getBomQueryManager().getPendingBomUploads(projectUuid);
+    }
+
+    public long getPendingBomUploadCount() {
+        return getBomQueryManager().getPendingBomUploadCount();
+    }
+
+    public Date getOldestPendingBomUploadDate() {
+        return getBomQueryManager().getOldestPendingBomUploadDate();
+    }
+
+    public void supersedeBomUploads(final List<BomUpload> uploads, final UUID supersedingToken) {
+        getBomQueryManager().supersedeBomUploads(uploads, supersedingToken);
+    }
+
+    public Set<UUID> getSupersedingBomUploadTokens() {
+        return getBomQueryManager().getSupersedingBomUploadTokens();
+    }
+
+    public void deleteSupersededBomUploads(final UUID supersedingToken) {
+        getBomQueryManager().deleteSupersededBomUploads(supersedingToken);
+    }
+
+    public Set<UUID> getProjectUuidsOfStartedBomUploads() {
+        return getBomQueryManager().getProjectUuidsOfStartedBomUploads();
+    }
+
+    public boolean isBomUploadQueued(final UUID token) {
+        return getBomQueryManager().isBomUploadQueued(token);
+    }
+
+    public void deleteBomUpload(final UUID token) {
+        getBomQueryManager().deleteBomUpload(token);
+    }
+
+    public long resetStartedBomUploads() {
+        return getBomQueryManager().resetStartedBomUploads();
+    }
+
+    public List<BomUpload> getAllBomUploads() {
+        return getBomQueryManager().getAllBomUploads();
+    }
+
     public Vex createVex(Project project, Date imported, Vex.Format format, String specVersion, Integer vexVersion, String serialNumber) {
         return getVexQueryManager().createVex(project, imported, format, specVersion, vexVersion, serialNumber);
     }
@@ -613,6 +697,54 @@ public class QueryManager extends AlpineQueryManager {
         getComponentQueryManager().synchronizeComponentProperties(component, properties);
     }
 
+    public long synchronizeComponentDependencies(final Project project, final Set<ComponentDependency.Edge> edges) {
+        return getDependencyGraphQueryManager().synchronizeComponentDependencies(project, edges);
+    }
+
+    public void deleteComponentDependencies(final Project project) {
+        getDependencyGraphQueryManager().deleteComponentDependencies(project);
+    }
+
+    public void deleteComponentDependencies(final Component component) {
+        getDependencyGraphQueryManager().deleteComponentDependencies(component);
+    }
+
+    public DependencyGraphSubtreeResponse getDependencyGraphSubtree(final Project project, final Component root, final int maxDepth) {
+        return getDependencyGraphQueryManager().getDependencyGraphSubtree(project, root, maxDepth);
+    }
+
+    public DependencyGraphPathsResponse getDependencyGraphPaths(final Project project, final Component target, final int maxPaths) {
+        return getDependencyGraphQueryManager().getDependencyGraphPaths(project, target, maxPaths);
+    }
+
+    public boolean synchronizeProjectHierarchy(final Project project) {
+        return getProjectHierarchyQueryManager().synchronizeProjectHierarchy(project);
+    }
+
+    public void deleteProjectHierarchy(final Project project) {
+        getProjectHierarchyQueryManager().deleteProjectHierarchy(project);
+    }
+
+    public boolean isDescendantOfProject(final Project project, final Project ancestor) {
+        return getProjectHierarchyQueryManager().isDescendantOfProject(project, ancestor);
+    }
+
+    public boolean hasActiveDescendant(final Project project) {
+        return getProjectHierarchyQueryManager().hasActiveDescendant(project);
+    }
+
+    public List<Long> getAncestorProjectIds(final Project project) {
+        return getProjectHierarchyQueryManager().getAncestorProjectIds(project);
+    }
+
+    public List<Project> getDescendantProjects(final Project project) {
+        return getProjectHierarchyQueryManager().getDescendantProjects(project);
+    }
+
+    public boolean rebuildProjectHierarchyIfNecessary() {
+        return getProjectHierarchyQueryManager().rebuildProjectHierarchyIfNecessary();
+    }
+
     public PaginatedResult getLicenses() {
         return getLicenseQueryManager().getLicenses();
     }
@@ -686,6 +818,10 @@ public class QueryManager extends AlpineQueryManager {
         getPolicyQueryManager().reconcilePolicyViolations(component, policyViolations);
     }
 
+    public synchronized List<PolicyViolation> reconcilePolicyViolations(final Map<Component, List<PolicyViolation>> policyViolationsByComponent) {
+        return getPolicyQueryManager().reconcilePolicyViolations(policyViolationsByComponent);
+    }
+
     public synchronized PolicyViolation addPolicyViolationIfNotExist(final PolicyViolation pv) {
         return getPolicyQueryManager().addPolicyViolationIfNotExist(pv);
     }
@@ -957,6 +1093,14 @@ public class QueryManager extends AlpineQueryManager {
         return getComponentQueryManager().getAllComponents(project);
     }
 
+    public List<Component> getComponents(final Project project, final long offset, final int limit) {
+        return getComponentQueryManager().getComponents(project, offset, limit);
+    }
+
+    public Map<String, String> getDirectDependencies(final Project project, final long offset, final int limit) {
+        return getComponentQueryManager().getDirectDependencies(project, offset, limit);
+    }
+
     public PaginatedResult getComponents(final Project project, final boolean includeMetrics) {
         return getComponentQueryManager().getComponents(project, includeMetrics);
     }
@@ -1037,6 +1181,10 @@ public class QueryManager extends AlpineQueryManager {
         return getVulnerabilityQueryManager().getAllVulnerabilities(component, includeSuppressed);
     }
 
+    public Map<Long, List<Vulnerability>> getVulnerabilitiesByComponentId(Project project, boolean includeSuppressed) {
+        return getVulnerabilityQueryManager().getVulnerabilitiesByComponentId(project, includeSuppressed);
+    }
+
     public long getVulnerabilityCount(Project project, boolean includeSuppressed) {
         return getVulnerabilityQueryManager().getVulnerabilityCount(project, includeSuppressed);
     }
@@ -1155,6 +1303,10 @@ public class QueryManager extends AlpineQueryManager {
         return getMetricsQueryManager().getMostRecentProjectMetrics(project);
     }
 
+    public Map<Long, ProjectMetrics> getMostRecentProjectMetrics(final Collection<Project> projects) {
+        return getMetricsQueryManager().getMostRecentProjectMetrics(projects);
+    }
+
     public PaginatedResult getProjectMetrics(Project project) {
         return getMetricsQueryManager().getProjectMetrics(project);
     }
@@ -1320,6 +1472,10 @@ public class QueryManager extends AlpineQueryManager {
         return getCacheQueryManager().getComponentAnalysisCache(cacheType, targetHost, targetType, target);
     }
 
+    public Map<String, ComponentAnalysisCache> getComponentAnalysisCaches(ComponentAnalysisCache.CacheType cacheType, String targetHost, String targetType, Collection<String> targets) {
+        return getCacheQueryManager().getComponentAnalysisCaches(cacheType, targetHost, targetType, targets);
+    }
+
     public List<ComponentAnalysisCache> getComponentAnalysisCache(ComponentAnalysisCache.CacheType cacheType, String targetType, String target) {
         return getCacheQueryManager().getComponentAnalysisCache(cacheType, targetType, target);
     }
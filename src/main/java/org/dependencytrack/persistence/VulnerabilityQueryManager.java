@@ -411,6 +411,68 @@ final class VulnerabilityQueryManager extends QueryManager implements IQueryMana
         return vulnerabilities;
     }
 
+    /**
+     * Returns the vulnerabilities of all components in a project, grouped by component ID.
+     * <p>
+     * Unlike {@link #getAllVulnerabilities(Component, boolean)}, this issues a constant number of
+     * queries per 1000 vulnerabilities, rather than multiple queries per component.
+     * Aliases of the returned vulnerabilities are not populated.
+     * @param project the Project to retrieve vulnerabilities for
+     * @param includeSuppressed determines if suppressed vulnerabilities should be included or not
+     * @return the vulnerabilities per component ID; components without vulnerabilities are omitted
+     * @since 4.14.0
+     */
+    public Map<Long, List<Vulnerability>> getVulnerabilitiesByComponentId(final Project project, final boolean includeSuppressed) {
+        final Query<Object[]> query = pm.newQuery(Query.SQL, """
+                SELECT "COMPONENTS_VULNERABILITIES"."COMPONENT_ID"
+                     , "COMPONENTS_VULNERABILITIES"."VULNERABILITY_ID"
+                  FROM "COMPONENT"
+                 INNER JOIN "COMPONENTS_VULNERABILITIES"
+                    ON "COMPONENT"."ID" = "COMPONENTS_VULNERABILITIES"."COMPONENT_ID"
+                  LEFT JOIN "ANALYSIS"
+                    ON "COMPONENT"."ID" = "ANALYSIS"."COMPONENT_ID"
+                   AND "COMPONENTS_VULNERABILITIES"."VULNERABILITY_ID" = "ANALYSIS"."VULNERABILITY_ID"
+                   AND "COMPONENT"."PROJECT_ID" = "ANALYSIS"."PROJECT_ID"
+                 WHERE "COMPONENT"."PROJECT_ID" = :projectId
+                   AND (:includeSuppressed = :true OR "ANALYSIS"."SUPPRESSED" IS NULL OR "ANALYSIS"."SUPPRESSED" = :false)
+                """);
+        query.setNamedParameters(Map.ofEntries(
+                Map.entry("projectId", project.getId()),
+                Map.entry("includeSuppressed", includeSuppressed),
+                Map.entry("false", false),
+                Map.entry("true", true)
+        ));
+        final List<Object[]> queryResultRows = executeAndCloseList(query);
+        if (queryResultRows.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final List<Long> vulnIds = queryResultRows.stream()
+                .map(row -> ((Number) row[1]).longValue())
+                .distinct()
+                .toList();
+        final var vulnById = new HashMap<Long, Vulnerability>(vulnIds.size());
+        for (final List<Long> vulnIdsPartition : ListUtils.partition(vulnIds, 1000)) {
+            final Query<Vulnerability> vulnQuery = pm.newQuery(Vulnerability.class);
+            vulnQuery.setFilter(":ids.contains(id)");
+            vulnQuery.setParameters(vulnIdsPartition);
+            for (final Vulnerability vulnerability : executeAndCloseList(vulnQuery)) {
+                vulnById.put(vulnerability.getId(), vulnerability);
+            }
+        }
+
+        final var vulnsByComponentId = new HashMap<Long, List<Vulnerability>>();
+        for (final Object[] row : queryResultRows) {
+            final Vulnerability vulnerability = vulnById.get(((Number) row[1]).longValue());
+            if (vulnerability != null) {
+                vulnsByComponentId
+                        .computeIfAbsent(((Number) row[0]).longValue(), ignored -> new ArrayList<>())
+                        .add(vulnerability);
+            }
+        }
+        return vulnsByComponentId;
+    }
+
     /**
      * Returns a List of Components affected by a specific vulnerability.
      * This method if designed NOT to provide paginated results.
@@ -18,12 +18,16 @@
  */
 package org.dependencytrack.policy;
 
+import org.dependencytrack.model.Component;
 import org.dependencytrack.model.Policy;
 import org.dependencytrack.model.PolicyCondition;
+import org.dependencytrack.model.Vulnerability;
 import org.dependencytrack.persistence.QueryManager;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -36,10 +40,33 @@ public abstract class AbstractPolicyEvaluator implements PolicyEvaluator {
 
     protected QueryManager qm;
 
+    private Map<Long, List<Vulnerability>> vulnerabilitiesByComponentId;
+
     public void setQueryManager(final QueryManager qm) {
         this.qm = qm;
     }
 
+    /**
+     * Provides preloaded, non-suppressed vulnerabilities of the components that are about to be evaluated.
+     * Components absent from the given map are assumed to have no vulnerabilities.
+     *
+     * @param vulnerabilitiesByComponentId the vulnerabilities per component ID, or {@code null} to query them on demand
+     * @since 4.14.0
+     */
+    void setVulnerabilitiesByComponentId(final Map<Long, List<Vulnerability>> vulnerabilitiesByComponentId) {
+        this.vulnerabilitiesByComponentId = vulnerabilitiesByComponentId;
+    }
+
+    /**
+     * @since 4.14.0
+     */
+    protected List<Vulnerability> getVulnerabilities(final Component component) {
+        if (vulnerabilitiesByComponentId != null) {
+            return vulnerabilitiesByComponentId.getOrDefault(component.getId(), Collections.emptyList());
+        }
+        return qm.getAllVulnerabilities(component, false);
+    }
+
     protected List<PolicyCondition> extractSupportedConditions(final Policy policy) {
         if (policy == null || policy.getPolicyConditions() == null) {
             return new ArrayList<>();
@@ -52,7 +52,7 @@ public class EpssPolicyEvaluator extends AbstractPolicyEvaluator {
             return violations;
         }
 
-        for (final Vulnerability vulnerability : qm.getAllVulnerabilities(component, false)) {
+        for (final Vulnerability vulnerability : getVulnerabilities(component)) {
             for (final PolicyCondition condition: policyConditions) {
                 LOGGER.debug("Evaluating component (" + component.getUuid() + ") against policy condition (" + condition.getUuid() + ")");
                 if (matches(condition.getOperator(), vulnerability.getEpssScore(), condition.getValue())) {
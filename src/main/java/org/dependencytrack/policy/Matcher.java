@@ -18,6 +18,17 @@
  */
 package org.dependencytrack.policy;
 
+import alpine.Config;
+import alpine.common.metrics.Metrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import static alpine.Config.AlpineKey.METRICS_ENABLED;
+
 /**
  * Reusable methods that PolicyEvaluator implementations can extend.
  *
@@ -26,6 +37,8 @@ package org.dependencytrack.policy;
  */
 public final class Matcher {
 
+    private static final Cache<String, Pattern> PATTERN_CACHE = buildPatternCache();
+
     private Matcher() {
       // Utility-class should not be instantiated
     }
@@ -33,6 +46,9 @@ public final class Matcher {
     /**
      * Check if the given value matches with the conditionString. If the
      * conditionString is not a regular expression, turn it into one.
+     * <p>
+     * The compiled pattern is cached, such that it is not compiled again
+     * for every component that a policy condition is evaluated against.
      * 
      * @param value           The value to match against
      * @param conditionString The condition that should match -- may or may not be a
@@ -46,6 +62,10 @@ public final class Matcher {
         if (value == null ^ conditionString == null) {
             return false;
         }
+        return PATTERN_CACHE.get(conditionString, Matcher::compile).matcher(value).matches();
+    }
+
+    static String toRegex(String conditionString) {
         conditionString = conditionString.replace("*", ".*").replace("..*", ".*");
         if (!conditionString.startsWith("^") && !conditionString.startsWith(".*")) {
             conditionString = ".*" + conditionString;
@@ -53,6 +73,30 @@ public final class Matcher {
         if (!conditionString.endsWith("$") && !conditionString.endsWith(".*")) {
             conditionString += ".*";
         }
-        return value.matches(conditionString);
+        return conditionString;
+    }
+
+    private static Pattern compile(final String conditionString) {
+        return Pattern.compile(toRegex(conditionString));
+    }
+
+    private static Cache<String, Pattern> buildPatternCache() {
+        final boolean metricsEnabled = Config.getInstance()
+                .getPropertyAsBoolean(METRICS_ENABLED);
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+                .maximumSize(1000);
+        if (metricsEnabled) {
+            cacheBuilder.recordStats();
+        }
+
+        final Cache<String, Pattern> cache = cacheBuilder.build();
+
+        if (metricsEnabled) {
+            new CaffeineCacheMetrics<>(cache, "dtrack_policy_condition_patterns", Collections.emptyList())
+                    .bindTo(Metrics.getRegistry());
+        }
+
+        return cache;
     }
 }
@@ -49,9 +49,14 @@ public class PackageURLPolicyEvaluator extends AbstractPolicyEvaluator {
     @Override
     public List<PolicyConditionViolation> evaluate(final Policy policy, final Component component) {
         final List<PolicyConditionViolation> violations = new ArrayList<>();
-        for (final PolicyCondition condition: super.extractSupportedConditions(policy)) {
+        final List<PolicyCondition> conditions = super.extractSupportedConditions(policy);
+        if (conditions.isEmpty()) {
+            return violations;
+        }
+
+        final var canonicalPurl = component.getPurl() == null ? null : component.getPurl().canonicalize();
+        for (final PolicyCondition condition: conditions) {
             LOGGER.debug("Evaluating component (" + component.getUuid() + ") against policy condition (" + condition.getUuid() + ")");
-            final var canonicalPurl = component.getPurl() == null ? null : component.getPurl().canonicalize();
             if (PolicyCondition.Operator.MATCHES == condition.getOperator()) {
                 if (Matcher.matches(canonicalPurl, condition.getValue())) {
                     violations.add(new PolicyConditionViolation(condition, component));
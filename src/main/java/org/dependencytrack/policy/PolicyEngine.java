@@ -19,18 +19,30 @@
 package org.dependencytrack.policy;
 
 import alpine.common.logging.Logger;
+import org.apache.commons.collections4.ListUtils;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.Policy;
 import org.dependencytrack.model.PolicyCondition;
 import org.dependencytrack.model.PolicyViolation;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.Tag;
+import org.dependencytrack.model.Vulnerability;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.util.NotificationUtil;
 
+import javax.jdo.Query;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * A lightweight policy engine that evaluates a list of components against
@@ -44,6 +56,13 @@ public class PolicyEngine {
 
     private static final Logger LOGGER = Logger.getLogger(PolicyEngine.class);
 
+    private static final int BATCH_SIZE = 1000;
+    private static final Set<PolicyCondition.Subject> VULNERABILITY_SUBJECTS = EnumSet.of(
+            PolicyCondition.Subject.SEVERITY,
+            PolicyCondition.Subject.CWE,
+            PolicyCondition.Subject.VULNERABILITY_ID,
+            PolicyCondition.Subject.EPSS);
+
     private final List<PolicyEvaluator> evaluators = new ArrayList<>();
 
     public PolicyEngine() {
@@ -63,67 +82,158 @@ public class PolicyEngine {
         evaluators.add(new EpssPolicyEvaluator());
     }
 
+    /**
+     * Evaluates the given components against all applicable policies.
+     * <p>
+     * Components are evaluated in batches, grouped by their project. Policies applicable to a project
+     * are determined once, vulnerabilities of the project's components are loaded in bulk, and
+     * violations are reconciled in a single transaction per batch.
+     *
+     * @param components the components to evaluate
+     * @return the reported {@link PolicyViolation}s
+     */
     public List<PolicyViolation> evaluate(final List<Component> components) {
         LOGGER.info("Evaluating " + components.size() + " component(s) against applicable policies");
         List<PolicyViolation> violations = new ArrayList<>();
         try (final QueryManager qm = new QueryManager()) {
             final List<Policy> policies = qm.getAllPolicies();
-            for (final Component component : components) {
-                final Component componentFromDb = qm.getObjectById(Component.class, component.getId());
-                violations.addAll(this.evaluate(qm, policies, componentFromDb));
+            for (final PolicyEvaluator evaluator : evaluators) {
+                evaluator.setQueryManager(qm);
             }
+
+            final List<Long> componentIds = components.stream().map(Component::getId).distinct().toList();
+            final var scopeByProjectId = new HashMap<Long, ProjectScope>();
+            for (final List<Long> componentIdsPartition : ListUtils.partition(componentIds, BATCH_SIZE)) {
+                final Map<Long, List<Component>> componentsByProjectId = fetchComponentsById(qm, componentIdsPartition).stream()
+                        .collect(Collectors.groupingBy(component -> component.getProject().getId(), LinkedHashMap::new, Collectors.toList()));
+                for (final List<Component> projectComponents : componentsByProjectId.values()) {
+                    final Project project = projectComponents.getFirst().getProject();
+                    final ProjectScope scope = scopeByProjectId.computeIfAbsent(project.getId(),
+                            ignored -> resolveProjectScope(qm, policies, project));
+                    violations.addAll(evaluate(qm, scope, projectComponents));
+                }
+            }
+        } finally {
+            setVulnerabilitiesByComponentId(null);
         }
         LOGGER.info("Policy analysis complete");
         return violations;
     }
 
-    private List<PolicyViolation> evaluate(final QueryManager qm, final List<Policy> policies, final Component component) {
+    private record ProjectScope(List<Policy> policies, Map<Long, List<Vulnerability>> vulnerabilitiesByComponentId) {
+    }
+
+    private ProjectScope resolveProjectScope(final QueryManager qm, final List<Policy> policies, final Project project) {
+        // Ancestors are only relevant for policies that include children.
+        final var ancestorIds = new ArrayList<Long>();
+        if (policies.stream().anyMatch(policy -> Boolean.TRUE.equals(policy.isIncludeChildren()))) {
+            ancestorIds.addAll(qm.getAncestorProjectIds(project));
+        }
+        final List<Policy> applicablePolicies = policies.stream()
+                .filter(policy -> isPolicyApplicableToProject(policy, project, ancestorIds))
+                .toList();
+        LOGGER.debug(applicablePolicies.size() + " of " + policies.size() + " policies are applicable to project (" + project.getUuid() + ")");
+
+        // Only load vulnerabilities if any of the applicable policies actually needs them.
+        final boolean requiresVulnerabilities = applicablePolicies.stream()
+                .map(Policy::getPolicyConditions)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .map(PolicyCondition::getSubject)
+                .anyMatch(VULNERABILITY_SUBJECTS::contains);
+        final Map<Long, List<Vulnerability>> vulnerabilitiesByComponentId = requiresVulnerabilities
+                ? qm.getVulnerabilitiesByComponentId(project, false)
+                : Collections.emptyMap();
+
+        return new ProjectScope(applicablePolicies, vulnerabilitiesByComponentId);
+    }
+
+    private List<PolicyViolation> evaluate(final QueryManager qm, final ProjectScope scope, final List<Component> components) {
+        setVulnerabilitiesByComponentId(scope.vulnerabilitiesByComponentId());
+
+        final List<PolicyViolation> policyViolations = new ArrayList<>();
+        final var policyViolationsByComponent = new LinkedHashMap<Component, List<PolicyViolation>>(components.size());
+        for (final Component component : components) {
+            final List<PolicyViolation> componentPolicyViolations = evaluate(scope.policies(), component);
+            policyViolationsByComponent.put(component, componentPolicyViolations);
+            policyViolations.addAll(componentPolicyViolations);
+        }
+
+        for (final PolicyViolation pv : qm.reconcilePolicyViolations(policyViolationsByComponent)) {
+            NotificationUtil.analyzeNotificationCriteria(qm, pv);
+        }
+        return policyViolations;
+    }
+
+    private List<PolicyViolation> evaluate(final List<Policy> policies, final Component component) {
         final List<PolicyViolation> policyViolations = new ArrayList<>();
-        final List<PolicyViolation> existingPolicyViolations = qm.detach(qm.getAllPolicyViolations(component));
         for (final Policy policy : policies) {
-            if(policy.isOnlyLatestProjectVersion() && Boolean.FALSE.equals(component.getProject().isLatest())) {
-                continue;
-            }
-            if (policy.isGlobal() || isPolicyAssignedToProject(policy, component.getProject())
-                    || isPolicyAssignedToProjectTag(policy, component.getProject())) {
-                LOGGER.debug("Evaluating component (" + component.getUuid() + ") against policy (" + policy.getUuid() + ")");
-                final List<PolicyConditionViolation> policyConditionViolations = new ArrayList<>();
-                int policyConditionsViolated = 0;
-                for (final PolicyEvaluator evaluator : evaluators) {
-                    evaluator.setQueryManager(qm);
-                    final List<PolicyConditionViolation> policyConditionViolationsFromEvaluator = evaluator.evaluate(policy, component);
-                    if (!policyConditionViolationsFromEvaluator.isEmpty()) {
-                        policyConditionViolations.addAll(policyConditionViolationsFromEvaluator);
-                        policyConditionsViolated += (int) policyConditionViolationsFromEvaluator.stream()
-                                .map(pcv -> pcv.getPolicyCondition().getId())
-                                .sorted()
-                                .distinct()
-                                .count();
-                    }
+            LOGGER.debug("Evaluating component (" + component.getUuid() + ") against policy (" + policy.getUuid() + ")");
+            final List<PolicyConditionViolation> policyConditionViolations = new ArrayList<>();
+            int policyConditionsViolated = 0;
+            for (final PolicyEvaluator evaluator : evaluators) {
+                final List<PolicyConditionViolation> policyConditionViolationsFromEvaluator = evaluator.evaluate(policy, component);
+                if (!policyConditionViolationsFromEvaluator.isEmpty()) {
+                    policyConditionViolations.addAll(policyConditionViolationsFromEvaluator);
+                    policyConditionsViolated += (int) policyConditionViolationsFromEvaluator.stream()
+                            .map(pcv -> pcv.getPolicyCondition().getId())
+                            .sorted()
+                            .distinct()
+                            .count();
                 }
-                if (Policy.Operator.ANY == policy.getOperator()) {
-                    if (policyConditionsViolated > 0) {
-                        policyViolations.addAll(createPolicyViolations(policyConditionViolations));
-                    }
-                } else if (Policy.Operator.ALL == policy.getOperator() && policyConditionsViolated == policy.getPolicyConditions().size()) {
+            }
+            if (Policy.Operator.ANY == policy.getOperator()) {
+                if (policyConditionsViolated > 0) {
                     policyViolations.addAll(createPolicyViolations(policyConditionViolations));
                 }
+            } else if (Policy.Operator.ALL == policy.getOperator() && policyConditionsViolated == policy.getPolicyConditions().size()) {
+                policyViolations.addAll(createPolicyViolations(policyConditionViolations));
             }
         }
-        qm.reconcilePolicyViolations(component, policyViolations);
-        for (final PolicyViolation pv : qm.getAllPolicyViolations(component)) {
-            if (existingPolicyViolations.stream().noneMatch(existingViolation -> existingViolation.getId() == pv.getId())) {
-                NotificationUtil.analyzeNotificationCriteria(qm, pv);
+        return policyViolations;
+    }
+
+    private void setVulnerabilitiesByComponentId(final Map<Long, List<Vulnerability>> vulnerabilitiesByComponentId) {
+        for (final PolicyEvaluator evaluator : evaluators) {
+            if (evaluator instanceof final AbstractPolicyEvaluator abstractEvaluator) {
+                abstractEvaluator.setVulnerabilitiesByComponentId(vulnerabilitiesByComponentId);
             }
         }
-        return policyViolations;
     }
 
-    private boolean isPolicyAssignedToProject(Policy policy, Project project) {
+    private static List<Component> fetchComponentsById(final QueryManager qm, final List<Long> ids) {
+        final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
+        query.setFilter(":ids.contains(id)");
+        query.setParameters(ids);
+
+        final Map<Long, Component> componentById;
+        try {
+            componentById = query.executeList().stream()
+                    .collect(Collectors.toMap(Component::getId, Function.identity()));
+        } finally {
+            query.closeAll();
+        }
+
+        // Retain the order in which components were provided.
+        return ids.stream()
+                .map(componentById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private boolean isPolicyApplicableToProject(final Policy policy, final Project project, final List<Long> ancestorIds) {
+        if (policy.isOnlyLatestProjectVersion() && Boolean.FALSE.equals(project.isLatest())) {
+            return false;
+        }
+        return policy.isGlobal() || isPolicyAssignedToProject(policy, project, ancestorIds)
+                || isPolicyAssignedToProjectTag(policy, project);
+    }
+
+    private boolean isPolicyAssignedToProject(Policy policy, Project project, List<Long> ancestorIds) {
         if (policy.getProjects() == null || policy.getProjects().isEmpty()) {
             return false;
         }
-        return (policy.getProjects().stream().anyMatch(p -> p.getId() == project.getId()) || (Boolean.TRUE.equals(policy.isIncludeChildren()) && isPolicyAssignedToParentProject(policy, project)));
+        return (policy.getProjects().stream().anyMatch(p -> p.getId() == project.getId()) || (Boolean.TRUE.equals(policy.isIncludeChildren()) && isPolicyAssignedToParentProject(policy, ancestorIds)));
     }
 
     private List<PolicyViolation> createPolicyViolations(final List<PolicyConditionViolation> pcvList) {
@@ -167,13 +277,10 @@ public class PolicyEngine {
     }
 
 
-    private boolean isPolicyAssignedToParentProject(Policy policy, Project child) {
-        if (child.getParent() == null) {
+    private boolean isPolicyAssignedToParentProject(Policy policy, List<Long> ancestorIds) {
+        if (ancestorIds.isEmpty()) {
             return false;
         }
-        if (policy.getProjects().stream().anyMatch(p -> p.getId() == child.getParent().getId())) {
-            return true;
-        }
-        return isPolicyAssignedToParentProject(policy, child.getParent());
+        return policy.getProjects().stream().anyMatch(p -> ancestorIds.contains(p.getId()));
     }
 }
\ No newline at end of file
@@ -18,9 +18,8 @@
  */
 package org.dependencytrack.resources.v1;
 
+import alpine.Config;
 import alpine.common.logging.Logger;
-import alpine.event.framework.Event;
-import alpine.model.ConfigProperty;
 import alpine.notification.Notification;
 import alpine.notification.NotificationLevel;
 import alpine.server.auth.PermissionRequired;
@@ -33,19 +32,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.cyclonedx.CycloneDxMediaType;
 import org.cyclonedx.Version;
 import org.cyclonedx.exception.GeneratorException;
 import org.dependencytrack.auth.Permissions;
-import org.dependencytrack.event.BomUploadEvent;
+import org.dependencytrack.common.ConfigKey;
+import org.dependencytrack.event.BomUploadQueue;
 import org.dependencytrack.model.Bom;
 import org.dependencytrack.model.Bom.Format;
-import org.dependencytrack.model.BomValidationMode;
 import org.dependencytrack.model.Component;
-import org.dependencytrack.model.ConfigPropertyConstants;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.ProjectCollectionLogic;
 import org.dependencytrack.model.Tag;
@@ -63,14 +60,12 @@ import org.dependencytrack.resources.v1.problems.ProblemDetails;
 import org.dependencytrack.resources.v1.vo.BomSubmitRequest;
 import org.dependencytrack.resources.v1.vo.BomUploadResponse;
 import org.dependencytrack.resources.v1.vo.IsTokenBeingProcessedResponse;
+import org.dependencytrack.util.BomSpoolUtil;
+import org.dependencytrack.util.BomValidationUtil;
 import org.glassfish.jersey.media.multipart.BodyPartEntity;
 import org.glassfish.jersey.media.multipart.FormDataBodyPart;
 import org.glassfish.jersey.media.multipart.FormDataParam;
 
-import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonReader;
-import jakarta.json.JsonString;
 import jakarta.validation.Validator;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
@@ -82,12 +77,15 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Arrays;
 import java.util.Base64;
@@ -96,12 +94,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static java.util.function.Predicate.not;
-import static org.dependencytrack.model.ConfigPropertyConstants.BOM_VALIDATION_MODE;
-import static org.dependencytrack.model.ConfigPropertyConstants.BOM_VALIDATION_TAGS_EXCLUSIVE;
-import static org.dependencytrack.model.ConfigPropertyConstants.BOM_VALIDATION_TAGS_INCLUSIVE;
 
 /**
  * JAX-RS resources for processing bill-of-material (bom) documents.
@@ -193,19 +189,25 @@ public class BomResource extends AlpineResource {
                 return Response.status(Response.Status.BAD_REQUEST).entity("Invalid BOM variant specified.").build();
             }
 
-            final CycloneDXExporter exporter = new CycloneDXExporter(exportVariant, qm);
-
-            try {
-                if (download) {
-                    return Response.ok(exporter.export(exporter.create(project), cdxOutputFormat, cdxOutputVersion), MediaType.APPLICATION_OCTET_STREAM)
-                            .header("content-disposition","attachment; filename=\"" + project.getUuid() + "-" + parsedVariant + ".cdx.json\"").build();
+            // The document is streamed after this method returned, and thus
+            // needs its own QueryManager rather than the request-scoped one.
+            final UUID projectUuid = project.getUuid();
+            final CycloneDXExporter.Format streamedFormat = cdxOutputFormat;
+            final StreamingOutput streamingOutput = outputStream -> {
+                try (final var streamingQm = new QueryManager()) {
+                    final Project streamedProject = streamingQm.getObjectByUuid(Project.class, projectUuid);
+                    new CycloneDXExporter(exportVariant, streamingQm).export(streamedProject, streamedFormat, cdxOutputVersion, outputStream);
+                } catch (GeneratorException e) {
+                    LOGGER.error("An error occurred while building a CycloneDX document for export", e);
+                    throw new WebApplicationException(e, Response.Status.INTERNAL_SERVER_ERROR);
                 }
-                return Response.ok(exporter.export(exporter.create(project), cdxOutputFormat, cdxOutputVersion), cdxOutputMediaType).build();
+            };
 
-            } catch (GeneratorException e) {
-                LOGGER.error("An error occurred while building a CycloneDX document for export", e);
-                return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+            if (download) {
+                return Response.ok(streamingOutput, MediaType.APPLICATION_OCTET_STREAM)
+                        .header("content-disposition","attachment; filename=\"" + project.getUuid() + "-" + parsedVariant + ".cdx.json\"").build();
             }
+            return Response.ok(streamingOutput, cdxOutputMediaType).build();
         }
     }
 
@@ -322,7 +324,8 @@ public class BomResource extends AlpineResource {
             ),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Access to the specified project is forbidden"),
-            @ApiResponse(responseCode = "404", description = "The project could not be found")
+            @ApiResponse(responseCode = "404", description = "The project could not be found"),
+            @ApiResponse(responseCode = "429", description = "The BOM processing queue is full")
     })
     @PermissionRequired(Permissions.Constants.BOM_UPLOAD)
     public Response uploadBom(@Parameter(required = true) BomSubmitRequest request) {
@@ -435,7 +438,8 @@ public class BomResource extends AlpineResource {
             ),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Access to the specified project is forbidden"),
-            @ApiResponse(responseCode = "404", description = "The project could not be found")
+            @ApiResponse(responseCode = "404", description = "The project could not be found"),
+            @ApiResponse(responseCode = "429", description = "The BOM processing queue is full")
     })
     @PermissionRequired(Permissions.Constants.BOM_UPLOAD)
     public Response uploadBom(
@@ -537,7 +541,7 @@ public class BomResource extends AlpineResource {
             @Parameter(description = "The UUID of the token to query", schema = @Schema(type = "string", format = "uuid"), required = true)
             @PathParam("uuid") @ValidUuid String uuid) {
 
-        final boolean value = Event.isEventBeingProcessed(UUID.fromString(uuid));
+        final boolean value = BomUploadQueue.getInstance().isProcessing(UUID.fromString(uuid));
 
         IsTokenBeingProcessedResponse response = new IsTokenBeingProcessedResponse();
 
@@ -558,13 +562,10 @@ public class BomResource extends AlpineResource {
                 return Response.status(Response.Status.BAD_REQUEST).entity("BOM cannot be uploaded to collection project.").build();
             }
             maybeBindTags(qm, project, requestTags);
-            final byte[] decoded = Base64.getDecoder().decode(encodedBomData);
-            try (final ByteArrayInputStream bain = new ByteArrayInputStream(decoded)) {
-                final byte[] content = IOUtils.toByteArray(BOMInputStream.builder().setInputStream(bain).get());
-                validate(content, project);
-                final BomUploadEvent bomUploadEvent = new BomUploadEvent(qm.getPersistenceManager().detachCopy(project), content);
-                Event.dispatch(bomUploadEvent);
-                return Response.ok(Collections.singletonMap("token", bomUploadEvent.getChainIdentifier())).build();
+            try (final InputStream in = Base64.getDecoder().wrap(
+                    new ByteArrayInputStream(encodedBomData.getBytes(StandardCharsets.ISO_8859_1)))) {
+                final UUID token = spoolAndEnqueue(project, in);
+                return Response.ok(Collections.singletonMap("token", token)).build();
             } catch (IOException e) {
                 return Response.status(Response.Status.BAD_REQUEST).build();
             }
@@ -588,16 +589,13 @@ public class BomResource extends AlpineResource {
                 }
                 maybeBindTags(qm, project, requestTags);
                 try (InputStream in = bodyPartEntity.getInputStream()) {
-                    final byte[] content = IOUtils.toByteArray(BOMInputStream.builder().setInputStream(in).get());
-                    validate(content, project);
                     // todo: make option to combine all the bom data so components are reconciled in a single pass.
                     // todo: https://github.com/DependencyTrack/dependency-track/issues/130
-                    final BomUploadEvent bomUploadEvent = new BomUploadEvent(qm.getPersistenceManager().detachCopy(project), content);
-                    Event.dispatch(bomUploadEvent);
+                    final UUID token = spoolAndEnqueue(project, in);
 
                     BomUploadResponse bomUploadResponse = new BomUploadResponse();
 
-                    bomUploadResponse.setToken(bomUploadEvent.getChainIdentifier());
+                    bomUploadResponse.setToken(token);
 
                     return Response.ok(bomUploadResponse).build();
                 } catch (IOException e) {
@@ -610,27 +608,54 @@ public class BomResource extends AlpineResource {
         return Response.ok().build();
     }
 
-    static void validate(final byte[] bomBytes, final Project project) {
-        if (!shouldValidate(project)) {
-            return;
+    /**
+     * Spools the BOM to disk, validates it, and enqueues it for processing.
+     * <p>
+     * BOMs are passed to the {@link BomUploadQueue} by reference,
+     * such that they do not have to be held in memory while waiting to be processed.
+     * When asynchronous validation is enabled, validation is deferred to the processing
+     * of the BOM instead, and failures are only reported via notification.
+     */
+    private UUID spoolAndEnqueue(final Project project, final InputStream in) throws IOException {
+        // Reject uploads while the queue is full, before spending effort on spooling and validating them.
+        try {
+            BomUploadQueue.getInstance().checkCapacity(project);
+        } catch (BomUploadQueue.QueueFullException e) {
+            throw handleQueueFull(e, project);
         }
 
+        final File bomFile = BomSpoolUtil.spool(BOMInputStream.builder().setInputStream(in).get());
         try {
-            CycloneDxValidator.getInstance().validate(bomBytes);
-        } catch (InvalidBomException e) {
-            final var problemDetails = new InvalidBomProblemDetails();
-            problemDetails.setStatus(400);
-            problemDetails.setTitle("The uploaded BOM is invalid");
-            problemDetails.setDetail(e.getMessage());
-            if (!e.getValidationErrors().isEmpty()) {
-                problemDetails.setErrors(e.getValidationErrors());
+            if (!Config.getInstance().getPropertyAsBoolean(ConfigKey.BOM_VALIDATION_ASYNC_ENABLED)) {
+                validate(bomFile, project);
             }
+            return BomUploadQueue.getInstance().enqueue(project, bomFile);
+        } catch (BomUploadQueue.QueueFullException e) {
+            BomSpoolUtil.delete(bomFile);
+            throw handleQueueFull(e, project);
+        } catch (RuntimeException e) {
+            BomSpoolUtil.delete(bomFile);
+            throw e;
+        }
+    }
 
-            final var bomEncoded = Base64.getEncoder()
-                .encodeToString(bomBytes);
-            dispatchBomValidationFailedNotification(project, bomEncoded, problemDetails.getErrors(), Format.CYCLONEDX);
+    private static WebApplicationException handleQueueFull(final BomUploadQueue.QueueFullException e, final Project project) {
+        LOGGER.warn("Rejecting BOM upload for project %s: %s".formatted(project.getUuid(), e.getMessage()));
+        return new WebApplicationException(Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+                .entity("The BOM processing queue is full; Please retry later")
+                .build());
+    }
 
-            throw new WebApplicationException(problemDetails.toResponse());
+    private static void validate(final File bomFile, final Project project) {
+        if (!shouldValidate(project)) {
+            return;
+        }
+
+        try {
+            CycloneDxValidator.getInstance().validate(bomFile);
+        } catch (InvalidBomException e) {
+            throw handleInvalidBom(e, project, () -> BomSpoolUtil.encodeBase64(bomFile));
         } catch (RuntimeException e) {
             LOGGER.error("Failed to validate BOM", e);
             final Response response = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
@@ -638,59 +663,40 @@ public class BomResource extends AlpineResource {
         }
     }
 
-    private static boolean shouldValidate(final Project project) {
-        try (final var qm = new QueryManager()) {
-            final ConfigProperty validationModeProperty = qm.getConfigProperty(
-                    BOM_VALIDATION_MODE.getGroupName(),
-                    BOM_VALIDATION_MODE.getPropertyName()
-            );
-
-            var validationMode = BomValidationMode.valueOf(BOM_VALIDATION_MODE.getDefaultPropertyValue());
-            try {
-                validationMode = BomValidationMode.valueOf(validationModeProperty.getPropertyValue());
-            } catch (RuntimeException e) {
-                LOGGER.warn("""
-                        No BOM validation mode configured, or configured value is invalid; \
-                        Assuming default mode %s""".formatted(validationMode), e);
-            }
+    static void validate(final byte[] bomBytes, final Project project) {
+        if (!shouldValidate(project)) {
+            return;
+        }
 
-            if (validationMode == BomValidationMode.ENABLED) {
-                LOGGER.debug("Validating BOM because validation is enabled globally");
-                return true;
-            } else if (validationMode == BomValidationMode.DISABLED) {
-                LOGGER.debug("Not validating BOM because validation is disabled globally");
-                return false;
-            }
+        try {
+            CycloneDxValidator.getInstance().validate(bomBytes);
+        } catch (InvalidBomException e) {
+            throw handleInvalidBom(e, project, () -> Base64.getEncoder().encodeToString(bomBytes));
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to validate BOM", e);
+            final Response response = Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+            throw new WebApplicationException(response);
+        }
+    }
 
-            // Other modes depend on tags. Does the project even have tags?
-            if (project.getTags() == null || project.getTags().isEmpty()) {
-                return validationMode == BomValidationMode.DISABLED_FOR_TAGS;
-            }
+    private static WebApplicationException handleInvalidBom(final InvalidBomException e, final Project project,
+                                                            final Supplier<String> bomEncodedSupplier) {
+        final var problemDetails = new InvalidBomProblemDetails();
+        problemDetails.setStatus(400);
+        problemDetails.setTitle("The uploaded BOM is invalid");
+        problemDetails.setDetail(e.getMessage());
+        if (!e.getValidationErrors().isEmpty()) {
+            problemDetails.setErrors(e.getValidationErrors());
+        }
 
-            final ConfigPropertyConstants tagsPropertyConstant = validationMode == BomValidationMode.ENABLED_FOR_TAGS
-                    ? BOM_VALIDATION_TAGS_INCLUSIVE
-                    : BOM_VALIDATION_TAGS_EXCLUSIVE;
-            final ConfigProperty tagsProperty = qm.getConfigProperty(
-                    tagsPropertyConstant.getGroupName(),
-                    tagsPropertyConstant.getPropertyName()
-            );
+        dispatchBomValidationFailedNotification(project, bomEncodedSupplier.get(), problemDetails.getErrors(), Format.CYCLONEDX);
 
-            final Set<String> validationModeTags;
-            try {
-                final JsonReader jsonParser = Json.createReader(new StringReader(tagsProperty.getPropertyValue()));
-                final JsonArray jsonArray = jsonParser.readArray();
-                validationModeTags = Set.copyOf(jsonArray.getValuesAs(JsonString::getString));
-            } catch (RuntimeException e) {
-                LOGGER.warn("Tags of property %s:%s could not be parsed as JSON array"
-                        .formatted(tagsPropertyConstant.getGroupName(), tagsPropertyConstant.getPropertyName()), e);
-                return validationMode == BomValidationMode.DISABLED_FOR_TAGS;
-            }
+        return new WebApplicationException(problemDetails.toResponse());
+    }
 
-            final boolean doTagsMatch = project.getTags().stream()
-                    .map(Tag::getName)
-                    .anyMatch(validationModeTags::contains);
-            return (validationMode == BomValidationMode.ENABLED_FOR_TAGS && doTagsMatch)
-                    || (validationMode == BomValidationMode.DISABLED_FOR_TAGS && !doTagsMatch);
+    private static boolean shouldValidate(final Project project) {
+        try (final var qm = new QueryManager()) {
+            return BomValidationUtil.shouldValidate(qm, project);
         }
     }
 
@@ -41,17 +41,21 @@ import org.dependencytrack.model.RepositoryType;
 import org.dependencytrack.model.validation.ValidUuid;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.persistence.RepositoryQueryManager;
+import org.dependencytrack.resources.v1.vo.DependencyGraphPathsResponse;
 import org.dependencytrack.resources.v1.vo.DependencyGraphResponse;
+import org.dependencytrack.resources.v1.vo.DependencyGraphSubtreeResponse;
 
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonException;
 import jakarta.json.JsonReader;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.io.StringReader;
@@ -73,6 +77,9 @@ import java.util.UUID;
 })
 public class DependencyGraphResource extends AlpineResource {
 
+    private static final int MAX_SUBTREE_DEPTH = 100;
+    private static final int MAX_PATHS = 100;
+
     @GET
     @Path("/project/{uuid}/directDependencies")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -159,6 +166,113 @@ public class DependencyGraphResource extends AlpineResource {
     }
 
 
+    @GET
+    @Path("/project/{uuid}/subtree")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Returns a subtree of the dependency graph of a project",
+            description = """
+                    <p>
+                      The subtree starts at the project itself, or at the given component of the project,
+                      and spans up to the given number of levels. Components reachable via multiple paths
+                      are included only once, which makes the traversal safe for cyclic graphs.
+                    </p>
+                    <p>Requires permission <strong>VIEW_PORTFOLIO</strong></p>"""
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "The nodes and edges of the subtree",
+                    content = @Content(schema = @Schema(implementation = DependencyGraphSubtreeResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid depth, or the component is not part of the project"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access to the specified project is forbidden"),
+            @ApiResponse(responseCode = "404", description = "The project or component could not be found"),
+    })
+    @PermissionRequired(Permissions.Constants.VIEW_PORTFOLIO)
+    public Response getDependencyGraphSubtree(
+            @Parameter(description = "The UUID of the project", schema = @Schema(type = "string", format = "uuid"), required = true)
+            @PathParam("uuid") @ValidUuid String uuid,
+            @Parameter(description = "The UUID of the component to start at; Defaults to the project itself", schema = @Schema(type = "string", format = "uuid"))
+            @QueryParam("component") @ValidUuid String componentUuid,
+            @Parameter(description = "The number of levels to traverse, between 1 and " + MAX_SUBTREE_DEPTH)
+            @QueryParam("depth") @DefaultValue("1") int depth) {
+        if (depth < 1 || depth > MAX_SUBTREE_DEPTH) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("The depth must be between 1 and " + MAX_SUBTREE_DEPTH).build();
+        }
+
+        try (QueryManager qm = new QueryManager()) {
+            final Project project = qm.getObjectByUuid(Project.class, uuid);
+            if (project == null) {
+                return Response.status(Response.Status.NOT_FOUND).entity("The project could not be found.").build();
+            }
+            if (!qm.hasAccess(super.getPrincipal(), project)) {
+                return Response.status(Response.Status.FORBIDDEN).entity("Access to the specified project is forbidden").build();
+            }
+
+            Component root = null;
+            if (componentUuid != null) {
+                root = qm.getObjectByUuid(Component.class, componentUuid);
+                if (root == null) {
+                    return Response.status(Response.Status.NOT_FOUND).entity("The component could not be found.").build();
+                }
+                if (root.getProject().getId() != project.getId()) {
+                    return Response.status(Response.Status.BAD_REQUEST).entity("The component is not part of the project.").build();
+                }
+            }
+
+            return Response.ok(qm.getDependencyGraphSubtree(project, root, depth)).build();
+        }
+    }
+
+    @GET
+    @Path("/component/{uuid}/paths")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Returns paths from the root of a project's dependency graph to a component",
+            description = """
+                    <p>
+                      Each path starts with a direct dependency of the project, and ends with the component.
+                      No component is visited twice on the same path, which makes the traversal safe for cyclic graphs.
+                    </p>
+                    <p>Requires permission <strong>VIEW_PORTFOLIO</strong></p>"""
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Paths from the root of the dependency graph to the component",
+                    content = @Content(schema = @Schema(implementation = DependencyGraphPathsResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Access to the specified component is forbidden"),
+            @ApiResponse(responseCode = "404", description = "The component could not be found"),
+    })
+    @PermissionRequired(Permissions.Constants.VIEW_PORTFOLIO)
+    public Response getDependencyGraphPaths(
+            @Parameter(description = "The UUID of the component", schema = @Schema(type = "string", format = "uuid"), required = true)
+            @PathParam("uuid") @ValidUuid String uuid,
+            @Parameter(description = "The maximum number of paths to return, between 1 and " + MAX_PATHS)
+            @QueryParam("limit") @DefaultValue("10") int limit) {
+        if (limit < 1 || limit > MAX_PATHS) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("The limit must be between 1 and " + MAX_PATHS).build();
+        }
+
+        try (QueryManager qm = new QueryManager()) {
+            final Component component = qm.getObjectByUuid(Component.class, uuid);
+            if (component == null) {
+                return Response.status(Response.Status.NOT_FOUND).entity("The component could not be found.").build();
+            }
+            if (!qm.hasAccess(super.getPrincipal(), component.getProject())) {
+                return Response.status(Response.Status.FORBIDDEN).entity("Access to the specified component is forbidden").build();
+            }
+
+            return Response.ok(qm.getDependencyGraphPaths(component.getProject(), component, limit)).build();
+        }
+    }
+
+
     /**
      * This method takes a {@link QueryManager} and a JSON string representing direct dependencies,
      * and returns a list of {@link DependencyGraphResponse} objects.
@@ -18,7 +18,6 @@
  */
 package org.dependencytrack.resources.v1;
 
-import alpine.event.framework.Event;
 import alpine.server.resources.AlpineResource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,6 +28,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityRequirements;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.dependencytrack.event.BomUploadQueue;
 import org.dependencytrack.model.validation.ValidUuid;
 import org.dependencytrack.resources.v1.vo.IsTokenBeingProcessedResponse;
 
@@ -82,7 +82,7 @@ public class EventResource extends AlpineResource {
     public Response isTokenBeingProcessed (
             @Parameter(description = "The UUID of the token to query", schema = @Schema(type = "string", format = "uuid"), required = true)
             @PathParam("uuid") @ValidUuid String uuid) {
-        final boolean value = Event.isEventBeingProcessed(UUID.fromString(uuid));
+        final boolean value = BomUploadQueue.getInstance().isProcessing(UUID.fromString(uuid));
         IsTokenBeingProcessedResponse response = new IsTokenBeingProcessedResponse();
         response.setProcessing(value);
         return Response.ok(response).build();
@@ -59,6 +59,7 @@ import org.dependencytrack.resources.v1.openapi.PaginatedApi;
 import org.dependencytrack.resources.v1.vo.AffectedComponent;
 import org.dependencytrack.resources.v1.vo.AffectedProject;
 import org.dependencytrack.tasks.scanners.AnalyzerIdentity;
+import org.dependencytrack.tasks.scanners.VulnerableSoftwareIndex;
 import org.dependencytrack.util.CvssUtil;
 import org.dependencytrack.util.VulnerabilityUtil;
 import us.springett.owasp.riskrating.MissingFactorException;
@@ -378,17 +379,19 @@ public class VulnerabilityResource extends AlpineResource {
                 }
                 recalculateScoresAndSeverityFromVectors(jsonVulnerability);
                 jsonVulnerability.setSource(Vulnerability.Source.INTERNAL);
-                return qm.callInTransaction(() -> {
-                    final Vulnerability persistentVuln = qm.createVulnerability(jsonVulnerability, true);
-                    qm.synchronizeVulnerableSoftware(persistentVuln, vsList, Vulnerability.Source.INTERNAL);
-                    if (persistentVuln.getVulnerableSoftware() != null && !persistentVuln.getVulnerableSoftware().isEmpty()) {
-                        persistentVuln.setAffectedComponents(persistentVuln.getVulnerableSoftware().stream()
-                                .peek(vs -> vs.setAffectedVersionAttributions(qm.getAffectedVersionAttributions(persistentVuln, vs)))
+                final Vulnerability persistentVuln = qm.callInTransaction(() -> {
+                    final Vulnerability vuln = qm.createVulnerability(jsonVulnerability, true);
+                    qm.synchronizeVulnerableSoftware(vuln, vsList, Vulnerability.Source.INTERNAL);
+                    if (vuln.getVulnerableSoftware() != null && !vuln.getVulnerableSoftware().isEmpty()) {
+                        vuln.setAffectedComponents(vuln.getVulnerableSoftware().stream()
+                                .peek(vs -> vs.setAffectedVersionAttributions(qm.getAffectedVersionAttributions(vuln, vs)))
                                 .map(AffectedComponent::new)
                                 .toList());
                     }
-                    return Response.status(Response.Status.CREATED).entity(persistentVuln).build();
+                    return vuln;
                 });
+                VulnerableSoftwareIndex.getInstance().update(persistentVuln);
+                return Response.status(Response.Status.CREATED).entity(persistentVuln).build();
             } else {
                 return Response.status(Response.Status.CONFLICT).entity("A vulnerability with the specified vulnId already exists.").build();
             }
@@ -461,17 +464,19 @@ public class VulnerabilityResource extends AlpineResource {
                     }
                 }
                 recalculateScoresAndSeverityFromVectors(jsonVuln);
-                return qm.callInTransaction(() -> {
-                    final Vulnerability persistentVuln = qm.updateVulnerability(jsonVuln, true);
-                    qm.synchronizeVulnerableSoftware(persistentVuln, vsList, Vulnerability.Source.INTERNAL);
-                    if (persistentVuln.getVulnerableSoftware() != null && !persistentVuln.getVulnerableSoftware().isEmpty()) {
-                        persistentVuln.setAffectedComponents(persistentVuln.getVulnerableSoftware().stream()
-                                .peek(vs -> vs.setAffectedVersionAttributions(qm.getAffectedVersionAttributions(persistentVuln, vs)))
+                final Vulnerability persistentVuln = qm.callInTransaction(() -> {
+                    final Vulnerability vuln = qm.updateVulnerability(jsonVuln, true);
+                    qm.synchronizeVulnerableSoftware(vuln, vsList, Vulnerability.Source.INTERNAL);
+                    if (vuln.getVulnerableSoftware() != null && !vuln.getVulnerableSoftware().isEmpty()) {
+                        vuln.setAffectedComponents(vuln.getVulnerableSoftware().stream()
+                                .peek(vs -> vs.setAffectedVersionAttributions(qm.getAffectedVersionAttributions(vuln, vs)))
                                 .map(AffectedComponent::new)
                                 .toList());
                     }
-                    return Response.ok(persistentVuln).build();
+                    return vuln;
                 });
+                VulnerableSoftwareIndex.getInstance().update(persistentVuln);
+                return Response.ok(persistentVuln).build();
             } else {
                 return Response.status(Response.Status.NOT_FOUND).entity("The vulnerability could not be found.").build();
             }
@@ -0,0 +1,35 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.resources.v1.vo;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Response-Object that represents paths from the root of a project's dependency graph to a component.
+ * <p>
+ * Each path starts with a direct dependency of the project, and ends with the component itself.
+ * The result is {@code truncated} when more paths exist than were requested.
+ *
+ * @since 4.14.0
+ */
+public record DependencyGraphPathsResponse(
+        List<List<DependencyGraphNode>> paths,
+        boolean truncated) implements Serializable {
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.resources.v1.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response-Object that represents a subtree of a project's dependency graph.
+ * <p>
+ * Edges without parent denote direct dependencies of the project.
+ * The subtree is {@code truncated} when the requested depth was reached before all nodes were visited.
+ *
+ * @since 4.14.0
+ */
+public record DependencyGraphSubtreeResponse(
+        List<DependencyGraphNode> nodes,
+        List<Edge> edges,
+        boolean truncated) implements Serializable {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Edge(UUID parent, UUID child) implements Serializable {
+    }
+
+}
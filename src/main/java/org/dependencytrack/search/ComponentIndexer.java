@@ -27,7 +27,6 @@ import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.search.document.ComponentDocument;
 
 import javax.jdo.Query;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -92,33 +91,18 @@ public final class ComponentIndexer extends IndexManager implements ObjectIndexe
      */
     public void reindex() {
         LOGGER.info("Starting reindex task. This may take some time.");
-        super.reindex();
-
-        long docsIndexed = 0;
-        final long startTimeNs = System.nanoTime();
-        try (final QueryManager qm = new QueryManager()) {
-            List<ComponentDocument> docs = fetchNext(qm, null);
-            while (!docs.isEmpty()) {
-                docs.forEach(this::add);
-                docsIndexed += docs.size();
-                commit();
-
-                docs = fetchNext(qm, docs.get(docs.size() - 1).id());
-            }
-        }
-        LOGGER.info("Reindexing of %d components completed in %s"
-                .formatted(docsIndexed, Duration.ofNanos(System.nanoTime() - startTimeNs)));
+        rebuild(ComponentIndexer::fetchNext, this::convertToDocument);
     }
 
-    private static List<ComponentDocument> fetchNext(final QueryManager qm, final Long lastId) {
+    private static List<ComponentDocument> fetchNext(final QueryManager qm, final long lastId, final long maxId) {
         final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
         var filterParts = new ArrayList<String>();
         var params = new HashMap<String, Object>();
         filterParts.add("project.active");
-        if (lastId != null) {
-            filterParts.add("id > :lastId");
-            params.put("lastId", lastId);
-        }
+        filterParts.add("id > :lastId");
+        filterParts.add("id <= :maxId");
+        params.put("lastId", lastId);
+        params.put("maxId", maxId);
         query.setFilter(String.join(" && ", filterParts));
         query.setNamedParameters(params);
         query.setOrdering("id ASC");
@@ -29,6 +29,7 @@ import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
@@ -167,21 +168,26 @@ public class FuzzyVulnerableSoftwareSearchManager {
         IndexManager indexManager = VulnerableSoftwareIndexer.getInstance();
         try {
             final Query query = indexManager.getQueryParser().parse(luceneQuery);
-            final TopDocs results = indexManager.getIndexSearcher().search(query,1000);
+            final IndexSearcher searcher = indexManager.acquireIndexSearcher();
+            try {
+                final TopDocs results = searcher.search(query,1000);
 
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Searching for: " + luceneQuery + " - Total Hits: " + results.totalHits);
-            }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Searching for: " + luceneQuery + " - Total Hits: " + results.totalHits);
+                }
 
-            for (final ScoreDoc scoreDoc: results.scoreDocs) {
-                final Document doc = indexManager.getIndexSearcher().doc(scoreDoc.doc);
-                final Map<String, String> fields = new HashMap<>();
-                for (final IndexableField field: doc.getFields()) {
-                    if (StringUtils.isNotBlank(field.stringValue())) {
-                        fields.put(field.name(), field.stringValue());
+                for (final ScoreDoc scoreDoc: results.scoreDocs) {
+                    final Document doc = searcher.doc(scoreDoc.doc);
+                    final Map<String, String> fields = new HashMap<>();
+                    for (final IndexableField field: doc.getFields()) {
+                        if (StringUtils.isNotBlank(field.stringValue())) {
+                            fields.put(field.name(), field.stringValue());
+                        }
                     }
+                    resultSet.add(fields);
                 }
-                resultSet.add(fields);
+            } finally {
+                indexManager.releaseIndexSearcher(searcher);
             }
             searchResult.addResultSet(indexManager.getIndexType().name().toLowerCase(), resultSet);
         } catch (ParseException e) {
@@ -215,7 +221,6 @@ public class FuzzyVulnerableSoftwareSearchManager {
             );
         }
 
-        indexManager.close();
         return searchResult;
     }
 
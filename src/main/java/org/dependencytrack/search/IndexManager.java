@@ -22,6 +22,7 @@ import alpine.Config;
 import alpine.common.logging.Logger;
 import alpine.common.metrics.Metrics;
 import alpine.event.framework.Event;
+import alpine.event.framework.LoggableUncaughtExceptionHandler;
 import alpine.model.ConfigProperty;
 import alpine.notification.Notification;
 import alpine.notification.NotificationLevel;
@@ -34,6 +35,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileDeleteStrategy;
 import org.apache.commons.io.output.NullPrintStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
@@ -42,7 +44,6 @@ import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.CheckIndex;
 import org.apache.lucene.index.CorruptIndexException;
-import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.Term;
@@ -50,10 +51,12 @@ import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.event.IndexEvent;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.License;
@@ -65,15 +68,26 @@ import org.dependencytrack.notification.NotificationConstants;
 import org.dependencytrack.notification.NotificationGroup;
 import org.dependencytrack.notification.NotificationScope;
 import org.dependencytrack.persistence.QueryManager;
+import org.dependencytrack.search.document.SearchDocument;
 
+import javax.jdo.Query;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 import static org.dependencytrack.model.ConfigPropertyConstants.SEARCH_INDEXES_CONSISTENCY_CHECK_DELTA_THRESHOLD;
 
@@ -95,8 +109,13 @@ public abstract class IndexManager implements AutoCloseable {
     private final Counter updateOperationCounter;
     private final Counter deleteOperationCounter;
     private final Counter commitOperationCounter;
-    private IndexWriter iwriter;
-    private DirectoryReader searchReader;
+    private final AtomicLong pendingOperations = new AtomicLong();
+    private final long commitIntervalNanos;
+    private final long commitMaxPendingOperations;
+    private volatile long lastCommitNanos = System.nanoTime();
+    private final ReentrantLock swapLock = new ReentrantLock();
+    private volatile IndexWriter iwriter;
+    private volatile SearcherManager searcherManager;
     private Gauge docsRamTotalGauge;
     private Gauge ramBytesUsedGauge;
     private Gauge numDocsGauge;
@@ -185,6 +204,9 @@ public abstract class IndexManager implements AutoCloseable {
                 .tags(Tags.of(indexTag, Tag.of("operation", "commit")))
                 .baseUnit(BaseUnits.OPERATIONS)
                 .register(Metrics.getRegistry());
+        this.commitIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                Config.getInstance().getPropertyAsInt(ConfigKey.SEARCH_INDEX_COMMIT_INTERVAL_MS));
+        this.commitMaxPendingOperations = Config.getInstance().getPropertyAsInt(ConfigKey.SEARCH_INDEX_COMMIT_MAX_PENDING_OPERATIONS);
     }
 
     /**
@@ -227,7 +249,15 @@ public abstract class IndexManager implements AutoCloseable {
      * @throws IOException when the index cannot be opened
      * @since 3.0.0
      */
-    protected void openIndex() throws IOException {
+    protected synchronized void openIndex() throws IOException {
+        if (iwriter != null && iwriter.isOpen()) {
+            return;
+        }
+        if (searcherManager != null) {
+            searcherManager.close();
+            searcherManager = null;
+        }
+
         final var analyzer = new StandardAnalyzer();
 
         final var config = new IndexWriterConfig(analyzer);
@@ -235,7 +265,12 @@ public abstract class IndexManager implements AutoCloseable {
         config.setInfoStream(new LoggingInfoStream(getClass()));
         config.setCommitOnClose(true);
 
-        iwriter = new IndexWriter(getDirectory(), config);
+        final var writer = new IndexWriter(getDirectory(), config);
+
+        // Searchers are obtained from the writer (near-real-time), such that they see changes
+        // without requiring a commit. They are refreshed periodically, and after each commit.
+        searcherManager = new SearcherManager(writer, null);
+        iwriter = writer;
 
         docsRamTotalGauge = Gauge.builder("search_index_docs_ram_total", iwriter, IndexWriter::numRamDocs)
                 .description("Number of documents currently buffered in RAM")
@@ -270,27 +305,59 @@ public abstract class IndexManager implements AutoCloseable {
         return iwriter;
     }
 
-    private void ensureDirectoryReaderOpen() throws IOException {
-        if (searchReader == null) {
-            searchReader = DirectoryReader.open(getDirectory());
-        } else {
-            final var changedReader = DirectoryReader.openIfChanged(searchReader);
-            if (changedReader != null) {
-                searchReader = changedReader;
-            }
-        }
+    private SearcherManager getSearcherManager() throws IOException {
+        getIndexWriter();
+        return searcherManager;
     }
 
     /**
-     * Returns an {@link IndexSearcher} by opening the index directory first, if necessary.
+     * Acquires an {@link IndexSearcher}, by opening the index first, if necessary.
+     * <p>
+     * Acquired searchers <strong>must</strong> be released using {@link #releaseIndexSearcher(IndexSearcher)}.
      *
      * @return an {@link IndexSearcher}
-     * @throws IOException when the index directory cannot be opened
-     * @since 3.0.0
+     * @throws IOException when the index cannot be opened
+     * @since 4.14.0
+     */
+    protected IndexSearcher acquireIndexSearcher() throws IOException {
+        return getSearcherManager().acquire();
+    }
+
+    /**
+     * Releases an {@link IndexSearcher} that was previously acquired using {@link #acquireIndexSearcher()}.
+     *
+     * @param searcher the {@link IndexSearcher} to release
+     * @throws IOException when the searcher could not be released
+     * @since 4.14.0
+     */
+    protected void releaseIndexSearcher(final IndexSearcher searcher) throws IOException {
+        // Equivalent to SearcherManager#release, but remains safe to call
+        // when the index has been closed in the meantime.
+        searcher.getIndexReader().decRef();
+    }
+
+    /**
+     * Refreshes searchers, such that they see all changes made to the index so far,
+     * unless another thread is already refreshing them.
+     *
+     * @since 4.14.0
      */
-    protected synchronized IndexSearcher getIndexSearcher() throws IOException {
-        ensureDirectoryReaderOpen();
-        return new IndexSearcher(searchReader);
+    public void refresh() {
+        final SearcherManager currentSearcherManager = searcherManager;
+        if (currentSearcherManager == null) {
+            return;
+        }
+        if (!swapLock.tryLock()) {
+            // A rebuilt index is being swapped in, searchers must not see it until it's complete.
+            return;
+        }
+        try {
+            currentSearcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to refresh searchers of index " + indexType.name().toLowerCase(), e);
+        } finally {
+            swapLock.unlock();
+        }
     }
 
     /**
@@ -311,6 +378,7 @@ public abstract class IndexManager implements AutoCloseable {
         try {
             getIndexWriter().addDocument(document);
             addOperationCounter.increment();
+            pendingOperations.incrementAndGet();
         } catch (CorruptIndexException e) {
             handleCorruptIndexException(e);
         } catch (IOException e) {
@@ -329,6 +397,7 @@ public abstract class IndexManager implements AutoCloseable {
         try {
             getIndexWriter().updateDocument(term, document);
             updateOperationCounter.increment();
+            pendingOperations.incrementAndGet();
         } catch (CorruptIndexException e) {
             handleCorruptIndexException(e);
         } catch (IOException e) {
@@ -347,6 +416,7 @@ public abstract class IndexManager implements AutoCloseable {
         try {
             getIndexWriter().deleteDocuments(term);
             deleteOperationCounter.increment();
+            pendingOperations.incrementAndGet();
         } catch (CorruptIndexException e) {
             handleCorruptIndexException(e);
         } catch (IOException e) {
@@ -362,14 +432,19 @@ public abstract class IndexManager implements AutoCloseable {
     }
 
     /**
-     * Commits changes to the index and closes the IndexWriter.
+     * Commits changes to the index, and refreshes searchers such that they see all committed changes.
      *
      * @since 3.0.0
      */
     public void commit() {
+        swapLock.lock();
         try {
+            final long operations = pendingOperations.getAndSet(0);
+            lastCommitNanos = System.nanoTime();
             getIndexWriter().commit();
             commitOperationCounter.increment();
+            searcherManager.maybeRefreshBlocking();
+            logger.debug("Committed %d operations to index %s".formatted(operations, indexType.name().toLowerCase()));
         } catch (CorruptIndexException e) {
             handleCorruptIndexException(e);
         } catch (IOException e) {
@@ -381,6 +456,40 @@ public abstract class IndexManager implements AutoCloseable {
                     .content("Error committing index: %s; Check log for details.".formatted(e.getMessage()))
                     .level(NotificationLevel.ERROR)
             );
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * Requests changes to be committed to the index.
+     * <p>
+     * Commits are grouped by time and size: The commit is only performed immediately if the configured
+     * commit interval has elapsed since the last commit, or if the number of pending operations exceeds
+     * the configured threshold. Otherwise, pending operations are committed by {@link #maintain()}.
+     * Searchers see changes after the next refresh, regardless of whether they have been committed.
+     *
+     * @since 4.14.0
+     */
+    public void requestCommit() {
+        if (pendingOperations.get() >= commitMaxPendingOperations
+                || System.nanoTime() - lastCommitNanos >= commitIntervalNanos) {
+            commit();
+        }
+    }
+
+    /**
+     * Commits pending operations if the commit interval has elapsed, and refreshes searchers otherwise.
+     * <p>
+     * Intended to be called periodically.
+     *
+     * @since 4.14.0
+     */
+    public void maintain() {
+        if (pendingOperations.get() > 0 && System.nanoTime() - lastCommitNanos >= commitIntervalNanos) {
+            commit();
+        } else {
+            refresh();
         }
     }
 
@@ -402,7 +511,15 @@ public abstract class IndexManager implements AutoCloseable {
      *
      * @since 3.0.0
      */
-    public void close() {
+    public synchronized void close() {
+        if (searcherManager != null) {
+            try {
+                searcherManager.close();
+            } catch (IOException e) {
+                // do nothing...
+            }
+            searcherManager = null;
+        }
         if (iwriter != null) {
             try {
                 if (iwriter.isOpen()) {
@@ -412,6 +529,7 @@ public abstract class IndexManager implements AutoCloseable {
                 // do nothing...
             }
         }
+        pendingOperations.set(0);
     }
 
     /**
@@ -448,11 +566,16 @@ public abstract class IndexManager implements AutoCloseable {
     protected Document getDocument(final String fieldName, final String uuid) {
         final List<Document> list = new ArrayList<>();
         try {
-            final TermQuery query = new TermQuery(new Term(fieldName, uuid));
-            final TopDocs results = getIndexSearcher().search(query, 1000000);
-            final ScoreDoc[] hits = results.scoreDocs;
-            for (final ScoreDoc hit : hits) {
-                list.add(getIndexSearcher().doc(hit.doc));
+            final IndexSearcher searcher = acquireIndexSearcher();
+            try {
+                final TermQuery query = new TermQuery(new Term(fieldName, uuid));
+                final TopDocs results = searcher.search(query, 1000000);
+                final ScoreDoc[] hits = results.scoreDocs;
+                for (final ScoreDoc hit : hits) {
+                    list.add(searcher.doc(hit.doc));
+                }
+            } finally {
+                releaseIndexSearcher(searcher);
             }
         } catch (CorruptIndexException e) {
             handleCorruptIndexException(e);
@@ -486,21 +609,206 @@ public abstract class IndexManager implements AutoCloseable {
     }
 
     /**
-     * Deletes the index directory. This method should be both overwritten and called via overwriting method.
+     * Retrieves the directory in which an index is rebuilt, before it replaces the index in use.
      *
-     * @since 3.4.0
+     * @return a File object
+     * @since 4.14.0
+     */
+    private static File getRebuildDirectory(final IndexType indexType) {
+        return new File(
+                Config.getInstance().getDataDirectorty(),
+                "index" + File.separator + indexType.name().toLowerCase() + ".rebuild");
+    }
+
+    /**
+     * Fetches batches of {@link SearchDocument}s for a range of object IDs.
+     *
+     * @param <T> type of the documents
+     * @since 4.14.0
+     */
+    @FunctionalInterface
+    protected interface DocumentFetcher<T extends SearchDocument> {
+
+        /**
+         * @param qm     the {@link QueryManager} to use
+         * @param lastId the ID after which to fetch documents (exclusive)
+         * @param maxId  the ID up to which to fetch documents (inclusive)
+         * @return the next batch of documents, ordered by ID, or an empty {@link List} when there are no more documents
+         */
+        List<T> fetchNext(QueryManager qm, long lastId, long maxId);
+
+    }
+
+    private record IdRange(long lastId, long maxId) {
+    }
+
+    /**
+     * Rebuilds the index from the database.
+     * <p>
+     * The index is built in a separate directory, by multiple threads reading distinct ID ranges
+     * concurrently, and committed once. It then replaces the contents of the index in use in a single commit.
+     * Searches continue to be served from the index in use until then. If the rebuild fails,
+     * the index in use remains unchanged.
+     *
+     * @param fetcher   the {@link DocumentFetcher} to read documents with
+     * @param converter the {@link Function} to convert documents to Lucene {@link Document}s with
+     * @param <T>       type of the documents
+     * @since 4.14.0
      */
-    public void reindex() {
+    protected <T extends SearchDocument> void rebuild(final DocumentFetcher<T> fetcher, final Function<T, Document> converter) {
+        final String indexName = indexType.name().toLowerCase();
+        final File rebuildDir = getRebuildDirectory(indexType);
+        final long startTimeNs = System.nanoTime();
         try {
-            LOGGER.info("Deleting " + indexType.name().toLowerCase() + " index");
-            // Cleaner way of purging the index
-            // Essentially a call to deleteAll() is equivalent to creating a new IndexWriter with IndexWriterConfig.OpenMode.CREATE
-            // It will abort all pending work, trash everything in memory and ensure proper locking on the IndexWriter object
-            getIndexWriter().deleteAll();
-            getIndexWriter().commit();
-        } catch (IOException e) {
-            LOGGER.error("An error occurred deleting cleanly the " + indexType.name().toLowerCase() + " index. Forcing delete", e);
-            delete(indexType);
+            if (rebuildDir.exists()) {
+                FileDeleteStrategy.FORCE.delete(rebuildDir);
+            }
+
+            final long docsIndexed;
+            try (final Directory rebuildDirectory = FSDirectory.open(rebuildDir.toPath())) {
+                docsIndexed = buildIndex(rebuildDirectory, fetcher, converter);
+                swapIndex(rebuildDirectory);
+            }
+
+            logger.info("Rebuilding of %s index with %d documents completed in %s"
+                    .formatted(indexName, docsIndexed, Duration.ofNanos(System.nanoTime() - startTimeNs)));
+        } catch (IOException | RuntimeException e) {
+            logger.error("An error occurred while rebuilding the %s index; The current index remains in use".formatted(indexName), e);
+            Notification.dispatch(new Notification()
+                    .scope(NotificationScope.SYSTEM)
+                    .group(NotificationGroup.INDEXING_SERVICE)
+                    .title(getNotificationTitle())
+                    .content("An error occurred while rebuilding the %s index: %s; Check log for details.".formatted(indexName, e.getMessage()))
+                    .level(NotificationLevel.ERROR)
+            );
+        } finally {
+            try {
+                FileDeleteStrategy.FORCE.delete(rebuildDir);
+            } catch (IOException e) {
+                logger.warn("Failed to delete rebuild directory " + rebuildDir, e);
+            }
+        }
+    }
+
+    private <T extends SearchDocument> long buildIndex(final Directory directory, final DocumentFetcher<T> fetcher,
+                                                       final Function<T, Document> converter) throws IOException {
+        final var config = new IndexWriterConfig(new StandardAnalyzer());
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        config.setInfoStream(new LoggingInfoStream(getClass()));
+        config.setRAMBufferSizeMB(Config.getInstance().getPropertyAsInt(ConfigKey.SEARCH_INDEX_REBUILD_RAM_BUFFER_SIZE_MB));
+        config.setCommitOnClose(false);
+
+        final List<IdRange> idRanges = getIdRanges(Config.getInstance().getPropertyAsInt(ConfigKey.SEARCH_INDEX_REBUILD_PARALLELISM));
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, idRanges.size()), new BasicThreadFactory.Builder()
+                .namingPattern("IndexRebuild-" + indexType.name().toLowerCase() + "-%d")
+                .uncaughtExceptionHandler(new LoggableUncaughtExceptionHandler())
+                .build());
+        try (final var writer = new IndexWriter(directory, config)) {
+            final var futures = new ArrayList<Future<Long>>(idRanges.size());
+            for (final IdRange idRange : idRanges) {
+                futures.add(executor.submit(() -> indexRange(writer, fetcher, converter, idRange)));
+            }
+
+            long docsIndexed = 0;
+            for (final Future<Long> future : futures) {
+                docsIndexed += future.get();
+            }
+
+            writer.commit();
+            return docsIndexed;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to read documents", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading documents", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T extends SearchDocument> long indexRange(final IndexWriter writer, final DocumentFetcher<T> fetcher,
+                                                              final Function<T, Document> converter, final IdRange idRange) throws IOException {
+        long docsIndexed = 0;
+        try (final var qm = new QueryManager()) {
+            List<T> docs = fetcher.fetchNext(qm, idRange.lastId(), idRange.maxId());
+            while (!docs.isEmpty()) {
+                for (final T doc : docs) {
+                    writer.addDocument(converter.apply(doc));
+                }
+                docsIndexed += docs.size();
+
+                docs = fetcher.fetchNext(qm, docs.getLast().id(), idRange.maxId());
+            }
+        }
+        return docsIndexed;
+    }
+
+    /**
+     * Splits the IDs of all objects of the index type into up to {@code numRanges} ranges of equal size.
+     */
+    private List<IdRange> getIdRanges(final int numRanges) {
+        final Object[] minAndMaxId;
+        try (final var qm = new QueryManager()) {
+            final Query<?> query = qm.getPersistenceManager().newQuery(indexType.getClazz());
+            query.setResult("min(id), max(id)");
+            try {
+                minAndMaxId = (Object[]) query.executeResultUnique();
+            } finally {
+                query.closeAll();
+            }
+        }
+        if (minAndMaxId == null || minAndMaxId[0] == null || minAndMaxId[1] == null) {
+            return List.of();
+        }
+
+        final long minId = ((Number) minAndMaxId[0]).longValue();
+        final long maxId = ((Number) minAndMaxId[1]).longValue();
+        final long rangeSize = (maxId - minId) / Math.max(1, numRanges) + 1;
+
+        final var idRanges = new ArrayList<IdRange>();
+        for (long lastId = minId - 1; lastId < maxId; lastId += rangeSize) {
+            idRanges.add(new IdRange(lastId, Math.min(lastId + rangeSize, maxId)));
+        }
+        return idRanges;
+    }
+
+    /**
+     * Replaces the contents of the index in use with the contents of {@code directory}.
+     * <p>
+     * The replacement becomes visible to searchers, and durable, at once.
+     */
+    private void swapIndex(final Directory directory) throws IOException {
+        swapLock.lock();
+        try {
+            final IndexWriter writer = getIndexWriter();
+
+            // Commit pending operations on the live index first, such that
+            // rolling back a failed swap does not discard them.
+            writer.commit();
+            pendingOperations.set(0);
+            commitOperationCounter.increment();
+
+            try {
+                writer.deleteAll();
+                writer.addIndexes(directory);
+                writer.commit();
+            } catch (IOException | RuntimeException e) {
+                // Discard the partial swap. The writer is closed by the rollback,
+                // and will be re-opened from the last commit when it's used next.
+                try {
+                    writer.rollback();
+                } catch (IOException rollbackException) {
+                    e.addSuppressed(rollbackException);
+                }
+                throw e;
+            }
+
+            pendingOperations.set(0);
+            lastCommitNanos = System.nanoTime();
+            commitOperationCounter.increment();
+            searcherManager.maybeRefreshBlocking();
+        } finally {
+            swapLock.unlock();
         }
     }
 
@@ -525,13 +833,25 @@ public abstract class IndexManager implements AutoCloseable {
      * Ensure that all lucene indexes are healthy.
      */
     public static void ensureIndexesExists() {
+        final var classesToReindex = new ArrayList<Class<?>>();
         Arrays.stream(IndexManager.IndexType.values()).forEach(indexType -> {
             if (!isIndexHealthy(indexType)) {
                 LOGGER.info("(Re)Building index " + indexType.name().toLowerCase());
-                LOGGER.debug("Dispatching event to reindex " + indexType.name().toLowerCase());
-                Event.dispatch(new IndexEvent(IndexEvent.Action.REINDEX, indexType.getClazz()));
+                classesToReindex.add(indexType.getClazz());
             }
         });
+        dispatchReindexEvent(classesToReindex);
+    }
+
+    private static void dispatchReindexEvent(final List<Class<?>> classesToReindex) {
+        if (classesToReindex.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug("Dispatching event to reindex " + classesToReindex.stream()
+                .map(clazz -> clazz.getSimpleName().toLowerCase())
+                .toList());
+        Event.dispatch(new IndexEvent(classesToReindex));
     }
 
     /**
@@ -590,6 +910,7 @@ public abstract class IndexManager implements AutoCloseable {
      * Check that the index exists, is not corrupted and is consistent with the database.
      */
     public static void checkIndexesConsistency() {
+        final var classesToReindex = new ArrayList<Class<?>>();
         Arrays.stream(IndexType.values()).forEach(indexType -> {
             try (QueryManager qm = new QueryManager()) {
                 LOGGER.info("Checking the index " + indexType.name().toLowerCase());
@@ -599,8 +920,13 @@ public abstract class IndexManager implements AutoCloseable {
                 double databaseEntityCount = qm.getCount(indexType.getClazz());
                 LOGGER.info("Database entity count for type " + indexType.name() + " : " + databaseEntityCount);
                 IndexManager indexManager = IndexManagerFactory.getIndexManager(indexType.getClazz());
-                indexManager.ensureDirectoryReaderOpen();
-                double indexDocumentCount = indexManager.searchReader.numDocs();
+                final IndexSearcher searcher = indexManager.acquireIndexSearcher();
+                double indexDocumentCount;
+                try {
+                    indexDocumentCount = searcher.getIndexReader().numDocs();
+                } finally {
+                    indexManager.releaseIndexSearcher(searcher);
+                }
                 LOGGER.info("Index document count for type " + indexType.name() + " : " + indexDocumentCount);
                 double max = Math.max(Math.max(databaseEntityCount, indexDocumentCount), 1);
                 double delta = 100 * (Math.abs(databaseEntityCount - indexDocumentCount) / max);
@@ -608,8 +934,7 @@ public abstract class IndexManager implements AutoCloseable {
                 LOGGER.info("Delta ratio for type " + indexType.name() + " : " + delta + "%");
                 if (delta > deltaThreshold) {
                     LOGGER.info("Delta ratio is above the threshold of " + deltaThresholdProperty.getPropertyValue() + "%");
-                    LOGGER.debug("Dispatching event to reindex " + indexType.name().toLowerCase());
-                    Event.dispatch(new IndexEvent(IndexEvent.Action.REINDEX, indexType.getClazz()));
+                    classesToReindex.add(indexType.getClazz());
                 }
             } catch (IOException e) {
                 LOGGER.error("An I/O exception occurred while trying to read Lucene index", e);
@@ -622,6 +947,7 @@ public abstract class IndexManager implements AutoCloseable {
                 );
             }
         });
+        dispatchReindexEvent(classesToReindex);
     }
 
     private String getNotificationTitle() {
@@ -18,11 +18,18 @@
  */
 package org.dependencytrack.search;
 
+import alpine.Config;
 import alpine.common.logging.Logger;
+import alpine.event.framework.LoggableUncaughtExceptionHandler;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dependencytrack.common.ConfigKey;
 
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Build lucene indexes if needed.
@@ -34,6 +41,8 @@ public class IndexSubsystemInitializer implements ServletContextListener {
 
     private static final Logger LOGGER = Logger.getLogger(IndexSubsystemInitializer.class);
 
+    private ScheduledExecutorService maintenanceExecutor;
+
     /**
      * {@inheritDoc}
      */
@@ -41,6 +50,16 @@ public class IndexSubsystemInitializer implements ServletContextListener {
     public void contextInitialized(final ServletContextEvent event) {
         LOGGER.info("Building lucene indexes if required");
         IndexManager.ensureIndexesExists();
+
+        // Refresh searchers, and commit changes that have not been committed yet, periodically.
+        // This allows commits to be grouped, instead of committing after every index event.
+        final long refreshIntervalMillis = Config.getInstance().getPropertyAsInt(ConfigKey.SEARCH_INDEX_REFRESH_INTERVAL_MS);
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder()
+                .namingPattern("IndexMaintenance-%d")
+                .uncaughtExceptionHandler(new LoggableUncaughtExceptionHandler())
+                .build());
+        maintenanceExecutor.scheduleWithFixedDelay(IndexSubsystemInitializer::maintainIndexes,
+                refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -48,6 +67,18 @@ public class IndexSubsystemInitializer implements ServletContextListener {
      */
     @Override
     public void contextDestroyed(final ServletContextEvent event) {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdown();
+            try {
+                if (!maintenanceExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    maintenanceExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                maintenanceExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
         LOGGER.info("Closing search indexes");
 
         Arrays.stream(IndexManager.IndexType.values())
@@ -55,4 +86,15 @@ public class IndexSubsystemInitializer implements ServletContextListener {
                 .map(IndexManagerFactory::getIndexManager)
                 .forEach(IndexManager::close);
     }
+
+    private static void maintainIndexes() {
+        for (final IndexManager.IndexType indexType : IndexManager.IndexType.values()) {
+            try {
+                IndexManagerFactory.getIndexManager(indexType.getClazz()).maintain();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to maintain index " + indexType.name().toLowerCase(), e);
+            }
+        }
+    }
+
 }
@@ -27,8 +27,8 @@ import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.search.document.LicenseDocument;
 
 import javax.jdo.Query;
-import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Indexer for operating on licenses.
@@ -90,30 +90,13 @@ public final class LicenseIndexer extends IndexManager implements ObjectIndexer<
      */
     public void reindex() {
         LOGGER.info("Starting reindex task. This may take some time.");
-        super.reindex();
-
-        long docsIndexed = 0;
-        final long startTimeNs = System.nanoTime();
-        try (QueryManager qm = new QueryManager()) {
-            List<LicenseDocument> docs = fetchNext(qm, null);
-            while (!docs.isEmpty()) {
-                docs.forEach(this::add);
-                docsIndexed += docs.size();
-                commit();
-
-                docs = fetchNext(qm, docs.get(docs.size() - 1).id());
-            }
-        }
-        LOGGER.info("Reindexing of %d licenses completed in %s"
-                .formatted(docsIndexed, Duration.ofNanos(System.nanoTime() - startTimeNs)));
+        rebuild(LicenseIndexer::fetchNext, this::convertToDocument);
     }
 
-    private static List<LicenseDocument> fetchNext(final QueryManager qm, final Long lastId) {
+    private static List<LicenseDocument> fetchNext(final QueryManager qm, final long lastId, final long maxId) {
         final Query<License> query = qm.getPersistenceManager().newQuery(License.class);
-        if (lastId != null) {
-            query.setFilter("id > :lastId");
-            query.setParameters(lastId);
-        }
+        query.setFilter("id > :lastId && id <= :maxId");
+        query.setNamedParameters(Map.of("lastId", lastId, "maxId", maxId));
         query.setOrdering("id ASC");
         query.setRange(0, 1000);
         query.setResult("id, uuid, licenseId, name");
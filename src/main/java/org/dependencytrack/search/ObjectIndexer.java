@@ -59,6 +59,15 @@ public interface ObjectIndexer<T extends SearchDocument> {
      */
     void commit();
 
+    /**
+     * Requests any changes to be committed to the index.
+     * Implementations may defer the commit, in order to group multiple commits into one.
+     * @since 4.14.0
+     */
+    default void requestCommit() {
+        commit();
+    }
+
     /**
      * Re-indexes all objects of the ObjectIndexer type.
      * @since 3.4.0
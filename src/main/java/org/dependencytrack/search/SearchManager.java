@@ -27,6 +27,7 @@ import org.apache.lucene.document.Document;
 import org.apache.lucene.index.CorruptIndexException;
 import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopDocs;
@@ -87,21 +88,26 @@ public class SearchManager {
                     escaped +
                     "*";
             final Query query = indexManager.getQueryParser().parse(sb);
-            final TopDocs results = indexManager.getIndexSearcher().search(query, limit);
+            final IndexSearcher searcher = indexManager.acquireIndexSearcher();
+            try {
+                final TopDocs results = searcher.search(query, limit);
 
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Searching for: " + escaped + " - Total Hits: " + results.totalHits);
-            }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Searching for: " + escaped + " - Total Hits: " + results.totalHits);
+                }
 
-            for (final ScoreDoc scoreDoc: results.scoreDocs) {
-                final Document doc = indexManager.getIndexSearcher().doc(scoreDoc.doc);
-                final Map<String, String> fields = new HashMap<>();
-                for (final IndexableField field: doc.getFields()) {
-                    if (StringUtils.isNotBlank(field.stringValue())) {
-                        fields.put(field.name(), field.stringValue());
+                for (final ScoreDoc scoreDoc: results.scoreDocs) {
+                    final Document doc = searcher.doc(scoreDoc.doc);
+                    final Map<String, String> fields = new HashMap<>();
+                    for (final IndexableField field: doc.getFields()) {
+                        if (StringUtils.isNotBlank(field.stringValue())) {
+                            fields.put(field.name(), field.stringValue());
+                        }
                     }
+                    resultSet.add(fields);
                 }
-                resultSet.add(fields);
+            } finally {
+                indexManager.releaseIndexSearcher(searcher);
             }
             searchResult.addResultSet(indexManager.getIndexType().name().toLowerCase(), resultSet);
         } catch (ParseException e) {
@@ -135,7 +141,6 @@ public class SearchManager {
             );
         }
 
-        indexManager.close();
         return searchResult;
     }
 
@@ -168,19 +173,14 @@ public class SearchManager {
         if(indexTypes.isEmpty()) {
             throw new IllegalArgumentException("No valid index type was provided");
         }
-        IndexEvent firstReindexEvent = new IndexEvent(IndexEvent.Action.REINDEX, indexTypes.get(0).getClazz());
-        String uuid = firstReindexEvent.getChainIdentifier().toString();
-        IndexEvent currentReindexEvent = firstReindexEvent;
-        for(IndexManager.IndexType indexType : indexTypes) {
-            if(indexType != indexTypes.get(0)) {
-                IndexEvent reindexEvent = new IndexEvent(IndexEvent.Action.REINDEX, indexType.getClazz());
-                currentReindexEvent.onSuccess(reindexEvent);
-                currentReindexEvent.onFailure(reindexEvent);
-                currentReindexEvent = reindexEvent;
-            }
-        }
-        Event.dispatch(firstReindexEvent);
-        return uuid;
+        // A single event for all index types, such that their indexes are rebuilt concurrently,
+        // and the event token covers the rebuild of all of them.
+        final var reindexEvent = new IndexEvent(indexTypes.stream()
+                .<Class<?>>map(IndexManager.IndexType::getClazz)
+                .distinct()
+                .toList());
+        Event.dispatch(reindexEvent);
+        return reindexEvent.getChainIdentifier().toString();
     }
 
     /**
@@ -27,8 +27,8 @@ import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.search.document.VulnerableSoftwareDocument;
 
 import javax.jdo.Query;
-import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Indexer for operating on VulnerableSoftware.
@@ -89,30 +89,13 @@ public final class VulnerableSoftwareIndexer extends IndexManager implements Obj
      */
     public void reindex() {
         LOGGER.info("Starting reindex task. This may take some time.");
-        super.reindex();
-
-        long indexedDocs = 0;
-        final long startTimeNs = System.nanoTime();
-        try (QueryManager qm = new QueryManager()) {
-            List<VulnerableSoftwareDocument> docs = fetchNext(qm, null);
-            while (!docs.isEmpty()) {
-                docs.forEach(this::add);
-                indexedDocs += docs.size();
-                commit();
-
-                docs = fetchNext(qm, docs.get(docs.size() - 1).id());
-            }
-        }
-        LOGGER.info("Reindexing of %d VulnerableSoftwares completed in %s"
-                .formatted(indexedDocs, Duration.ofNanos(System.nanoTime() - startTimeNs)));
+        rebuild(VulnerableSoftwareIndexer::fetchNext, this::convertToDocument);
     }
 
-    private static List<VulnerableSoftwareDocument> fetchNext(final QueryManager qm, final Long lastId) {
+    private static List<VulnerableSoftwareDocument> fetchNext(final QueryManager qm, final long lastId, final long maxId) {
         final Query<VulnerableSoftware> query = qm.getPersistenceManager().newQuery(VulnerableSoftware.class);
-        if (lastId != null) {
-            query.setFilter("id > :lastId");
-            query.setParameters(lastId);
-        }
+        query.setFilter("id > :lastId && id <= :maxId");
+        query.setNamedParameters(Map.of("lastId", lastId, "maxId", maxId));
         query.setOrdering("id ASC");
         query.setRange(0, 1000);
         query.setResult("id, uuid, cpe22, cpe23, vendor, product, version");
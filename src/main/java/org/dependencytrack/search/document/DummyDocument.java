@@ -18,6 +18,8 @@
  */
 package org.dependencytrack.search.document;
 
+import java.util.UUID;
+
 /**
  * A dummy {@link SearchDocument}.
  *
@@ -28,4 +30,14 @@ public final class DummyDocument implements SearchDocument {
     private DummyDocument() {
     }
 
+    @Override
+    public Long id() {
+        return null;
+    }
+
+    @Override
+    public UUID uuid() {
+        return null;
+    }
+
 }
@@ -18,10 +18,25 @@
  */
 package org.dependencytrack.search.document;
 
+import java.util.UUID;
+
 /**
- * Marker interface for classes representing index-able search documents.
+ * Interface for classes representing index-able search documents.
  *
  * @since 4.10.0
  */
 public interface SearchDocument {
+
+    /**
+     * @return the ID of the object represented by this document
+     * @since 4.14.0
+     */
+    Long id();
+
+    /**
+     * @return the {@link UUID} of the object represented by this document
+     * @since 4.14.0
+     */
+    UUID uuid();
+
 }
@@ -18,27 +18,37 @@
  */
 package org.dependencytrack.tasks;
 
+import alpine.Config;
 import alpine.common.logging.Logger;
+import alpine.common.metrics.Metrics;
 import alpine.event.framework.Event;
 import alpine.event.framework.Subscriber;
 import alpine.notification.Notification;
 import alpine.notification.NotificationLevel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
 import org.cyclonedx.exception.ParseException;
-import org.cyclonedx.parsers.BomParserFactory;
-import org.cyclonedx.parsers.Parser;
 import org.datanucleus.flush.FlushMode;
+import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.event.BomUploadEvent;
+import org.dependencytrack.event.IndexEvent;
 import org.dependencytrack.event.NewVulnerableDependencyAnalysisEvent;
 import org.dependencytrack.event.PolicyEvaluationEvent;
+import org.dependencytrack.event.ProjectMetricsUpdateEvent;
 import org.dependencytrack.event.ProjectVulnerabilityAnalysisEvent;
 import org.dependencytrack.event.RepositoryMetaEvent;
 import org.dependencytrack.model.Analysis;
 import org.dependencytrack.model.AnalysisComment;
 import org.dependencytrack.model.Bom;
 import org.dependencytrack.model.Component;
+import org.dependencytrack.model.ComponentDependency;
 import org.dependencytrack.model.ComponentIdentity;
+import org.dependencytrack.model.ComponentProperty;
 import org.dependencytrack.model.DependencyMetrics;
 import org.dependencytrack.model.FindingAttribution;
 import org.dependencytrack.model.License;
@@ -54,27 +64,41 @@ import org.dependencytrack.notification.NotificationGroup;
 import org.dependencytrack.notification.NotificationScope;
 import org.dependencytrack.notification.vo.BomConsumedOrProcessed;
 import org.dependencytrack.notification.vo.BomProcessingFailed;
+import org.dependencytrack.notification.vo.BomValidationFailed;
+import org.dependencytrack.parser.cyclonedx.BomStreamReader;
+import org.dependencytrack.parser.cyclonedx.CycloneDxValidator;
+import org.dependencytrack.parser.cyclonedx.InvalidBomException;
+import org.dependencytrack.persistence.ComponentBatchWriter;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.persistence.listener.IndexingInstanceLifecycleListener;
+import org.dependencytrack.util.BomSpoolUtil;
+import org.dependencytrack.util.BomValidationUtil;
 import org.dependencytrack.util.InternalComponentIdentifier;
 import org.json.JSONArray;
 import org.slf4j.MDC;
 
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -113,25 +137,56 @@ public class BomUploadProcessingTask implements Subscriber {
 
         private final UUID token;
         private final Project project;
-        private final String bomEncoded;
+        private final File bomFile;
         private final Bom.Format bomFormat;
         private final long startTimeNs;
+        private String bomEncoded;
         private String bomSpecVersion;
         private String bomSerialNumber;
         private Integer bomVersion;
 
-        private Context(final UUID token, final Project project, final byte[] bomBytes) {
+        private Context(final UUID token, final Project project, final File bomFile) {
             this.token = token;
             this.project = project;
-            this.bomEncoded = Base64.getEncoder().encodeToString(bomBytes);
+            this.bomFile = bomFile;
             this.bomFormat = Bom.Format.CYCLONEDX;
             this.startTimeNs = System.nanoTime();
         }
 
+        /**
+         * The spooled BOM is only read into memory and encoded once a notification requires it.
+         */
+        private String getBomEncoded() {
+            if (bomEncoded == null) {
+                bomEncoded = BomSpoolUtil.encodeBase64(bomFile);
+            }
+            return bomEncoded;
+        }
+
     }
 
     private static final Logger LOGGER = Logger.getLogger(BomUploadProcessingTask.class);
 
+    /**
+     * Maximum number of top-level components to read from the BOM and synchronize with the database at once.
+     */
+    private static final int COMPONENT_BATCH_SIZE = 500;
+
+    private static final ObjectMapper CONTENT_HASH_OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Timer VALIDATION_TIMER = Timer.builder("bom_upload_validation")
+            .description("Duration of the schema validation stage of BOM processing")
+            .publishPercentileHistogram()
+            .register(Metrics.getRegistry());
+    private static final Timer RECONCILE_TIMER = Timer.builder("bom_upload_reconcile")
+            .description("Duration of the component reconciliation phase of BOM processing")
+            .publishPercentileHistogram()
+            .register(Metrics.getRegistry());
+    private static final DistributionSummary RECONCILE_STATEMENTS = DistributionSummary.builder("bom_upload_reconcile_statements")
+            .description("Number of statement batches executed to write components and their properties during BOM processing")
+            .publishPercentileHistogram()
+            .register(Metrics.getRegistry());
+
     /**
      * {@link Event}s to dispatch <em>after</em> BOM processing completed successfully.
      * <p>
@@ -139,27 +194,50 @@ public class BomUploadProcessingTask implements Subscriber {
      */
     private final List<Event> eventsToDispatch = new ArrayList<>();
 
+    private final boolean isValidationEnabled;
+
+    public BomUploadProcessingTask() {
+        this(Config.getInstance().getPropertyAsBoolean(ConfigKey.BOM_VALIDATION_ASYNC_ENABLED));
+    }
+
+    /**
+     * @param isValidationEnabled Whether to validate BOMs against the CycloneDX schema before processing them.
+     *                            Only applicable when validation is not already performed upon upload.
+     * @since 4.14.0
+     */
+    BomUploadProcessingTask(final boolean isValidationEnabled) {
+        this.isValidationEnabled = isValidationEnabled;
+    }
+
     @Override
     public void inform(final Event e) {
         if (!(e instanceof final BomUploadEvent event)) {
             return;
         }
 
-        final var ctx = new Context(event.getChainIdentifier(), event.getProject(), event.getBom());
+        final var ctx = new Context(event.getChainIdentifier(), event.getProject(), event.getFile());
         try (var ignoredMdcProjectUuid = MDC.putCloseable(MDC_PROJECT_UUID, ctx.project.getUuid().toString());
              var ignoredMdcProjectName = MDC.putCloseable(MDC_PROJECT_NAME, ctx.project.getName());
              var ignoredMdcProjectVersion = MDC.putCloseable(MDC_PROJECT_VERSION, ctx.project.getVersion());
              var ignoredMdcBomUploadToken = MDC.putCloseable(MDC_BOM_UPLOAD_TOKEN, ctx.token.toString())) {
-            processEvent(ctx, event);
+            processEvent(ctx);
+        } finally {
+            BomSpoolUtil.delete(event.getFile());
         }
     }
 
-    private void processEvent(final Context ctx, final BomUploadEvent event) {
+    private void processEvent(final Context ctx) {
+        if (isValidationEnabled && !validate(ctx)) {
+            return;
+        }
+
+        final BomStreamReader bomReader;
         final org.cyclonedx.model.Bom cdxBom;
         try {
-            final Parser bomParser = BomParserFactory.createParser(event.getBom());
-            cdxBom = bomParser.parse(event.getBom());
-        } catch (ParseException e) {
+            // Top-level components are read in batches later, during processing.
+            bomReader = BomStreamReader.create(ctx.bomFile);
+            cdxBom = bomReader.readWithoutComponents();
+        } catch (IOException | ParseException e) {
             LOGGER.error("Failed to parse BOM", e);
             dispatchBomProcessingFailedNotification(ctx, e);
             return;
@@ -177,10 +255,13 @@ public class BomUploadProcessingTask implements Subscriber {
              var ignoredMdcBomSerialNumber = MDC.putCloseable(MDC_BOM_SERIAL_NUMBER, ctx.bomSerialNumber);
              var ignoredMdcBomVersion = MDC.putCloseable(MDC_BOM_VERSION, String.valueOf(ctx.bomVersion))) {
             lock.lock();
-            processBom(ctx, cdxBom);
+            processBom(ctx, cdxBom, bomReader);
 
-            LOGGER.debug("Dispatching %d events".formatted(eventsToDispatch.size()));
-            eventsToDispatch.forEach(Event::dispatch);
+            // Components are commonly stored multiple times during processing, and each store emits
+            // an IndexEvent. Coalesce them, such that only the final state of each document is indexed.
+            final List<Event> coalescedEvents = IndexEvent.coalesce(eventsToDispatch);
+            LOGGER.debug("Dispatching %d events (coalesced from %d)".formatted(coalescedEvents.size(), eventsToDispatch.size()));
+            coalescedEvents.forEach(Event::dispatch);
         } catch (RuntimeException e) {
             LOGGER.error("Failed to process BOM", e);
             dispatchBomProcessingFailedNotification(ctx, e);
@@ -189,20 +270,54 @@ public class BomUploadProcessingTask implements Subscriber {
         }
     }
 
-    private void processBom(final Context ctx, final org.cyclonedx.model.Bom cdxBom) {
+    /**
+     * Validates the BOM against the CycloneDX schema, if validation is applicable to the project.
+     * <p>
+     * The compiled schemas are cached by the {@link CycloneDxValidator}, and XML BOMs are streamed
+     * from the spooled file, such that validation does not need to hold them in memory.
+     *
+     * @return {@code true} when the BOM is valid or was not validated, otherwise {@code false}
+     */
+    private static boolean validate(final Context ctx) {
+        try (final var qm = new QueryManager()) {
+            final Project project = qm.getObjectByUuid(Project.class, ctx.project.getUuid());
+            if (project == null || !BomValidationUtil.shouldValidate(qm, project)) {
+                return true;
+            }
+        }
+
+        final long startTimeNs = System.nanoTime();
+        try {
+            CycloneDxValidator.getInstance().validate(ctx.bomFile);
+        } catch (InvalidBomException e) {
+            LOGGER.warn("BOM failed validation; Aborting processing: %s".formatted(e.getMessage()));
+            dispatchBomValidationFailedNotification(ctx, !e.getValidationErrors().isEmpty()
+                    ? e.getValidationErrors()
+                    : List.of(e.getMessage()));
+            return false;
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to validate BOM", e);
+            dispatchBomProcessingFailedNotification(ctx, e);
+            return false;
+        } finally {
+            VALIDATION_TIMER.record(System.nanoTime() - startTimeNs, TimeUnit.NANOSECONDS);
+        }
+
+        return true;
+    }
+
+    private void processBom(final Context ctx, final org.cyclonedx.model.Bom cdxBom, final BomStreamReader bomReader) {
         LOGGER.info("Consuming uploaded BOM");
 
         final ProjectMetadata projectMetadata = convertToProjectMetadata(cdxBom.getMetadata());
         final Project project = convertToProject(cdxBom.getMetadata());
-        List<Component> components = new ArrayList<>();
+        final List<Component> metadataComponents;
         if (cdxBom.getMetadata() != null && cdxBom.getMetadata().getComponent() != null) {
-            components.addAll(convertComponents(cdxBom.getMetadata().getComponent().getComponents()));
+            metadataComponents = convertComponents(cdxBom.getMetadata().getComponent().getComponents());
+        } else {
+            metadataComponents = Collections.emptyList();
         }
 
-        components.addAll(convertComponents(cdxBom.getComponents()));
-        components = flatten(components, Component::getChildren, Component::setChildren);
-        final int numComponentsTotal = components.size();
-
         List<ServiceComponent> services = convertServices(cdxBom.getServices());
         services = flatten(services, ServiceComponent::getChildren, ServiceComponent::setChildren);
         final int numServicesTotal = services.size();
@@ -223,16 +338,16 @@ public class BomUploadProcessingTask implements Subscriber {
         // Note: One identity can point to multiple BOM refs, due to component and service de-duplication.
         final var bomRefsByIdentity = new HashSetValuedHashMap<ComponentIdentity, String>();
 
-        components = components.stream().filter(distinctComponentsByIdentity(identitiesByBomRef, bomRefsByIdentity)).toList();
         services = services.stream().filter(distinctServicesByIdentity(identitiesByBomRef, bomRefsByIdentity)).toList();
         LOGGER.info("""
-                Consumed %d components (%d before de-duplication), %d services (%d before de-duplication), \
-                and %d dependency graph entries""".formatted(components.size(), numComponentsTotal,
-                services.size(), numServicesTotal, numDependencyGraphEntries));
+                Consumed %d services (%d before de-duplication), and %d dependency graph entries; \
+                Components will be consumed in batches of up to %d during processing""".formatted(
+                services.size(), numServicesTotal, numDependencyGraphEntries, COMPONENT_BATCH_SIZE));
 
         dispatchBomConsumedNotification(ctx);
 
-        final var processedComponents = new ArrayList<Component>(components.size());
+        final var changedComponents = new ArrayList<Component>();
+        final var hasRemovedComponents = new AtomicBoolean();
         try (final var qm = new QueryManager()) {
             // Disable reachability checks on commit.
             // See https://www.datanucleus.org/products/accessplatform_4_1/jdo/performance_tuning.html
@@ -267,7 +382,6 @@ public class BomUploadProcessingTask implements Subscriber {
             qm.getPersistenceManager().addInstanceLifecycleListener(new IndexingInstanceLifecycleListener(eventsToDispatch::add),
                     Component.class, Project.class, ProjectMetadata.class, ServiceComponent.class);
 
-            final List<Component> finalComponents = components;
             final List<ServiceComponent> finalServices = services;
 
             // Note: If we need to synchronize vulnerability details (i.e. import of embedded VEX or VDR),
@@ -279,24 +393,40 @@ public class BomUploadProcessingTask implements Subscriber {
             qm.runInTransaction(() -> {
                 final Project persistentProject = processProject(ctx, qm, project, projectMetadata);
 
-                LOGGER.info("Processing %d components".formatted(finalComponents.size()));
-                final Map<ComponentIdentity, Component> persistentComponentsByIdentity =
-                        processComponents(qm, persistentProject, finalComponents, identitiesByBomRef, bomRefsByIdentity);
+                final var componentProcessor = new ComponentProcessor(qm, persistentProject, identitiesByBomRef, bomRefsByIdentity, eventsToDispatch::add);
+                componentProcessor.process(metadataComponents);
+                try {
+                    bomReader.readComponents(COMPONENT_BATCH_SIZE,
+                            cdxComponents -> componentProcessor.process(convertComponents(cdxComponents)));
+                } catch (ParseException e) {
+                    throw new IllegalStateException("Failed to read components from BOM", e);
+                }
+                final Map<ComponentIdentity, Long> componentIdsByIdentity = componentProcessor.complete();
 
                 LOGGER.info("Processing %d services".formatted(finalServices.size()));
                 processServices(qm, persistentProject, finalServices, identitiesByBomRef, bomRefsByIdentity);
 
                 LOGGER.info("Processing %d dependency graph entries".formatted(numDependencyGraphEntries));
-                processDependencyGraph(qm, persistentProject, dependencyGraph, persistentComponentsByIdentity, identitiesByBomRef);
+                processDependencyGraph(qm, persistentProject, dependencyGraph, componentIdsByIdentity, identitiesByBomRef);
 
                 recordBomImport(ctx, qm, persistentProject);
 
-                processedComponents.addAll(persistentComponentsByIdentity.values());
+                changedComponents.addAll(componentProcessor.getChangedComponents());
+                hasRemovedComponents.set(componentProcessor.hasRemovedComponents());
             });
         }
 
-        eventsToDispatch.add(createVulnAnalysisEvent(ctx, processedComponents));
-        eventsToDispatch.add(createRepoMetaAnalysisEvent(ctx, processedComponents));
+        // Only components that were added or changed need to be analyzed and evaluated again.
+        // Removed components are gone, but the project's metrics still need to reflect that.
+        if (!changedComponents.isEmpty()) {
+            eventsToDispatch.add(createVulnAnalysisEvent(ctx, changedComponents));
+            eventsToDispatch.add(createRepoMetaAnalysisEvent(ctx, changedComponents));
+        } else if (hasRemovedComponents.get()) {
+            LOGGER.info("No components were added or changed; Only updating project metrics");
+            eventsToDispatch.add(new ProjectMetricsUpdateEvent(ctx.project.getUuid()));
+        } else {
+            LOGGER.info("No components were added, changed, or removed; Skipping analysis");
+        }
 
         final var processingDurationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ctx.startTimeNs);
         LOGGER.info("BOM processed successfully in %s".formatted(formatDurationHMS(processingDurationMs)));
@@ -360,124 +490,221 @@ public class BomUploadProcessingTask implements Subscriber {
         return persistentProject;
     }
 
-    private Map<ComponentIdentity, Component> processComponents(
-            final QueryManager qm,
-            final Project project,
-            final List<Component> components,
-            final Map<String, ComponentIdentity> identitiesByBomRef,
-            final MultiValuedMap<ComponentIdentity, String> bomRefsByIdentity
-    ) {
-        assertPersistent(project, "Project mut be persistent");
+    /**
+     * Synchronizes components of a BOM with those of a persistent project, one batch at a time.
+     * <p>
+     * Components are matched against the existing components of the project by their identity,
+     * across all batches. Existing components not matched by any batch are deleted upon {@link #complete()}.
+     */
+    private static final class ComponentProcessor {
+
+        private final QueryManager qm;
+        private final Project project;
+        private final ComponentBatchWriter writer;
+        private final Consumer<Event> eventConsumer;
+        private final Map<String, ComponentIdentity> identitiesByBomRef;
+        private final MultiValuedMap<ComponentIdentity, String> bomRefsByIdentity;
+        private final Predicate<Component> distinctComponentsFilter;
+        private final Map<ComponentIdentity, Long> componentIdByIdentity = new HashMap<>();
+        private final Map<ComponentIdentity, ComponentIdentity> newIdentityByOldIdentity = new HashMap<>();
+        private final Set<Long> idsOfComponentsToDelete;
 
         // Avoid redundant queries by caching resolved licenses.
         // It is likely that if license IDs were present in a BOM,
         // they appear multiple times for different components.
-        final var licenseCache = new HashMap<String, License>();
+        private final Map<String, License> licenseCache = new HashMap<>();
 
         // We support resolution of custom licenses by their name.
         // To avoid any conflicts with license IDs, cache those separately.
-        final var customLicenseCache = new HashMap<String, License>();
+        private final Map<String, License> customLicenseCache = new HashMap<>();
+
+        private final InternalComponentIdentifier internalComponentIdentifier = new InternalComponentIdentifier();
+        private final long startTimeNs = System.nanoTime();
+        private int numComponentsTotal;
+        private int numComponentsProcessed;
+        private int numComponentsCreated;
+        private int numComponentsUpdated;
+        private int numComponentsUnchanged;
+        private long numComponentsDeleted;
+        private final List<Component> changedComponents = new ArrayList<>();
+
+        private ComponentProcessor(
+                final QueryManager qm,
+                final Project project,
+                final Map<String, ComponentIdentity> identitiesByBomRef,
+                final MultiValuedMap<ComponentIdentity, String> bomRefsByIdentity,
+                final Consumer<Event> eventConsumer
+        ) {
+            assertPersistent(project, "Project mut be persistent");
+            this.qm = qm;
+            this.project = project;
+            this.writer = new ComponentBatchWriter(qm.getPersistenceManager());
+            this.eventConsumer = eventConsumer;
+            this.identitiesByBomRef = identitiesByBomRef;
+            this.bomRefsByIdentity = bomRefsByIdentity;
+            this.distinctComponentsFilter = distinctComponentsByIdentity(identitiesByBomRef, bomRefsByIdentity);
+
+            // Only the IDs of existing components are loaded upfront. The components themselves
+            // are fetched per batch, such that memory usage does not grow with the size of the project.
+            this.idsOfComponentsToDelete = new HashSet<>(getAllComponentIds(qm, project));
+        }
 
-        final var internalComponentIdentifier = new InternalComponentIdentifier();
+        /**
+         * Fetch existing components that could match any of the given components, and group them by their identity.
+         * <p>
+         * Note that we exclude the UUID from the identity here, since incoming non-persistent components won't have one yet.
+         */
+        private Map<ComponentIdentity, Component> getPersistentComponentsByIdentity(final List<Component> components) {
+            final Set<String> names = components.stream()
+                    .map(Component::getName)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+
+            return getComponentsByName(qm, project, names).stream()
+                    .collect(Collectors.toMap(
+                            component -> new ComponentIdentity(component, /* excludeUuid */ true),
+                            Function.identity(),
+                            (previous, duplicate) -> {
+                                LOGGER.warn("""
+                                        More than one existing component matches the identity %s; \
+                                        Proceeding with first match, others will be deleted\
+                                        """.formatted(new ComponentIdentity(previous, /* excludeUuid */ true)));
+                                return previous;
+                            },
+                            HashMap::new));
+        }
 
-        final List<Component> persistentComponents = getAllComponents(qm, project);
+        private void process(final List<Component> batch) {
+            final List<Component> flattenedBatch = flatten(batch, Component::getChildren, Component::setChildren);
+            numComponentsTotal += flattenedBatch.size();
 
-        // Group existing components by their identity for easier lookup.
-        // Note that we exclude the UUID from the identity here,
-        // since incoming non-persistent components won't have one yet.
-        final Map<ComponentIdentity, Component> persistentComponentByIdentity = persistentComponents.stream()
-                .collect(Collectors.toMap(
-                        component -> new ComponentIdentity(component, /* excludeUuid */ true),
-                        Function.identity(),
-                        (previous, duplicate) -> {
-                            LOGGER.warn("""
-                                    More than one existing component matches the identity %s; \
-                                    Proceeding with first match, others will be deleted\
-                                    """.formatted(new ComponentIdentity(previous, /* excludeUuid */ true)));
-                            return previous;
-                        }));
-
-        final Set<Long> idsOfComponentsToDelete = persistentComponents.stream()
-                .map(Component::getId)
-                .collect(Collectors.toSet());
+            final List<Component> components = flattenedBatch.stream().filter(distinctComponentsFilter).toList();
+            if (components.isEmpty()) {
+                return;
+            }
 
-        for (final Component component : components) {
-            component.setInternal(internalComponentIdentifier.isInternal(component));
-            resolveAndApplyLicense(qm, component, licenseCache, customLicenseCache);
+            LOGGER.debug("Processing batch of %d components".formatted(components.size()));
+            final Map<ComponentIdentity, Component> persistentComponentByIdentity = getPersistentComponentsByIdentity(components);
+            final var newComponents = new ArrayList<Component>();
+            final var updatedComponents = new ArrayList<Component>();
+            final var persistentComponents = new ArrayList<Component>(components.size());
+            for (final Component component : components) {
+                component.setInternal(internalComponentIdentifier.isInternal(component));
+                resolveAndApplyLicense(qm, component, licenseCache, customLicenseCache);
+
+                final String contentHash = computeBomContentHash(component);
+                final var componentIdentity = new ComponentIdentity(component);
+                final Component persistentComponent = persistentComponentByIdentity.get(componentIdentity);
+                if (persistentComponent == null) {
+                    component.setProject(project);
+                    component.setBomContentHash(contentHash);
+                    component.setNew(true); // Transient
+                    newComponents.add(component);
+                    continue;
+                }
 
-            final var componentIdentity = new ComponentIdentity(component);
-            Component persistentComponent = persistentComponentByIdentity.get(componentIdentity);
-            if (persistentComponent == null) {
-                component.setProject(project);
-                persistentComponent = qm.persist(component);
-                component.setNew(true); // Transient
-            } else {
                 persistentComponent.setBomRef(component.getBomRef()); // Transient
-                applyIfChanged(persistentComponent, component, Component::getAuthors, persistentComponent::setAuthors);
-                applyIfChanged(persistentComponent, component, Component::getPublisher, persistentComponent::setPublisher);
-                applyIfChanged(persistentComponent, component, Component::getSupplier, persistentComponent::setSupplier);
-                applyIfChanged(persistentComponent, component, Component::getClassifier, persistentComponent::setClassifier);
-                applyIfChanged(persistentComponent, component, Component::getGroup, persistentComponent::setGroup);
-                applyIfChanged(persistentComponent, component, Component::getName, persistentComponent::setName);
-                applyIfChanged(persistentComponent, component, Component::getVersion, persistentComponent::setVersion);
-                applyIfChanged(persistentComponent, component, Component::getDescription, persistentComponent::setDescription);
-                applyIfChanged(persistentComponent, component, Component::getCopyright, persistentComponent::setCopyright);
-                applyIfChanged(persistentComponent, component, Component::getCpe, persistentComponent::setCpe);
-                applyIfChanged(persistentComponent, component, Component::getPurl, persistentComponent::setPurl);
-                applyIfChanged(persistentComponent, component, Component::getSwidTagId, persistentComponent::setSwidTagId);
-                applyIfChanged(persistentComponent, component, Component::getMd5, persistentComponent::setMd5);
-                applyIfChanged(persistentComponent, component, Component::getSha1, persistentComponent::setSha1);
-                applyIfChanged(persistentComponent, component, Component::getSha256, persistentComponent::setSha256);
-                applyIfChanged(persistentComponent, component, Component::getSha384, persistentComponent::setSha384);
-                applyIfChanged(persistentComponent, component, Component::getSha512, persistentComponent::setSha512);
-                applyIfChanged(persistentComponent, component, Component::getSha3_256, persistentComponent::setSha3_256);
-                applyIfChanged(persistentComponent, component, Component::getSha3_384, persistentComponent::setSha3_384);
-                applyIfChanged(persistentComponent, component, Component::getSha3_512, persistentComponent::setSha3_512);
-                applyIfChanged(persistentComponent, component, Component::getBlake2b_256, persistentComponent::setBlake2b_256);
-                applyIfChanged(persistentComponent, component, Component::getBlake2b_384, persistentComponent::setBlake2b_384);
-                applyIfChanged(persistentComponent, component, Component::getBlake2b_512, persistentComponent::setBlake2b_512);
-                applyIfChanged(persistentComponent, component, Component::getBlake3, persistentComponent::setBlake3);
-                applyIfChanged(persistentComponent, component, Component::getResolvedLicense, persistentComponent::setResolvedLicense);
-                applyIfChanged(persistentComponent, component, Component::getLicense, persistentComponent::setLicense);
-                applyIfChanged(persistentComponent, component, Component::getLicenseUrl, persistentComponent::setLicenseUrl);
-                applyIfChanged(persistentComponent, component, Component::getLicenseExpression, persistentComponent::setLicenseExpression);
-                applyIfChanged(persistentComponent, component, Component::isInternal, persistentComponent::setInternal);
-                applyIfChanged(persistentComponent, component, Component::getExternalReferences, persistentComponent::setExternalReferences);
-                qm.synchronizeComponentProperties(persistentComponent, component.getProperties());
                 idsOfComponentsToDelete.remove(persistentComponent.getId());
+                persistentComponents.add(persistentComponent);
+
+                if (contentHash != null && contentHash.equals(persistentComponent.getBomContentHash())) {
+                    // Nothing about the component changed since it was last synchronized from a BOM.
+                    numComponentsUnchanged++;
+                    continue;
+                }
+
+                // Only columns whose values differ are written.
+                component.setBomContentHash(contentHash);
+                final boolean hasChanged = writer.update(persistentComponent, component);
+
+                // Components without a hash were last synchronized before hashes were recorded,
+                // or were modified outside of BOM processing. Their hash differing is not a change in itself.
+                final boolean hasContentChanged = hasChanged || persistentComponent.getBomContentHash() != null;
+                if (hasContentChanged) {
+                    changedComponents.add(persistentComponent);
+                }
+                if (hasChanged) {
+                    updatedComponents.add(persistentComponent);
+                }
+
+                numComponentsUpdated++;
+                writer.synchronizeProperties(persistentComponent, component.getProperties());
             }
 
-            // Update component identities in our Identity->BOMRef map,
-            // as after persisting the components, their identities now include UUIDs.
-            final var newIdentity = new ComponentIdentity(persistentComponent);
-            final ComponentIdentity oldIdentity = identitiesByBomRef.put(persistentComponent.getBomRef(), newIdentity);
-            for (final String bomRef : bomRefsByIdentity.get(oldIdentity)) {
-                identitiesByBomRef.put(bomRef, newIdentity);
+            // New components are inserted with a single batch, and updates of existing components
+            // are batched by the columns they modify. The writer bypasses DataNucleus, so index
+            // updates are emitted here, once the persistent components reflect the new state.
+            final List<Component> createdComponents = writer.create(newComponents);
+            numComponentsCreated += createdComponents.size();
+            writer.flush();
+            createdComponents.forEach(createdComponent -> eventConsumer.accept(new IndexEvent(IndexEvent.Action.CREATE, createdComponent)));
+            updatedComponents.forEach(updatedComponent -> eventConsumer.accept(new IndexEvent(IndexEvent.Action.UPDATE, updatedComponent)));
+            persistentComponents.addAll(createdComponents);
+            changedComponents.addAll(createdComponents);
+
+            for (final Component persistentComponent : persistentComponents) {
+                // Update the component identity in our Identity->BOMRef map,
+                // as after persisting the component, its identity now includes a UUID.
+                // Other BOM refs pointing to the same identity are updated upon completion,
+                // since duplicates of this component may still be contained in subsequent batches.
+                final var newIdentity = new ComponentIdentity(persistentComponent);
+                final ComponentIdentity oldIdentity = identitiesByBomRef.put(persistentComponent.getBomRef(), newIdentity);
+                newIdentityByOldIdentity.put(oldIdentity, newIdentity);
+
+                componentIdByIdentity.put(newIdentity, persistentComponent.getId());
             }
 
-            persistentComponentByIdentity.put(newIdentity, persistentComponent);
+            numComponentsProcessed += components.size();
+
+            // Flush after every batch, so the amount of pending changes stays bounded.
+            qm.getPersistenceManager().flush();
         }
 
-        persistentComponentByIdentity.entrySet().removeIf(entry -> {
-            // Remove entries for identities without UUID, those were only needed for matching.
-            final ComponentIdentity identity = entry.getKey();
-            if (identity.getUuid() == null) {
-                return true;
-            }
+        /**
+         * @return IDs of all persistent components, keyed by their identity
+         */
+        private Map<ComponentIdentity, Long> complete() {
+            // Update component identities in our Identity->BOMRef map,
+            // for all BOM refs that were pointing to the original identities.
+            newIdentityByOldIdentity.forEach((oldIdentity, newIdentity) -> {
+                for (final String bomRef : bomRefsByIdentity.get(oldIdentity)) {
+                    identitiesByBomRef.put(bomRef, newIdentity);
+                }
+            });
 
-            // Remove entries for components marked for deletion.
-            final Component component = entry.getValue();
-            return idsOfComponentsToDelete.contains(component.getId());
-        });
+            final long componentsDeleted = deleteComponentsById(qm, idsOfComponentsToDelete);
+            if (componentsDeleted > 0) {
+                qm.getPersistenceManager().flush();
+            }
+            numComponentsDeleted = componentsDeleted;
+
+            final long reconcileDurationNs = System.nanoTime() - startTimeNs;
+            RECONCILE_TIMER.record(reconcileDurationNs, TimeUnit.NANOSECONDS);
+            RECONCILE_STATEMENTS.record(writer.getNumStatementsExecuted());
+
+            LOGGER.info("Processed %d components (%d before de-duplication)"
+                    .formatted(numComponentsProcessed, numComponentsTotal));
+            LOGGER.info("""
+                    Reconciled components in %s \
+                    (%d created, %d updated, %d unchanged, %d deleted, %d properties written, %d batched statements)""".formatted(
+                    formatDurationHMS(TimeUnit.NANOSECONDS.toMillis(reconcileDurationNs)),
+                    numComponentsCreated, numComponentsUpdated, numComponentsUnchanged, componentsDeleted,
+                    writer.getNumPropertiesWritten(), writer.getNumStatementsExecuted()));
+
+            return componentIdByIdentity;
+        }
 
-        qm.getPersistenceManager().flush();
+        /**
+         * @return Components that were added, or whose content changed, compared to the previous BOM
+         */
+        private List<Component> getChangedComponents() {
+            return changedComponents;
+        }
 
-        final long componentsDeleted = deleteComponentsById(qm, idsOfComponentsToDelete);
-        if (componentsDeleted > 0) {
-            qm.getPersistenceManager().flush();
+        private boolean hasRemovedComponents() {
+            return numComponentsDeleted > 0;
         }
 
-        return persistentComponentByIdentity;
     }
 
     private Map<ComponentIdentity, ServiceComponent> processServices(
@@ -588,13 +815,15 @@ public class BomUploadProcessingTask implements Subscriber {
             final QueryManager qm,
             final Project project,
             final MultiValuedMap<String, String> dependencyGraph,
-            final Map<ComponentIdentity, Component> componentsByIdentity,
+            final Map<ComponentIdentity, Long> componentIdsByIdentity,
             final Map<String, ComponentIdentity> identitiesByBomRef
     ) {
         assertPersistent(project, "Project must be persistent");
 
+        final var edges = new HashSet<ComponentDependency.Edge>();
         if (project.getBomRef() != null) {
             final Collection<String> directDependencyBomRefs = dependencyGraph.get(project.getBomRef());
+            collectDependencyEdges(null, directDependencyBomRefs, identitiesByBomRef, componentIdsByIdentity, edges);
             if (directDependencyBomRefs == null || directDependencyBomRefs.isEmpty()) {
                 LOGGER.warn("""
                         The dependency graph has %d entries, but the project (metadata.component node of the BOM) \
@@ -614,20 +843,25 @@ public class BomUploadProcessingTask implements Subscriber {
             }
         }
 
+        // Direct dependencies are applied one batch of components at a time,
+        // such that not all components of the project need to be loaded at once.
+        final var directDependenciesByComponentId = new HashMap<Long, String>();
         for (final Map.Entry<String, ComponentIdentity> entry : identitiesByBomRef.entrySet()) {
             final String componentBomRef = entry.getKey();
             final Collection<String> directDependencyBomRefs = dependencyGraph.get(componentBomRef);
             final String directDependenciesJson = resolveDirectDependenciesJson(componentBomRef, directDependencyBomRefs, identitiesByBomRef);
 
             final ComponentIdentity dependencyIdentity = identitiesByBomRef.get(entry.getKey());
-            final Component component = componentsByIdentity.get(dependencyIdentity);
-            // TODO: Check servicesByIdentity when persistentComponent is null
+            final Long componentId = componentIdsByIdentity.get(dependencyIdentity);
+            // TODO: Check servicesByIdentity when componentId is null
             //   We do not currently store directDependencies for ServiceComponent
-            if (component != null) {
-                assertPersistent(component, "Component must be persistent");
-                if (!Objects.equals(directDependenciesJson, component.getDirectDependencies())) {
-                    component.setDirectDependencies(directDependenciesJson);
+            if (componentId != null) {
+                directDependenciesByComponentId.put(componentId, directDependenciesJson);
+                if (directDependenciesByComponentId.size() >= COMPONENT_BATCH_SIZE) {
+                    applyDirectDependencies(qm, directDependenciesByComponentId);
+                    directDependenciesByComponentId.clear();
                 }
+                collectDependencyEdges(componentId, directDependencyBomRefs, identitiesByBomRef, componentIdsByIdentity, edges);
             } else {
                 LOGGER.warn("""
                         Unable to resolve component identity %s to a persistent component; \
@@ -635,6 +869,59 @@ public class BomUploadProcessingTask implements Subscriber {
                         """.formatted(dependencyIdentity.toJSON()));
             }
         }
+        applyDirectDependencies(qm, directDependenciesByComponentId);
+
+        final long edgesWritten = qm.synchronizeComponentDependencies(project, edges);
+        LOGGER.debug("Synchronized %d dependency graph edges (%d created or deleted)".formatted(edges.size(), edgesWritten));
+
+        qm.getPersistenceManager().flush();
+    }
+
+    private static void collectDependencyEdges(
+            final Long parentId,
+            final Collection<String> directDependencyBomRefs,
+            final Map<String, ComponentIdentity> identitiesByBomRef,
+            final Map<ComponentIdentity, Long> componentIdsByIdentity,
+            final Set<ComponentDependency.Edge> edges
+    ) {
+        if (directDependencyBomRefs == null) {
+            return;
+        }
+
+        for (final String directDependencyBomRef : directDependencyBomRefs) {
+            final ComponentIdentity directDependencyIdentity = identitiesByBomRef.get(directDependencyBomRef);
+            if (directDependencyIdentity == null) {
+                continue;
+            }
+
+            // Services are part of the graph too, but edges are only recorded between components.
+            final Long directDependencyId = componentIdsByIdentity.get(directDependencyIdentity);
+            if (directDependencyId != null) {
+                edges.add(new ComponentDependency.Edge(parentId, directDependencyId));
+            }
+        }
+    }
+
+    private static void applyDirectDependencies(final QueryManager qm, final Map<Long, String> directDependenciesByComponentId) {
+        if (directDependenciesByComponentId.isEmpty()) {
+            return;
+        }
+
+        final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
+        query.getFetchPlan().setFetchSize(FETCH_SIZE_GREEDY);
+        query.setFilter(":ids.contains(id)");
+        query.setParameters(directDependenciesByComponentId.keySet());
+
+        try {
+            for (final Component component : query.executeList()) {
+                final String directDependenciesJson = directDependenciesByComponentId.get(component.getId());
+                if (!Objects.equals(directDependenciesJson, component.getDirectDependencies())) {
+                    component.setDirectDependencies(directDependenciesJson);
+                }
+            }
+        } finally {
+            query.closeAll();
+        }
 
         qm.getPersistenceManager().flush();
     }
@@ -721,6 +1008,55 @@ public class BomUploadProcessingTask implements Subscriber {
         return jsonDependencies.isEmpty() ? null : jsonDependencies.toString();
     }
 
+    /**
+     * Computes a hash over all fields of a {@link Component} that are synchronized from a BOM.
+     * <p>
+     * Must be invoked <em>after</em> license resolution, such that changes in the resolved license are reflected.
+     *
+     * @param component The {@link Component} to compute the hash for
+     * @return The hex-encoded SHA-256 hash, or {@code null} when it could not be computed
+     */
+    static String computeBomContentHash(final Component component) {
+        final var content = new LinkedHashMap<String, Object>();
+        content.put("authors", component.getAuthors());
+        content.put("publisher", component.getPublisher());
+        content.put("supplier", component.getSupplier());
+        content.put("classifier", component.getClassifier());
+        content.put("group", component.getGroup());
+        content.put("name", component.getName());
+        content.put("version", component.getVersion());
+        content.put("description", component.getDescription());
+        content.put("copyright", component.getCopyright());
+        content.put("cpe", component.getCpe());
+        content.put("purl", component.getPurl() != null ? component.getPurl().canonicalize() : null);
+        content.put("swidTagId", component.getSwidTagId());
+        content.put("hashes", Arrays.asList(component.getMd5(), component.getSha1(),
+                component.getSha256(), component.getSha384(), component.getSha512(),
+                component.getSha3_256(), component.getSha3_384(), component.getSha3_512(),
+                component.getBlake2b_256(), component.getBlake2b_384(), component.getBlake2b_512(),
+                component.getBlake3()));
+        content.put("resolvedLicense", component.getResolvedLicense() != null ? component.getResolvedLicense().getUuid() : null);
+        content.put("license", component.getLicense());
+        content.put("licenseUrl", component.getLicenseUrl());
+        content.put("licenseExpression", component.getLicenseExpression());
+        content.put("internal", component.isInternal());
+        content.put("externalReferences", component.getExternalReferences());
+        content.put("properties", component.getProperties() == null ? null : component.getProperties().stream()
+                .map(ComponentProperty.Identity::new)
+                .distinct()
+                .map(identity -> Arrays.asList(identity.group(), identity.name(), identity.value()))
+                .sorted(Comparator.comparing(Object::toString))
+                .toList());
+
+        try {
+            return DigestUtils.sha256Hex(CONTENT_HASH_OBJECT_MAPPER.writeValueAsBytes(content));
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("Failed to compute content hash of component %s".formatted(
+                    new ComponentIdentity(component).toJSON()), e);
+            return null;
+        }
+    }
+
     private static void resolveAndApplyLicense(
             final QueryManager qm,
             final Component component,
@@ -770,12 +1106,30 @@ public class BomUploadProcessingTask implements Subscriber {
         }
     }
 
-    private static List<Component> getAllComponents(final QueryManager qm, final Project project) {
+    private static List<Long> getAllComponentIds(final QueryManager qm, final Project project) {
         final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
-        query.getFetchPlan().addGroup(Component.FetchGroup.BOM_UPLOAD_PROCESSING.name());
-        query.getFetchPlan().setFetchSize(FETCH_SIZE_GREEDY);
         query.setFilter("project.id == :projectId");
         query.setParameters(project.getId());
+        query.setResult("id");
+
+        try {
+            return List.copyOf(query.executeResultList(Long.class));
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    private static List<Component> getComponentsByName(final QueryManager qm, final Project project, final Set<String> names) {
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
+        query.getFetchPlan().setFetchSize(FETCH_SIZE_GREEDY);
+        query.setFilter("project.id == :projectId && :names.contains(name)");
+        query.setParameters(project.getId(), names);
+        // Order by ID, such that the same component is picked when more than one matches an identity.
+        query.setOrdering("id asc");
 
         try {
             return List.copyOf(query.executeList());
@@ -797,7 +1151,7 @@ public class BomUploadProcessingTask implements Subscriber {
         }
     }
 
-    private long deleteComponentsById(final QueryManager qm, final Collection<Long> componentIds) {
+    private static long deleteComponentsById(final QueryManager qm, final Collection<Long> componentIds) {
         if (componentIds.isEmpty()) {
             return 0;
         }
@@ -826,7 +1180,7 @@ public class BomUploadProcessingTask implements Subscriber {
 
     private static Event createVulnAnalysisEvent(final Context ctx, final List<Component> components) {
         final var event = new ProjectVulnerabilityAnalysisEvent(
-                ctx.project, VulnerabilityAnalysisLevel.BOM_UPLOAD_ANALYSIS);
+                ctx.project, VulnerabilityAnalysisLevel.BOM_UPLOAD_ANALYSIS, components);
         event.setChainIdentifier(ctx.token);
         event.onSuccess(new PolicyEvaluationEvent(components).project(ctx.project));
 
@@ -851,7 +1205,7 @@ public class BomUploadProcessingTask implements Subscriber {
                 .level(NotificationLevel.INFORMATIONAL)
                 .title(NotificationConstants.Title.BOM_CONSUMED)
                 .content("A " + ctx.bomFormat.getFormatShortName() + " BOM was consumed and will be processed")
-                .subject(new BomConsumedOrProcessed(ctx.project, ctx.bomEncoded, ctx.bomFormat, ctx.bomSpecVersion)));
+                .subject(new BomConsumedOrProcessed(ctx.project, ctx.getBomEncoded(), ctx.bomFormat, ctx.bomSpecVersion)));
     }
 
     private static void dispatchBomProcessedNotification(final Context ctx) {
@@ -861,7 +1215,17 @@ public class BomUploadProcessingTask implements Subscriber {
                 .level(NotificationLevel.INFORMATIONAL)
                 .title(NotificationConstants.Title.BOM_CONSUMED)
                 .content("A " + ctx.bomFormat.getFormatShortName() + " BOM was processed")
-                .subject(new BomConsumedOrProcessed(ctx.project, ctx.bomEncoded, ctx.bomFormat, ctx.bomSpecVersion)));
+                .subject(new BomConsumedOrProcessed(ctx.project, ctx.getBomEncoded(), ctx.bomFormat, ctx.bomSpecVersion)));
+    }
+
+    private static void dispatchBomValidationFailedNotification(final Context ctx, final List<String> errors) {
+        Notification.dispatch(new Notification()
+                .scope(NotificationScope.PORTFOLIO)
+                .group(NotificationGroup.BOM_VALIDATION_FAILED)
+                .level(NotificationLevel.ERROR)
+                .title(NotificationConstants.Title.BOM_VALIDATION_FAILED)
+                .content("An error occurred during BOM Validation")
+                .subject(new BomValidationFailed(ctx.project, ctx.getBomEncoded(), errors, ctx.bomFormat)));
     }
 
     private static void dispatchBomProcessingFailedNotification(final Context ctx, final Exception exception) {
@@ -871,7 +1235,7 @@ public class BomUploadProcessingTask implements Subscriber {
                 .level(NotificationLevel.ERROR)
                 .title(NotificationConstants.Title.BOM_PROCESSING_FAILED)
                 .content("An error occurred while processing a BOM")
-                .subject(new BomProcessingFailed(ctx.project, ctx.bomEncoded, exception.getMessage(), ctx.bomFormat, ctx.bomSpecVersion)));
+                .subject(new BomProcessingFailed(ctx.project, ctx.getBomEncoded(), exception.getMessage(), ctx.bomFormat, ctx.bomSpecVersion)));
     }
 
 }
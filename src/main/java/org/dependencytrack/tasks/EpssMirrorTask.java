@@ -39,11 +39,9 @@ import org.dependencytrack.notification.NotificationScope;
 import org.dependencytrack.parser.epss.EpssParser;
 import org.dependencytrack.persistence.QueryManager;
 
-import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Files;
@@ -157,7 +155,7 @@ public class EpssMirrorTask implements LoggableSubscriber {
                         // Sets the last modified date to 0. Upon a successful parse, it will be set back to its original date.
                         file.setLastModified(0);
                         if (file.getName().endsWith(".gz")) {
-                            uncompress(file);
+                            parse(file);
                         }
                     }
                 } else {
@@ -186,48 +184,22 @@ public class EpssMirrorTask implements LoggableSubscriber {
     }
 
     /**
-     * Extracts a GZip file.
-     * @param file the file to extract
+     * Parses a GZip compressed EPSS file, without extracting it to disk first.
+     * @param file the file to parse
      */
-    private void uncompress(final File file) {
-        final byte[] buffer = new byte[1024];
-        GZIPInputStream gzis = null;
-        OutputStream out = null;
-        try {
-            LOGGER.info("Uncompressing " + file.getName());
-            gzis = new GZIPInputStream(Files.newInputStream(file.toPath()));
-            final File uncompressedFile = new File(file.getAbsolutePath().replaceAll(".gz", ""));
-            out = Files.newOutputStream(uncompressedFile.toPath());
-            int len;
-            while ((len = gzis.read(buffer)) > 0) {
-                out.write(buffer, 0, len);
-            }
-            final long start = System.currentTimeMillis();
-            final EpssParser parser = new EpssParser();
-            parser.parse(uncompressedFile);
+    private void parse(final File file) {
+        final long start = System.currentTimeMillis();
+        try (final InputStream in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+            LOGGER.info("Parsing " + file.getName());
+            final EpssParser.ImportStats stats = new EpssParser().parse(in);
+            LOGGER.info("Processed %d EPSS scores in %dms (%d rows/s); %d updated, %d unchanged".formatted(
+                    stats.rowsProcessed(), stats.durationMs(), stats.rowsPerSecond(), stats.rowsUpdated(), stats.rowsUnchanged()));
             file.setLastModified(start);
-            final long end = System.currentTimeMillis();
-            metricParseTime += end - start;
         } catch (IOException ex) {
             mirroredWithoutErrors = false;
-            LOGGER.error("An error occurred uncompressing EPSS payload", ex);
+            LOGGER.error("An error occurred parsing EPSS payload", ex);
         } finally {
-            close(gzis);
-            close(out);
-        }
-    }
-
-    /**
-     * Closes a closable object.
-     * @param object the object to close
-     */
-    private void close(final Closeable object) {
-        if (object != null) {
-            try {
-                object.close();
-            } catch (IOException e) {
-                LOGGER.warn("Error closing stream", e);
-            }
+            metricParseTime += System.currentTimeMillis() - start;
         }
     }
 }
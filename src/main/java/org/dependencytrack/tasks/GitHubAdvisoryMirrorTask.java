@@ -52,6 +52,7 @@ import org.dependencytrack.notification.NotificationScope;
 import org.dependencytrack.parser.github.ModelConverter;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.persistence.listener.IndexingInstanceLifecycleListener;
+import org.dependencytrack.tasks.scanners.VulnerableSoftwareIndex;
 import org.slf4j.MDC;
 
 import javax.net.ssl.SSLException;
@@ -235,6 +236,7 @@ public class GitHubAdvisoryMirrorTask implements LoggableSubscriber {
 
             if (persistentVuln != null) {
                 qm.synchronizeVulnerableSoftware(persistentVuln, vsList, Vulnerability.Source.GITHUB);
+                VulnerableSoftwareIndex.getInstance().update(persistentVuln);
                 return true;
             }
         }
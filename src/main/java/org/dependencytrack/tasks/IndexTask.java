@@ -18,15 +18,25 @@
  */
 package org.dependencytrack.tasks;
 
+import alpine.common.logging.Logger;
 import alpine.common.metrics.Metrics;
 import alpine.event.framework.Event;
+import alpine.event.framework.LoggableUncaughtExceptionHandler;
 import alpine.event.framework.Subscriber;
 import io.micrometer.core.instrument.Timer;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.dependencytrack.event.IndexEvent;
 import org.dependencytrack.search.IndexManager;
 import org.dependencytrack.search.IndexManagerFactory;
 import org.dependencytrack.search.ObjectIndexer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Subscriber task that performs an action on an Index.
  *
@@ -35,6 +45,8 @@ import org.dependencytrack.search.ObjectIndexer;
  */
 public class IndexTask implements Subscriber {
 
+    private static final Logger LOGGER = Logger.getLogger(IndexTask.class);
+
     /**
      * {@inheritDoc}
      */
@@ -46,26 +58,73 @@ public class IndexTask implements Subscriber {
                 IndexManager.checkIndexesConsistency();
                 return;
             }
+            if (IndexEvent.Action.REINDEX == event.getAction()) {
+                reindex(event.getIndexableClasses());
+                return;
+            }
 
             final ObjectIndexer indexManager = IndexManagerFactory.getIndexManager(event);
 
-            if (IndexEvent.Action.CREATE == event.getAction()) {
-                indexManager.add(event.getDocument());
-            } else if (IndexEvent.Action.UPDATE == event.getAction()) {
-                indexManager.update(event.getDocument());
-            } else if (IndexEvent.Action.DELETE == event.getAction()) {
-                indexManager.remove(event.getDocument());
+            if (IndexEvent.Action.BATCH == event.getAction()) {
+                event.getEvents().forEach(documentEvent -> applyDocumentEvent(indexManager, documentEvent));
+                indexManager.requestCommit();
             } else if (IndexEvent.Action.COMMIT == event.getAction()) {
-                indexManager.commit();
-            } else if (IndexEvent.Action.REINDEX == event.getAction()) {
-                Timer timer = Timer.builder("lucene_index_rebuild")
-                        .description("Lucene index rebuild")
-                        .tags("type", event.getIndexableClass().getName().toLowerCase())
-                        .register(Metrics.getRegistry());
-                Timer.Sample recording = Timer.start();
-                indexManager.reindex();
-                recording.stop(timer);
+                indexManager.requestCommit();
+            } else {
+                applyDocumentEvent(indexManager, event);
             }
         }
     }
+
+    /**
+     * Rebuilds the indexes of the given classes. Multiple indexes are rebuilt concurrently.
+     */
+    private static void reindex(final List<Class<?>> classes) {
+        if (classes.size() == 1) {
+            reindex(classes.getFirst());
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(classes.size(), new BasicThreadFactory.Builder()
+                .namingPattern("IndexRebuildCoordinator-%d")
+                .uncaughtExceptionHandler(new LoggableUncaughtExceptionHandler())
+                .build());
+        try {
+            final var futures = new ArrayList<Future<?>>(classes.size());
+            for (final Class<?> clazz : classes) {
+                futures.add(executor.submit(() -> reindex(clazz)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            LOGGER.error("An unexpected error occurred while rebuilding indexes", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void reindex(final Class<?> clazz) {
+        final ObjectIndexer<?> indexManager = IndexManagerFactory.getIndexManager(new IndexEvent(IndexEvent.Action.REINDEX, clazz));
+        Timer timer = Timer.builder("lucene_index_rebuild")
+                .description("Lucene index rebuild")
+                .tags("type", clazz.getName().toLowerCase())
+                .register(Metrics.getRegistry());
+        Timer.Sample recording = Timer.start();
+        indexManager.reindex();
+        recording.stop(timer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void applyDocumentEvent(final ObjectIndexer indexManager, final IndexEvent event) {
+        if (IndexEvent.Action.CREATE == event.getAction()) {
+            indexManager.add(event.getDocument());
+        } else if (IndexEvent.Action.UPDATE == event.getAction()) {
+            indexManager.update(event.getDocument());
+        } else if (IndexEvent.Action.DELETE == event.getAction()) {
+            indexManager.remove(event.getDocument());
+        }
+    }
 }
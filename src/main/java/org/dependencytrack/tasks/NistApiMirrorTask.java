@@ -49,6 +49,7 @@ import org.dependencytrack.model.Vulnerability;
 import org.dependencytrack.model.VulnerableSoftware;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.persistence.listener.IndexingInstanceLifecycleListener;
+import org.dependencytrack.tasks.scanners.VulnerableSoftwareIndex;
 import org.dependencytrack.util.DebugDataEncryption;
 
 import java.time.Duration;
@@ -169,6 +170,7 @@ public class NistApiMirrorTask extends AbstractNistMirrorTask implements Subscri
 
                                 final Vulnerability persistentVuln = synchronizeVulnerability(qm, vuln);
                                 qm.synchronizeVulnerableSoftware(persistentVuln, vsList, Vulnerability.Source.NVD);
+                                VulnerableSoftwareIndex.getInstance().update(persistentVuln);
                             } catch (RuntimeException ex) {
                                 LOGGER.error("An unexpected error occurred while processing %s".formatted(vuln.getVulnId()), ex);
                             } finally {
@@ -52,6 +52,7 @@ import org.dependencytrack.notification.NotificationScope;
 import org.dependencytrack.parser.nvd.NvdParser;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.persistence.listener.IndexingInstanceLifecycleListener;
+import org.dependencytrack.tasks.scanners.VulnerableSoftwareIndex;
 
 import java.io.BufferedReader;
 import java.io.Closeable;
@@ -405,6 +406,7 @@ public class NistMirrorTask extends AbstractNistMirrorTask implements LoggableSu
 
             final Vulnerability persistentVuln = synchronizeVulnerability(qm, vuln);
             qm.synchronizeVulnerableSoftware(persistentVuln, vsList, Vulnerability.Source.NVD);
+            VulnerableSoftwareIndex.getInstance().update(persistentVuln);
         } catch (RuntimeException e) {
             LOGGER.error("An unexpected error occurred while processing %s".formatted(vuln.getVulnId()), e);
         }
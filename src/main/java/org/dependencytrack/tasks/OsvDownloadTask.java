@@ -18,17 +18,21 @@
  */
 package org.dependencytrack.tasks;
 
+import alpine.Config;
 import alpine.common.logging.Logger;
 import alpine.event.framework.Event;
 import alpine.event.framework.LoggableSubscriber;
+import alpine.event.framework.LoggableUncaughtExceptionHandler;
 import alpine.model.ConfigProperty;
 import com.github.packageurl.MalformedPackageURLException;
 import com.github.packageurl.PackageURL;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.common.HttpClientPool;
 import org.dependencytrack.event.IndexEvent;
 import org.dependencytrack.event.OsvMirrorEvent;
@@ -43,16 +47,20 @@ import org.dependencytrack.parser.osv.OsvAdvisoryParser;
 import org.dependencytrack.parser.osv.model.OsvAdvisory;
 import org.dependencytrack.parser.osv.model.OsvAffectedPackage;
 import org.dependencytrack.persistence.QueryManager;
+import org.dependencytrack.tasks.scanners.VulnerableSoftwareIndex;
 import org.dependencytrack.util.CvssUtil;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 import org.slf4j.MDC;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -61,6 +69,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -69,6 +88,7 @@ import static org.dependencytrack.common.MdcKeys.MDC_VULN_ID;
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GOOGLE_OSV_ALIAS_SYNC_ENABLED;
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GOOGLE_OSV_BASE_URL;
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GOOGLE_OSV_ENABLED;
+import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS;
 import static org.dependencytrack.model.Severity.getSeverityByLevel;
 import static org.dependencytrack.util.VulnerabilityUtil.normalizedCvssV2Score;
 import static org.dependencytrack.util.VulnerabilityUtil.normalizedCvssV3Score;
@@ -76,9 +96,31 @@ import static org.dependencytrack.util.VulnerabilityUtil.normalizedCvssV3Score;
 public class OsvDownloadTask implements LoggableSubscriber {
 
     private static final Logger LOGGER = Logger.getLogger(OsvDownloadTask.class);
+
+    /**
+     * Maximum number of advisories to synchronize with the database in a single transaction.
+     */
+    private static final int ADVISORY_BATCH_SIZE = 100;
+
+    /**
+     * Marker signalling the writer thread that all advisories of an archive have been parsed.
+     */
+    private static final OsvAdvisory END_OF_ADVISORIES = new OsvAdvisory();
+
+    private static final class ImportStats {
+
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger unmodified = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger unparseable = new AtomicInteger();
+        private final AtomicLong maxModifiedEpochSeconds = new AtomicLong();
+
+    }
+
     private Set<String> ecosystems;
     private String osvBaseUrl;
     private boolean aliasSyncEnabled;
+    private final int parallelism = Math.max(1, Config.getInstance().getPropertyAsInt(ConfigKey.OSV_MIRROR_PARALLELISM));
 
     public OsvDownloadTask() {
         try (final QueryManager qm = new QueryManager()) {
@@ -120,7 +162,7 @@ public class OsvDownloadTask implements LoggableSubscriber {
                         if (status.getStatusCode() == HttpStatus.SC_OK) {
                             try (InputStream in = response.getEntity().getContent();
                                  ZipInputStream zipInput = new ZipInputStream(in)) {
-                                unzipFolder(zipInput);
+                                importAdvisories(ecosystem, zipInput);
                             }
                         } else {
                             LOGGER.error("Download failed : " + status.getStatusCode() + ": " + status.getReasonPhrase());
@@ -135,97 +177,300 @@ public class OsvDownloadTask implements LoggableSubscriber {
         }
     }
 
-    private void unzipFolder(ZipInputStream zipIn) throws IOException {
+    /**
+     * Imports all advisories of an ecosystem archive.
+     * <p>
+     * The archive can only be read sequentially, so this thread does nothing but read its entries.
+     * Parsing is performed by {@link #parallelism} worker threads, while a single writer thread
+     * synchronizes parsed advisories with the database in batches of {@value #ADVISORY_BATCH_SIZE},
+     * using one transaction per batch. Both hand-offs are bounded, such that a slow database
+     * slows down reading of the archive, rather than advisories piling up in memory.
+     * <p>
+     * Advisories that were not modified since the last successful import of the ecosystem are skipped.
+     * Advisories that can not be parsed are skipped, too, as retrying them on the next import would not help.
+     * <p>
+     * Should the writer thread fail, reading and parsing are aborted, rather than waiting for
+     * a hand-off that will never happen.
+     */
+    void importAdvisories(final String ecosystem, final ZipInputStream zipIn) throws IOException, InterruptedException {
+        final long lastModifiedEpochSeconds = getLastModifiedEpochSeconds(ecosystem);
+        final var stats = new ImportStats();
+        final var advisoryQueue = new ArrayBlockingQueue<OsvAdvisory>(ADVISORY_BATCH_SIZE * 2);
+        final long startTimeNs = System.nanoTime();
+
+        final ExecutorService writerExecutor = Executors.newSingleThreadExecutor(createThreadFactory("OsvMirrorWriter-%d"));
+        final Future<?> writerFuture = writerExecutor.submit(() -> {
+            writeAdvisories(advisoryQueue, stats);
+            return null;
+        });
+        try {
+            try (final var parserExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(parallelism * 4), createThreadFactory("OsvMirrorParser-%d"),
+                    new ThreadPoolExecutor.CallerRunsPolicy())) {
+                ZipEntry zipEntry;
+                while ((zipEntry = zipIn.getNextEntry()) != null) {
+                    if (writerFuture.isDone()) {
+                        LOGGER.warn("Advisory writer terminated prematurely; Aborting import of ecosystem " + ecosystem);
+                        parserExecutor.shutdownNow();
+                        break;
+                    }
+                    if (zipEntry.isDirectory()) {
+                        continue;
+                    }
+
+                    final byte[] advisoryBytes = zipIn.readAllBytes();
+                    parserExecutor.execute(() -> parseAdvisory(advisoryBytes, lastModifiedEpochSeconds, advisoryQueue, writerFuture, stats));
+                }
+            }
+        } finally {
+            enqueue(advisoryQueue, END_OF_ADVISORIES, writerFuture);
+            writerExecutor.shutdown();
+        }
+
+        try {
+            writerFuture.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to write advisories", e.getCause());
+        }
 
-        BufferedReader reader = new BufferedReader(new InputStreamReader(zipIn));
-        OsvAdvisoryParser parser = new OsvAdvisoryParser();
-        ZipEntry zipEntry = zipIn.getNextEntry();
-        while (zipEntry != null) {
+        LOGGER.info("Imported advisories of ecosystem %s in %s (processed: %d, skipped as unmodified: %d, unparseable: %d, failed: %d)"
+                .formatted(ecosystem, Duration.ofNanos(System.nanoTime() - startTimeNs), stats.processed.get(),
+                        stats.unmodified.get(), stats.unparseable.get(), stats.failed.get()));
+
+        if (stats.failed.get() == 0 && stats.maxModifiedEpochSeconds.get() > lastModifiedEpochSeconds) {
+            updateLastModifiedEpochSeconds(ecosystem, stats.maxModifiedEpochSeconds.get());
+        }
 
-            String line = null;
-            StringBuilder out = new StringBuilder();
-            while ((line = reader.readLine()) != null) {
-                out.append(line);
+        Event.dispatch(new IndexEvent(IndexEvent.Action.COMMIT, Vulnerability.class));
+    }
+
+    private static void parseAdvisory(final byte[] advisoryBytes, final long lastModifiedEpochSeconds,
+                                      final BlockingQueue<OsvAdvisory> advisoryQueue, final Future<?> writerFuture,
+                                      final ImportStats stats) {
+        final OsvAdvisory advisory;
+        try {
+            final var json = new JSONObject(new JSONTokener(new ByteArrayInputStream(advisoryBytes)));
+            advisory = new OsvAdvisoryParser().parse(json);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to parse advisory", e);
+            stats.unparseable.incrementAndGet();
+            return;
+        }
+
+        if (advisory == null) {
+            return;
+        }
+
+        if (advisory.getModified() != null) {
+            final long modifiedEpochSeconds = advisory.getModified().toEpochSecond();
+            stats.maxModifiedEpochSeconds.accumulateAndGet(modifiedEpochSeconds, Math::max);
+            if (modifiedEpochSeconds <= lastModifiedEpochSeconds) {
+                stats.unmodified.incrementAndGet();
+                return;
             }
-            JSONObject json = new JSONObject(out.toString());
-            String advisoryId = json.optString("id");
-            try (var ignoredMdcVulnId = MDC.putCloseable(MDC_VULN_ID, advisoryId)) {
-                try {
-                    final OsvAdvisory osvAdvisory = parser.parse(json);
-                    if (osvAdvisory != null) {
-                        updateDatasource(osvAdvisory);
+        }
+
+        try {
+            if (!enqueue(advisoryQueue, advisory, writerFuture)) {
+                LOGGER.debug("Advisory writer terminated prematurely; Discarding advisory " + advisory.getId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.debug("Interrupted while waiting to enqueue advisory " + advisory.getId());
+        }
+    }
+
+    /**
+     * Hands an advisory over to the writer thread, waiting for as long as the writer is still alive.
+     *
+     * @return {@code true} when the advisory was enqueued, {@code false} when the writer terminated
+     */
+    private static boolean enqueue(final BlockingQueue<OsvAdvisory> advisoryQueue, final OsvAdvisory advisory,
+                                   final Future<?> writerFuture) throws InterruptedException {
+        while (!writerFuture.isDone()) {
+            if (advisoryQueue.offer(advisory, 1, TimeUnit.SECONDS)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void writeAdvisories(final BlockingQueue<OsvAdvisory> advisoryQueue, final ImportStats stats) throws InterruptedException {
+        final var batch = new ArrayList<OsvAdvisory>(ADVISORY_BATCH_SIZE);
+        boolean endReached = false;
+        while (!endReached) {
+            batch.add(advisoryQueue.take());
+            advisoryQueue.drainTo(batch, ADVISORY_BATCH_SIZE - 1);
+            if (batch.getLast() == END_OF_ADVISORIES) {
+                batch.removeLast();
+                endReached = true;
+            }
+
+            if (!batch.isEmpty()) {
+                writeAdvisoryBatch(batch, stats);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Synchronizes a batch of advisories within a single transaction.
+     * <p>
+     * Should the transaction fail, advisories of the batch are retried individually,
+     * such that a single bad advisory does not prevent the rest of the batch from being imported.
+     */
+    private void writeAdvisoryBatch(final List<OsvAdvisory> advisories, final ImportStats stats) {
+        try (final var qm = new QueryManager()) {
+            final var synchronizedVulns = new ArrayList<Vulnerability>(advisories.size());
+            try {
+                qm.runInTransaction(() -> {
+                    for (final OsvAdvisory advisory : advisories) {
+                        try (var ignoredMdcVulnId = MDC.putCloseable(MDC_VULN_ID, advisory.getId())) {
+                            synchronizedVulns.add(synchronizeAdvisory(qm, advisory));
+                        }
+                    }
+                });
+                stats.processed.addAndGet(advisories.size());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to synchronize batch of %d advisories; Retrying individually".formatted(advisories.size()), e);
+                synchronizedVulns.clear();
+                for (final OsvAdvisory advisory : advisories) {
+                    try (var ignoredMdcVulnId = MDC.putCloseable(MDC_VULN_ID, advisory.getId())) {
+                        synchronizedVulns.add(qm.callInTransaction(() -> synchronizeAdvisory(qm, advisory)));
+                        stats.processed.incrementAndGet();
+                    } catch (RuntimeException ex) {
+                        LOGGER.error("Failed to process advisory", ex);
+                        stats.failed.incrementAndGet();
                     }
-                } catch (RuntimeException e) {
-                    LOGGER.error("Failed to process advisory", e);
                 }
             }
-            zipEntry = zipIn.getNextEntry();
-            reader = new BufferedReader(new InputStreamReader(zipIn));
+
+            // Only update the index once changes are committed.
+            synchronizedVulns.forEach(VulnerableSoftwareIndex.getInstance()::update);
         }
-        reader.close();
     }
 
     public void updateDatasource(final OsvAdvisory advisory) {
-
         try (QueryManager qm = new QueryManager()) {
+            VulnerableSoftwareIndex.getInstance().update(synchronizeAdvisory(qm, advisory));
+        }
+        Event.dispatch(new IndexEvent(IndexEvent.Action.COMMIT, Vulnerability.class));
+    }
+
+    /**
+     * @return The synchronized {@link Vulnerability}, or {@code null} when it was left unchanged
+     */
+    private Vulnerability synchronizeAdvisory(final QueryManager qm, final OsvAdvisory advisory) {
+        LOGGER.debug("Synchronizing Google OSV advisory: " + advisory.getId());
+        final Vulnerability vulnerability = mapAdvisoryToVulnerability(qm, advisory);
+        final List<VulnerableSoftware> vsListOld = qm.detach(qm.getVulnerableSoftwareByVulnId(vulnerability.getSource(), vulnerability.getVulnId()));
+        final Vulnerability existingVulnerability = qm.getVulnerabilityByVulnId(vulnerability.getSource(), vulnerability.getVulnId());;
+        final Vulnerability.Source vulnerabilitySource = extractSource(advisory.getId());
+        final ConfigPropertyConstants vulnAuthoritativeSourceToggle = switch (vulnerabilitySource) {
+            case NVD -> ConfigPropertyConstants.VULNERABILITY_SOURCE_NVD_ENABLED;
+            case GITHUB -> ConfigPropertyConstants.VULNERABILITY_SOURCE_GITHUB_ADVISORIES_ENABLED;
+            default -> VULNERABILITY_SOURCE_GOOGLE_OSV_ENABLED;
+        };
+        final boolean vulnAuthoritativeSourceEnabled = Boolean.valueOf(qm.getConfigProperty(vulnAuthoritativeSourceToggle.getGroupName(), vulnAuthoritativeSourceToggle.getPropertyName()).getPropertyValue());
+        Vulnerability synchronizedVulnerability = existingVulnerability;
+        if (shouldUpdateExistingVulnerability(existingVulnerability, vulnerabilitySource, vulnAuthoritativeSourceEnabled)) {
+           synchronizedVulnerability  = qm.synchronizeVulnerability(vulnerability, false);
+           if (synchronizedVulnerability == null) return null; // Exit if nothing to update
+        }
+
+        if (aliasSyncEnabled && advisory.getAliases() != null) {
+            for (int i = 0; i < advisory.getAliases().size(); i++) {
+                final String alias = advisory.getAliases().get(i);
+                final VulnerabilityAlias vulnerabilityAlias = new VulnerabilityAlias();
+
+                // OSV will use IDs of other vulnerability databases for its
+                // primary advisory ID (e.g. GHSA-45hx-wfhj-473x). We need to ensure
+                // that we don't falsely report GHSA IDs as stemming from OSV.
+                switch (vulnerabilitySource) {
+                    case NVD -> vulnerabilityAlias.setCveId(advisory.getId());
+                    case GITHUB -> vulnerabilityAlias.setGhsaId(advisory.getId());
+                    default -> vulnerabilityAlias.setOsvId(advisory.getId());
+                }
 
-            LOGGER.debug("Synchronizing Google OSV advisory: " + advisory.getId());
-            final Vulnerability vulnerability = mapAdvisoryToVulnerability(qm, advisory);
-            final List<VulnerableSoftware> vsListOld = qm.detach(qm.getVulnerableSoftwareByVulnId(vulnerability.getSource(), vulnerability.getVulnId()));
-            final Vulnerability existingVulnerability = qm.getVulnerabilityByVulnId(vulnerability.getSource(), vulnerability.getVulnId());;
-            final Vulnerability.Source vulnerabilitySource = extractSource(advisory.getId());
-            final ConfigPropertyConstants vulnAuthoritativeSourceToggle = switch (vulnerabilitySource) {
-                case NVD -> ConfigPropertyConstants.VULNERABILITY_SOURCE_NVD_ENABLED;
-                case GITHUB -> ConfigPropertyConstants.VULNERABILITY_SOURCE_GITHUB_ADVISORIES_ENABLED;
-                default -> VULNERABILITY_SOURCE_GOOGLE_OSV_ENABLED;
-            };
-            final boolean vulnAuthoritativeSourceEnabled = Boolean.valueOf(qm.getConfigProperty(vulnAuthoritativeSourceToggle.getGroupName(), vulnAuthoritativeSourceToggle.getPropertyName()).getPropertyValue());
-            Vulnerability synchronizedVulnerability = existingVulnerability;
-            if (shouldUpdateExistingVulnerability(existingVulnerability, vulnerabilitySource, vulnAuthoritativeSourceEnabled)) {
-               synchronizedVulnerability  = qm.synchronizeVulnerability(vulnerability, false);
-               if (synchronizedVulnerability == null) return; // Exit if nothing to update
+                if (alias.startsWith("CVE") && Vulnerability.Source.NVD != vulnerabilitySource) {
+                    vulnerabilityAlias.setCveId(alias);
+                    qm.synchronizeVulnerabilityAlias(vulnerabilityAlias);
+                } else if (alias.startsWith("GHSA") && Vulnerability.Source.GITHUB != vulnerabilitySource) {
+                    vulnerabilityAlias.setGhsaId(alias);
+                    qm.synchronizeVulnerabilityAlias(vulnerabilityAlias);
+                }
+
+                //TODO - OSV supports GSD and DLA/DSA identifiers (possibly others). Determine how to handle.
             }
+        }
 
-            if (aliasSyncEnabled && advisory.getAliases() != null) {
-                for (int i = 0; i < advisory.getAliases().size(); i++) {
-                    final String alias = advisory.getAliases().get(i);
-                    final VulnerabilityAlias vulnerabilityAlias = new VulnerabilityAlias();
-
-                    // OSV will use IDs of other vulnerability databases for its
-                    // primary advisory ID (e.g. GHSA-45hx-wfhj-473x). We need to ensure
-                    // that we don't falsely report GHSA IDs as stemming from OSV.
-                    switch (vulnerabilitySource) {
-                        case NVD -> vulnerabilityAlias.setCveId(advisory.getId());
-                        case GITHUB -> vulnerabilityAlias.setGhsaId(advisory.getId());
-                        default -> vulnerabilityAlias.setOsvId(advisory.getId());
-                    }
+        List<VulnerableSoftware> vsList = new ArrayList<>();
+        for (OsvAffectedPackage osvAffectedPackage : advisory.getAffectedPackages()) {
+            VulnerableSoftware vs = mapAffectedPackageToVulnerableSoftware(qm, osvAffectedPackage);
+            if (vs != null) {
+                vsList.add(vs);
+            }
+        }
+        qm.persist(vsList);
+        qm.updateAffectedVersionAttributions(synchronizedVulnerability, vsList, Vulnerability.Source.OSV);
+        vsList = qm.reconcileVulnerableSoftware(synchronizedVulnerability, vsListOld, vsList, Vulnerability.Source.OSV);
+        synchronizedVulnerability.setVulnerableSoftware(vsList);
+        qm.persist(synchronizedVulnerability);
+        return synchronizedVulnerability;
+    }
 
-                    if (alias.startsWith("CVE") && Vulnerability.Source.NVD != vulnerabilitySource) {
-                        vulnerabilityAlias.setCveId(alias);
-                        qm.synchronizeVulnerabilityAlias(vulnerabilityAlias);
-                    } else if (alias.startsWith("GHSA") && Vulnerability.Source.GITHUB != vulnerabilitySource) {
-                        vulnerabilityAlias.setGhsaId(alias);
-                        qm.synchronizeVulnerabilityAlias(vulnerabilityAlias);
-                    }
+    private static long getLastModifiedEpochSeconds(final String ecosystem) {
+        try (final var qm = new QueryManager()) {
+            final ConfigProperty property = qm.getConfigProperty(
+                    VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getGroupName(),
+                    VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getPropertyName());
+            if (property == null || property.getPropertyValue() == null) {
+                return 0;
+            }
 
-                    //TODO - OSV supports GSD and DLA/DSA identifiers (possibly others). Determine how to handle.
+            return new JSONObject(property.getPropertyValue()).optLong(ecosystem, 0);
+        } catch (JSONException e) {
+            LOGGER.warn("Last modification times of ecosystems could not be parsed; Will import all advisories", e);
+            return 0;
+        }
+    }
+
+    private static void updateLastModifiedEpochSeconds(final String ecosystem, final long lastModifiedEpochSeconds) {
+        LOGGER.debug("Latest captured modification date of ecosystem %s: %s"
+                .formatted(ecosystem, Instant.ofEpochSecond(lastModifiedEpochSeconds)));
+        try (final var qm = new QueryManager()) {
+            qm.runInTransaction(() -> {
+                ConfigProperty property = qm.getConfigProperty(
+                        VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getGroupName(),
+                        VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getPropertyName());
+                if (property == null) {
+                    property = qm.createConfigProperty(
+                            VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getGroupName(),
+                            VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getPropertyName(),
+                            null,
+                            VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getPropertyType(),
+                            VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getDescription());
                 }
-            }
 
-            List<VulnerableSoftware> vsList = new ArrayList<>();
-            for (OsvAffectedPackage osvAffectedPackage : advisory.getAffectedPackages()) {
-                VulnerableSoftware vs = mapAffectedPackageToVulnerableSoftware(qm, osvAffectedPackage);
-                if (vs != null) {
-                    vsList.add(vs);
+                JSONObject lastModifiedByEcosystem;
+                try {
+                    lastModifiedByEcosystem = new JSONObject(Optional.ofNullable(property.getPropertyValue()).orElse("{}"));
+                } catch (JSONException e) {
+                    lastModifiedByEcosystem = new JSONObject();
                 }
-            }
-            qm.persist(vsList);
-            qm.updateAffectedVersionAttributions(synchronizedVulnerability, vsList, Vulnerability.Source.OSV);
-            vsList = qm.reconcileVulnerableSoftware(synchronizedVulnerability, vsListOld, vsList, Vulnerability.Source.OSV);
-            synchronizedVulnerability.setVulnerableSoftware(vsList);
-            qm.persist(synchronizedVulnerability);
+
+                lastModifiedByEcosystem.put(ecosystem, lastModifiedEpochSeconds);
+                property.setPropertyValue(lastModifiedByEcosystem.toString());
+            });
         }
-        Event.dispatch(new IndexEvent(IndexEvent.Action.COMMIT, Vulnerability.class));
+    }
+
+    private static ThreadFactory createThreadFactory(final String namingPattern) {
+        return new BasicThreadFactory.Builder()
+                .namingPattern(namingPattern)
+                .uncaughtExceptionHandler(new LoggableUncaughtExceptionHandler())
+                .build();
     }
 
     private boolean shouldUpdateExistingVulnerability(Vulnerability existingVulnerability, Vulnerability.Source vulnerabilitySource, boolean vulnAuthoritativeSourceEnabled) {
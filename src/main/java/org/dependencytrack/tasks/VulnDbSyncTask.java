@@ -38,6 +38,7 @@ import org.dependencytrack.parser.vulndb.model.Results;
 import org.dependencytrack.parser.vulndb.model.Vendor;
 import org.dependencytrack.parser.vulndb.model.Version;
 import org.dependencytrack.persistence.QueryManager;
+import org.dependencytrack.tasks.scanners.VulnerableSoftwareIndex;
 import us.springett.parsers.cpe.Cpe;
 import us.springett.parsers.cpe.CpeParser;
 import us.springett.parsers.cpe.exceptions.CpeEncodingException;
@@ -133,6 +134,8 @@ public class VulnDbSyncTask implements LoggableSubscriber {
                     vsList = qm.reconcileVulnerableSoftware(synchronizeVulnerability, vsListOld, vsList, Vulnerability.Source.VULNDB);
                     synchronizeVulnerability.setVulnerableSoftware(vsList);
                     qm.persist(synchronizeVulnerability);
+                    // Changes are committed upon persist.
+                    VulnerableSoftwareIndex.getInstance().update(synchronizeVulnerability);
                 }
             }
         }
@@ -18,10 +18,20 @@
  */
 package org.dependencytrack.tasks;
 
+import alpine.Config;
 import alpine.common.logging.Logger;
+import alpine.common.metrics.Metrics;
 import alpine.event.framework.Event;
+import alpine.event.framework.LoggableUncaughtExceptionHandler;
 import alpine.event.framework.Subscriber;
 import alpine.persistence.ScopedCustomization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.event.ComponentVulnerabilityAnalysisEvent;
 import org.dependencytrack.event.InternalAnalysisEvent;
 import org.dependencytrack.event.OssIndexAnalysisEvent;
@@ -31,6 +41,7 @@ import org.dependencytrack.event.ProjectVulnerabilityAnalysisEvent;
 import org.dependencytrack.event.SnykAnalysisEvent;
 import org.dependencytrack.event.TrivyAnalysisEvent;
 import org.dependencytrack.event.VulnDbAnalysisEvent;
+import org.dependencytrack.model.Classifier;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.ComponentAnalysisCache;
 import org.dependencytrack.model.FindingAttribution;
@@ -40,24 +51,38 @@ import org.dependencytrack.model.VulnerabilityAnalysisLevel;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.policy.PolicyEngine;
 import org.dependencytrack.tasks.scanners.AnalyzerIdentity;
-import org.dependencytrack.tasks.scanners.CacheableScanTask;
+import org.dependencytrack.tasks.scanners.BaseComponentAnalyzerTask;
+import org.dependencytrack.tasks.scanners.FindingCollector;
 import org.dependencytrack.tasks.scanners.InternalAnalysisTask;
 import org.dependencytrack.tasks.scanners.OssIndexAnalysisTask;
 import org.dependencytrack.tasks.scanners.ScanTask;
 import org.dependencytrack.tasks.scanners.SnykAnalysisTask;
 import org.dependencytrack.tasks.scanners.TrivyAnalysisTask;
 import org.dependencytrack.tasks.scanners.VulnDbAnalysisTask;
+import org.dependencytrack.util.NotificationUtil;
 import org.slf4j.MDC;
 
 import javax.jdo.Query;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.dependencytrack.common.MdcKeys.MDC_EVENT_TOKEN;
 import static org.dependencytrack.common.MdcKeys.MDC_PROJECT_NAME;
@@ -69,6 +94,36 @@ import static org.dependencytrack.util.LockUtil.getLockForProjectAndNamespace;
 public class VulnerabilityAnalysisTask implements Subscriber {
 
     private static final Logger LOGGER = Logger.getLogger(VulnerabilityAnalysisTask.class);
+    private static final AtomicInteger PORTFOLIO_PROJECTS_TOTAL = new AtomicInteger();
+    private static final AtomicInteger PORTFOLIO_PROJECTS_COMPLETED = new AtomicInteger();
+    private static final Counter PORTFOLIO_PROJECTS_ANALYZED;
+    private static final Timer PORTFOLIO_PROJECT_TIMER;
+
+    static {
+        Gauge.builder("vuln_analysis_portfolio_projects_total", PORTFOLIO_PROJECTS_TOTAL, AtomicInteger::get)
+                .description("Number of projects included in the current portfolio vulnerability analysis")
+                .register(Metrics.getRegistry());
+        Gauge.builder("vuln_analysis_portfolio_projects_completed", PORTFOLIO_PROJECTS_COMPLETED, AtomicInteger::get)
+                .description("Number of projects analyzed in the current portfolio vulnerability analysis")
+                .register(Metrics.getRegistry());
+        PORTFOLIO_PROJECTS_ANALYZED = Counter.builder("vuln_analysis_portfolio_projects_analyzed")
+                .description("Total number of projects analyzed by portfolio vulnerability analyses")
+                .register(Metrics.getRegistry());
+        PORTFOLIO_PROJECT_TIMER = Timer.builder("vuln_analysis_portfolio_project")
+                .description("Duration of project analyses performed by portfolio vulnerability analyses")
+                .publishPercentileHistogram()
+                .register(Metrics.getRegistry());
+    }
+
+    private final int portfolioParallelism;
+
+    public VulnerabilityAnalysisTask() {
+        this(Config.getInstance().getPropertyAsInt(ConfigKey.VULNERABILITY_ANALYSIS_PORTFOLIO_PARALLELISM));
+    }
+
+    VulnerabilityAnalysisTask(final int portfolioParallelism) {
+        this.portfolioParallelism = Math.max(1, portfolioParallelism);
+    }
 
     /**
      * {@inheritDoc}
@@ -83,7 +138,7 @@ public class VulnerabilityAnalysisTask implements Subscriber {
             }
             case ProjectVulnerabilityAnalysisEvent event -> {
                 try (var ignoredMdcEventToken = MDC.putCloseable(MDC_EVENT_TOKEN, event.getChainIdentifier().toString())) {
-                    analyzeProject(event.projectUuid(), event.analysisLevel());
+                    analyzeProject(event.projectUuid(), event.analysisLevel(), event.componentUuids());
                 }
             }
             case PortfolioVulnerabilityAnalysisEvent ignored -> analyzePortfolio();
@@ -92,6 +147,7 @@ public class VulnerabilityAnalysisTask implements Subscriber {
     }
 
     private void analyzePortfolio() {
+        final long startedAtNanos = System.nanoTime();
         try (final var qm = new QueryManager()) {
             List<Project> projects = fetchNextProjectBatch(qm, null);
             if (projects.isEmpty()) {
@@ -99,47 +155,156 @@ public class VulnerabilityAnalysisTask implements Subscriber {
                 return;
             }
 
-            while (!projects.isEmpty()) {
-                if (Thread.currentThread().isInterrupted()) {
-                    LOGGER.warn("Interrupted before all projects could be analyzed");
-                    break;
+            PORTFOLIO_PROJECTS_TOTAL.set(countActiveProjects(qm));
+            PORTFOLIO_PROJECTS_COMPLETED.set(0);
+            LOGGER.info("Analyzing %d projects with a parallelism of %d".formatted(
+                    PORTFOLIO_PROJECTS_TOTAL.get(), portfolioParallelism));
+
+            if (portfolioParallelism > 1) {
+                analyzePortfolioConcurrently(qm, projects, startedAtNanos);
+            } else {
+                analyzePortfolioSequentially(qm, projects, startedAtNanos);
+            }
+        }
+
+        final long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+        LOGGER.info("Analyzed %d/%d projects in %s (%.2f projects/min)".formatted(
+                PORTFOLIO_PROJECTS_COMPLETED.get(), PORTFOLIO_PROJECTS_TOTAL.get(),
+                DurationFormatUtils.formatDurationHMS(durationMs),
+                projectsPerMinute(PORTFOLIO_PROJECTS_COMPLETED.get(), durationMs)));
+    }
+
+    private void analyzePortfolioSequentially(final QueryManager qm, List<Project> projects, final long startedAtNanos) {
+        while (!projects.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                LOGGER.warn("Interrupted before all projects could be analyzed");
+                break;
+            }
+
+            LOGGER.info("Analyzing batch of %d projects".formatted(projects.size()));
+
+            for (final Project project : projects) {
+                final Timer.Sample timerSample = Timer.start();
+                try (var ignoredMdcProjectUuid = MDC.putCloseable(MDC_PROJECT_UUID, project.getUuid().toString());
+                     var ignoredMdcProjectName = MDC.putCloseable(MDC_PROJECT_NAME, project.getName());
+                     var ignoredMdcProjectVersion = MDC.putCloseable(MDC_PROJECT_VERSION, project.getVersion());
+                     var ignoredMdcAnalysisLevel = MDC.putCloseable(MDC_VULN_ANALYSIS_LEVEL, VulnerabilityAnalysisLevel.PERIODIC_ANALYSIS.name())) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        LOGGER.warn("Interrupted before project could be analyzed");
+                        break;
+                    }
+
+                    try {
+                        analyzeProject(qm, project, VulnerabilityAnalysisLevel.PERIODIC_ANALYSIS, null);
+                    } catch (RuntimeException e) {
+                        LOGGER.error("Failed to analyze project", e);
+                    }
+                } finally {
+                    qm.getPersistenceManager().evictAll(false, Component.class);
+                    qm.getPersistenceManager().evictAll(false, ComponentAnalysisCache.class);
+                    qm.getPersistenceManager().evictAll(false, FindingAttribution.class);
+                    qm.getPersistenceManager().evictAll(false, Vulnerability.class);
+                    recordPortfolioProjectCompleted(timerSample, startedAtNanos);
                 }
+            }
 
-                LOGGER.info("Analyzing batch of %d projects".formatted(projects.size()));
+            qm.getPersistenceManager().evictAll(false, Project.class);
+            projects = fetchNextProjectBatch(qm, projects.getLast().getId());
+        }
+    }
+
+    /**
+     * Analyzes projects of the portfolio using {@link #portfolioParallelism} worker threads.
+     * <p>
+     * Projects are handed out to workers one at a time, in the order in which they are fetched.
+     * A worker picks up the next project as soon as it completed its previous one, such that large
+     * projects do not hold up the analysis of others. Each project is analyzed with its own
+     * {@link QueryManager}, and the per-project locks used for analysis of individual projects
+     * are honoured.
+     */
+    private void analyzePortfolioConcurrently(final QueryManager qm, List<Project> projects, final long startedAtNanos) {
+        final var permits = new Semaphore(portfolioParallelism);
+        final ExecutorService executor = Executors.newFixedThreadPool(portfolioParallelism, new BasicThreadFactory.Builder()
+                .namingPattern("PortfolioVulnerabilityAnalysis-%d")
+                .uncaughtExceptionHandler(new LoggableUncaughtExceptionHandler())
+                .build());
+
+        try {
+            batchLoop:
+            while (!projects.isEmpty()) {
+                LOGGER.info("Scheduling batch of %d projects for analysis".formatted(projects.size()));
 
                 for (final Project project : projects) {
-                    try (var ignoredMdcProjectUuid = MDC.putCloseable(MDC_PROJECT_UUID, project.getUuid().toString());
-                         var ignoredMdcProjectName = MDC.putCloseable(MDC_PROJECT_NAME, project.getName());
-                         var ignoredMdcProjectVersion = MDC.putCloseable(MDC_PROJECT_VERSION, project.getVersion());
-                         var ignoredMdcAnalysisLevel = MDC.putCloseable(MDC_VULN_ANALYSIS_LEVEL, VulnerabilityAnalysisLevel.PERIODIC_ANALYSIS.name())) {
-                        if (Thread.currentThread().isInterrupted()) {
-                            LOGGER.warn("Interrupted before project could be analyzed");
-                            break;
-                        }
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        LOGGER.warn("Interrupted before all projects could be analyzed");
+                        Thread.currentThread().interrupt();
+                        break batchLoop;
+                    }
 
+                    final UUID projectUuid = project.getUuid();
+                    executor.execute(() -> {
+                        final Timer.Sample timerSample = Timer.start();
                         try {
-                            analyzeProject(qm, project, VulnerabilityAnalysisLevel.PERIODIC_ANALYSIS);
-                        } catch (RuntimeException e) {
-                            LOGGER.error("Failed to analyze project", e);
+                            analyzeProject(projectUuid, VulnerabilityAnalysisLevel.PERIODIC_ANALYSIS, null);
+                        } finally {
+                            recordPortfolioProjectCompleted(timerSample, startedAtNanos);
+                            permits.release();
                         }
-                    } finally {
-                        qm.getPersistenceManager().evictAll(false, Component.class);
-                        qm.getPersistenceManager().evictAll(false, ComponentAnalysisCache.class);
-                        qm.getPersistenceManager().evictAll(false, FindingAttribution.class);
-                        qm.getPersistenceManager().evictAll(false, Vulnerability.class);
-                    }
+                    });
                 }
 
                 qm.getPersistenceManager().evictAll(false, Project.class);
                 projects = fetchNextProjectBatch(qm, projects.getLast().getId());
             }
+        } finally {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOGGER.debug("Waiting for in-flight project analyses to complete");
+                }
+            } catch (InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for in-flight project analyses to complete");
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void recordPortfolioProjectCompleted(final Timer.Sample timerSample, final long startedAtNanos) {
+        timerSample.stop(PORTFOLIO_PROJECT_TIMER);
+        PORTFOLIO_PROJECTS_ANALYZED.increment();
+
+        final int completed = PORTFOLIO_PROJECTS_COMPLETED.incrementAndGet();
+        if (completed % 100 == 0) {
+            final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+            LOGGER.info("Analyzed %d/%d projects (%.2f projects/min)".formatted(
+                    completed, PORTFOLIO_PROJECTS_TOTAL.get(), projectsPerMinute(completed, elapsedMs)));
+        }
+    }
+
+    private static double projectsPerMinute(final int projects, final long elapsedMs) {
+        return elapsedMs > 0 ? projects / (elapsedMs / 60_000.0) : 0;
+    }
+
+    private static int countActiveProjects(final QueryManager qm) {
+        final Query<Project> query = qm.getPersistenceManager().newQuery(Project.class);
+        query.setFilter("active");
+        query.setResult("count(this)");
+
+        try {
+            return ((Number) query.executeResultUnique()).intValue();
+        } finally {
+            query.closeAll();
         }
     }
 
     private void analyzeProject(
             final QueryManager qm,
             final Project project,
-            final VulnerabilityAnalysisLevel analysisLevel) {
+            final VulnerabilityAnalysisLevel analysisLevel,
+            final Set<UUID> componentUuids) {
         final ReentrantLock projectLock = getLockForProjectAndNamespace(project, getClass().getSimpleName());
 
         try {
@@ -158,7 +323,16 @@ public class VulnerabilityAnalysisTask implements Subscriber {
             // NB: Some analyzers require all components of a project to be analyzed in one go.
             // Trivy for example checks for the existence of OPERATING_SYSTEM components.
             // If we were to analyze components in batches, this logic might not work for large projects.
-            final List<Component> components = fetchComponents(qm, project);
+            //
+            // When the analysis is limited to specific components, operating system components are
+            // analyzed along with them for the same reason.
+            List<Component> components = fetchComponents(qm, project);
+            if (componentUuids != null) {
+                components = components.stream()
+                        .filter(component -> componentUuids.contains(component.getUuid())
+                                || component.getClassifier() == Classifier.OPERATING_SYSTEM)
+                        .toList();
+            }
             if (components.isEmpty()) {
                 LOGGER.info("Project does not have any components; Nothing to analyze");
                 return;
@@ -181,7 +355,10 @@ public class VulnerabilityAnalysisTask implements Subscriber {
         }
     }
 
-    private void analyzeProject(final UUID projectUuid, final VulnerabilityAnalysisLevel analysisLevel) {
+    private void analyzeProject(
+            final UUID projectUuid,
+            final VulnerabilityAnalysisLevel analysisLevel,
+            final Set<UUID> componentUuids) {
         try (final var qm = new QueryManager()) {
             final Project project;
             try (var ignoredPersistenceCustomization = new ScopedCustomization(qm.getPersistenceManager())
@@ -198,7 +375,7 @@ public class VulnerabilityAnalysisTask implements Subscriber {
                  var ignoredMdcProjectVersion = MDC.putCloseable(MDC_PROJECT_VERSION, project.getVersion());
                  var ignoredMdcAnalysisLevel = MDC.putCloseable(MDC_VULN_ANALYSIS_LEVEL, analysisLevel.name())) {
                 try {
-                    analyzeProject(qm, project, analysisLevel);
+                    analyzeProject(qm, project, analysisLevel, componentUuids);
                 } catch (RuntimeException e) {
                     LOGGER.error("Failed to analyze project", e);
                 }
@@ -237,12 +414,6 @@ public class VulnerabilityAnalysisTask implements Subscriber {
         for (final Component component : components) {
             for (final ScanTask analyzer : analyzers) {
                 if (analyzer.isCapable(component)) {
-                    if (analyzer instanceof final CacheableScanTask cacheableScanTask
-                        && !cacheableScanTask.shouldAnalyze(component.getPurl())) {
-                        cacheableScanTask.applyAnalysisFromCache(component);
-                        continue;
-                    }
-
                     candidateComponentsByAnalyzerIdentity
                             .computeIfAbsent(analyzer.getAnalyzerIdentity(), ignored -> new ArrayList<>())
                             .add(component);
@@ -250,20 +421,57 @@ public class VulnerabilityAnalysisTask implements Subscriber {
             }
         }
 
-        // NB: Detaching components from this persistence manager so they can be used
-        // by PMs of analyzers. Components MUST NOT be made transient (QueryManager#makeTransientAll) here,
-        // as that would also dis-associate them from DataNucleus' state manager, preventing lazy-loading
-        // of other fields, should analyzers need them (e.g. component properties).
-        for (final Component component : components) {
-            qm.getPersistenceManager().detachCopy(component);
+        // Each analyzer runs in its own thread, with its own QueryManager and its own instances
+        // of the candidate components. This avoids sharing persistent objects across threads,
+        // and ensures that transient state such as Component#cacheResult is not mixed up.
+        // Findings reported by analyzers are collected and applied in a single step afterwards.
+        final var findingCollector = new FindingCollector();
+        final var futureByAnalyzerIdentity = new LinkedHashMap<AnalyzerIdentity, Future<?>>();
+        final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        try (final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("VulnerabilityAnalyzer-", 0).factory())) {
+            for (final ScanTask analyzer : analyzers) {
+                final List<Component> candidates = candidateComponentsByAnalyzerIdentity.get(analyzer.getAnalyzerIdentity());
+                if (candidates == null || candidates.isEmpty()) {
+                    LOGGER.debug("No analysis candidates for %s; Not invoking analyzer".formatted(
+                            analyzer.getAnalyzerIdentity()));
+                    continue;
+                }
+
+                final List<Long> candidateIds = candidates.stream().map(Component::getId).toList();
+                futureByAnalyzerIdentity.put(analyzer.getAnalyzerIdentity(), executor.submit(
+                        () -> runAnalyzer(analyzer, candidateIds, analysisLevel, findingCollector, mdcContext)));
+            }
         }
 
-        for (final ScanTask analyzer : analyzers) {
-            final List<Component> candidates = candidateComponentsByAnalyzerIdentity.get(analyzer.getAnalyzerIdentity());
-            if (candidates == null || candidates.isEmpty()) {
-                LOGGER.debug("No analysis candidates for %s; Not invoking analyzer".formatted(
-                        analyzer.getAnalyzerIdentity()));
-                continue;
+        for (final Map.Entry<AnalyzerIdentity, Future<?>> entry : futureByAnalyzerIdentity.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (ExecutionException e) {
+                LOGGER.error("Analysis with %s failed".formatted(entry.getKey()), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for analyzers to complete", e);
+            }
+        }
+
+        reconcileFindings(qm, findingCollector.getFindings(), analyzers, analysisLevel);
+    }
+
+    private void runAnalyzer(
+            final ScanTask analyzer,
+            final List<Long> candidateIds,
+            final VulnerabilityAnalysisLevel analysisLevel,
+            final FindingCollector findingCollector,
+            final Map<String, String> mdcContext) {
+        if (mdcContext != null) {
+            MDC.setContextMap(mdcContext);
+        }
+
+        try (final var qm = new QueryManager()) {
+            final List<Component> candidates = fetchComponentsById(qm, candidateIds);
+            if (candidates.isEmpty()) {
+                return;
             }
 
             // TODO: It would be better to invoke ScanTask#analyze directly rather than
@@ -280,19 +488,57 @@ public class VulnerabilityAnalysisTask implements Subscriber {
                         "Unsupported analyzer: " + analyzer.getAnalyzerIdentity());
             };
 
-            try {
-                LOGGER.debug("Invoking %s with %d components".formatted(
-                        analyzer.getAnalyzerIdentity(), candidates.size()));
+            LOGGER.debug("Invoking %s with %d components".formatted(
+                    analyzer.getAnalyzerIdentity(), candidates.size()));
 
-                final var task = (Subscriber) analyzer;
-                task.inform(event);
-            } finally {
-                // Clear the transient cache result for each component.
-                // Each analyzer will have its own result. Therefore, we do not want to mix them.
-                for (final Component component : candidates) {
-                    component.setCacheResult(null);
-                }
+            if (analyzer instanceof final BaseComponentAnalyzerTask baseAnalyzer) {
+                baseAnalyzer.setFindingCollector(findingCollector);
+            }
+
+            final var task = (Subscriber) analyzer;
+            task.inform(event);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Applies findings reported by analyzers to their respective components.
+     * <p>
+     * Findings are applied in the order in which analyzers are defined, such that
+     * the attribution of a vulnerability reported by multiple analyzers is deterministic.
+     */
+    private void reconcileFindings(
+            final QueryManager qm,
+            final List<FindingCollector.Finding> findings,
+            final List<? extends ScanTask> analyzers,
+            final VulnerabilityAnalysisLevel analysisLevel) {
+        if (findings.isEmpty()) {
+            return;
+        }
+
+        final List<AnalyzerIdentity> analyzerOrder = analyzers.stream().map(ScanTask::getAnalyzerIdentity).toList();
+        final List<FindingCollector.Finding> sortedFindings = findings.stream()
+                .sorted(Comparator.comparingInt(finding -> analyzerOrder.indexOf(finding.analyzerIdentity())))
+                .toList();
+
+        final Map<Long, Component> componentById = fetchComponentsById(qm,
+                sortedFindings.stream().map(FindingCollector.Finding::componentId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Component::getId, Function.identity()));
+        final Map<Long, Vulnerability> vulnById = fetchVulnerabilitiesById(qm,
+                sortedFindings.stream().map(FindingCollector.Finding::vulnerabilityId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Vulnerability::getId, Function.identity()));
+
+        for (final FindingCollector.Finding finding : sortedFindings) {
+            final Component component = componentById.get(finding.componentId());
+            final Vulnerability vulnerability = vulnById.get(finding.vulnerabilityId());
+            if (component == null || vulnerability == null) {
+                continue;
             }
+
+            NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, component, analysisLevel);
+            qm.addVulnerability(vulnerability, component, finding.analyzerIdentity(),
+                    finding.alternateIdentifier(), finding.referenceUrl());
         }
     }
 
@@ -343,4 +589,37 @@ public class VulnerabilityAnalysisTask implements Subscriber {
         }
     }
 
+    private List<Component> fetchComponentsById(final QueryManager qm, final List<Long> ids) {
+        final var components = new ArrayList<Component>(ids.size());
+        for (final List<Long> idsPartition : ListUtils.partition(ids, 1000)) {
+            final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
+            query.setFilter(":ids.contains(id)");
+            query.setParameters(idsPartition);
+
+            try (var ignoredPersistenceCustomization = new ScopedCustomization(qm.getPersistenceManager())
+                    .withFetchGroup(Component.FetchGroup.COMPONENT_VULN_ANALYSIS.name())) {
+                components.addAll(query.executeList());
+            } finally {
+                query.closeAll();
+            }
+        }
+        return components;
+    }
+
+    private List<Vulnerability> fetchVulnerabilitiesById(final QueryManager qm, final List<Long> ids) {
+        final var vulns = new ArrayList<Vulnerability>(ids.size());
+        for (final List<Long> idsPartition : ListUtils.partition(ids, 1000)) {
+            final Query<Vulnerability> query = qm.getPersistenceManager().newQuery(Vulnerability.class);
+            query.setFilter(":ids.contains(id)");
+            query.setParameters(idsPartition);
+
+            try {
+                vulns.addAll(query.executeList());
+            } finally {
+                query.closeAll();
+            }
+        }
+        return vulns;
+    }
+
 }
@@ -0,0 +1,397 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks.metrics;
+
+import alpine.common.logging.Logger;
+import org.dependencytrack.metrics.Metrics;
+import org.dependencytrack.model.Analysis;
+import org.dependencytrack.model.AnalysisState;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.DependencyMetrics;
+import org.dependencytrack.model.Policy;
+import org.dependencytrack.model.PolicyViolation;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.model.Severity;
+import org.dependencytrack.model.ViolationAnalysis;
+import org.dependencytrack.model.ViolationAnalysisState;
+import org.dependencytrack.model.VulnIdAndSource;
+import org.dependencytrack.model.VulnerabilityAlias;
+import org.dependencytrack.persistence.QueryManager;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.Math.toIntExact;
+
+/**
+ * Set-based counterpart of {@link ComponentMetricsUpdateTask#updateMetrics(java.util.UUID)}.
+ * <p>
+ * Instead of issuing a set of queries for every single {@link Component}, metrics for a whole
+ * page of {@link Component}s of a {@link Project} are calculated using a fixed number of aggregate
+ * queries. Resulting {@link DependencyMetrics} are written in a single transaction.
+ * <p>
+ * Pages are expected to be contiguous ranges of {@link Component} IDs within the {@link Project},
+ * as produced by {@link ProjectMetricsUpdateTask}.
+ *
+ * @since 4.14.0
+ */
+final class ComponentMetricsBulkUpdater {
+
+    private static final Logger LOGGER = Logger.getLogger(ComponentMetricsBulkUpdater.class);
+
+    private final QueryManager qm;
+    private final PersistenceManager pm;
+    private final Project project;
+
+    ComponentMetricsBulkUpdater(final QueryManager qm, final Project project) {
+        this.qm = qm;
+        this.pm = qm.getPersistenceManager();
+        this.project = project;
+    }
+
+    /**
+     * Calculate and persist metrics for a page of {@link Component}s.
+     *
+     * @param components The {@link Component}s to update metrics for
+     * @return The calculated {@link Counters}, keyed by {@link Component} ID
+     */
+    Map<Long, Counters> updateMetrics(final List<Component> components) throws Exception {
+        if (components.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final var measuredAt = new Date();
+        final var countersByComponentId = new LinkedHashMap<Long, Counters>(components.size());
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (final Component component : components) {
+            countersByComponentId.put(component.getId(), new Counters(measuredAt));
+            minId = Math.min(minId, component.getId());
+            maxId = Math.max(maxId, component.getId());
+        }
+
+        applyVulnerabilities(countersByComponentId, minId, maxId);
+        applyFindingAudits(countersByComponentId, minId, maxId);
+        applyPolicyViolations(countersByComponentId, minId, maxId);
+
+        final Map<Long, DependencyMetrics> latestMetricsByComponentId = getLatestMetrics(minId, maxId);
+
+        final var metricsToCreate = new ArrayList<DependencyMetrics>();
+        qm.runInTransaction(() -> {
+            for (final Component component : components) {
+                final Counters counters = countersByComponentId.get(component.getId());
+                final DependencyMetrics latestMetrics = latestMetricsByComponentId.get(component.getId());
+                if (!counters.hasChanged(latestMetrics)) {
+                    latestMetrics.setLastOccurrence(counters.measuredAt);
+                } else {
+                    metricsToCreate.add(counters.createComponentMetrics(component, project));
+                }
+
+                if (component.getLastInheritedRiskScore() == null ||
+                        component.getLastInheritedRiskScore() != counters.inheritedRiskScore) {
+                    component.setLastInheritedRiskScore(counters.inheritedRiskScore);
+                }
+            }
+
+            pm.makePersistentAll(metricsToCreate);
+        });
+
+        LOGGER.debug("Updated metrics of %d components of project %s; %d changed".formatted(
+                components.size(), project.getUuid(), metricsToCreate.size()));
+        return countersByComponentId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyVulnerabilities(final Map<Long, Counters> countersByComponentId, final long minId, final long maxId) throws Exception {
+        final List<Object[]> rows;
+        try (final Query<?> query = pm.newQuery(Query.SQL, /* language=SQL */ """
+                SELECT "COMPONENTS_VULNERABILITIES"."COMPONENT_ID"
+                     , "VULNERABILITY"."SOURCE"
+                     , "VULNERABILITY"."VULNID"
+                     , "VULNERABILITY"."SEVERITY"
+                  FROM "COMPONENT"
+                 INNER JOIN "COMPONENTS_VULNERABILITIES"
+                    ON "COMPONENTS_VULNERABILITIES"."COMPONENT_ID" = "COMPONENT"."ID"
+                 INNER JOIN "VULNERABILITY"
+                    ON "VULNERABILITY"."ID" = "COMPONENTS_VULNERABILITIES"."VULNERABILITY_ID"
+                 WHERE "COMPONENT"."PROJECT_ID" = :projectId
+                   AND "COMPONENT"."ID" BETWEEN :minId AND :maxId
+                   AND NOT EXISTS (
+                       SELECT 1
+                         FROM "ANALYSIS"
+                        WHERE "ANALYSIS"."COMPONENT_ID" = "COMPONENT"."ID"
+                          AND "ANALYSIS"."VULNERABILITY_ID" = "VULNERABILITY"."ID"
+                          AND "ANALYSIS"."SUPPRESSED" = :true)
+                 ORDER BY "COMPONENTS_VULNERABILITIES"."COMPONENT_ID"
+                        , "VULNERABILITY"."ID"
+                """)) {
+            query.setNamedParameters(Map.of(
+                    "projectId", project.getId(),
+                    "minId", minId,
+                    "maxId", maxId,
+                    "true", true));
+            rows = List.copyOf((List<Object[]>) query.executeList());
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        final var vulnIdAndSources = new HashSet<VulnIdAndSource>();
+        for (final Object[] row : rows) {
+            vulnIdAndSources.add(new VulnIdAndSource((String) row[2], (String) row[1]));
+        }
+
+        // Aliases are resolved for the entire page at once, rather than per vulnerability.
+        final Map<VulnIdAndSource, List<VulnerabilityAlias>> aliasesByVulnIdAndSource =
+                qm.getVulnerabilityAliases(vulnIdAndSources);
+
+        final var aliasesSeenByComponentId = new HashMap<Long, Set<String>>();
+        for (final Object[] row : rows) {
+            final long componentId = ((Number) row[0]).longValue();
+            final var vulnIdAndSource = new VulnIdAndSource((String) row[2], (String) row[1]);
+            final Counters counters = countersByComponentId.get(componentId);
+            if (counters == null) {
+                continue;
+            }
+
+            // Quick pre-flight check whether we already encountered an alias of this particular vulnerability
+            final Set<String> aliasesSeen = aliasesSeenByComponentId.computeIfAbsent(componentId, ignored -> new HashSet<>());
+            final String alias = vulnIdAndSource.source() + "|" + vulnIdAndSource.vulnId();
+            if (aliasesSeen.contains(alias)) {
+                continue;
+            }
+
+            // Consider all aliases of this vulnerability as "seen"
+            aliasesByVulnIdAndSource.getOrDefault(vulnIdAndSource, Collections.emptyList()).stream()
+                    .map(VulnerabilityAlias::getAllBySource)
+                    .flatMap(vulnIdsBySource -> vulnIdsBySource.entrySet().stream())
+                    .map(vulnIdBySource -> vulnIdBySource.getKey() + "|" + vulnIdBySource.getValue())
+                    .forEach(aliasesSeen::add);
+
+            counters.vulnerabilities++;
+
+            if (row[3] == null) {
+                LOGGER.warn("Vulnerability severity is null for " + alias);
+            } else {
+                switch (Severity.valueOf((String) row[3])) {
+                    case CRITICAL -> counters.critical++;
+                    case HIGH -> counters.high++;
+                    case MEDIUM -> counters.medium++;
+                    case LOW, INFO -> counters.low++;
+                    case UNASSIGNED -> counters.unassigned++;
+                }
+            }
+        }
+    }
+
+    private void applyFindingAudits(final Map<Long, Counters> countersByComponentId, final long minId, final long maxId) throws Exception {
+        final var auditedCounts = new HashMap<Long, Long>();
+        try (final Query<Analysis> query = pm.newQuery(Analysis.class)) {
+            query.setFilter("""
+                    project == :project &&
+                    component.id >= :minId &&
+                    component.id <= :maxId &&
+                    suppressed == false &&
+                    analysisState != :notSet &&
+                    analysisState != :inTriage
+                    """);
+            query.setParameters(project, minId, maxId, AnalysisState.NOT_SET, AnalysisState.IN_TRIAGE);
+            query.setResult("component.id, count(this)");
+            query.setGrouping("component.id");
+            for (final ComponentCountRow row : query.executeResultList(ComponentCountRow.class)) {
+                auditedCounts.put(row.componentId(), row.count());
+            }
+        }
+
+        final var suppressedCounts = new HashMap<Long, Long>();
+        try (final Query<Analysis> query = pm.newQuery(Analysis.class)) {
+            query.setFilter("""
+                    project == :project &&
+                    component.id >= :minId &&
+                    component.id <= :maxId &&
+                    suppressed == true
+                    """);
+            query.setParameters(project, minId, maxId);
+            query.setResult("component.id, count(this)");
+            query.setGrouping("component.id");
+            for (final ComponentCountRow row : query.executeResultList(ComponentCountRow.class)) {
+                suppressedCounts.put(row.componentId(), row.count());
+            }
+        }
+
+        for (final Map.Entry<Long, Counters> entry : countersByComponentId.entrySet()) {
+            final Counters counters = entry.getValue();
+            counters.findingsTotal = counters.vulnerabilities;
+            counters.findingsAudited = toIntExact(auditedCounts.getOrDefault(entry.getKey(), 0L));
+            counters.findingsUnaudited = counters.findingsTotal - counters.findingsAudited;
+            counters.suppressions = toIntExact(suppressedCounts.getOrDefault(entry.getKey(), 0L));
+            counters.inheritedRiskScore = Metrics.inheritedRiskScore(counters.critical, counters.high, counters.medium, counters.low, counters.unassigned);
+        }
+    }
+
+    private void applyPolicyViolations(final Map<Long, Counters> countersByComponentId, final long minId, final long maxId) throws Exception {
+        final List<PolicyViolationRow> violationRows;
+        try (final Query<PolicyViolation> query = pm.newQuery(PolicyViolation.class)) {
+            query.setFilter("""
+                    project == :project &&
+                    component.id >= :minId &&
+                    component.id <= :maxId &&
+                    (analysis == null || analysis.suppressed == false)
+                    """);
+            query.setParameters(project, minId, maxId);
+            query.setResult("component.id, type, policyCondition.policy.violationState");
+            violationRows = List.copyOf(query.executeResultList(PolicyViolationRow.class));
+        }
+
+        for (final PolicyViolationRow row : violationRows) {
+            final Counters counters = countersByComponentId.get(row.componentId());
+            if (counters == null) {
+                continue;
+            }
+
+            counters.policyViolationsTotal++;
+
+            switch (PolicyViolation.Type.valueOf(row.type().name())) {
+                case LICENSE -> counters.policyViolationsLicenseTotal++;
+                case OPERATIONAL -> counters.policyViolationsOperationalTotal++;
+                case SECURITY -> counters.policyViolationsSecurityTotal++;
+            }
+
+            switch (Policy.ViolationState.valueOf(row.violationState().name())) {
+                case FAIL -> counters.policyViolationsFail++;
+                case WARN -> counters.policyViolationsWarn++;
+                case INFO -> counters.policyViolationsInfo++;
+            }
+        }
+
+        final List<AuditedPolicyViolationCountRow> auditedRows;
+        try (final Query<ViolationAnalysis> query = pm.newQuery(ViolationAnalysis.class)) {
+            query.setFilter("""
+                    project == :project &&
+                    component.id >= :minId &&
+                    component.id <= :maxId &&
+                    suppressed == false &&
+                    analysisState != :notSet
+                    """);
+            query.setParameters(project, minId, maxId, ViolationAnalysisState.NOT_SET);
+            query.setResult("component.id, policyViolation.type, count(this)");
+            query.setGrouping("component.id, policyViolation.type");
+            auditedRows = List.copyOf(query.executeResultList(AuditedPolicyViolationCountRow.class));
+        }
+
+        for (final AuditedPolicyViolationCountRow row : auditedRows) {
+            final Counters counters = countersByComponentId.get(row.componentId());
+            if (counters == null) {
+                continue;
+            }
+
+            switch (PolicyViolation.Type.valueOf(row.type().name())) {
+                case LICENSE -> counters.policyViolationsLicenseAudited = toIntExact(row.count());
+                case OPERATIONAL -> counters.policyViolationsOperationalAudited = toIntExact(row.count());
+                case SECURITY -> counters.policyViolationsSecurityAudited = toIntExact(row.count());
+            }
+        }
+
+        for (final Counters counters : countersByComponentId.values()) {
+            // Audits of violations that are no longer counted must not contribute to the audited totals.
+            if (counters.policyViolationsLicenseTotal == 0) {
+                counters.policyViolationsLicenseAudited = 0;
+            }
+            if (counters.policyViolationsOperationalTotal == 0) {
+                counters.policyViolationsOperationalAudited = 0;
+            }
+            if (counters.policyViolationsSecurityTotal == 0) {
+                counters.policyViolationsSecurityAudited = 0;
+            }
+
+            counters.policyViolationsLicenseUnaudited = counters.policyViolationsLicenseTotal - counters.policyViolationsLicenseAudited;
+            counters.policyViolationsOperationalUnaudited = counters.policyViolationsOperationalTotal - counters.policyViolationsOperationalAudited;
+            counters.policyViolationsSecurityUnaudited = counters.policyViolationsSecurityTotal - counters.policyViolationsSecurityAudited;
+            counters.policyViolationsAudited = counters.policyViolationsLicenseAudited +
+                    counters.policyViolationsOperationalAudited +
+                    counters.policyViolationsSecurityAudited;
+            counters.policyViolationsUnaudited = counters.policyViolationsTotal - counters.policyViolationsAudited;
+        }
+    }
+
+    private Map<Long, DependencyMetrics> getLatestMetrics(final long minId, final long maxId) throws Exception {
+        // The most recent metrics of each component are identified by ID first, because the
+        // component relationship of DependencyMetrics is not part of its default fetch group.
+        // Accessing it on the loaded objects would issue one query per component again.
+        final var metricsIdByComponentId = new HashMap<Long, Long>();
+        try (final Query<DependencyMetrics> subQuery = pm.newQuery(DependencyMetrics.class);
+             final Query<DependencyMetrics> query = pm.newQuery(DependencyMetrics.class)) {
+            subQuery.setFilter("component == :component");
+            subQuery.setResult("max(lastOccurrence)");
+
+            query.setFilter("""
+                    project == :project &&
+                    component.id >= :minId &&
+                    component.id <= :maxId &&
+                    lastOccurrence == maxLastOccurrence
+                    """);
+            query.declareVariables("java.util.Date maxLastOccurrence");
+            query.addSubquery(subQuery, "java.util.Date maxLastOccurrence", null, "this.component");
+            query.setNamedParameters(Map.of("project", project, "minId", minId, "maxId", maxId));
+            query.setResult("id, component.id");
+            for (final MetricsIdRow row : query.executeResultList(MetricsIdRow.class)) {
+                // Multiple records sharing the same lastOccurrence are possible, any of them will do.
+                metricsIdByComponentId.putIfAbsent(row.componentId(), row.id());
+            }
+        }
+        if (metricsIdByComponentId.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final var componentIdByMetricsId = new HashMap<Long, Long>(metricsIdByComponentId.size());
+        metricsIdByComponentId.forEach((componentId, metricsId) -> componentIdByMetricsId.put(metricsId, componentId));
+
+        final var metricsByComponentId = new HashMap<Long, DependencyMetrics>(componentIdByMetricsId.size());
+        try (final Query<DependencyMetrics> query = pm.newQuery(DependencyMetrics.class)) {
+            query.setFilter(":ids.contains(id)");
+            query.setParameters(componentIdByMetricsId.keySet());
+            for (final DependencyMetrics metrics : query.executeList()) {
+                metricsByComponentId.put(componentIdByMetricsId.get(metrics.getId()), metrics);
+            }
+        }
+        return metricsByComponentId;
+    }
+
+    public record ComponentCountRow(Long componentId, Long count) {
+    }
+
+    public record MetricsIdRow(Long id, Long componentId) {
+    }
+
+    public record PolicyViolationRow(Long componentId, Enum<?> type, Enum<?> violationState) {
+    }
+
+    public record AuditedPolicyViolationCountRow(Long componentId, Enum<?> type, Long count) {
+    }
+
+}
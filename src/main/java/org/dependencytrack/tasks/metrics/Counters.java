@@ -50,13 +50,21 @@ final class Counters {
     final Date measuredAt;
 
     Counters() {
-        this.measuredAt = new Date();
+        this(new Date());
+    }
+
+    Counters(final Date measuredAt) {
+        this.measuredAt = measuredAt;
     }
 
     DependencyMetrics createComponentMetrics(final Component component) {
+        return createComponentMetrics(component, component.getProject());
+    }
+
+    DependencyMetrics createComponentMetrics(final Component component, final Project project) {
         final var metrics = new DependencyMetrics();
         metrics.setComponent(component);
-        metrics.setProject(component.getProject());
+        metrics.setProject(project);
         metrics.setCritical(this.critical);
         metrics.setHigh(this.high);
         metrics.setMedium(this.medium);
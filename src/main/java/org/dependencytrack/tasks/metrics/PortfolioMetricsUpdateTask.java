@@ -18,16 +18,20 @@
  */
 package org.dependencytrack.tasks.metrics;
 
+import alpine.Config;
 import alpine.common.logging.Logger;
 import alpine.common.util.SystemUtil;
 import alpine.event.framework.Event;
 import alpine.event.framework.Subscriber;
-import alpine.persistence.ScopedCustomization;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.event.CallbackEvent;
 import org.dependencytrack.event.PortfolioMetricsUpdateEvent;
 import org.dependencytrack.event.ProjectMetricsUpdateEvent;
 import org.dependencytrack.metrics.Metrics;
+import org.dependencytrack.model.Component;
 import org.dependencytrack.model.PortfolioMetrics;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.ProjectMetrics;
@@ -35,20 +39,65 @@ import org.dependencytrack.persistence.QueryManager;
 
 import javax.jdo.PersistenceManager;
 import javax.jdo.Query;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A {@link Subscriber} task that updates portfolio metrics.
+ * <p>
+ * Metrics updates of individual projects are dispatched largest project first, and are
+ * handed out as soon as a previously dispatched update completes. The number of concurrently
+ * running updates is bounded, such that the database connection pool is not exhausted.
  *
  * @since 4.6.0
  */
 public class PortfolioMetricsUpdateTask implements Subscriber {
 
     private static final Logger LOGGER = Logger.getLogger(PortfolioMetricsUpdateTask.class);
-    private static final long BATCH_SIZE = SystemUtil.getCpuCores();
+    private static final long BATCH_SIZE = 500;
+    private static final long PROJECT_UPDATE_TIMEOUT_MINUTES = 15;
+    private static final long PROGRESS_LOG_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private static final AtomicInteger PROGRESS_TOTAL = new AtomicInteger();
+    private static final AtomicInteger PROGRESS_COMPLETED = new AtomicInteger();
+    private static final AtomicLong PROGRESS_ETA_SECONDS = new AtomicLong();
+    private static final Timer PROJECT_UPDATE_TIMER;
+
+    static {
+        Gauge.builder("metrics_update_portfolio_projects_total", PROGRESS_TOTAL, AtomicInteger::get)
+                .description("Number of projects included in the current portfolio metrics update")
+                .register(alpine.common.metrics.Metrics.getRegistry());
+        Gauge.builder("metrics_update_portfolio_projects_completed", PROGRESS_COMPLETED, AtomicInteger::get)
+                .description("Number of projects for which metrics have been updated in the current portfolio metrics update")
+                .register(alpine.common.metrics.Metrics.getRegistry());
+        Gauge.builder("metrics_update_portfolio_eta_seconds", PROGRESS_ETA_SECONDS, AtomicLong::get)
+                .description("Estimated remaining duration of the current portfolio metrics update")
+                .register(alpine.common.metrics.Metrics.getRegistry());
+        PROJECT_UPDATE_TIMER = Timer.builder("metrics_update_portfolio_project")
+                .description("Duration of project metrics updates dispatched by portfolio metrics updates")
+                .publishPercentileHistogram()
+                .register(alpine.common.metrics.Metrics.getRegistry());
+    }
+
+    private final int maxConcurrency;
+
+    public PortfolioMetricsUpdateTask() {
+        this(determineMaxConcurrency());
+    }
+
+    PortfolioMetricsUpdateTask(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
 
     @Override
     public void inform(final Event e) {
@@ -62,97 +111,34 @@ public class PortfolioMetricsUpdateTask implements Subscriber {
     }
 
     private void updateMetrics() throws Exception {
-        LOGGER.info("Executing portfolio metrics update");
+        LOGGER.info("Executing portfolio metrics update with a concurrency of " + maxConcurrency);
         final var counters = new Counters();
 
         try (final var qm = new QueryManager()) {
             final PersistenceManager pm = qm.getPersistenceManager();
 
-            LOGGER.debug("Fetching first " + BATCH_SIZE + " projects");
-            List<Project> activeProjects = fetchNextActiveProjectsBatch(pm, null);
+            LOGGER.debug("Fetching active projects");
+            final List<ProjectRow> activeProjects = fetchActiveProjectsLargestFirst(pm);
 
-            while (!activeProjects.isEmpty()) {
-                final long firstId = activeProjects.getFirst().getId();
-                final long lastId = activeProjects.getLast().getId();
-                final int batchCount = activeProjects.size();
+            dispatchProjectMetricsUpdates(activeProjects);
 
-                final var countDownLatch = new CountDownLatch(batchCount);
-
-                for (final Project project : activeProjects) {
-                    LOGGER.debug("Dispatching metrics update event for project " + project.getUuid());
-                    final var callbackEvent = new CallbackEvent(countDownLatch::countDown);
-                    Event.dispatch(new ProjectMetricsUpdateEvent(project.getUuid())
-                            .onSuccess(callbackEvent)
-                            .onFailure(callbackEvent));
-                }
-
-                LOGGER.debug("Waiting for metrics updates for projects " + firstId + "-" + lastId + " to complete");
-                if (!countDownLatch.await(15, TimeUnit.MINUTES)) {
-                    // Depending on the system load, it may take a while for the queued events
-                    // to be processed. And depending on how large the projects are, it may take a
-                    // while for the processing of the respective event to complete.
-                    // It is unlikely though that either of these situations causes a block for
-                    // over 15 minutes. If that happens, the system is under-resourced.
-                    LOGGER.warn("Updating metrics for projects " + firstId + "-" + lastId +
-                            " took longer than expected (15m); Proceeding with potentially stale data");
-                }
-                LOGGER.debug("Completed metrics updates for projects " + firstId + "-" + lastId);
-
-                for (final Project project : activeProjects) {
-                    LOGGER.debug("Processing latest metrics for project " + project.getUuid());
-                    final ProjectMetrics metrics = qm.getMostRecentProjectMetrics(project);
-                    if (metrics == null) {
-                        // The project metrics calculation task failed, or the project has been
-                        // deleted after the event being dispatched. Either way, nothing we can
-                        // do anything about.
-                        LOGGER.debug("No metrics found for project " + project.getUuid() + " - skipping");
-                        continue;
-                    }
-
-                    counters.critical += metrics.getCritical();
-                    counters.high += metrics.getHigh();
-                    counters.medium += metrics.getMedium();
-                    counters.low += metrics.getLow();
-                    counters.unassigned += metrics.getUnassigned();
-                    counters.vulnerabilities += Math.toIntExact(metrics.getVulnerabilities());
-
-                    counters.findingsTotal += metrics.getFindingsTotal();
-                    counters.findingsAudited += metrics.getFindingsAudited();
-                    counters.findingsUnaudited += metrics.getFindingsUnaudited();
-                    counters.suppressions += metrics.getSuppressed();
-                    counters.inheritedRiskScore = Metrics.inheritedRiskScore(counters.critical, counters.high, counters.medium, counters.low, counters.unassigned);
-
-                    counters.projects++;
-                    if (metrics.getVulnerabilities() > 0) {
-                        counters.vulnerableProjects++;
-                    }
-                    counters.components += metrics.getComponents();
-                    counters.vulnerableComponents += metrics.getVulnerableComponents();
-
-                    counters.policyViolationsFail += metrics.getPolicyViolationsFail();
-                    counters.policyViolationsWarn += metrics.getPolicyViolationsWarn();
-                    counters.policyViolationsInfo += metrics.getPolicyViolationsInfo();
-                    counters.policyViolationsTotal += metrics.getPolicyViolationsTotal();
-                    counters.policyViolationsAudited += metrics.getPolicyViolationsAudited();
-                    counters.policyViolationsUnaudited += metrics.getPolicyViolationsUnaudited();
-                    counters.policyViolationsSecurityTotal += metrics.getPolicyViolationsSecurityTotal();
-                    counters.policyViolationsSecurityAudited += metrics.getPolicyViolationsSecurityAudited();
-                    counters.policyViolationsSecurityUnaudited += metrics.getPolicyViolationsSecurityUnaudited();
-                    counters.policyViolationsLicenseTotal += metrics.getPolicyViolationsLicenseTotal();
-                    counters.policyViolationsLicenseAudited += metrics.getPolicyViolationsLicenseAudited();
-                    counters.policyViolationsLicenseUnaudited += metrics.getPolicyViolationsLicenseUnaudited();
-                    counters.policyViolationsOperationalTotal += metrics.getPolicyViolationsOperationalTotal();
-                    counters.policyViolationsOperationalAudited += metrics.getPolicyViolationsOperationalAudited();
-                    counters.policyViolationsOperationalUnaudited += metrics.getPolicyViolationsOperationalUnaudited();
+            for (final ProjectRow project : activeProjects) {
+                LOGGER.debug("Processing latest metrics for project " + project.uuid());
+                final ProjectMetrics metrics = fetchMostRecentProjectMetrics(pm, project.id());
+                if (metrics == null) {
+                    // The project metrics calculation task failed, or the project has been
+                    // deleted after the event being dispatched. Either way, nothing we can
+                    // do anything about.
+                    LOGGER.debug("No metrics found for project " + project.uuid() + " - skipping");
+                    continue;
                 }
 
-                // Remove projects and project metrics from the L1 cache
-                // to prevent it from growing too large.
-                pm.evictAll(false, Project.class);
-                pm.evictAll(false, ProjectMetrics.class);
+                addToCounters(counters, metrics);
 
-                LOGGER.debug("Fetching next " + BATCH_SIZE + " projects");
-                activeProjects = fetchNextActiveProjectsBatch(pm, lastId);
+                // Remove project metrics from the L1 cache to prevent it from growing too large.
+                if (counters.projects % BATCH_SIZE == 0) {
+                    pm.evictAll(false, ProjectMetrics.class);
+                }
             }
 
             qm.runInTransaction(() -> {
@@ -172,28 +158,206 @@ public class PortfolioMetricsUpdateTask implements Subscriber {
                 DurationFormatUtils.formatDuration(new Date().getTime() - counters.measuredAt.getTime(), "mm:ss:SS"));
     }
 
-    private List<Project> fetchNextActiveProjectsBatch(final PersistenceManager pm, final Long lastId) {
-        final Query<Project> query = pm.newQuery(Project.class);
-        // exclude collection projects since their numbers are included in other projects and would wrongly influence portfolio metrics.
-        if (lastId == null) {
-            query.setFilter("active && (collectionLogic == null || collectionLogic == 'NONE')");
-        } else {
-            query.setFilter("""
-                    active \
-                    && (collectionLogic == null || collectionLogic == 'NONE') \
-                    && id < :lastId""");
-            query.setParameters(lastId);
+    /**
+     * Dispatch {@link ProjectMetricsUpdateEvent}s for all given projects, and wait for them to complete.
+     * <p>
+     * At most {@link #maxConcurrency} updates are in flight at any given time. A new update is dispatched
+     * as soon as any of the in-flight updates completes, such that a single slow project does not hold up
+     * the dispatching of others.
+     */
+    private void dispatchProjectMetricsUpdates(final List<ProjectRow> projects) throws InterruptedException {
+        final var permits = new Semaphore(maxConcurrency);
+        final long startedAtMs = System.currentTimeMillis();
+        final var lastProgressLoggedAtMs = new AtomicLong(startedAtMs);
+
+        PROGRESS_TOTAL.set(projects.size());
+        PROGRESS_COMPLETED.set(0);
+        PROGRESS_ETA_SECONDS.set(0);
+
+        for (final ProjectRow project : projects) {
+            final boolean permitAcquired = permits.tryAcquire(PROJECT_UPDATE_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            if (!permitAcquired) {
+                // Depending on the system load, it may take a while for the queued events
+                // to be processed. And depending on how large the projects are, it may take a
+                // while for the processing of the respective event to complete.
+                // It is unlikely though that none of the in-flight updates completes
+                // within 15 minutes. If that happens, the system is under-resourced.
+                LOGGER.warn("None of the in-flight project metrics updates completed within %dm; Proceeding with dispatching %s"
+                        .formatted(PROJECT_UPDATE_TIMEOUT_MINUTES, project.uuid()));
+            }
+
+            LOGGER.debug("Dispatching metrics update event for project " + project.uuid());
+            final Timer.Sample timerSample = Timer.start();
+            final var callbackEvent = new CallbackEvent(() -> {
+                timerSample.stop(PROJECT_UPDATE_TIMER);
+                if (permitAcquired) {
+                    permits.release();
+                }
+                reportProgress(startedAtMs, lastProgressLoggedAtMs);
+            });
+            Event.dispatch(new ProjectMetricsUpdateEvent(project.uuid())
+                    .onSuccess(callbackEvent)
+                    .onFailure(callbackEvent));
+        }
+
+        LOGGER.debug("Waiting for in-flight project metrics updates to complete");
+        if (!permits.tryAcquire(maxConcurrency, PROJECT_UPDATE_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            LOGGER.warn("In-flight project metrics updates did not complete within %dm; Proceeding with potentially stale data"
+                    .formatted(PROJECT_UPDATE_TIMEOUT_MINUTES));
+        }
+        PROGRESS_ETA_SECONDS.set(0);
+    }
+
+    private static void reportProgress(final long startedAtMs, final AtomicLong lastProgressLoggedAtMs) {
+        final int total = PROGRESS_TOTAL.get();
+        final int completed = PROGRESS_COMPLETED.incrementAndGet();
+        final long nowMs = System.currentTimeMillis();
+        final long elapsedMs = nowMs - startedAtMs;
+        final long etaMs = (elapsedMs / completed) * (total - completed);
+        PROGRESS_ETA_SECONDS.set(TimeUnit.MILLISECONDS.toSeconds(etaMs));
+
+        final long lastLoggedAtMs = lastProgressLoggedAtMs.get();
+        if (nowMs - lastLoggedAtMs >= PROGRESS_LOG_INTERVAL_MS
+                && lastProgressLoggedAtMs.compareAndSet(lastLoggedAtMs, nowMs)) {
+            LOGGER.info("Updated metrics of %d/%d projects (%d%%); Estimated time remaining: %s".formatted(
+                    completed, total, (completed * 100) / total, Duration.ofMillis(etaMs)));
+        }
+    }
+
+    private static void addToCounters(final Counters counters, final ProjectMetrics metrics) {
+        counters.critical += metrics.getCritical();
+        counters.high += metrics.getHigh();
+        counters.medium += metrics.getMedium();
+        counters.low += metrics.getLow();
+        counters.unassigned += metrics.getUnassigned();
+        counters.vulnerabilities += Math.toIntExact(metrics.getVulnerabilities());
+
+        counters.findingsTotal += metrics.getFindingsTotal();
+        counters.findingsAudited += metrics.getFindingsAudited();
+        counters.findingsUnaudited += metrics.getFindingsUnaudited();
+        counters.suppressions += metrics.getSuppressed();
+        counters.inheritedRiskScore = Metrics.inheritedRiskScore(counters.critical, counters.high, counters.medium, counters.low, counters.unassigned);
+
+        counters.projects++;
+        if (metrics.getVulnerabilities() > 0) {
+            counters.vulnerableProjects++;
+        }
+        counters.components += metrics.getComponents();
+        counters.vulnerableComponents += metrics.getVulnerableComponents();
+
+        counters.policyViolationsFail += metrics.getPolicyViolationsFail();
+        counters.policyViolationsWarn += metrics.getPolicyViolationsWarn();
+        counters.policyViolationsInfo += metrics.getPolicyViolationsInfo();
+        counters.policyViolationsTotal += metrics.getPolicyViolationsTotal();
+        counters.policyViolationsAudited += metrics.getPolicyViolationsAudited();
+        counters.policyViolationsUnaudited += metrics.getPolicyViolationsUnaudited();
+        counters.policyViolationsSecurityTotal += metrics.getPolicyViolationsSecurityTotal();
+        counters.policyViolationsSecurityAudited += metrics.getPolicyViolationsSecurityAudited();
+        counters.policyViolationsSecurityUnaudited += metrics.getPolicyViolationsSecurityUnaudited();
+        counters.policyViolationsLicenseTotal += metrics.getPolicyViolationsLicenseTotal();
+        counters.policyViolationsLicenseAudited += metrics.getPolicyViolationsLicenseAudited();
+        counters.policyViolationsLicenseUnaudited += metrics.getPolicyViolationsLicenseUnaudited();
+        counters.policyViolationsOperationalTotal += metrics.getPolicyViolationsOperationalTotal();
+        counters.policyViolationsOperationalAudited += metrics.getPolicyViolationsOperationalAudited();
+        counters.policyViolationsOperationalUnaudited += metrics.getPolicyViolationsOperationalUnaudited();
+    }
+
+    /**
+     * Fetch all active, non-collection projects, ordered by their number of components in descending order.
+     * <p>
+     * Dispatching the largest projects first prevents them from becoming stragglers
+     * that keep the portfolio metrics update running long after all other projects completed.
+     */
+    private static List<ProjectRow> fetchActiveProjectsLargestFirst(final PersistenceManager pm) throws Exception {
+        final var componentCountByProjectId = new HashMap<Long, Long>();
+        try (final Query<Component> query = pm.newQuery(Component.class)) {
+            // exclude collection projects since their numbers are included in other projects and would wrongly influence portfolio metrics.
+            query.setFilter("project.active && (project.collectionLogic == null || project.collectionLogic == 'NONE')");
+            query.setResult("project.id, count(this)");
+            query.setGrouping("project.id");
+            for (final ComponentCountRow row : query.executeResultList(ComponentCountRow.class)) {
+                componentCountByProjectId.put(row.projectId(), row.count());
+            }
         }
-        query.setOrdering("id DESC");
-        query.range(0, BATCH_SIZE);
-
-        // NB: Set fetch group on PM level to avoid fields of the default fetch group from being loaded.
-        try (var ignoredPersistenceCustomization = new ScopedCustomization(pm)
-                .withFetchGroup(Project.FetchGroup.PORTFOLIO_METRICS_UPDATE.name())) {
-            return List.copyOf(query.executeList());
-        } finally {
-            query.closeAll();
+
+        final var projects = new ArrayList<ProjectRow>();
+        Long lastId = null;
+        List<ProjectRow> batch;
+        do {
+            batch = fetchNextActiveProjectsBatch(pm, lastId, componentCountByProjectId);
+            projects.addAll(batch);
+            lastId = batch.isEmpty() ? null : batch.getLast().id();
+        } while (batch.size() == BATCH_SIZE);
+
+        projects.sort(Comparator.comparingLong(ProjectRow::componentCount).reversed());
+        return projects;
+    }
+
+    private static List<ProjectRow> fetchNextActiveProjectsBatch(final PersistenceManager pm, final Long lastId,
+                                                                 final Map<Long, Long> componentCountByProjectId) throws Exception {
+        try (final Query<Project> query = pm.newQuery(Project.class)) {
+            // exclude collection projects since their numbers are included in other projects and would wrongly influence portfolio metrics.
+            if (lastId == null) {
+                query.setFilter("active && (collectionLogic == null || collectionLogic == 'NONE')");
+            } else {
+                query.setFilter("""
+                        active \
+                        && (collectionLogic == null || collectionLogic == 'NONE') \
+                        && id < :lastId""");
+                query.setParameters(lastId);
+            }
+            query.setOrdering("id DESC");
+            query.range(0, BATCH_SIZE);
+            query.setResult("id, uuid");
+
+            final var projects = new ArrayList<ProjectRow>();
+            for (final ProjectIdRow row : query.executeResultList(ProjectIdRow.class)) {
+                projects.add(new ProjectRow(row.id(), row.uuid(), componentCountByProjectId.getOrDefault(row.id(), 0L)));
+            }
+            return projects;
         }
     }
 
+    private static ProjectMetrics fetchMostRecentProjectMetrics(final PersistenceManager pm, final long projectId) throws Exception {
+        try (final Query<ProjectMetrics> query = pm.newQuery(ProjectMetrics.class)) {
+            query.setFilter("project.id == :projectId");
+            query.setParameters(projectId);
+            query.setOrdering("lastOccurrence desc");
+            query.setRange(0, 1);
+            return query.executeUnique();
+        }
+    }
+
+    /**
+     * Determine the maximum number of concurrent project metrics updates.
+     * <p>
+     * Unless configured explicitly, the concurrency is derived from the size of the database connection
+     * pool, as every project metrics update occupies database connections for its entire duration.
+     * Half of the pool is left for other parts of the application to use.
+     */
+    private static int determineMaxConcurrency() {
+        final int configuredConcurrency = Config.getInstance().getPropertyAsInt(ConfigKey.METRICS_PORTFOLIO_UPDATE_MAX_CONCURRENCY);
+        if (configuredConcurrency > 0) {
+            return configuredConcurrency;
+        }
+
+        if (Config.getInstance().getPropertyAsBoolean(Config.AlpineKey.DATABASE_POOL_ENABLED)) {
+            final int poolMaxSize = Config.getInstance().getPropertyAsInt(Config.AlpineKey.DATABASE_POOL_MAX_SIZE);
+            if (poolMaxSize > 0) {
+                return Math.max(1, poolMaxSize / 2);
+            }
+        }
+
+        return SystemUtil.getCpuCores();
+    }
+
+    public record ComponentCountRow(Long projectId, Long count) {
+    }
+
+    public record ProjectIdRow(Long id, UUID uuid) {
+    }
+
+    private record ProjectRow(long id, UUID uuid, long componentCount) {
+    }
+
 }
@@ -18,14 +18,18 @@
  */
 package org.dependencytrack.tasks.metrics;
 
+import alpine.Config;
 import alpine.common.logging.Logger;
 import alpine.event.framework.Event;
 import alpine.event.framework.Subscriber;
 import alpine.persistence.ScopedCustomization;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.time.DurationFormatUtils;
+import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.event.ProjectMetricsUpdateEvent;
 import org.dependencytrack.metrics.Metrics;
 import org.dependencytrack.model.Component;
+import org.dependencytrack.model.DependencyMetrics;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.ProjectCollectionLogic;
 import org.dependencytrack.model.ProjectMetrics;
@@ -49,6 +53,16 @@ public class ProjectMetricsUpdateTask implements Subscriber {
 
     private static final Logger LOGGER = Logger.getLogger(ProjectMetricsUpdateTask.class);
 
+    private final boolean setBasedEnabled;
+
+    public ProjectMetricsUpdateTask() {
+        this(Config.getInstance().getPropertyAsBoolean(ConfigKey.METRICS_UPDATE_SET_BASED_ENABLED));
+    }
+
+    ProjectMetricsUpdateTask(final boolean setBasedEnabled) {
+        this.setBasedEnabled = setBasedEnabled;
+    }
+
     @Override
     public void inform(final Event e) {
         if (e instanceof final ProjectMetricsUpdateEvent event) {
@@ -62,8 +76,9 @@ public class ProjectMetricsUpdateTask implements Subscriber {
         }
     }
 
-    private void updateMetrics(final UUID uuid) {
+    private void updateMetrics(final UUID uuid) throws Exception {
         final var counters = new Counters();
+        final Timer.Sample timerSample = Timer.start();
 
         try (final QueryManager qm = new QueryManager()) {
             final PersistenceManager pm = qm.getPersistenceManager();
@@ -76,7 +91,13 @@ public class ProjectMetricsUpdateTask implements Subscriber {
             counters.projectCollectionLogic = project.getCollectionLogic();
             // if the project is a collection, different logic has to be applied depending on project configuration
             switch (project.getCollectionLogic()) {
-                case NONE -> this.updateRegularProjectMetrics(project, pm, counters);
+                case NONE -> {
+                    if (setBasedEnabled) {
+                        this.updateRegularProjectMetricsSetBased(project, qm, counters);
+                    } else {
+                        this.updateRegularProjectMetrics(project, pm, counters);
+                    }
+                }
                 case AGGREGATE_DIRECT_CHILDREN -> this.updateAggregateDirectChildrenCollectionMetrics(project, pm, counters);
                 case AGGREGATE_DIRECT_CHILDREN_WITH_TAG -> this.updateAggregateDirectChildrenWithTagCollectionMetrics(project, pm, counters);
                 case AGGREGATE_LATEST_VERSION_CHILDREN -> this.updateLatestVersionChildrenCollectionMetrics(project, pm, counters);
@@ -104,6 +125,12 @@ public class ProjectMetricsUpdateTask implements Subscriber {
                 qm.runInTransaction(() -> project.setLastInheritedRiskScore(counters.inheritedRiskScore));
             }
 
+            timerSample.stop(Timer.builder("metrics_update_project")
+                    .description("Duration of project metrics updates")
+                    .tags("collectionLogic", project.getCollectionLogic().name(),
+                            "mode", setBasedEnabled ? "set_based" : "per_component")
+                    .register(alpine.common.metrics.Metrics.getRegistry()));
+
             LOGGER.debug("Completed metrics update for project " + uuid + " in " +
                     DurationFormatUtils.formatDuration(new Date().getTime() - counters.measuredAt.getTime(), "mm:ss:SS"));
 
@@ -139,45 +166,44 @@ public class ProjectMetricsUpdateTask implements Subscriber {
                     continue;
                 }
 
-                    counters.critical += componentCounters.critical;
-                    counters.high += componentCounters.high;
-                    counters.medium += componentCounters.medium;
-                    counters.low += componentCounters.low;
-                    counters.unassigned += componentCounters.unassigned;
-                    counters.vulnerabilities += componentCounters.vulnerabilities;
-
-                    counters.findingsTotal += componentCounters.findingsTotal;
-                    counters.findingsAudited += componentCounters.findingsAudited;
-                    counters.findingsUnaudited += componentCounters.findingsUnaudited;
-                    counters.suppressions += componentCounters.suppressions;
-                    counters.inheritedRiskScore = Metrics.inheritedRiskScore(counters.critical, counters.high, counters.medium, counters.low, counters.unassigned);
-
-                    counters.components++;
-                    if (componentCounters.vulnerabilities > 0) {
-                        counters.vulnerableComponents += 1;
-                    }
+                this.addToCounters(counters, componentCounters);
+            }
 
-                    counters.policyViolationsFail += componentCounters.policyViolationsFail;
-                    counters.policyViolationsWarn += componentCounters.policyViolationsWarn;
-                    counters.policyViolationsInfo += componentCounters.policyViolationsInfo;
-                    counters.policyViolationsTotal += componentCounters.policyViolationsTotal;
-                    counters.policyViolationsAudited += componentCounters.policyViolationsAudited;
-                    counters.policyViolationsUnaudited += componentCounters.policyViolationsUnaudited;
-                    counters.policyViolationsSecurityTotal += componentCounters.policyViolationsSecurityTotal;
-                    counters.policyViolationsSecurityAudited += componentCounters.policyViolationsSecurityAudited;
-                    counters.policyViolationsSecurityUnaudited += componentCounters.policyViolationsSecurityUnaudited;
-                    counters.policyViolationsLicenseTotal += componentCounters.policyViolationsLicenseTotal;
-                    counters.policyViolationsLicenseAudited += componentCounters.policyViolationsLicenseAudited;
-                    counters.policyViolationsLicenseUnaudited += componentCounters.policyViolationsLicenseUnaudited;
-                    counters.policyViolationsOperationalTotal += componentCounters.policyViolationsOperationalTotal;
-                    counters.policyViolationsOperationalAudited += componentCounters.policyViolationsOperationalAudited;
-                    counters.policyViolationsOperationalUnaudited += componentCounters.policyViolationsOperationalUnaudited;
-                }
+            // Remove components from the L1 cache to prevent it from growing too large.
+            // Note that because ComponentMetricsUpdateTask uses its own QueryManager,
+            // component metrics objects are not in this L1 cache.
+            pm.evictAll(false, Component.class);
+
+            LOGGER.debug("Fetching next components page for project " + uuid);
+            components = fetchNextComponentsPage(pm, project, lastId);
+        }
+    }
 
-                // Remove components from the L1 cache to prevent it from growing too large.
-                // Note that because ComponentMetricsUpdateTask uses its own QueryManager,
-                // component metrics objects are not in this L1 cache.
-                pm.evictAll(false, Component.class);
+    /**
+     * Set-based alternative to {@link #updateRegularProjectMetrics(Project, PersistenceManager, Counters)}.
+     * <p>
+     * Rather than delegating to {@link ComponentMetricsUpdateTask} for every single component,
+     * metrics of an entire page of components are calculated with a handful of aggregate queries
+     * using {@link ComponentMetricsBulkUpdater}.
+     */
+    private void updateRegularProjectMetricsSetBased(final Project project, final QueryManager qm, final Counters counters) throws Exception {
+        final UUID uuid = project.getUuid();
+        final PersistenceManager pm = qm.getPersistenceManager();
+        final var bulkUpdater = new ComponentMetricsBulkUpdater(qm, project);
+
+        LOGGER.debug("Fetching first components page for project " + uuid);
+        List<Component> components = fetchNextComponentsPage(pm, project, null);
+
+        while (!components.isEmpty()) {
+            final long lastId = components.getLast().getId();
+
+            for (final Counters componentCounters : bulkUpdater.updateMetrics(components).values()) {
+                this.addToCounters(counters, componentCounters);
+            }
+
+            // Remove components and their metrics from the L1 cache to prevent it from growing too large.
+            pm.evictAll(false, Component.class);
+            pm.evictAll(false, DependencyMetrics.class);
 
             LOGGER.debug("Fetching next components page for project " + uuid);
             components = fetchNextComponentsPage(pm, project, lastId);
@@ -298,6 +324,42 @@ public class ProjectMetricsUpdateTask implements Subscriber {
         }
     }
 
+    private void addToCounters(final Counters counters, final Counters componentCounters) {
+        counters.critical += componentCounters.critical;
+        counters.high += componentCounters.high;
+        counters.medium += componentCounters.medium;
+        counters.low += componentCounters.low;
+        counters.unassigned += componentCounters.unassigned;
+        counters.vulnerabilities += componentCounters.vulnerabilities;
+
+        counters.findingsTotal += componentCounters.findingsTotal;
+        counters.findingsAudited += componentCounters.findingsAudited;
+        counters.findingsUnaudited += componentCounters.findingsUnaudited;
+        counters.suppressions += componentCounters.suppressions;
+        counters.inheritedRiskScore = Metrics.inheritedRiskScore(counters.critical, counters.high, counters.medium, counters.low, counters.unassigned);
+
+        counters.components++;
+        if (componentCounters.vulnerabilities > 0) {
+            counters.vulnerableComponents += 1;
+        }
+
+        counters.policyViolationsFail += componentCounters.policyViolationsFail;
+        counters.policyViolationsWarn += componentCounters.policyViolationsWarn;
+        counters.policyViolationsInfo += componentCounters.policyViolationsInfo;
+        counters.policyViolationsTotal += componentCounters.policyViolationsTotal;
+        counters.policyViolationsAudited += componentCounters.policyViolationsAudited;
+        counters.policyViolationsUnaudited += componentCounters.policyViolationsUnaudited;
+        counters.policyViolationsSecurityTotal += componentCounters.policyViolationsSecurityTotal;
+        counters.policyViolationsSecurityAudited += componentCounters.policyViolationsSecurityAudited;
+        counters.policyViolationsSecurityUnaudited += componentCounters.policyViolationsSecurityUnaudited;
+        counters.policyViolationsLicenseTotal += componentCounters.policyViolationsLicenseTotal;
+        counters.policyViolationsLicenseAudited += componentCounters.policyViolationsLicenseAudited;
+        counters.policyViolationsLicenseUnaudited += componentCounters.policyViolationsLicenseUnaudited;
+        counters.policyViolationsOperationalTotal += componentCounters.policyViolationsOperationalTotal;
+        counters.policyViolationsOperationalAudited += componentCounters.policyViolationsOperationalAudited;
+        counters.policyViolationsOperationalUnaudited += componentCounters.policyViolationsOperationalUnaudited;
+    }
+
     private void addToCounters(Counters counters, ProjectMetrics projectMetrics) {
         counters.critical += projectMetrics.getCritical();
         counters.high += projectMetrics.getHigh();
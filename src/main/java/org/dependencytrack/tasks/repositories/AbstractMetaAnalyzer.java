@@ -52,7 +52,7 @@ public abstract class AbstractMetaAnalyzer implements IMetaAnalyzer {
     protected String baseUrl;
     protected String username;
     protected String password;
-
+    private boolean requestFailed;
 
     /**
      * {@inheritDoc}
@@ -86,6 +86,7 @@ public abstract class AbstractMetaAnalyzer implements IMetaAnalyzer {
 
     protected void handleUnexpectedHttpResponse(final Logger logger, String url, final int statusCode,
             final String statusText, final Component component) {
+        requestFailed = true;
         logger.debug("HTTP Status : " + statusCode + " " + statusText);
         logger.debug(" - RepositoryType URL : " + url);
         logger.debug(" - Package URL : " + component.getPurl().canonicalize());
@@ -99,6 +100,7 @@ public abstract class AbstractMetaAnalyzer implements IMetaAnalyzer {
     }
 
     protected void handleRequestException(final Logger logger, final Exception e) {
+        requestFailed = true;
         logger.error("Request failure for repository URL: " + baseUrl, e);
         e.printStackTrace();
         Notification.dispatch(new Notification()
@@ -110,6 +112,18 @@ public abstract class AbstractMetaAnalyzer implements IMetaAnalyzer {
                 .level(NotificationLevel.ERROR));
     }
 
+    /**
+     * Returns whether a request failed since the last invocation of this method, and resets the failure state.
+     *
+     * @return {@code true} when a request failed, otherwise {@code false}
+     * @since 4.14.0
+     */
+    boolean consumeRequestFailure() {
+        final boolean failed = requestFailed;
+        requestFailed = false;
+        return failed;
+    }
+
     protected CloseableHttpResponse processHttpRequest(String url) throws IOException {
         final Logger logger = Logger.getLogger(getClass());
         try {
@@ -0,0 +1,148 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks.repositories;
+
+import alpine.Config;
+import alpine.common.logging.Logger;
+import alpine.common.metrics.Metrics;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.Timer;
+import org.dependencytrack.common.ConfigKey;
+import org.dependencytrack.model.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of concurrent requests, and the rate of requests, made to a repository host.
+ * <p>
+ * Limits apply per host, and are shared by all repository metadata analyses in progress.
+ * Latencies of requests are recorded per host and outcome.
+ *
+ * @since 4.14.0
+ */
+final class RepositoryHostLimiter {
+
+    private static final Logger LOGGER = Logger.getLogger(RepositoryHostLimiter.class);
+    private static final Map<String, RepositoryHostLimiter> LIMITER_BY_HOST = new ConcurrentHashMap<>();
+    private static final Duration RATE_LIMIT_TIMEOUT = Duration.ofMinutes(5);
+
+    private final String host;
+    private final Semaphore permits;
+    private final RateLimiter rateLimiter;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    private RepositoryHostLimiter(final String host) {
+        this(host,
+                Config.getInstance().getPropertyAsInt(ConfigKey.REPO_META_ANALYZER_HOST_MAX_CONCURRENT_REQUESTS),
+                Config.getInstance().getPropertyAsInt(ConfigKey.REPO_META_ANALYZER_HOST_MAX_REQUESTS_PER_SECOND));
+    }
+
+    RepositoryHostLimiter(final String host, final int maxConcurrentRequests, final int maxRequestsPerSecond) {
+        this(host, maxConcurrentRequests, maxRequestsPerSecond, RATE_LIMIT_TIMEOUT);
+    }
+
+    RepositoryHostLimiter(final String host, final int maxConcurrentRequests, final int maxRequestsPerSecond,
+                          final Duration rateLimitTimeout) {
+        this.host = host;
+        this.permits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+        this.rateLimiter = maxRequestsPerSecond > 0
+                ? RateLimiter.of("repositoryMetaAnalyzer-" + host, RateLimiterConfig.custom()
+                        .limitForPeriod(maxRequestsPerSecond)
+                        .limitRefreshPeriod(Duration.ofSeconds(1))
+                        .timeoutDuration(rateLimitTimeout)
+                        .build())
+                : null;
+
+        this.successTimer = buildTimer(host, "success");
+        this.failureTimer = buildTimer(host, "failure");
+    }
+
+    static RepositoryHostLimiter forUrl(final String url) {
+        return LIMITER_BY_HOST.computeIfAbsent(getHost(url), RepositoryHostLimiter::new);
+    }
+
+    /**
+     * Analyzes a {@link Component} using a given {@link IMetaAnalyzer}, once the limits of the host permit it.
+     * <p>
+     * If the rate limit of the host does not permit a request in time, the component is not analyzed,
+     * and the request is recorded as failed.
+     *
+     * @param analyzer  the {@link IMetaAnalyzer} to use
+     * @param component the {@link Component} to analyze
+     * @return the resulting {@link MetaModel}
+     */
+    MetaModel analyze(final IMetaAnalyzer analyzer, final Component component) {
+        permits.acquireUninterruptibly();
+        try {
+            if (rateLimiter != null) {
+                final Timer.Sample waitTimerSample = Timer.start();
+                if (!rateLimiter.acquirePermission()) {
+                    waitTimerSample.stop(failureTimer);
+                    LOGGER.warn("Rate limit of host %s did not permit a request within %s; Skipping analysis of %s"
+                            .formatted(host, rateLimiter.getRateLimiterConfig().getTimeoutDuration(), component.getPurl()));
+                    return new MetaModel(component);
+                }
+            }
+
+            final Timer.Sample timerSample = Timer.start();
+            boolean failed = true;
+            try {
+                final MetaModel model = analyzer.analyze(component);
+                failed = analyzer instanceof final AbstractMetaAnalyzer abstractAnalyzer
+                        && abstractAnalyzer.consumeRequestFailure();
+                return model;
+            } finally {
+                timerSample.stop(failed ? failureTimer : successTimer);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static Timer buildTimer(final String host, final String outcome) {
+        return Timer.builder("repository_meta_analyzer_requests")
+                .description("Latency of repository metadata requests")
+                .tags("host", host, "outcome", outcome)
+                .register(Metrics.getRegistry());
+    }
+
+    private static String getHost(final String url) {
+        if (url == null) {
+            return "unknown";
+        }
+
+        try {
+            final String host = URI.create(url.trim()).getHost();
+            if (host != null) {
+                return host.toLowerCase();
+            }
+        } catch (IllegalArgumentException e) {
+            // Fall through to using the URL as-is.
+        }
+
+        return url;
+    }
+
+}
@@ -21,17 +21,27 @@ package org.dependencytrack.tasks.repositories;
 import static org.dependencytrack.model.ConfigPropertyConstants.SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD;
 import static org.dependencytrack.util.PersistenceUtil.isUniqueConstraintViolation;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.jdo.Query;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.event.RepositoryMetaEvent;
 import org.dependencytrack.model.Component;
@@ -48,6 +58,7 @@ import alpine.Config;
 import alpine.common.logging.Logger;
 import alpine.common.metrics.Metrics;
 import alpine.event.framework.Event;
+import alpine.event.framework.LoggableUncaughtExceptionHandler;
 import alpine.event.framework.Subscriber;
 import alpine.model.ConfigProperty;
 import alpine.persistence.ScopedCustomization;
@@ -62,9 +73,20 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
     private static final String LATEST_VERSION = "latestVersion";
     private static final String PUBLISHED_TIMESTAMP = "publishedTimestamp";
     private static final CacheStampedeBlocker<String, Void> cacheStampedeBlocker;
+    private static final int WORKER_CHUNK_SIZE = 25;
 
     private long cacheValidityPeriod;
 
+    // Repositories, including their decrypted credentials, are resolved once per analysis run.
+    private final Map<RepositoryType, List<RepositoryConfig>> repositoriesByType = new ConcurrentHashMap<>();
+
+    // Components with identical PURL coordinates are analyzed only once per analysis run.
+    private final Set<String> analyzedCoordinates = ConcurrentHashMap.newKeySet();
+
+    private record RepositoryConfig(String identifier, RepositoryType type, String url, boolean enabled,
+                                    boolean internal, boolean authenticationRequired, String username, String password) {
+    }
+
     static {
         cacheStampedeBlocker = new CacheStampedeBlocker<>(
                 "repositoryMetaCache",
@@ -85,6 +107,8 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
                         SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD.getPropertyName());
                 cacheValidityPeriod = Long.parseLong(cacheValidityPeriodProperty.getPropertyValue());
             }
+            repositoriesByType.clear();
+            analyzedCoordinates.clear();
 
             LOGGER.debug("Analyzing component repository metadata");
             // TODO - Remove when https://github.com/DependencyTrack/dependency-track/issues/2110 is implemented
@@ -93,48 +117,84 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
                     .tags("event", event.getClass().getName(), "publisher", this.getClass().getName())
                     .register(Metrics.getRegistry());
             Timer.Sample recording = Timer.start();
+            final int parallelism = Math.max(1, Config.getInstance().getPropertyAsInt(ConfigKey.REPO_META_ANALYZER_PARALLELISM));
             if (event.getComponents().isPresent()) {
-                try (QueryManager qm = new QueryManager()) {
-                    final List<Component> components = event.getComponents().get();
-                    // Refreshing the object by querying for it again is preventative
-                    LOGGER.info("Performing component repository metadata analysis against " + components.size() + " components");
-                    for (final Component component : components) {
-                        analyze(qm, qm.getObjectById(Component.class, component.getId()));
+                final List<Long> componentIds = event.getComponents().get().stream().map(Component::getId).toList();
+                LOGGER.info("Performing component repository metadata analysis against " + componentIds.size() + " components");
+                if (parallelism == 1 || componentIds.size() <= WORKER_CHUNK_SIZE) {
+                    analyzeComponents(componentIds);
+                } else {
+                    try (final var workers = new Workers(parallelism)) {
+                        for (final List<Long> chunk : ListUtils.partition(componentIds, WORKER_CHUNK_SIZE)) {
+                            workers.submit(chunk);
+                        }
+                    } catch (InterruptedException ex) {
+                        LOGGER.warn("Interrupted before all components could be analyzed");
+                        Thread.currentThread().interrupt();
                     }
-                    LOGGER.info("Completed component repository metadata analysis against " + components.size() + " components");
                 }
+                LOGGER.info("Completed component repository metadata analysis against " + componentIds.size() + " components");
             } else {
                 LOGGER.info("Analyzing portfolio component repository metadata");
-                try (final QueryManager qm = new QueryManager()) {
-                    List<Component> components = fetchNextComponentBatch(qm, null);
-                    while (!components.isEmpty()) {
-                        final long lastId = components.getLast().getId();
-
-                        LOGGER.debug("Analyzing batch of %d components".formatted(components.size()));
-                        for (final Component component : components) {
-                            analyze(qm, component);
+                final long startTimeNs = System.nanoTime();
+                long componentsScheduled = 0;
+                try (final QueryManager qm = new QueryManager();
+                     final var workers = new Workers(parallelism)) {
+                    List<Long> componentIds = fetchNextComponentIdBatch(qm, null);
+                    while (!componentIds.isEmpty()) {
+                        LOGGER.debug("Scheduling batch of %d components for analysis".formatted(componentIds.size()));
+                        for (final List<Long> chunk : ListUtils.partition(componentIds, WORKER_CHUNK_SIZE)) {
+                            workers.submit(chunk);
                         }
+                        componentsScheduled += componentIds.size();
 
-                        // Remove components, analysis cache, and meta components from
-                        // the L1 cache to prevent it from growing too large.
-                        qm.getPersistenceManager().evictAll(false, Component.class);
-                        qm.getPersistenceManager().evictAll(false, ComponentAnalysisCache.class);
-                        qm.getPersistenceManager().evictAll(false, RepositoryMetaComponent.class);
-
-                        components = fetchNextComponentBatch(qm, lastId);
+                        componentIds = fetchNextComponentIdBatch(qm, componentIds.getLast());
                     }
+                } catch (InterruptedException ex) {
+                    LOGGER.warn("Interrupted before all portfolio components could be analyzed");
+                    Thread.currentThread().interrupt();
                 }
-                LOGGER.info("Portfolio component repository metadata analysis complete");
+                LOGGER.info("Portfolio component repository metadata analysis of %d components complete in %s"
+                        .formatted(componentsScheduled, Duration.ofNanos(System.nanoTime() - startTimeNs)));
             }
             recording.stop(timer);
             LOGGER.debug("Component repository metadata analysis complete");
         }
     }
 
+    /**
+     * Analyzes components using a {@link QueryManager} of its own, such that it can be called from worker threads.
+     */
+    private void analyzeComponents(final List<Long> componentIds) {
+        try (final var qm = new QueryManager()) {
+            for (final Component component : fetchComponents(qm, componentIds)) {
+                analyze(qm, component);
+            }
+
+            // Remove components, analysis cache, and meta components from
+            // the L1 cache to prevent it from growing too large.
+            qm.getPersistenceManager().evictAll(false, Component.class);
+            qm.getPersistenceManager().evictAll(false, ComponentAnalysisCache.class);
+            qm.getPersistenceManager().evictAll(false, RepositoryMetaComponent.class);
+        } catch (RuntimeException e) {
+            LOGGER.error("An unexpected error occurred while analyzing a batch of %d components".formatted(componentIds.size()), e);
+        }
+    }
+
     private void analyze(final QueryManager qm, final Component component) {
         LOGGER.debug("Analyzing component: " + component.getUuid());
         final IMetaAnalyzer analyzer = IMetaAnalyzer.build(component);
-        if (RepositoryType.UNSUPPORTED != analyzer.supportedRepositoryType() && !isRepositoryMetaComponentStillValid(qm, analyzer.supportedRepositoryType(), component.getPurl().getNamespace(), component.getPurl().getName())) {
+        if (RepositoryType.UNSUPPORTED == analyzer.supportedRepositoryType()) {
+            return;
+        }
+
+        final String coordinates = PurlUtil.silentPurlCoordinatesOnly(component.getPurl()).toString();
+        if (!analyzedCoordinates.add((component.isInternal() ? "internal:" : "") + coordinates)) {
+            LOGGER.debug("Component with coordinates %s was already analyzed in this run".formatted(coordinates));
+            return;
+        }
+
+        if (!isRepositoryMetaComponentStillValid(qm, analyzer.supportedRepositoryType(), component.getPurl().getNamespace(), component.getPurl().getName())) {
             Callable<Void> cacheLoader = () -> {
                 analyze(qm, component, analyzer);
                 return null;
@@ -160,7 +220,7 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
         if (cacList != null && cacList.size() > 0) {
             cacList.stream().forEach(cac -> cacByHost.put(cac.getTargetHost(), cac));
         }
-        for (final Repository repository : qm.getAllRepositoriesOrdered(analyzer.supportedRepositoryType())) {
+        for (final RepositoryConfig repository : getRepositories(qm, analyzer.supportedRepositoryType())) {
             // Moved the identification of internal components from the isApplicable() method from the Meta Analyzers
             // themselves (which was introduced in https://github.com/DependencyTrack/dependency-track/pull/512)
             // and made a global decision here instead. Internal components should only be analyzed using internal
@@ -168,9 +228,9 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
             // want non-internal components being analyzed with internal repositories as internal repositories are not
             // the source of truth for these components, even if the repository acts as a proxy to the source of truth.
             // This cannot be assumed.
-            if (repository.isEnabled() && ((component.isInternal() && repository.isInternal()) || (!component.isInternal() && !repository.isInternal()))) {
+            if (repository.enabled() && ((component.isInternal() && repository.internal()) || (!component.isInternal() && !repository.internal()))) {
                 String purl = component.getPurl().toString();
-                ComponentAnalysisCache cac = cacByHost.get(repository.getUrl());
+                ComponentAnalysisCache cac = cacByHost.get(repository.url());
                 MetaModel model = new MetaModel(component);
                 if (cac != null && isCacheCurrent(cac, component.getPurl().toString())) {
                     LOGGER.debug("Building repository Metamodel from cache for " + purl);
@@ -178,25 +238,20 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
                     model.setPublishedTimestamp(Date.from(Instant.ofEpochMilli(cac.getResult().getJsonNumber(PUBLISHED_TIMESTAMP).longValue())));
                 } else {
                     LOGGER.debug("Analyzing component: " + component.getUuid() + " using repository: "
-                            + repository.getIdentifier() + " (" + repository.getType() + ")");
-
-                    analyzer.setRepositoryId(repository.getIdentifier());
-                    if (Boolean.TRUE.equals(repository.isAuthenticationRequired())) {
-                        try {
-                            String decryptedPassword = null;
-                            if (repository.getPassword() != null) {
-                                decryptedPassword = DebugDataEncryption.decryptAsString(repository.getPassword());
-                            }
-                            analyzer.setRepositoryUsernameAndPassword(repository.getUsername(), decryptedPassword);
-                        } catch (Exception e) {
-                            LOGGER.error("Failed decrypting password for repository: " + repository.getIdentifier(), e);
-                        }
+                            + repository.identifier() + " (" + repository.type() + ")");
+
+                    analyzer.setRepositoryId(repository.identifier());
+                    if (repository.authenticationRequired()) {
+                        analyzer.setRepositoryUsernameAndPassword(repository.username(), repository.password());
+                    } else {
+                        // The analyzer is re-used across repositories; Don't leak credentials of previous ones.
+                        analyzer.setRepositoryUsernameAndPassword(null, null);
                     }
-                    analyzer.setRepositoryBaseUrl(repository.getUrl());
-                    model = analyzer.analyze(component);
+                    analyzer.setRepositoryBaseUrl(repository.url());
+                    model = RepositoryHostLimiter.forUrl(repository.url()).analyze(analyzer, component);
 
                     try {
-                        qm.updateComponentAnalysisCache(ComponentAnalysisCache.CacheType.REPOSITORY, repository.getUrl(), repository.getType().name(), PurlUtil.silentPurlCoordinatesOnly(component.getPurl()).toString(), new Date(), buildRepositoryComponentAnalysisCacheResult(model));
+                        qm.updateComponentAnalysisCache(ComponentAnalysisCache.CacheType.REPOSITORY, repository.url(), repository.type().name(), PurlUtil.silentPurlCoordinatesOnly(component.getPurl()).toString(), new Date(), buildRepositoryComponentAnalysisCacheResult(model));
                     } catch (RuntimeException e) {
                         if (isUniqueConstraintViolation(e)) {
                             LOGGER.debug("""
@@ -204,7 +259,7 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
                                     This happens when repository metadata analysis is executed for the same \
                                     component multiple times concurrently, and is safe to ignore. \
                                     [targetHost=%s, source=%s, target=%s]\
-                                    """.formatted(repository.getUrl(), repository.getType(), PurlUtil.silentPurlCoordinatesOnly(component.getPurl())), e);
+                                    """.formatted(repository.url(), repository.type(), PurlUtil.silentPurlCoordinatesOnly(component.getPurl())), e);
                             return;
                         } else {
                             throw e;
@@ -216,7 +271,7 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
                     // Resolution from repository was successful. Update meta model
                     //FIXME What happens if multiple repositories return a metamodel result with different lastPublishedTimestamps?
                     final RepositoryMetaComponent metaComponent = new RepositoryMetaComponent();
-                    metaComponent.setRepositoryType(repository.getType());
+                    metaComponent.setRepositoryType(repository.type());
                     metaComponent.setNamespace(component.getPurl().getNamespace());
                     metaComponent.setName(component.getPurl().getName());
                     metaComponent.setPublished(model.getPublishedTimestamp());
@@ -231,7 +286,7 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
                                     This happens when repository metadata analysis is executed for the same \
                                     component multiple times concurrently, and is safe to ignore. \
                                     [targetHost=%s, source=%s, target=%s]\
-                                    """.formatted(repository.getUrl(), repository.getType(), PurlUtil.silentPurlCoordinatesOnly(component.getPurl())), e);
+                                    """.formatted(repository.url(), repository.type(), PurlUtil.silentPurlCoordinatesOnly(component.getPurl())), e);
                             return;
                         } else {
                             throw e;
@@ -240,14 +295,36 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
                     // Since the component metadata found and captured from this repository, return from this
                     // method without attempting to query additional repositories.
                     LOGGER.debug("Found component metadata for: " + component.getUuid() + " using repository: "
-                            + repository.getIdentifier() + " (" + repository.getType() + ")");
+                            + repository.identifier() + " (" + repository.type() + ")");
                     break;
                 }
             } else {
                 LOGGER.debug("Skipping analysis of component: " + component.getUuid() + " using repository: "
-                        + repository.getIdentifier() + " (" + repository.getType() + ")");
+                        + repository.identifier() + " (" + repository.type() + ")");
+            }
+        }
+    }
+
+    private List<RepositoryConfig> getRepositories(final QueryManager qm, final RepositoryType repositoryType) {
+        return repositoriesByType.computeIfAbsent(repositoryType, type -> qm.getAllRepositoriesOrdered(type).stream()
+                .map(RepositoryMetaAnalyzerTask::toRepositoryConfig)
+                .toList());
+    }
+
+    private static RepositoryConfig toRepositoryConfig(final Repository repository) {
+        final boolean authenticationRequired = Boolean.TRUE.equals(repository.isAuthenticationRequired());
+        String decryptedPassword = null;
+        if (authenticationRequired && repository.getPassword() != null) {
+            try {
+                decryptedPassword = DebugDataEncryption.decryptAsString(repository.getPassword());
+            } catch (Exception e) {
+                LOGGER.error("Failed decrypting password for repository: " + repository.getIdentifier(), e);
             }
         }
+
+        return new RepositoryConfig(repository.getIdentifier(), repository.getType(), repository.getUrl(),
+                repository.isEnabled(), repository.isInternal(), authenticationRequired,
+                repository.getUsername(), decryptedPassword);
     }
 
     private JsonObject buildRepositoryComponentAnalysisCacheResult(MetaModel model) {
@@ -296,7 +373,7 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
         return isCacheCurrent;
     }
 
-    private List<Component> fetchNextComponentBatch(final QueryManager qm, final Long lastId) {
+    private static List<Long> fetchNextComponentIdBatch(final QueryManager qm, final Long lastId) {
         final var filterConditions = new ArrayList<>(List.of(
                 "project.active",
                 "purl != null"));
@@ -306,19 +383,83 @@ public class RepositoryMetaAnalyzerTask implements Subscriber {
             filterParams.put("lastId", lastId);
         }
 
+        final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
+        query.setFilter(String.join(" && ", filterConditions));
+        query.setNamedParameters(filterParams);
+        query.setOrdering("id DESC");
+        query.setRange(0, 1000);
+        query.setResult("id");
+        try {
+            return List.copyOf(query.executeResultList(Long.class));
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    private static List<Component> fetchComponents(final QueryManager qm, final List<Long> componentIds) {
         final Query<Component> query = qm.getPersistenceManager().newQuery(Component.class);
 
         // NB: Set fetch group on PM level to avoid fields of the default fetch group from being loaded.
         try (var ignoredPersistenceCustomization = new ScopedCustomization(qm.getPersistenceManager())
                 .withFetchGroup(Component.FetchGroup.REPO_META_ANALYSIS.name())) {
-            query.setFilter(String.join(" && ", filterConditions));
-            query.setNamedParameters(filterParams);
+            query.setFilter(":ids.contains(id)");
+            query.setNamedParameters(Map.of("ids", componentIds));
             query.setOrdering("id DESC");
-            query.setRange(0, 1000);
             return List.copyOf(query.executeList());
         } finally {
             query.closeAll();
         }
     }
 
+    /**
+     * Analyzes chunks of components using a fixed number of worker threads.
+     * <p>
+     * The number of chunks waiting for a worker is bounded, such that chunks are not produced
+     * faster than they can be analyzed. Closing waits for all submitted chunks to be analyzed.
+     */
+    private final class Workers implements AutoCloseable {
+
+        private final Semaphore permits;
+        private final ExecutorService executor;
+        private final AtomicLong componentsAnalyzed = new AtomicLong();
+
+        private Workers(final int parallelism) {
+            this.permits = new Semaphore(parallelism * 2);
+            this.executor = Executors.newFixedThreadPool(parallelism, new BasicThreadFactory.Builder()
+                    .namingPattern("RepositoryMetaAnalyzer-%d")
+                    .uncaughtExceptionHandler(new LoggableUncaughtExceptionHandler())
+                    .build());
+        }
+
+        private void submit(final List<Long> componentIds) throws InterruptedException {
+            permits.acquire();
+            executor.execute(() -> {
+                try {
+                    analyzeComponents(componentIds);
+                } finally {
+                    permits.release();
+                    final long analyzed = componentsAnalyzed.addAndGet(componentIds.size());
+                    if (analyzed % 10_000 < componentIds.size()) {
+                        LOGGER.info("Analyzed repository metadata of %d components".formatted(analyzed));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOGGER.debug("Waiting for in-flight repository metadata analyses to complete");
+                }
+            } catch (InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for in-flight repository metadata analyses to complete");
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
 }
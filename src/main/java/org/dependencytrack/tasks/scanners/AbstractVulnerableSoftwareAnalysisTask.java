@@ -25,7 +25,6 @@ import org.dependencytrack.model.VulnerabilityAnalysisLevel;
 import org.dependencytrack.model.VulnerableSoftware;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.util.ComponentVersion;
-import org.dependencytrack.util.NotificationUtil;
 import us.springett.parsers.cpe.Cpe;
 import us.springett.parsers.cpe.util.Relation;
 
@@ -58,15 +57,14 @@ public abstract class AbstractVulnerableSoftwareAnalysisTask extends BaseCompone
             if ((isCpeMatch == null || isCpeMatch) && compareVersions(vs, targetVersion)) {
                 if (vs.getVulnerabilities() != null) {
                     for (final Vulnerability vulnerability : vs.getVulnerabilities()) {
-                        NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, component, vulnerabilityAnalysisLevel);
-                        qm.addVulnerability(vulnerability, component, this.getAnalyzerIdentity());
+                        reportFinding(qm, vulnerability, component, vulnerabilityAnalysisLevel);
                     }
                 }
             }
         }
     }
     
-    private Boolean maybeMatchCpe(final VulnerableSoftware vs, final Cpe targetCpe, final String targetVersion) {
+    Boolean maybeMatchCpe(final VulnerableSoftware vs, final Cpe targetCpe, final String targetVersion) {
         if (targetCpe == null || vs.getCpe23() == null) {
             return null;
         }
@@ -116,7 +114,22 @@ public abstract class AbstractVulnerableSoftwareAnalysisTask extends BaseCompone
      * <p>
      * Ported from Dependency-Check v5.2.1
      */
-    private static boolean compareVersions(VulnerableSoftware vs, String targetVersion) {
+    static boolean compareVersions(VulnerableSoftware vs, String targetVersion) {
+        return compareVersions(vs, targetVersion, null);
+    }
+
+    /**
+     * Variant of {@link #compareVersions(VulnerableSoftware, String)} that uses pre-parsed
+     * version range bounds, if provided, instead of parsing them from {@code vs}.
+     *
+     * @param vs            a reference to the vulnerable software to compare
+     * @param targetVersion the version to compare
+     * @param bounds        the pre-parsed version range bounds of {@code vs}; may be {@code null}
+     * @return <code>true</code> if the target version is matched; otherwise
+     * <code>false</code>
+     * @since 4.14.0
+     */
+    static boolean compareVersions(VulnerableSoftware vs, String targetVersion, VersionRangeBounds bounds) {
         // Modified from original by @nscuro.
         // Special cases for CPE matching of ANY (*) and NA (*) versions.
         // These don't make sense to use for version range comparison and
@@ -152,27 +165,58 @@ public abstract class AbstractVulnerableSoftwareAnalysisTask extends BaseCompone
             return true;
         }
 
-        final ComponentVersion target = new ComponentVersion(targetVersion);
+        final ComponentVersion target = ComponentVersion.ofCached(targetVersion);
         if (target.getVersionParts().isEmpty()) {
             return false;
         }
         if (result && vs.getVersionEndExcluding() != null && !vs.getVersionEndExcluding().isEmpty()) {
-            final ComponentVersion endExcluding = new ComponentVersion(vs.getVersionEndExcluding());
+            final ComponentVersion endExcluding = bounds != null
+                    ? bounds.endExcluding()
+                    : ComponentVersion.ofCached(vs.getVersionEndExcluding());
             result = endExcluding.compareTo(target) > 0;
         }
         if (result && vs.getVersionStartExcluding() != null && !vs.getVersionStartExcluding().isEmpty()) {
-            final ComponentVersion startExcluding = new ComponentVersion(vs.getVersionStartExcluding());
+            final ComponentVersion startExcluding = bounds != null
+                    ? bounds.startExcluding()
+                    : ComponentVersion.ofCached(vs.getVersionStartExcluding());
             result = startExcluding.compareTo(target) < 0;
         }
         if (result && vs.getVersionEndIncluding() != null && !vs.getVersionEndIncluding().isEmpty()) {
-            final ComponentVersion endIncluding = new ComponentVersion(vs.getVersionEndIncluding());
+            final ComponentVersion endIncluding = bounds != null
+                    ? bounds.endIncluding()
+                    : ComponentVersion.ofCached(vs.getVersionEndIncluding());
             result &= endIncluding.compareTo(target) >= 0;
         }
         if (result && vs.getVersionStartIncluding() != null && !vs.getVersionStartIncluding().isEmpty()) {
-            final ComponentVersion startIncluding = new ComponentVersion(vs.getVersionStartIncluding());
+            final ComponentVersion startIncluding = bounds != null
+                    ? bounds.startIncluding()
+                    : ComponentVersion.ofCached(vs.getVersionStartIncluding());
             result &= startIncluding.compareTo(target) <= 0;
         }
         return result;
     }
 
+    /**
+     * Pre-parsed version range bounds of a {@link VulnerableSoftware}.
+     * Bounds that are not defined are {@code null}.
+     *
+     * @since 4.14.0
+     */
+    record VersionRangeBounds(ComponentVersion endExcluding, ComponentVersion startExcluding,
+                              ComponentVersion endIncluding, ComponentVersion startIncluding) {
+
+        static VersionRangeBounds of(final VulnerableSoftware vs) {
+            return new VersionRangeBounds(
+                    parseBound(vs.getVersionEndExcluding()),
+                    parseBound(vs.getVersionStartExcluding()),
+                    parseBound(vs.getVersionEndIncluding()),
+                    parseBound(vs.getVersionStartIncluding()));
+        }
+
+        private static ComponentVersion parseBound(final String bound) {
+            return bound != null && !bound.isEmpty() ? ComponentVersion.ofCached(bound) : null;
+        }
+
+    }
+
 }
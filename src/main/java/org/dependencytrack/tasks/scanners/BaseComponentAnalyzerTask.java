@@ -23,6 +23,7 @@ import alpine.common.util.BooleanUtil;
 import alpine.model.ConfigProperty;
 import alpine.notification.Notification;
 import alpine.notification.NotificationLevel;
+import org.apache.commons.collections4.ListUtils;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.ComponentAnalysisCache;
 import org.dependencytrack.model.ConfigPropertyConstants;
@@ -37,9 +38,17 @@ import org.dependencytrack.util.NotificationUtil;
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonArrayBuilder;
-import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
+import javax.jdo.Query;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static org.dependencytrack.model.ConfigPropertyConstants.SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD;
 import static org.dependencytrack.util.PersistenceUtil.isUniqueConstraintViolation;
@@ -54,6 +63,56 @@ public abstract class BaseComponentAnalyzerTask implements ScanTask {
 
     private final Logger LOGGER = Logger.getLogger(this.getClass()); // We dont want this class reporting the logger
 
+    private FindingCollector findingCollector;
+
+    /**
+     * Makes this analyzer report identified vulnerabilities to a {@link FindingCollector},
+     * instead of adding them to the affected components right away.
+     *
+     * @param findingCollector the {@link FindingCollector} to report findings to
+     * @since 4.14.0
+     */
+    public void setFindingCollector(final FindingCollector findingCollector) {
+        this.findingCollector = findingCollector;
+    }
+
+    /**
+     * Reports a vulnerability that was identified for a component.
+     *
+     * @since 4.14.0
+     */
+    protected void reportFinding(final QueryManager qm, final Vulnerability vulnerability, final Component component,
+                                 final VulnerabilityAnalysisLevel vulnerabilityAnalysisLevel) {
+        reportFinding(qm, vulnerability, component, vulnerabilityAnalysisLevel, null, null);
+    }
+
+    /**
+     * Reports a vulnerability that was identified for a component.
+     * <p>
+     * If a {@link FindingCollector} is set, the finding is handed to it. Otherwise, notification
+     * criteria are evaluated, and the vulnerability is added to the component immediately.
+     *
+     * @param qm                         the {@link QueryManager} to use
+     * @param vulnerability              the identified vulnerability
+     * @param component                  the affected component
+     * @param vulnerabilityAnalysisLevel the level of the analysis
+     * @param alternateIdentifier        the optional identifier the analyzer refers to the vulnerability by
+     * @param referenceUrl               the optional URL that references the occurrence of the vulnerability
+     * @since 4.14.0
+     */
+    protected void reportFinding(final QueryManager qm, final Vulnerability vulnerability, final Component component,
+                                 final VulnerabilityAnalysisLevel vulnerabilityAnalysisLevel,
+                                 final String alternateIdentifier, final String referenceUrl) {
+        if (findingCollector != null) {
+            findingCollector.add(new FindingCollector.Finding(component.getId(), vulnerability.getId(),
+                    getAnalyzerIdentity(), alternateIdentifier, referenceUrl));
+            return;
+        }
+
+        NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, component, vulnerabilityAnalysisLevel);
+        qm.addVulnerability(vulnerability, component, getAnalyzerIdentity(), alternateIdentifier, referenceUrl);
+    }
+
     protected boolean isEnabled(final ConfigPropertyConstants configPropertyConstants) {
         try (QueryManager qm = new QueryManager()) {
             final ConfigProperty property = qm.getConfigProperty(
@@ -68,25 +127,9 @@ public abstract class BaseComponentAnalyzerTask implements ScanTask {
 
     protected boolean isCacheCurrent(Vulnerability.Source source, String targetHost, String target) {
         try (QueryManager qm = new QueryManager()) {
-            boolean isCacheCurrent = false;
-            ConfigProperty cacheClearPeriod = qm.getConfigProperty(
-                    SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD.getGroupName(),
-                    SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD.getPropertyName());
-            long cacheValidityPeriod;
-            if (cacheClearPeriod != null && cacheClearPeriod.getPropertyValue() != null) {
-                cacheValidityPeriod = Long.parseLong(cacheClearPeriod.getPropertyValue());
-            } else {
-                // Only ever happens in tests, where not all config properties have been populated.
-                cacheValidityPeriod = Long.parseLong(SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD.getDefaultPropertyValue());
-            }
-            ComponentAnalysisCache cac = qm.getComponentAnalysisCache(ComponentAnalysisCache.CacheType.VULNERABILITY, targetHost, source.name(), target);
-            if (cac != null) {
-                final Date now = new Date();
-                if (now.getTime() > cac.getLastOccurrence().getTime()) {
-                    final long delta = now.getTime() - cac.getLastOccurrence().getTime();
-                    isCacheCurrent = delta <= cacheValidityPeriod;
-                }
-            }
+            final long cacheValidityPeriod = getCacheValidityPeriod(qm);
+            final VulnerabilityAnalysisResultCache.Result result = getCachedResult(qm, source, targetHost, target, cacheValidityPeriod);
+            final boolean isCacheCurrent = result != null && result.isCurrent(cacheValidityPeriod);
             if (isCacheCurrent) {
                 LOGGER.debug("Cache is current. Skipping analysis. (source: " + source + " / targetHost: " + targetHost + " / target: " + target);
             } else {
@@ -97,28 +140,159 @@ public abstract class BaseComponentAnalyzerTask implements ScanTask {
     }
 
     protected void applyAnalysisFromCache(Vulnerability.Source source, String targetHost, String target, Component component,
-                                          AnalyzerIdentity analyzerIdentity, VulnerabilityAnalysisLevel vulnerabilityAnalysisLevel) {
+                                          VulnerabilityAnalysisLevel vulnerabilityAnalysisLevel) {
         try (QueryManager qm = new QueryManager()) {
+            final VulnerabilityAnalysisResultCache.Result result = getCachedResult(qm, source, targetHost, target, getCacheValidityPeriod(qm));
+            if (result != null) {
+                applyCachedVulnerabilities(qm, Map.of(component.getId(), result.vulnIds()), vulnerabilityAnalysisLevel);
+            }
+        }
+    }
+
+    /**
+     * Applies cached analysis results to all given components for which a current cache entry exists.
+     * <p>
+     * Cache entries are looked up in the {@link VulnerabilityAnalysisResultCache} first. Entries missing
+     * from it are fetched from the database in bulk, and so are the vulnerabilities they refer to.
+     * This avoids issuing multiple queries per component, which adds up quickly for large projects.
+     *
+     * @param source                     the {@link Vulnerability.Source} of the cached analysis
+     * @param targetHost                 the host the cached analysis was performed against
+     * @param components                 the components to apply cached analysis results to
+     * @param targetMapper               a {@link Function} yielding the cache target of a component
+     * @param vulnerabilityAnalysisLevel the level of the analysis
+     * @return the components for which no current cache entry exists, and that thus still need to be analyzed
+     * @since 4.14.0
+     */
+    protected List<Component> applyAnalysisFromCache(final Vulnerability.Source source, final String targetHost,
+                                                     final Collection<Component> components,
+                                                     final Function<Component, String> targetMapper,
+                                                     final VulnerabilityAnalysisLevel vulnerabilityAnalysisLevel) {
+        if (components.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try (QueryManager qm = new QueryManager()) {
+            final long cacheValidityPeriod = getCacheValidityPeriod(qm);
+
+            final var keyByTarget = new HashMap<String, VulnerabilityAnalysisResultCache.Key>();
+            for (final Component component : components) {
+                final String target = targetMapper.apply(component);
+                if (target != null) {
+                    keyByTarget.computeIfAbsent(target, ignored -> new VulnerabilityAnalysisResultCache.Key(targetHost, source.name(), target));
+                }
+            }
+
+            final var resultByKey = new HashMap<>(VulnerabilityAnalysisResultCache.getAll(keyByTarget.values()));
+            final List<String> missingTargets = keyByTarget.entrySet().stream()
+                    .filter(entry -> !resultByKey.containsKey(entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!missingTargets.isEmpty()) {
+                final Map<String, ComponentAnalysisCache> cacheByTarget = qm.getComponentAnalysisCaches(
+                        ComponentAnalysisCache.CacheType.VULNERABILITY, targetHost, source.name(), missingTargets);
+                for (final Map.Entry<String, ComponentAnalysisCache> entry : cacheByTarget.entrySet()) {
+                    final VulnerabilityAnalysisResultCache.Key key = keyByTarget.get(entry.getKey());
+                    final var result = VulnerabilityAnalysisResultCache.Result.of(entry.getValue(), cacheValidityPeriod);
+                    VulnerabilityAnalysisResultCache.put(key, result);
+                    resultByKey.put(key, result);
+                }
+            }
+
+            final var uncachedComponents = new ArrayList<Component>();
+            final var cachedVulnIdsByComponentId = new HashMap<Long, long[]>();
+            for (final Component component : components) {
+                final String target = targetMapper.apply(component);
+                final VulnerabilityAnalysisResultCache.Result result = target != null ? resultByKey.get(keyByTarget.get(target)) : null;
+                if (result != null && result.isCurrent(cacheValidityPeriod)) {
+                    cachedVulnIdsByComponentId.put(component.getId(), result.vulnIds());
+                } else {
+                    uncachedComponents.add(component);
+                }
+            }
+
+            LOGGER.debug("Cache is current for %d of %d components (source: %s / targetHost: %s)"
+                    .formatted(cachedVulnIdsByComponentId.size(), components.size(), source, targetHost));
+            applyCachedVulnerabilities(qm, cachedVulnIdsByComponentId, vulnerabilityAnalysisLevel);
+            return uncachedComponents;
+        }
+    }
+
+    private static VulnerabilityAnalysisResultCache.Result getCachedResult(final QueryManager qm, final Vulnerability.Source source,
+                                                                           final String targetHost, final String target,
+                                                                           final long cacheValidityPeriod) {
+        final var key = new VulnerabilityAnalysisResultCache.Key(targetHost, source.name(), target);
+        VulnerabilityAnalysisResultCache.Result result = VulnerabilityAnalysisResultCache.get(key);
+        if (result == null) {
             final ComponentAnalysisCache cac = qm.getComponentAnalysisCache(ComponentAnalysisCache.CacheType.VULNERABILITY, targetHost, source.name(), target);
             if (cac != null) {
-                final JsonObject result = cac.getResult();
-                if (result != null) {
-                    final JsonArray vulns = result.getJsonArray("vulnIds");
-                    if (vulns != null) {
-                        for (JsonNumber vulnId : vulns.getValuesAs(JsonNumber.class)) {
-                            final Vulnerability vulnerability;
-                            vulnerability = qm.getObjectById(Vulnerability.class, vulnId.longValue());
-                            final Component c = qm.getObjectByUuid(Component.class, component.getUuid());
-                            if (c == null) continue;
-                            if (vulnerability != null) {
-                                NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, component, vulnerabilityAnalysisLevel);
-                                qm.addVulnerability(vulnerability, c, analyzerIdentity);
-                            }
-                        }
-                    }
+                result = VulnerabilityAnalysisResultCache.Result.of(cac, cacheValidityPeriod);
+                VulnerabilityAnalysisResultCache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private void applyCachedVulnerabilities(final QueryManager qm, final Map<Long, long[]> vulnIdsByComponentId,
+                                            final VulnerabilityAnalysisLevel vulnerabilityAnalysisLevel) {
+        final List<Long> componentIds = vulnIdsByComponentId.entrySet().stream()
+                .filter(entry -> entry.getValue().length > 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (componentIds.isEmpty()) {
+            return;
+        }
+
+        final List<Long> vulnIds = vulnIdsByComponentId.values().stream()
+                .flatMapToLong(Arrays::stream)
+                .distinct()
+                .boxed()
+                .toList();
+        final Map<Long, Component> componentById = getObjectsById(qm, Component.class, componentIds, Component::getId);
+        final Map<Long, Vulnerability> vulnById = getObjectsById(qm, Vulnerability.class, vulnIds, Vulnerability::getId);
+
+        for (final Long componentId : componentIds) {
+            final Component component = componentById.get(componentId);
+            if (component == null) {
+                continue;
+            }
+
+            for (final long vulnId : vulnIdsByComponentId.get(componentId)) {
+                final Vulnerability vulnerability = vulnById.get(vulnId);
+                if (vulnerability != null) {
+                    reportFinding(qm, vulnerability, component, vulnerabilityAnalysisLevel);
+                }
+            }
+        }
+    }
+
+    private static <T> Map<Long, T> getObjectsById(final QueryManager qm, final Class<T> clazz,
+                                                   final List<Long> ids, final Function<T, Long> idMapper) {
+        final var objectById = new HashMap<Long, T>(ids.size());
+        for (final List<Long> idsPartition : ListUtils.partition(ids, 1000)) {
+            final Query<T> query = qm.getPersistenceManager().newQuery(clazz);
+            query.setFilter(":ids.contains(id)");
+            query.setParameters(idsPartition);
+            try {
+                for (final T object : query.executeList()) {
+                    objectById.put(idMapper.apply(object), object);
                 }
+            } finally {
+                query.closeAll();
             }
         }
+        return objectById;
+    }
+
+    private static long getCacheValidityPeriod(final QueryManager qm) {
+        final ConfigProperty cacheClearPeriod = qm.getConfigProperty(
+                SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD.getGroupName(),
+                SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD.getPropertyName());
+        if (cacheClearPeriod != null && cacheClearPeriod.getPropertyValue() != null) {
+            return Long.parseLong(cacheClearPeriod.getPropertyValue());
+        }
+        // Only ever happens in tests, where not all config properties have been populated.
+        return Long.parseLong(SCANNER_ANALYSIS_CACHE_VALIDITY_PERIOD.getDefaultPropertyValue());
     }
 
     protected synchronized void updateAnalysisCacheStats(QueryManager qm, Vulnerability.Source source, String
@@ -21,6 +21,9 @@ package org.dependencytrack.tasks.scanners;
 import com.github.packageurl.PackageURL;
 import org.dependencytrack.model.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface CacheableScanTask extends ScanTask {
 
     /**
@@ -39,4 +42,26 @@ public interface CacheableScanTask extends ScanTask {
      */
     void applyAnalysisFromCache(final Component component);
 
+    /**
+     * Analyzes the specified components from local {@link org.dependencytrack.model.ComponentAnalysisCache},
+     * if the cache is current for them.
+     * <p>
+     * The default implementation evaluates each component individually. Implementations should
+     * override this to look up cache entries in bulk.
+     * @param components the Components to analyze from cache
+     * @return the Components for which the cache is not current, and that the analyzer should be executed against
+     * @since 4.14.0
+     */
+    default List<Component> applyAnalysisFromCache(final List<Component> components) {
+        final var uncachedComponents = new ArrayList<Component>();
+        for (final Component component : components) {
+            if (shouldAnalyze(component.getPurl())) {
+                uncachedComponents.add(component);
+            } else {
+                applyAnalysisFromCache(component);
+            }
+        }
+        return uncachedComponents;
+    }
+
 }
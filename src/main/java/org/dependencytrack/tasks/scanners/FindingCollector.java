@@ -0,0 +1,58 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks.scanners;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects findings reported by analyzers, so they can be applied to components
+ * in a single step once all analyzers completed.
+ * <p>
+ * This allows multiple analyzers to run concurrently, without racing each other
+ * when adding vulnerabilities to the same components.
+ *
+ * @since 4.14.0
+ */
+public final class FindingCollector {
+
+    /**
+     * A finding reported by an analyzer.
+     *
+     * @param componentId         ID of the affected component
+     * @param vulnerabilityId     ID of the identified vulnerability
+     * @param analyzerIdentity    Identity of the analyzer that reported the finding
+     * @param alternateIdentifier Optional identifier the analyzer refers to the vulnerability by
+     * @param referenceUrl        Optional URL that references the occurrence of the vulnerability
+     */
+    public record Finding(long componentId, long vulnerabilityId, AnalyzerIdentity analyzerIdentity,
+                          String alternateIdentifier, String referenceUrl) {
+    }
+
+    private final ConcurrentLinkedQueue<Finding> findings = new ConcurrentLinkedQueue<>();
+
+    void add(final Finding finding) {
+        findings.add(finding);
+    }
+
+    public List<Finding> getFindings() {
+        return List.copyOf(findings);
+    }
+
+}
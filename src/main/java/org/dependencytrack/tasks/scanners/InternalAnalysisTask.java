@@ -21,9 +21,11 @@ package org.dependencytrack.tasks.scanners;
 import alpine.common.logging.Logger;
 import alpine.event.framework.Event;
 import alpine.event.framework.Subscriber;
+import org.apache.commons.collections4.ListUtils;
 import org.dependencytrack.event.InternalAnalysisEvent;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.ConfigPropertyConstants;
+import org.dependencytrack.model.Vulnerability;
 import org.dependencytrack.model.VulnerabilityAnalysisLevel;
 import org.dependencytrack.model.VulnerableSoftware;
 import org.dependencytrack.persistence.QueryManager;
@@ -31,8 +33,16 @@ import org.dependencytrack.search.FuzzyVulnerableSoftwareSearchManager;
 import us.springett.parsers.cpe.CpeParser;
 import us.springett.parsers.cpe.exceptions.CpeParsingException;
 
-import java.util.Collections;
+import javax.jdo.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Subscriber task that performs an analysis of component using internal CPE/PURL data.
@@ -43,13 +53,23 @@ import java.util.List;
 public class InternalAnalysisTask extends AbstractVulnerableSoftwareAnalysisTask implements Subscriber {
 
     private static final Logger LOGGER = Logger.getLogger(InternalAnalysisTask.class);
+    private static final int INDEX_ANALYSIS_BATCH_SIZE = 500;
 
     public AnalyzerIdentity getAnalyzerIdentity() {
         return AnalyzerIdentity.INTERNAL_ANALYZER;
     }
 
+    private final VulnerableSoftwareIndex vsIndex;
     private VulnerabilityAnalysisLevel vulnerabilityAnalysisLevel;
 
+    public InternalAnalysisTask() {
+        this(VulnerableSoftwareIndex.getInstance());
+    }
+
+    InternalAnalysisTask(final VulnerableSoftwareIndex vsIndex) {
+        this.vsIndex = vsIndex;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -83,20 +103,126 @@ public class InternalAnalysisTask extends AbstractVulnerableSoftwareAnalysisTask
      * @param components a list of Components
      */
     public void analyze(final List<Component> components) {
+        final var options = new AnalysisOptions(
+                super.isEnabled(ConfigPropertyConstants.SCANNER_INTERNAL_FUZZY_ENABLED),
+                super.isEnabled(ConfigPropertyConstants.SCANNER_INTERNAL_FUZZY_EXCLUDE_INTERNAL),
+                super.isEnabled(ConfigPropertyConstants.SCANNER_INTERNAL_FUZZY_EXCLUDE_PURL));
         try (QueryManager qm = new QueryManager()) {
             LOGGER.info("Analyzing " + components.size() + " component(s)");
+            if (vsIndex.isEnabled() && vsIndex.ensureBuilt(qm)) {
+                analyzeWithIndex(qm, components, options);
+                return;
+            }
             for (final Component c : components) {
                 final Component component = qm.getObjectByUuid(Component.class, c.getUuid()); // Refresh component and attach to current pm.
                 if (component == null) continue;
-                versionRangeAnalysis(qm, component);
+                versionRangeAnalysis(qm, component, options);
             }
         }
     }
 
-    private void versionRangeAnalysis(final QueryManager qm, final Component component) {
-        final boolean fuzzyEnabled = super.isEnabled(ConfigPropertyConstants.SCANNER_INTERNAL_FUZZY_ENABLED) &&
-                (!component.isInternal() || !super.isEnabled(ConfigPropertyConstants.SCANNER_INTERNAL_FUZZY_EXCLUDE_INTERNAL));
-        final boolean excludeComponentsWithPurl = super.isEnabled(ConfigPropertyConstants.SCANNER_INTERNAL_FUZZY_EXCLUDE_PURL);
+    private void analyzeWithIndex(final QueryManager qm, final List<Component> components, final AnalysisOptions options) {
+        final List<UUID> uuids = components.stream().map(Component::getUuid).distinct().toList();
+        for (final List<UUID> uuidsPartition : ListUtils.partition(uuids, INDEX_ANALYSIS_BATCH_SIZE)) {
+            final var vulnIdsByComponent = new ArrayList<Map.Entry<Component, Set<Long>>>();
+            final var allVulnIds = new HashSet<Long>();
+
+            for (final Component component : qm.getObjectsByUuids(Component.class, uuidsPartition)) {
+                final AnalysisTarget target = resolveAnalysisTarget(component);
+                if (target == null) {
+                    continue;
+                }
+
+                final List<VulnerableSoftwareIndex.Entry> candidates = target.cpe() != null
+                        ? vsIndex.findCandidates(target.cpe().getPart().getAbbreviation(), target.cpe().getVendor(), target.cpe().getProduct(), component.getPurl())
+                        : vsIndex.findCandidates(null, null, null, component.getPurl());
+                if (candidates.isEmpty()) {
+                    if (options.isFuzzyEnabled(component)) {
+                        final var fm = new FuzzyVulnerableSoftwareSearchManager(options.fuzzyExcludePurl());
+                        final List<VulnerableSoftware> vsList = fm.fuzzyAnalysis(qm, component, target.cpe());
+                        super.analyzeVersionRange(qm, vsList, target.cpe(), target.version(), component, vulnerabilityAnalysisLevel);
+                    }
+                    continue;
+                }
+
+                final var vulnIds = new LinkedHashSet<Long>();
+                for (final VulnerableSoftwareIndex.Entry candidate : candidates) {
+                    final Boolean isCpeMatch = maybeMatchCpe(candidate.vs(), target.cpe(), target.version());
+                    if ((isCpeMatch == null || isCpeMatch) && compareVersions(candidate.vs(), target.version(), candidate.bounds())) {
+                        for (final long vulnId : candidate.vulnIds()) {
+                            vulnIds.add(vulnId);
+                        }
+                    }
+                }
+                if (!vulnIds.isEmpty()) {
+                    vulnIdsByComponent.add(Map.entry(component, vulnIds));
+                    allVulnIds.addAll(vulnIds);
+                }
+            }
+
+            if (allVulnIds.isEmpty()) {
+                continue;
+            }
+
+            final Map<Long, Vulnerability> vulnById = getVulnerabilitiesById(qm, allVulnIds);
+            for (final Map.Entry<Component, Set<Long>> componentVulnIds : vulnIdsByComponent) {
+                final Component component = componentVulnIds.getKey();
+                for (final Long vulnId : componentVulnIds.getValue()) {
+                    final Vulnerability vulnerability = vulnById.get(vulnId);
+                    if (vulnerability == null) {
+                        // Vulnerability was deleted since it has been indexed.
+                        continue;
+                    }
+                    reportFinding(qm, vulnerability, component, vulnerabilityAnalysisLevel);
+                }
+            }
+        }
+    }
+
+    private static Map<Long, Vulnerability> getVulnerabilitiesById(final QueryManager qm, final Collection<Long> vulnIds) {
+        final var vulnById = new HashMap<Long, Vulnerability>(vulnIds.size());
+        for (final List<Long> vulnIdsPartition : ListUtils.partition(List.copyOf(vulnIds), INDEX_ANALYSIS_BATCH_SIZE)) {
+            final Query<Vulnerability> query = qm.getPersistenceManager().newQuery(Vulnerability.class);
+            query.setFilter(":ids.contains(id)");
+            query.setParameters(vulnIdsPartition);
+            try {
+                for (final Vulnerability vulnerability : query.executeList()) {
+                    vulnById.put(vulnerability.getId(), vulnerability);
+                }
+            } finally {
+                query.closeAll();
+            }
+        }
+        return vulnById;
+    }
+
+    private void versionRangeAnalysis(final QueryManager qm, final Component component, final AnalysisOptions options) {
+        final AnalysisTarget target = resolveAnalysisTarget(component);
+        if (target == null) {
+            return;
+        }
+
+        List<VulnerableSoftware> vsList;
+        if (target.cpe() != null) {
+            vsList = qm.getAllVulnerableSoftware(target.cpe().getPart().getAbbreviation(), target.cpe().getVendor(), target.cpe().getProduct(), component.getPurl());
+        } else {
+            vsList = qm.getAllVulnerableSoftware(null, null, null, component.getPurl());
+        }
+
+        if (options.isFuzzyEnabled(component) && vsList.isEmpty()) {
+            FuzzyVulnerableSoftwareSearchManager fm = new FuzzyVulnerableSoftwareSearchManager(options.fuzzyExcludePurl());
+            vsList = fm.fuzzyAnalysis(qm, component, target.cpe());
+        }
+        super.analyzeVersionRange(qm, vsList, target.cpe(), target.version(), component, vulnerabilityAnalysisLevel);
+    }
+
+    /**
+     * Determines the CPE and version to match a given {@link Component} against.
+     *
+     * @param component the Component to analyze
+     * @return the {@link AnalysisTarget}, or {@code null} if the component can't be analyzed
+     */
+    private static AnalysisTarget resolveAnalysisTarget(final Component component) {
         us.springett.parsers.cpe.Cpe parsedCpe = null;
         if (component.getCpe() != null) {
             try {
@@ -105,7 +231,6 @@ public class InternalAnalysisTask extends AbstractVulnerableSoftwareAnalysisTask
                 LOGGER.warn("An error occurred while parsing: " + component.getCpe() + " - The CPE is invalid and will be discarded. " + e.getMessage());
             }
         }
-        List<VulnerableSoftware> vsList = Collections.emptyList();
         String componentVersion;
         if (parsedCpe != null) {
             componentVersion = parsedCpe.getVersion();
@@ -115,11 +240,11 @@ public class InternalAnalysisTask extends AbstractVulnerableSoftwareAnalysisTask
             // Catch cases where the CPE couldn't be parsed and no PURL exists.
             // Should be rare, but could lead to NPEs later.
             LOGGER.debug("Neither CPE nor PURL of component " + component.getUuid() + " provide a version - skipping analysis");
-            return;
+            return null;
         }
         // In some cases, componentVersion may be null, such as when a Package URL does not have a version specified
         if (componentVersion == null) {
-            return;
+            return null;
         }
         // https://github.com/DependencyTrack/dependency-track/issues/1574
         // Some ecosystems use the "v" version prefix (e.g. v1.2.3) for their components.
@@ -134,18 +259,18 @@ public class InternalAnalysisTask extends AbstractVulnerableSoftwareAnalysisTask
                 componentVersion = componentVersion.substring(1);
             }
         }
+        return new AnalysisTarget(parsedCpe, componentVersion);
+    }
 
-        if (parsedCpe != null) {
-            vsList = qm.getAllVulnerableSoftware(parsedCpe.getPart().getAbbreviation(), parsedCpe.getVendor(), parsedCpe.getProduct(), component.getPurl());
-        } else {
-            vsList = qm.getAllVulnerableSoftware(null, null, null, component.getPurl());
-        }
+    private record AnalysisTarget(us.springett.parsers.cpe.Cpe cpe, String version) {
+    }
 
-        if (fuzzyEnabled && vsList.isEmpty()) {
-            FuzzyVulnerableSoftwareSearchManager fm = new FuzzyVulnerableSoftwareSearchManager(excludeComponentsWithPurl);
-            vsList = fm.fuzzyAnalysis(qm, component, parsedCpe);
+    private record AnalysisOptions(boolean fuzzyEnabled, boolean fuzzyExcludeInternal, boolean fuzzyExcludePurl) {
+
+        private boolean isFuzzyEnabled(final Component component) {
+            return fuzzyEnabled && (!component.isInternal() || !fuzzyExcludeInternal);
         }
-        super.analyzeVersionRange(qm, vsList, parsedCpe, componentVersion, component, vulnerabilityAnalysisLevel);
+
     }
 
 }
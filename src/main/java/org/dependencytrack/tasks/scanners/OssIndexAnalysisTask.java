@@ -57,7 +57,6 @@ import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.util.CvssUtil;
 import org.dependencytrack.util.DebugDataEncryption;
 import org.dependencytrack.util.HttpUtil;
-import org.dependencytrack.util.NotificationUtil;
 import org.dependencytrack.util.VulnerabilityUtil;
 import org.json.JSONObject;
 import org.metaeffekt.core.security.cvss.v2.Cvss2;
@@ -65,8 +64,6 @@ import org.metaeffekt.core.security.cvss.v3.Cvss3;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 import static org.dependencytrack.common.ConfigKey.OSSINDEX_RETRY_BACKOFF_INITIAL_DURATION_MS;
 import static org.dependencytrack.common.ConfigKey.OSSINDEX_RETRY_BACKOFF_MAX_DURATION_MS;
@@ -204,7 +201,16 @@ public class OssIndexAnalysisTask extends BaseComponentAnalyzerTask implements C
      * @param component component the Component to analyze from cache
      */
     public void applyAnalysisFromCache(final Component component) {
-        applyAnalysisFromCache(Vulnerability.Source.OSSINDEX, apiBaseUrl, component.getPurl().toString(), component, getAnalyzerIdentity(), vulnerabilityAnalysisLevel);
+        applyAnalysisFromCache(Vulnerability.Source.OSSINDEX, apiBaseUrl, component.getPurl().toString(), component, vulnerabilityAnalysisLevel);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Component> applyAnalysisFromCache(final List<Component> components) {
+        return applyAnalysisFromCache(Vulnerability.Source.OSSINDEX, apiBaseUrl, components,
+                component -> component.getPurl().toString(), vulnerabilityAnalysisLevel);
     }
 
     /**
@@ -213,12 +219,10 @@ public class OssIndexAnalysisTask extends BaseComponentAnalyzerTask implements C
      * @param components a list of Components
      */
     public void analyze(final List<Component> components) {
-        Map<Boolean, List<Component>> componentsPartitionByCacheValidity = components.stream()
+        final List<Component> capableComponents = components.stream()
                 .filter(component -> !component.isInternal() && isCapable(component))
-                .collect(Collectors.partitioningBy(component -> isCacheCurrent(Vulnerability.Source.OSSINDEX, apiBaseUrl, component.getPurl().toString())));
-        List<Component> componentWithValidAnalysisFromCache = componentsPartitionByCacheValidity.get(true);
-        componentWithValidAnalysisFromCache.forEach(component -> applyAnalysisFromCache(Vulnerability.Source.OSSINDEX, apiBaseUrl, component.getPurl().toString(), component, getAnalyzerIdentity(), vulnerabilityAnalysisLevel));
-        List<Component> componentWithInvalidAnalysisFromCache = componentsPartitionByCacheValidity.get(false);
+                .toList();
+        final List<Component> componentWithInvalidAnalysisFromCache = applyAnalysisFromCache(capableComponents);
         final Pageable<Component> paginatedComponents = new Pageable<>(Config.getInstance().getPropertyAsInt(ConfigKey.OSSINDEX_REQUEST_MAX_PURL), componentWithInvalidAnalysisFromCache);
         while (!paginatedComponents.isPaginationComplete()) {
             final List<String> coordinates = new ArrayList<>();
@@ -320,8 +324,7 @@ public class OssIndexAnalysisTask extends BaseComponentAnalyzerTask implements C
                                 Vulnerability vulnerability = qm.getVulnerabilityByVulnId(
                                         Vulnerability.Source.NVD, reportedVuln.getCve());
                                 if (vulnerability != null) {
-                                    NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, component, vulnerabilityAnalysisLevel);
-                                    qm.addVulnerability(vulnerability, component, this.getAnalyzerIdentity(), reportedVuln.getId(), reportedVuln.getReference());
+                                    reportFinding(qm, vulnerability, component, vulnerabilityAnalysisLevel, reportedVuln.getId(), reportedVuln.getReference());
                                     addVulnerabilityToCache(component, vulnerability);
                                 } else {
                                     /*
@@ -330,8 +333,7 @@ public class OssIndexAnalysisTask extends BaseComponentAnalyzerTask implements C
                                     through traditional feeds. Regardless, the vuln needs to be added to the database.
                                      */
                                     vulnerability = qm.createVulnerability(generateVulnerability(qm, reportedVuln), false);
-                                    NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, component, vulnerabilityAnalysisLevel);
-                                    qm.addVulnerability(vulnerability, component, this.getAnalyzerIdentity(), reportedVuln.getId(), reportedVuln.getReference());
+                                    reportFinding(qm, vulnerability, component, vulnerabilityAnalysisLevel, reportedVuln.getId(), reportedVuln.getReference());
                                     addVulnerabilityToCache(component, vulnerability);
                                 }
                             } else {
@@ -354,8 +356,7 @@ public class OssIndexAnalysisTask extends BaseComponentAnalyzerTask implements C
                                     alias.setCveId(reportedVuln.getCve());
                                     qm.synchronizeVulnerabilityAlias(alias);
                                 }
-                                NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, component, vulnerabilityAnalysisLevel);
-                                qm.addVulnerability(vulnerability, component, this.getAnalyzerIdentity(), reportedVuln.getId(), reportedVuln.getReference());
+                                reportFinding(qm, vulnerability, component, vulnerabilityAnalysisLevel, reportedVuln.getId(), reportedVuln.getReference());
                                 addVulnerabilityToCache(component, vulnerability);
                             }
                         }
@@ -58,13 +58,13 @@ import org.dependencytrack.parser.snyk.SnykParser;
 import org.dependencytrack.parser.snyk.model.SnykError;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.util.DebugDataEncryption;
-import org.dependencytrack.util.NotificationUtil;
 import org.dependencytrack.util.RoundRobinAccessor;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -242,14 +242,10 @@ public class SnykAnalysisTask extends BaseComponentAnalyzerTask implements Cache
      */
     @Override
     public void analyze(final List<Component> components) {
-        final var countDownLatch = new CountDownLatch(components.size());
-        for (final Component component : components) {
-            if (isCacheCurrent(Vulnerability.Source.SNYK, apiBaseUrl, component.getPurl().getCoordinates())) {
-                applyAnalysisFromCache(component);
-                countDownLatch.countDown();
-                continue;
-            }
-
+        final List<Component> uncachedComponents = applyAnalysisFromCache(Vulnerability.Source.SNYK, apiBaseUrl,
+                components, component -> component.getPurl().getCoordinates(), vulnerabilityAnalysisLevel);
+        final var countDownLatch = new CountDownLatch(uncachedComponents.size());
+        for (final Component component : uncachedComponents) {
             CompletableFuture
                     .runAsync(() -> analyzeComponent(component), EXECUTOR)
                     .whenComplete((result, exception) -> {
@@ -307,7 +303,18 @@ public class SnykAnalysisTask extends BaseComponentAnalyzerTask implements Cache
     public void applyAnalysisFromCache(final Component component) {
         getApiBaseUrl().ifPresent(baseUrl ->
                 applyAnalysisFromCache(Vulnerability.Source.SNYK, apiBaseUrl,
-                        component.getPurl().getCoordinates(), component, getAnalyzerIdentity(), vulnerabilityAnalysisLevel));
+                        component.getPurl().getCoordinates(), component, vulnerabilityAnalysisLevel));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Component> applyAnalysisFromCache(final List<Component> components) {
+        return getApiBaseUrl()
+                .map(baseUrl -> applyAnalysisFromCache(Vulnerability.Source.SNYK, apiBaseUrl, components,
+                        component -> component.getPurl().getCoordinates(), vulnerabilityAnalysisLevel))
+                .orElse(Collections.emptyList());
     }
 
     private void analyzeComponent(final Component component) {
@@ -369,8 +376,7 @@ public class SnykAnalysisTask extends BaseComponentAnalyzerTask implements Cache
                     addVulnerabilityToCache(component, synchronizedVulnerability);
                     final Component componentPersisted = qm.getObjectByUuid(Component.class, component.getUuid());
                     if (componentPersisted != null && synchronizedVulnerability.getVulnId() != null) {
-                        NotificationUtil.analyzeNotificationCriteria(qm, synchronizedVulnerability, componentPersisted, vulnerabilityAnalysisLevel);
-                        qm.addVulnerability(synchronizedVulnerability, componentPersisted, this.getAnalyzerIdentity());
+                        reportFinding(qm, synchronizedVulnerability, componentPersisted, vulnerabilityAnalysisLevel);
                         LOGGER.debug("Snyk vulnerability added : " + synchronizedVulnerability.getVulnId() + " to component " + component.getName());
                     }
                     Event.dispatch(new IndexEvent(IndexEvent.Action.COMMIT, Vulnerability.class));
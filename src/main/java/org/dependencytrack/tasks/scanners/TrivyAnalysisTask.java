@@ -52,7 +52,6 @@ import org.dependencytrack.parser.trivy.TrivyParser;
 import org.dependencytrack.parser.trivy.model.PurlType;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.util.DebugDataEncryption;
-import org.dependencytrack.util.NotificationUtil;
 import trivy.proto.cache.v1.BlobInfo;
 import trivy.proto.cache.v1.DeleteBlobsRequest;
 import trivy.proto.cache.v1.PutBlobRequest;
@@ -500,8 +499,7 @@ public class TrivyAnalysisTask extends BaseComponentAnalyzerTask implements Subs
                 }
 
                 LOGGER.debug("Trivy vulnerability added: " + vulnerability.getVulnId() + " to component " + persistentComponent.getName());
-                NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, persistentComponent, vulnerabilityAnalysisLevel);
-                qm.addVulnerability(vulnerability, persistentComponent, this.getAnalyzerIdentity());
+                reportFinding(qm, vulnerability, persistentComponent, vulnerabilityAnalysisLevel);
             }
 
             if (didCreateVulns) {
@@ -35,7 +35,6 @@ import org.dependencytrack.parser.vulndb.VulnDbClient;
 import org.dependencytrack.parser.vulndb.model.Results;
 import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.util.DebugDataEncryption;
-import org.dependencytrack.util.NotificationUtil;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -139,30 +138,26 @@ public class VulnDbAnalysisTask extends BaseComponentAnalyzerTask implements Sub
     @Override
     public void analyze(final List<Component> components) {
         final var api = new VulnDbClient(this.apiConsumerKey, this.apiConsumerSecret, this.apiBaseUrl);
-        for (final Component component : components) {
-            if (isCacheCurrent(Vulnerability.Source.VULNDB, apiBaseUrl, component.getCpe())) {
-                applyAnalysisFromCache(Vulnerability.Source.VULNDB, apiBaseUrl, component.getCpe(), component, AnalyzerIdentity.VULNDB_ANALYZER, vulnerabilityAnalysisLevel);
-            } else if (!component.isInternal() && isCapable(component)
-                    && !isCacheCurrent(Vulnerability.Source.VULNDB, apiBaseUrl, component.getCpe())) {
-                if (!component.isInternal() && isCapable(component)
-                        && !isCacheCurrent(Vulnerability.Source.VULNDB, apiBaseUrl, component.getCpe())) {
-                    int page = 1;
-                    boolean more = true;
-                    while (more) {
-                        try {
-                            final Results results = api.getVulnerabilitiesByCpe(component.getCpe(), PAGE_SIZE, page);
-                            if (results.isSuccessful()) {
-                                more = processResults(results, component);
-                                page++;
-                            } else {
-                                LOGGER.warn(results.getErrorCondition());
-                                handleRequestException(LOGGER, new Exception(results.getErrorCondition()));
-                                return;
-                            }
-                        } catch (IOException | OAuthMessageSignerException | OAuthExpectationFailedException |
-                                 URISyntaxException | OAuthCommunicationException ex) {
-                            handleRequestException(LOGGER, ex);
+        final List<Component> uncachedComponents = applyAnalysisFromCache(Vulnerability.Source.VULNDB, apiBaseUrl,
+                components, Component::getCpe, vulnerabilityAnalysisLevel);
+        for (final Component component : uncachedComponents) {
+            if (!component.isInternal() && isCapable(component)) {
+                int page = 1;
+                boolean more = true;
+                while (more) {
+                    try {
+                        final Results results = api.getVulnerabilitiesByCpe(component.getCpe(), PAGE_SIZE, page);
+                        if (results.isSuccessful()) {
+                            more = processResults(results, component);
+                            page++;
+                        } else {
+                            LOGGER.warn(results.getErrorCondition());
+                            handleRequestException(LOGGER, new Exception(results.getErrorCondition()));
+                            return;
                         }
+                    } catch (IOException | OAuthMessageSignerException | OAuthExpectationFailedException |
+                             URISyntaxException | OAuthCommunicationException ex) {
+                        handleRequestException(LOGGER, ex);
                     }
                 }
             }
@@ -182,8 +177,7 @@ public class VulnDbAnalysisTask extends BaseComponentAnalyzerTask implements Sub
                     // Vulnerability already exists but is unchanged.
                     vulnerability = qm.getVulnerabilityByVulnId(convertedVuln.getSource(), convertedVuln.getVulnId());
                 }
-                NotificationUtil.analyzeNotificationCriteria(qm, vulnerability, vulnerableComponent, vulnerabilityAnalysisLevel);
-                qm.addVulnerability(vulnerability, vulnerableComponent, this.getAnalyzerIdentity());
+                reportFinding(qm, vulnerability, vulnerableComponent, vulnerabilityAnalysisLevel);
                 addVulnerabilityToCache(vulnerableComponent, vulnerability);
             }
             updateAnalysisCacheStats(qm, Vulnerability.Source.VULNDB, apiBaseUrl, vulnerableComponent.getCpe(), vulnerableComponent.getCacheResult());
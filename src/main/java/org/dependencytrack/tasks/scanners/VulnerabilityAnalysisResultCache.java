@@ -0,0 +1,161 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks.scanners;
+
+import alpine.Config;
+import alpine.common.metrics.Metrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.dependencytrack.common.ConfigKey;
+import org.dependencytrack.model.ComponentAnalysisCache;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static alpine.Config.AlpineKey.METRICS_ENABLED;
+
+/**
+ * In-memory tier in front of the {@link ComponentAnalysisCache} table, for vulnerability analysis results.
+ * <p>
+ * Results are held as compact arrays of vulnerability IDs, such that cache hits for commonly shared
+ * components neither query the database, nor parse the JSON result again. Entries expire once they
+ * are no longer current according to the analysis cache validity period that was in effect when
+ * they were cached. Writes to the {@link ComponentAnalysisCache} table invalidate affected entries,
+ * which are then re-populated from the database on their next lookup.
+ *
+ * @since 4.14.0
+ */
+public final class VulnerabilityAnalysisResultCache {
+
+    public record Key(String targetHost, String targetType, String target) {
+    }
+
+    /**
+     * @param lastOccurrence time of the analysis, in milliseconds since epoch
+     * @param expiresAt      time after which the result is no longer current, in milliseconds since epoch
+     * @param vulnIds        IDs of the vulnerabilities identified by the analysis
+     */
+    public record Result(long lastOccurrence, long expiresAt, long[] vulnIds) {
+
+        static Result of(final ComponentAnalysisCache cac, final long cacheValidityPeriod) {
+            final long lastOccurrence = cac.getLastOccurrence().getTime();
+            return new Result(lastOccurrence, lastOccurrence + cacheValidityPeriod, getVulnIds(cac.getResult()));
+        }
+
+        public boolean isCurrent(final long cacheValidityPeriod) {
+            final long now = System.currentTimeMillis();
+            return now > lastOccurrence && now - lastOccurrence <= cacheValidityPeriod;
+        }
+
+    }
+
+    private static final Cache<Key, Result> CACHE = buildCache();
+
+    private VulnerabilityAnalysisResultCache() {
+    }
+
+    public static Result get(final Key key) {
+        return CACHE.getIfPresent(key);
+    }
+
+    public static Map<Key, Result> getAll(final Collection<Key> keys) {
+        return CACHE.getAllPresent(keys);
+    }
+
+    public static void put(final Key key, final Result result) {
+        CACHE.put(key, result);
+    }
+
+    public static void invalidate(final Key key) {
+        CACHE.invalidate(key);
+    }
+
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    private static long[] getVulnIds(final JsonObject result) {
+        if (result == null) {
+            return new long[0];
+        }
+
+        final JsonArray vulns = result.getJsonArray("vulnIds");
+        if (vulns == null) {
+            return new long[0];
+        }
+
+        final List<JsonNumber> vulnIds = vulns.getValuesAs(JsonNumber.class);
+        final var vulnIdsArray = new long[vulnIds.size()];
+        for (int i = 0; i < vulnIdsArray.length; i++) {
+            vulnIdsArray[i] = vulnIds.get(i).longValue();
+        }
+        return vulnIdsArray;
+    }
+
+    private static Cache<Key, Result> buildCache() {
+        final boolean metricsEnabled = Config.getInstance()
+                .getPropertyAsBoolean(METRICS_ENABLED);
+        final int maxSize = Config.getInstance()
+                .getPropertyAsInt(ConfigKey.SCANNER_ANALYSIS_CACHE_MEMORY_MAX_SIZE);
+
+        final Caffeine<Key, Result> cacheBuilder = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxSize))
+                .expireAfter(new ResultExpiry());
+        if (metricsEnabled) {
+            cacheBuilder.recordStats();
+        }
+
+        final Cache<Key, Result> cache = cacheBuilder.build();
+
+        if (metricsEnabled) {
+            new CaffeineCacheMetrics<>(cache, "dtrack_vuln_analysis_results", Collections.emptyList())
+                    .bindTo(Metrics.getRegistry());
+        }
+
+        return cache;
+    }
+
+    private static final class ResultExpiry implements Expiry<Key, Result> {
+
+        @Override
+        public long expireAfterCreate(final Key key, final Result result, final long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, result.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(final Key key, final Result result, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, result, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final Key key, final Result result, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,603 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks.scanners;
+
+import alpine.Config;
+import alpine.common.logging.Logger;
+import com.github.packageurl.PackageURL;
+import org.dependencytrack.common.ConfigKey;
+import org.dependencytrack.model.Vulnerability;
+import org.dependencytrack.model.VulnerableSoftware;
+import org.dependencytrack.persistence.QueryManager;
+import org.dependencytrack.tasks.scanners.AbstractVulnerableSoftwareAnalysisTask.VersionRangeBounds;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in-memory index of {@link VulnerableSoftware} records that are associated with at least one {@link Vulnerability}.
+ * <p>
+ * The index allows the {@link InternalAnalysisTask} to look up candidate {@link VulnerableSoftware}s without
+ * querying the database for every component. Records are indexed by CPE vendor and product, as well as by
+ * PURL type, namespace, and name. Version range bounds are parsed when records are added to the index.
+ * <p>
+ * The index is built lazily on first use, and updated incrementally whenever the {@link VulnerableSoftware}s
+ * of a {@link Vulnerability} are synchronized. If the estimated size of the index exceeds the configured
+ * memory budget, the index is discarded, and callers are expected to fall back to database queries.
+ *
+ * @since 4.14.0
+ */
+public final class VulnerableSoftwareIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(VulnerableSoftwareIndex.class);
+    private static final VulnerableSoftwareIndex INSTANCE = new VulnerableSoftwareIndex(
+            Config.getInstance().getPropertyAsBoolean(ConfigKey.SCANNER_INTERNAL_INDEX_ENABLED),
+            Config.getInstance().getPropertyAsInt(ConfigKey.SCANNER_INTERNAL_INDEX_MAX_MEMORY_MB) * 1024L * 1024L);
+    private static final int BUILD_ID_WINDOW_SIZE = 10_000;
+    private static final long[] EMPTY_IDS = new long[0];
+
+    enum State {
+        NOT_BUILT,
+        BUILDING,
+        READY,
+        OVER_BUDGET
+    }
+
+    /**
+     * An indexed {@link VulnerableSoftware}.
+     *
+     * @param vs      A non-persistent copy of the {@link VulnerableSoftware}, holding only attributes relevant for matching
+     * @param bounds  The pre-parsed version range bounds of {@code vs}
+     * @param vulnIds IDs of the {@link Vulnerability}s associated with {@code vs}
+     */
+    record Entry(VulnerableSoftware vs, VersionRangeBounds bounds, long[] vulnIds) {
+
+        private Entry withVulnIds(final long[] vulnIds) {
+            return new Entry(vs, bounds, vulnIds);
+        }
+
+        private long estimateSizeBytes() {
+            // Rough estimates of object headers, references, and primitive fields.
+            long size = 192 + 64 + 16 + (8L * vulnIds.length);
+            size += estimateSizeBytes(vs.getCpe23());
+            size += estimateSizeBytes(vs.getPart());
+            size += estimateSizeBytes(vs.getVendor());
+            size += estimateSizeBytes(vs.getProduct());
+            size += estimateSizeBytes(vs.getVersion());
+            size += estimateSizeBytes(vs.getUpdate());
+            size += estimateSizeBytes(vs.getEdition());
+            size += estimateSizeBytes(vs.getLanguage());
+            size += estimateSizeBytes(vs.getSwEdition());
+            size += estimateSizeBytes(vs.getTargetSw());
+            size += estimateSizeBytes(vs.getTargetHw());
+            size += estimateSizeBytes(vs.getOther());
+            size += estimateSizeBytes(vs.getPurlType());
+            size += estimateSizeBytes(vs.getPurlNamespace());
+            size += estimateSizeBytes(vs.getPurlName());
+            size += 2 * estimateSizeBytes(vs.getVersionEndExcluding());
+            size += 2 * estimateSizeBytes(vs.getVersionEndIncluding());
+            size += 2 * estimateSizeBytes(vs.getVersionStartExcluding());
+            size += 2 * estimateSizeBytes(vs.getVersionStartIncluding());
+            return size;
+        }
+
+        private static long estimateSizeBytes(final String str) {
+            return str != null ? 40 + str.length() : 0;
+        }
+
+    }
+
+    private record CpeKey(String vendor, String product) {
+    }
+
+    private record PurlKey(String type, String namespace, String name) {
+    }
+
+    private record PendingUpdate(long vulnId, List<Entry> entries) {
+    }
+
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entryById = new HashMap<>();
+    private final Map<Long, long[]> vsIdsByVulnId = new HashMap<>();
+    private final Map<CpeKey, List<Entry>> entriesByCpeKey = new HashMap<>();
+    private final Map<PurlKey, List<Entry>> entriesByPurlKey = new HashMap<>();
+    private final List<PendingUpdate> pendingUpdates = new ArrayList<>();
+    private State state = State.NOT_BUILT;
+    private long estimatedSizeBytes;
+
+    VulnerableSoftwareIndex(final boolean enabled, final long maxMemoryBytes) {
+        this.enabled = enabled;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    public static VulnerableSoftwareIndex getInstance() {
+        return INSTANCE;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Updates the index to reflect the current {@link VulnerableSoftware}s of a given {@link Vulnerability}.
+     * <p>
+     * Must be called <em>after</em> the changes to {@code persistentVuln} have been committed.
+     * Does nothing when the index is disabled, or has not been built yet.
+     *
+     * @param persistentVuln The persistent {@link Vulnerability} whose {@link VulnerableSoftware}s changed
+     */
+    public void update(final Vulnerability persistentVuln) {
+        if (!enabled || persistentVuln == null) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (state != State.READY && state != State.BUILDING) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Copy the relevant data before acquiring the write lock,
+        // as it may involve loading fields from the datastore.
+        final var entries = new ArrayList<Entry>();
+        if (persistentVuln.getVulnerableSoftware() != null) {
+            for (final VulnerableSoftware vs : persistentVuln.getVulnerableSoftware()) {
+                entries.add(createEntry(vs.getId(),
+                        vs.getCpe23(), vs.getPart(), vs.getVendor(), vs.getProduct(), vs.getVersion(), vs.getUpdate(),
+                        vs.getEdition(), vs.getLanguage(), vs.getSwEdition(), vs.getTargetSw(), vs.getTargetHw(), vs.getOther(),
+                        vs.getPurlType(), vs.getPurlNamespace(), vs.getPurlName(),
+                        vs.getVersionEndExcluding(), vs.getVersionEndIncluding(),
+                        vs.getVersionStartExcluding(), vs.getVersionStartIncluding(),
+                        EMPTY_IDS));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            switch (state) {
+                case BUILDING -> pendingUpdates.add(new PendingUpdate(persistentVuln.getId(), entries));
+                case READY -> {
+                    applyUpdate(persistentVuln.getId(), entries);
+                    enforceBudget();
+                }
+                default -> {
+                    // Index was discarded in the meantime; Nothing to do.
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds the index if it has not been built yet.
+     *
+     * @param qm The {@link QueryManager} to use
+     * @return {@code true} when the index is ready to be used, otherwise {@code false}
+     */
+    boolean ensureBuilt(final QueryManager qm) {
+        if (!enabled) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (state != State.NOT_BUILT) {
+                return state == State.READY;
+            }
+            state = State.BUILDING;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        final long startTimeNs = System.nanoTime();
+        boolean withinBudget = false;
+        try {
+            withinBudget = build(qm.getPersistenceManager());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (withinBudget) {
+                    for (final PendingUpdate pendingUpdate : pendingUpdates) {
+                        applyUpdate(pendingUpdate.vulnId(), pendingUpdate.entries());
+                    }
+                    state = State.READY;
+                    enforceBudget();
+                    LOGGER.info("Built vulnerable software index with %d records (~%d MiB) in %dms".formatted(
+                            entryById.size(), estimatedSizeBytes / (1024 * 1024), (System.nanoTime() - startTimeNs) / 1_000_000));
+                } else {
+                    // Either the build failed, or the budget was exceeded.
+                    // In both cases, don't keep partial data around.
+                    clear();
+                    state = state == State.OVER_BUDGET ? State.OVER_BUDGET : State.NOT_BUILT;
+                }
+                pendingUpdates.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        return getState() == State.READY;
+    }
+
+    /**
+     * Looks up candidate {@link VulnerableSoftware}s for the given CPE part, vendor, product, or Package URL.
+     * <p>
+     * The semantics are equivalent to those of {@link QueryManager#getAllVulnerableSoftware(String, String, String, PackageURL)}.
+     *
+     * @param cpePart    The part attribute of the target CPE
+     * @param cpeVendor  The vendor attribute of the target CPE
+     * @param cpeProduct The product attribute of the target CPE
+     * @param purl       The Package URL
+     * @return A {@link List} of all matching {@link Entry}s
+     */
+    List<Entry> findCandidates(final String cpePart, final String cpeVendor, final String cpeProduct, final PackageURL purl) {
+        final var candidateById = new LinkedHashMap<Long, Entry>();
+
+        lock.readLock().lock();
+        try {
+            if (state != State.READY) {
+                throw new IllegalStateException("Index is not ready");
+            }
+
+            if (cpePart != null && cpeVendor != null && cpeProduct != null) {
+                final List<String> vendorKeys = cpeKeyCandidates(cpeVendor);
+                final List<String> productKeys = cpeKeyCandidates(cpeProduct);
+                if (vendorKeys == null || productKeys == null) {
+                    // Target vendor or product is ANY, which matches all non-null values.
+                    for (final List<Entry> entries : entriesByCpeKey.values()) {
+                        addCpeCandidates(candidateById, entries, cpePart, cpeVendor, cpeProduct);
+                    }
+                } else {
+                    for (final String vendorKey : vendorKeys) {
+                        for (final String productKey : productKeys) {
+                            addCpeCandidates(candidateById, entriesByCpeKey.get(new CpeKey(vendorKey, productKey)),
+                                    cpePart, cpeVendor, cpeProduct);
+                        }
+                    }
+                }
+            }
+
+            if (purl != null) {
+                final List<Entry> entries = entriesByPurlKey.get(
+                        new PurlKey(purl.getType(), purl.getNamespace(), purl.getName()));
+                if (entries != null) {
+                    for (final Entry entry : entries) {
+                        candidateById.putIfAbsent(entry.vs().getId(), entry);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new ArrayList<>(candidateById.values());
+    }
+
+    State getState() {
+        lock.readLock().lock();
+        try {
+            return state;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entryById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean build(final PersistenceManager pm) {
+        final long minId;
+        final long maxId;
+        final Query<?> boundsQuery = pm.newQuery(Query.SQL, """
+                SELECT MIN("ID"), MAX("ID") FROM "VULNERABLESOFTWARE"
+                """);
+        try {
+            final Object[] row = (Object[]) boundsQuery.executeUnique();
+            if (row == null || row[0] == null) {
+                return true;
+            }
+            minId = ((Number) row[0]).longValue();
+            maxId = ((Number) row[1]).longValue();
+        } finally {
+            boundsQuery.closeAll();
+        }
+
+        for (long windowStart = minId; windowStart <= maxId; windowStart += BUILD_ID_WINDOW_SIZE) {
+            final long windowEnd = windowStart + BUILD_ID_WINDOW_SIZE - 1;
+
+            final var vulnIdsByVsId = new HashMap<Long, List<Long>>();
+            final Query<?> vulnIdsQuery = pm.newQuery(Query.SQL, """
+                    SELECT "VULNERABLESOFTWARE_ID", "VULNERABILITY_ID"
+                      FROM "VULNERABLESOFTWARE_VULNERABILITIES"
+                     WHERE "VULNERABLESOFTWARE_ID" BETWEEN :windowStart AND :windowEnd
+                    """);
+            vulnIdsQuery.setNamedParameters(Map.of("windowStart", windowStart, "windowEnd", windowEnd));
+            try {
+                for (final Object row : vulnIdsQuery.executeList()) {
+                    final Object[] columns = (Object[]) row;
+                    vulnIdsByVsId.computeIfAbsent(((Number) columns[0]).longValue(), ignored -> new ArrayList<>())
+                            .add(((Number) columns[1]).longValue());
+                }
+            } finally {
+                vulnIdsQuery.closeAll();
+            }
+            if (vulnIdsByVsId.isEmpty()) {
+                continue;
+            }
+
+            final var entries = new ArrayList<Entry>(vulnIdsByVsId.size());
+            final Query<?> vsQuery = pm.newQuery(Query.SQL, """
+                    SELECT "ID", "CPE23", "PART", "VENDOR", "PRODUCT", "VERSION", "UPDATE", "EDITION", "LANGUAGE"
+                         , "SWEDITION", "TARGETSW", "TARGETHW", "OTHER", "PURL_TYPE", "PURL_NAMESPACE", "PURL_NAME"
+                         , "VERSIONENDEXCLUDING", "VERSIONENDINCLUDING", "VERSIONSTARTEXCLUDING", "VERSIONSTARTINCLUDING"
+                      FROM "VULNERABLESOFTWARE"
+                     WHERE "ID" BETWEEN :windowStart AND :windowEnd
+                    """);
+            vsQuery.setNamedParameters(Map.of("windowStart", windowStart, "windowEnd", windowEnd));
+            try {
+                for (final Object row : vsQuery.executeList()) {
+                    final Object[] columns = (Object[]) row;
+                    final long vsId = ((Number) columns[0]).longValue();
+                    final List<Long> vulnIds = vulnIdsByVsId.get(vsId);
+                    if (vulnIds == null) {
+                        continue;
+                    }
+
+                    entries.add(createEntry(vsId,
+                            (String) columns[1], (String) columns[2], (String) columns[3], (String) columns[4],
+                            (String) columns[5], (String) columns[6], (String) columns[7], (String) columns[8],
+                            (String) columns[9], (String) columns[10], (String) columns[11], (String) columns[12],
+                            (String) columns[13], (String) columns[14], (String) columns[15],
+                            (String) columns[16], (String) columns[17], (String) columns[18], (String) columns[19],
+                            vulnIds.stream().mapToLong(Long::longValue).distinct().toArray()));
+                }
+            } finally {
+                vsQuery.closeAll();
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (final Entry entry : entries) {
+                    addEntry(entry);
+                    for (final long vulnId : entry.vulnIds()) {
+                        vsIdsByVulnId.merge(vulnId, new long[]{entry.vs().getId()}, VulnerableSoftwareIndex::concat);
+                        estimatedSizeBytes += 8;
+                    }
+                }
+                if (estimatedSizeBytes > maxMemoryBytes) {
+                    LOGGER.warn("""
+                            Vulnerable software index exceeded its memory budget of %d MiB while building; \
+                            Falling back to database queries. Consider increasing %s""".formatted(
+                            maxMemoryBytes / (1024 * 1024), ConfigKey.SCANNER_INTERNAL_INDEX_MAX_MEMORY_MB.getPropertyName()));
+                    state = State.OVER_BUDGET;
+                    return false;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        return true;
+    }
+
+    private void applyUpdate(final long vulnId, final List<Entry> entries) {
+        final long[] previousVsIds = vsIdsByVulnId.getOrDefault(vulnId, EMPTY_IDS);
+        final long[] currentVsIds = entries.stream().mapToLong(entry -> entry.vs().getId()).distinct().toArray();
+
+        for (final long vsId : previousVsIds) {
+            if (!contains(currentVsIds, vsId)) {
+                final Entry entry = entryById.get(vsId);
+                if (entry == null) {
+                    continue;
+                }
+
+                final long[] remainingVulnIds = Arrays.stream(entry.vulnIds()).filter(id -> id != vulnId).toArray();
+                removeEntry(entry);
+                if (remainingVulnIds.length > 0) {
+                    addEntry(entry.withVulnIds(remainingVulnIds));
+                }
+            }
+        }
+
+        for (final Entry newEntry : entries) {
+            final long vsId = newEntry.vs().getId();
+            final Entry existingEntry = entryById.get(vsId);
+            if (existingEntry == null) {
+                addEntry(newEntry.withVulnIds(new long[]{vulnId}));
+            } else if (!contains(existingEntry.vulnIds(), vulnId)) {
+                removeEntry(existingEntry);
+                addEntry(existingEntry.withVulnIds(concat(existingEntry.vulnIds(), new long[]{vulnId})));
+            }
+        }
+
+        estimatedSizeBytes -= 8L * previousVsIds.length;
+        if (currentVsIds.length > 0) {
+            vsIdsByVulnId.put(vulnId, currentVsIds);
+            estimatedSizeBytes += 8L * currentVsIds.length;
+        } else {
+            vsIdsByVulnId.remove(vulnId);
+        }
+    }
+
+    private void enforceBudget() {
+        if (state == State.READY && estimatedSizeBytes > maxMemoryBytes) {
+            LOGGER.warn("""
+                    Vulnerable software index exceeded its memory budget of %d MiB; \
+                    Falling back to database queries. Consider increasing %s""".formatted(
+                    maxMemoryBytes / (1024 * 1024), ConfigKey.SCANNER_INTERNAL_INDEX_MAX_MEMORY_MB.getPropertyName()));
+            clear();
+            state = State.OVER_BUDGET;
+        }
+    }
+
+    private void addEntry(final Entry entry) {
+        entryById.put(entry.vs().getId(), entry);
+        if (entry.vs().getVendor() != null && entry.vs().getProduct() != null) {
+            entriesByCpeKey.computeIfAbsent(new CpeKey(entry.vs().getVendor(), entry.vs().getProduct()), ignored -> new ArrayList<>())
+                    .add(entry);
+        }
+        if (entry.vs().getPurlType() != null) {
+            entriesByPurlKey.computeIfAbsent(new PurlKey(entry.vs().getPurlType(), entry.vs().getPurlNamespace(), entry.vs().getPurlName()), ignored -> new ArrayList<>())
+                    .add(entry);
+        }
+        estimatedSizeBytes += entry.estimateSizeBytes();
+    }
+
+    private void removeEntry(final Entry entry) {
+        entryById.remove(entry.vs().getId());
+        if (entry.vs().getVendor() != null && entry.vs().getProduct() != null) {
+            removeFromBucket(entriesByCpeKey, new CpeKey(entry.vs().getVendor(), entry.vs().getProduct()), entry);
+        }
+        if (entry.vs().getPurlType() != null) {
+            removeFromBucket(entriesByPurlKey, new PurlKey(entry.vs().getPurlType(), entry.vs().getPurlNamespace(), entry.vs().getPurlName()), entry);
+        }
+        estimatedSizeBytes -= entry.estimateSizeBytes();
+    }
+
+    private static <K> void removeFromBucket(final Map<K, List<Entry>> entriesByKey, final K key, final Entry entry) {
+        final List<Entry> entries = entriesByKey.get(key);
+        if (entries == null) {
+            return;
+        }
+
+        entries.removeIf(candidate -> candidate.vs().getId() == entry.vs().getId());
+        if (entries.isEmpty()) {
+            entriesByKey.remove(key);
+        }
+    }
+
+    private void clear() {
+        entryById.clear();
+        vsIdsByVulnId.clear();
+        entriesByCpeKey.clear();
+        entriesByPurlKey.clear();
+        estimatedSizeBytes = 0;
+    }
+
+    private static void addCpeCandidates(final Map<Long, Entry> candidateById, final Collection<Entry> entries,
+                                         final String cpePart, final String cpeVendor, final String cpeProduct) {
+        if (entries == null) {
+            return;
+        }
+
+        for (final Entry entry : entries) {
+            if (matchesCpeAttribute(entry.vs().getPart(), cpePart)
+                    && matchesCpeAttribute(entry.vs().getVendor(), cpeVendor)
+                    && matchesCpeAttribute(entry.vs().getProduct(), cpeProduct)) {
+                candidateById.putIfAbsent(entry.vs().getId(), entry);
+            }
+        }
+    }
+
+    /**
+     * @return The source attribute values that may match the given target attribute value,
+     * or {@code null} if any non-null source value matches.
+     */
+    private static List<String> cpeKeyCandidates(final String targetValue) {
+        if ("*".equals(targetValue)) {
+            return null;
+        } else if ("-".equals(targetValue)) {
+            return List.of("*", "-");
+        }
+        return List.of("*", targetValue);
+    }
+
+    /**
+     * Mirrors the CPE filter conditions used when querying the database for candidate {@link VulnerableSoftware}s.
+     */
+    private static boolean matchesCpeAttribute(final String sourceValue, final String targetValue) {
+        if (sourceValue == null) {
+            return false;
+        } else if ("*".equals(targetValue)) {
+            return true;
+        } else if ("-".equals(targetValue)) {
+            return "*".equals(sourceValue) || "-".equals(sourceValue);
+        }
+        return "*".equals(sourceValue) || sourceValue.equals(targetValue);
+    }
+
+    private static Entry createEntry(final long id, final String cpe23, final String part, final String vendor,
+                                     final String product, final String version, final String update,
+                                     final String edition, final String language, final String swEdition,
+                                     final String targetSw, final String targetHw, final String other,
+                                     final String purlType, final String purlNamespace, final String purlName,
+                                     final String versionEndExcluding, final String versionEndIncluding,
+                                     final String versionStartExcluding, final String versionStartIncluding,
+                                     final long[] vulnIds) {
+        final var vs = new VulnerableSoftware();
+        vs.setId(id);
+        vs.setCpe23(cpe23);
+        vs.setPart(part);
+        vs.setVendor(vendor);
+        vs.setProduct(product);
+        vs.setVersion(version);
+        vs.setUpdate(update);
+        vs.setEdition(edition);
+        vs.setLanguage(language);
+        vs.setSwEdition(swEdition);
+        vs.setTargetSw(targetSw);
+        vs.setTargetHw(targetHw);
+        vs.setOther(other);
+        vs.setPurlType(purlType);
+        vs.setPurlNamespace(purlNamespace);
+        vs.setPurlName(purlName);
+        vs.setVersionEndExcluding(versionEndExcluding);
+        vs.setVersionEndIncluding(versionEndIncluding);
+        vs.setVersionStartExcluding(versionStartExcluding);
+        vs.setVersionStartIncluding(versionStartIncluding);
+        return new Entry(vs, VersionRangeBounds.of(vs), vulnIds);
+    }
+
+    private static boolean contains(final long[] values, final long value) {
+        for (final long candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] concat(final long[] left, final long[] right) {
+        final long[] result = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, result, left.length, right.length);
+        return result;
+    }
+
+}
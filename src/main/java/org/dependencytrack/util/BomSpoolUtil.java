@@ -0,0 +1,134 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.util;
+
+import alpine.Config;
+import alpine.common.logging.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Spools uploaded BOMs to the data directory, such that they can be passed around
+ * by reference rather than being held in memory until they are processed.
+ *
+ * @since 4.14.0
+ */
+public final class BomSpoolUtil {
+
+    private static final Logger LOGGER = Logger.getLogger(BomSpoolUtil.class);
+    private static final Path SPOOL_DIR = Config.getInstance().getDataDirectorty().toPath().resolve("bom-uploads");
+
+    private BomSpoolUtil() { }
+
+    /**
+     * Copies the given {@link InputStream} to a new file in the spool directory.
+     *
+     * @param inputStream The {@link InputStream} to spool. Will not be closed.
+     * @return The spooled {@link File}
+     * @throws IOException When spooling failed. No file is left behind in this case.
+     */
+    public static File spool(final InputStream inputStream) throws IOException {
+        Files.createDirectories(SPOOL_DIR);
+        final Path spoolFile = Files.createTempFile(SPOOL_DIR, "bom-", ".upload");
+        try (final OutputStream outputStream = Files.newOutputStream(spoolFile)) {
+            inputStream.transferTo(outputStream);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+        return spoolFile.toFile();
+    }
+
+    /**
+     * Writes the given BOM bytes to a new file in the spool directory.
+     *
+     * @param bomBytes The BOM to spool
+     * @return The spooled {@link File}
+     * @throws IOException When spooling failed. No file is left behind in this case.
+     */
+    public static File spool(final byte[] bomBytes) throws IOException {
+        return spool(new ByteArrayInputStream(bomBytes));
+    }
+
+    /**
+     * Lists all BOMs currently in the spool directory.
+     *
+     * @return A {@link List} of spooled {@link File}s, with absolute paths
+     * @throws UncheckedIOException When listing the spool directory failed
+     * @since 4.14.0
+     */
+    public static List<File> getSpooledFiles() {
+        if (!Files.isDirectory(SPOOL_DIR)) {
+            return Collections.emptyList();
+        }
+
+        try (final Stream<Path> paths = Files.list(SPOOL_DIR)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .map(path -> path.toAbsolutePath().toFile())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a spooled BOM and encodes it in Base64, for inclusion in notifications.
+     *
+     * @param spoolFile The spooled {@link File}
+     * @return The Base64 encoded BOM, or {@code null} when the file could not be read
+     */
+    public static String encodeBase64(final File spoolFile) {
+        try {
+            return Base64.getEncoder().encodeToString(Files.readAllBytes(spoolFile.toPath()));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read spooled BOM %s".formatted(spoolFile), e);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes a spooled BOM. Failures are logged, but not propagated.
+     *
+     * @param spoolFile The spooled {@link File}; May be {@code null}
+     */
+    public static void delete(final File spoolFile) {
+        if (spoolFile == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(spoolFile.toPath());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete spooled BOM %s".formatted(spoolFile), e);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.util;
+
+import alpine.common.logging.Logger;
+import alpine.model.ConfigProperty;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import org.dependencytrack.model.BomValidationMode;
+import org.dependencytrack.model.ConfigPropertyConstants;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.model.Tag;
+import org.dependencytrack.persistence.QueryManager;
+
+import java.io.StringReader;
+import java.util.Set;
+
+import static org.dependencytrack.model.ConfigPropertyConstants.BOM_VALIDATION_MODE;
+import static org.dependencytrack.model.ConfigPropertyConstants.BOM_VALIDATION_TAGS_EXCLUSIVE;
+import static org.dependencytrack.model.ConfigPropertyConstants.BOM_VALIDATION_TAGS_INCLUSIVE;
+
+/**
+ * @since 4.14.0
+ */
+public final class BomValidationUtil {
+
+    private static final Logger LOGGER = Logger.getLogger(BomValidationUtil.class);
+
+    private BomValidationUtil() { }
+
+    /**
+     * Determines whether BOMs uploaded to a given {@link Project} shall be validated,
+     * based on the configured {@link BomValidationMode} and the project's tags.
+     *
+     * @param qm      The {@link QueryManager} to use
+     * @param project The {@link Project} the BOM was uploaded to
+     * @return {@code true} when the BOM shall be validated, otherwise {@code false}
+     */
+    public static boolean shouldValidate(final QueryManager qm, final Project project) {
+        final ConfigProperty validationModeProperty = qm.getConfigProperty(
+                BOM_VALIDATION_MODE.getGroupName(),
+                BOM_VALIDATION_MODE.getPropertyName()
+        );
+
+        var validationMode = BomValidationMode.valueOf(BOM_VALIDATION_MODE.getDefaultPropertyValue());
+        try {
+            validationMode = BomValidationMode.valueOf(validationModeProperty.getPropertyValue());
+        } catch (RuntimeException e) {
+            LOGGER.warn("""
+                    No BOM validation mode configured, or configured value is invalid; \
+                    Assuming default mode %s""".formatted(validationMode), e);
+        }
+
+        if (validationMode == BomValidationMode.ENABLED) {
+            LOGGER.debug("Validating BOM because validation is enabled globally");
+            return true;
+        } else if (validationMode == BomValidationMode.DISABLED) {
+            LOGGER.debug("Not validating BOM because validation is disabled globally");
+            return false;
+        }
+
+        // Other modes depend on tags. Does the project even have tags?
+        if (project.getTags() == null || project.getTags().isEmpty()) {
+            return validationMode == BomValidationMode.DISABLED_FOR_TAGS;
+        }
+
+        final ConfigPropertyConstants tagsPropertyConstant = validationMode == BomValidationMode.ENABLED_FOR_TAGS
+                ? BOM_VALIDATION_TAGS_INCLUSIVE
+                : BOM_VALIDATION_TAGS_EXCLUSIVE;
+        final ConfigProperty tagsProperty = qm.getConfigProperty(
+                tagsPropertyConstant.getGroupName(),
+                tagsPropertyConstant.getPropertyName()
+        );
+
+        final Set<String> validationModeTags;
+        try {
+            final JsonReader jsonParser = Json.createReader(new StringReader(tagsProperty.getPropertyValue()));
+            final JsonArray jsonArray = jsonParser.readArray();
+            validationModeTags = Set.copyOf(jsonArray.getValuesAs(JsonString::getString));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Tags of property %s:%s could not be parsed as JSON array"
+                    .formatted(tagsPropertyConstant.getGroupName(), tagsPropertyConstant.getPropertyName()), e);
+            return validationMode == BomValidationMode.DISABLED_FOR_TAGS;
+        }
+
+        final boolean doTagsMatch = project.getTags().stream()
+                .map(Tag::getName)
+                .anyMatch(validationModeTags::contains);
+        return (validationMode == BomValidationMode.ENABLED_FOR_TAGS && doTagsMatch)
+                || (validationMode == BomValidationMode.DISABLED_FOR_TAGS && !doTagsMatch);
+    }
+
+}
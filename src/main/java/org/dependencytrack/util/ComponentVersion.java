@@ -19,6 +19,7 @@
 package org.dependencytrack.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -26,9 +27,16 @@ import java.util.regex.Pattern;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import alpine.Config;
+import alpine.common.metrics.Metrics;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import static alpine.Config.AlpineKey.METRICS_ENABLED;
+
 /**
  * <p>
  * Simple object to track the parts of a version number. The parts are contained
@@ -48,6 +56,20 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 @NotThreadSafe
 public class ComponentVersion implements Iterable<String>, Comparable<ComponentVersion> {
 
+    // https://github.com/DependencyTrack/dependency-track/issues/1374
+    private static final Pattern DEB_VERSION_PATTERN = Pattern.compile("^([0-9]+:)?(.*)(-[^-]+ubuntu[^-]+)$");
+
+    private static final Pattern VERSION_PART_PATTERN = Pattern.compile(
+            "(\\d+[a-z]{1,3}$|[a-z]{1,3}[_-]?\\d+|\\d+|(rc|release|snapshot|beta|alpha)$)",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Bounded cache of parsed version parts, keyed by the raw version string.
+     * Used by {@link #ofCached(String)} so that frequently compared versions,
+     * like the bounds of vulnerable version ranges, are only parsed once.
+     */
+    private static final LoadingCache<String, List<String>> PARSED_VERSION_CACHE = buildCache();
+
     /**
      * A list of the version parts.
      */
@@ -81,25 +103,107 @@ public class ComponentVersion implements Iterable<String>, Comparable<ComponentV
     public final void parseVersion(String version) {
         versionParts = new ArrayList<>();
         if (version != null) {
-            // https://github.com/DependencyTrack/dependency-track/issues/1374
-            // handle deb versions
-            String lcVersion = version.toLowerCase();
-            final Pattern debrx = Pattern.compile("^([0-9]+:)?(.*)(-[^-]+ubuntu[^-]+)$");
-            final Matcher debmatcher = debrx.matcher(lcVersion);
+            tokenize(version, versionParts);
+        }
+    }
+
+    /**
+     * Creates a {@link ComponentVersion} for the given version string, re-using
+     * previously parsed version parts if available.
+     * <p>
+     * The version parts of the returned object are immutable, and will be shared
+     * with other instances created for the same version string.
+     *
+     * @param version the version string to parse
+     * @return a {@link ComponentVersion}
+     * @since 4.14.0
+     */
+    public static ComponentVersion ofCached(final String version) {
+        final var componentVersion = new ComponentVersion();
+        componentVersion.versionParts = version != null
+                ? PARSED_VERSION_CACHE.get(version)
+                : Collections.emptyList();
+        return componentVersion;
+    }
+
+    private static void tokenize(final String version, final List<String> parts) {
+        String lcVersion = version.toLowerCase();
+
+        // Only Ubuntu deb versions can match the deb pattern, so avoid
+        // running the (backtracking-heavy) regex for everything else.
+        if (lcVersion.contains("ubuntu")) {
+            final Matcher debmatcher = DEB_VERSION_PATTERN.matcher(lcVersion);
             if (debmatcher.matches()) {
                 lcVersion = debmatcher.group(2);
             }
+        }
 
-            final Pattern rx = Pattern.compile("(\\d+[a-z]{1,3}$|[a-z]{1,3}[_-]?\\d+|\\d+|(rc|release|snapshot|beta|alpha)$)",
-                    Pattern.CASE_INSENSITIVE);
-            final Matcher matcher = rx.matcher(lcVersion);
+        if (!containsAsciiLetter(lcVersion)) {
+            // Without letters, only the plain \d+ alternative of VERSION_PART_PATTERN
+            // can ever match, so the parts are simply the runs of digits.
+            int start = -1;
+            for (int i = 0; i < lcVersion.length(); i++) {
+                if (isAsciiDigit(lcVersion.charAt(i))) {
+                    if (start < 0) {
+                        start = i;
+                    }
+                } else if (start >= 0) {
+                    parts.add(lcVersion.substring(start, i));
+                    start = -1;
+                }
+            }
+            if (start >= 0) {
+                parts.add(lcVersion.substring(start));
+            }
+        } else {
+            final Matcher matcher = VERSION_PART_PATTERN.matcher(lcVersion);
             while (matcher.find()) {
-                versionParts.add(matcher.group());
+                parts.add(matcher.group());
             }
-            if (versionParts.isEmpty()) {
-                versionParts.add(version);
+        }
+
+        if (parts.isEmpty()) {
+            parts.add(version);
+        }
+    }
+
+    private static boolean containsAsciiLetter(final String str) {
+        for (int i = 0; i < str.length(); i++) {
+            final char c = str.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                return true;
             }
         }
+        return false;
+    }
+
+    private static boolean isAsciiDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static LoadingCache<String, List<String>> buildCache() {
+        final boolean metricsEnabled = Config.getInstance()
+                .getPropertyAsBoolean(METRICS_ENABLED);
+
+        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+                .maximumSize(10_000);
+        if (metricsEnabled) {
+            cacheBuilder.recordStats();
+        }
+
+        final LoadingCache<String, List<String>> cache = cacheBuilder
+                .build(version -> {
+                    final var parts = new ArrayList<String>();
+                    tokenize(version, parts);
+                    return List.copyOf(parts);
+                });
+
+        if (metricsEnabled) {
+            new CaffeineCacheMetrics<>(cache, "dtrack_component_versions", Collections.emptyList())
+                    .bindTo(Metrics.getRegistry());
+        }
+
+        return cache;
     }
 
     /**
@@ -21,6 +21,7 @@ package org.dependencytrack;
 import alpine.Config;
 import alpine.server.persistence.PersistenceManagerFactory;
 import org.dependencytrack.persistence.QueryManager;
+import org.dependencytrack.tasks.scanners.VulnerabilityAnalysisResultCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,6 +58,9 @@ public abstract class PersistenceCapableTest {
         }
 
         PersistenceManagerFactory.tearDown();
+
+        // Cached analysis results refer to database records that no longer exist.
+        VulnerabilityAnalysisResultCache.invalidateAll();
     }
 
 }
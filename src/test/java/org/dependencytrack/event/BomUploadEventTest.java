@@ -19,19 +19,27 @@
 package org.dependencytrack.event;
 
 import org.dependencytrack.model.Project;
+import org.dependencytrack.util.BomSpoolUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+
 class BomUploadEventTest {
 
     @Test
-    void testByteArrayConstructor() {
+    void testFileConstructor() throws Exception {
         var project = new Project();
         byte[] bom = "testing".getBytes();
-        BomUploadEvent event = new BomUploadEvent(project, bom);
-        Assertions.assertEquals(project, event.getProject());
-        Assertions.assertNotEquals(bom, event.getBom()); // should be a cloned byte array - not the same reference
-        Assertions.assertTrue(event.getBom().length > 0);
+        BomUploadEvent event = new BomUploadEvent(project, BomSpoolUtil.spool(bom));
+        try {
+            Assertions.assertEquals(project, event.getProject());
+            Assertions.assertTrue(event.getFile().exists()); // should be spooled to disk
+            Assertions.assertArrayEquals(bom, Files.readAllBytes(event.getFile().toPath()));
+        } finally {
+            BomSpoolUtil.delete(event.getFile());
+        }
+        Assertions.assertFalse(event.getFile().exists());
     }
 
 }
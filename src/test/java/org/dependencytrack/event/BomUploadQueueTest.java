@@ -0,0 +1,146 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.event;
+
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.model.Project;
+import org.dependencytrack.util.BomSpoolUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.apache.commons.io.IOUtils.resourceToByteArray;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.awaitility.Awaitility.await;
+
+class BomUploadQueueTest extends PersistenceCapableTest {
+
+    @Test
+    void testEnqueueSupersedesPendingUploadOfSameProject() throws Exception {
+        final var queue = new BomUploadQueue(1, 10, 30);
+        final Project project = qm.createProject("acme-app", null, "1.0", null, null, null, true, false);
+
+        final File fileA = BomSpoolUtil.spool("{}".getBytes());
+        final UUID tokenA = queue.enqueue(project, fileA);
+        assertThat(queue.isProcessing(tokenA)).isTrue();
+
+        final File fileB = BomSpoolUtil.spool("{}".getBytes());
+        final UUID tokenB = queue.enqueue(project, fileB);
+        assertThat(queue.isProcessing(tokenB)).isTrue();
+        assertThat(fileA).doesNotExist();
+        assertThat(fileB).exists();
+
+        // The superseded upload reports the status of the upload that superseded it.
+        assertThat(queue.isProcessing(tokenA)).isTrue();
+
+        final File fileC = BomSpoolUtil.spool("{}".getBytes());
+        final UUID tokenC = queue.enqueue(project, fileC);
+        assertThat(queue.isProcessing(tokenC)).isTrue();
+        assertThat(fileB).doesNotExist();
+
+        qm.getPersistenceManager().evictAll();
+        assertThat(qm.getBomUpload(tokenA).getSupersededBy()).isEqualTo(tokenC);
+        assertThat(qm.getBomUpload(tokenB).getSupersededBy()).isEqualTo(tokenC);
+        assertThat(qm.getPendingBomUploadCount()).isEqualTo(1);
+        assertThat(qm.getOldestPendingBomUploadDate()).isEqualTo(qm.getBomUpload(tokenC).getUploaded());
+
+        // Once the superseding upload is processed, superseded uploads are no longer processing either.
+        qm.runInTransaction(() -> qm.deleteBomUpload(tokenC));
+        assertThat(queue.isProcessing(tokenA)).isFalse();
+        assertThat(queue.isProcessing(tokenB)).isFalse();
+
+        BomSpoolUtil.delete(fileC);
+    }
+
+    @Test
+    void testEnqueueWhenFull() throws Exception {
+        final var queue = new BomUploadQueue(1, 1, 30);
+        final Project projectA = qm.createProject("acme-app-a", null, "1.0", null, null, null, true, false);
+        final Project projectB = qm.createProject("acme-app-b", null, "1.0", null, null, null, true, false);
+
+        final File fileA = BomSpoolUtil.spool("{}".getBytes());
+        queue.enqueue(projectA, fileA);
+
+        final File fileB = BomSpoolUtil.spool("{}".getBytes());
+        assertThatExceptionOfType(BomUploadQueue.QueueFullException.class)
+                .isThrownBy(() -> queue.enqueue(projectB, fileB))
+                .satisfies(exception -> assertThat(exception.getRetryAfterSeconds()).isEqualTo(30));
+        assertThatExceptionOfType(BomUploadQueue.QueueFullException.class)
+                .isThrownBy(() -> queue.checkCapacity(projectB));
+
+        // Superseding an upload does not grow the queue, and is thus still possible.
+        assertThatNoException().isThrownBy(() -> queue.checkCapacity(projectA));
+        final File fileC = BomSpoolUtil.spool("{}".getBytes());
+        queue.enqueue(projectA, fileC);
+        assertThat(qm.getPendingBomUploadCount()).isEqualTo(1);
+
+        BomSpoolUtil.delete(fileB);
+        BomSpoolUtil.delete(fileC);
+    }
+
+    @Test
+    void testStartProcessesPendingUploads() throws Exception {
+        final var queue = new BomUploadQueue(1, 10, 30);
+        final Project project = qm.createProject("acme-app", null, "1.0", null, null, null, true, false);
+
+        final File file = BomSpoolUtil.spool(resourceToByteArray("/unit/bom-1.xml"));
+        final UUID token = queue.enqueue(project, file);
+
+        queue.start();
+        try {
+            await("BOM upload processing")
+                    .atMost(Duration.ofSeconds(15))
+                    .untilAsserted(() -> assertThat(qm.isBomUploadQueued(token)).isFalse());
+        } finally {
+            queue.shutdown(Duration.ofSeconds(5));
+        }
+
+        assertThat(file).doesNotExist();
+        assertThat(qm.getAllComponents(project)).isNotEmpty();
+    }
+
+    @Test
+    void testStartPurgesUploadsSupersededByProcessedUploads() throws Exception {
+        final var queue = new BomUploadQueue(1, 10, 30);
+        final Project project = qm.createProject("acme-app", null, "1.0", null, null, null, true, false);
+
+        final UUID supersededToken = queue.enqueue(project, BomSpoolUtil.spool(resourceToByteArray("/unit/bom-1.xml")));
+        final UUID token = queue.enqueue(project, BomSpoolUtil.spool(resourceToByteArray("/unit/bom-1.xml")));
+
+        queue.start();
+        try {
+            await("Purge of superseded BOM upload")
+                    .atMost(Duration.ofSeconds(30))
+                    .untilAsserted(() -> {
+                        qm.getPersistenceManager().evictAll();
+                        assertThat(qm.getBomUpload(supersededToken)).isNull();
+                    });
+        } finally {
+            queue.shutdown(Duration.ofSeconds(5));
+        }
+
+        assertThat(queue.isProcessing(supersededToken)).isFalse();
+        assertThat(queue.isProcessing(token)).isFalse();
+    }
+
+}
@@ -18,6 +18,7 @@
  */
 package org.dependencytrack.event;
 
+import alpine.event.framework.Event;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.License;
 import org.dependencytrack.model.Project;
@@ -31,6 +32,9 @@ import org.dependencytrack.search.document.VulnerableSoftwareDocument;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.UUID;
+
 class IndexEventTest {
 
     @Test
@@ -89,12 +93,61 @@ class IndexEventTest {
 
     @Test
     void testActions() {
-        Assertions.assertEquals(6, IndexEvent.Action.values().length);
+        Assertions.assertEquals(7, IndexEvent.Action.values().length);
         Assertions.assertEquals("CREATE", IndexEvent.Action.CREATE.name());
         Assertions.assertEquals("UPDATE", IndexEvent.Action.UPDATE.name());
         Assertions.assertEquals("DELETE", IndexEvent.Action.DELETE.name());
         Assertions.assertEquals("COMMIT", IndexEvent.Action.COMMIT.name());
         Assertions.assertEquals("REINDEX", IndexEvent.Action.REINDEX.name());
         Assertions.assertEquals("CHECK", IndexEvent.Action.CHECK.name());
+        Assertions.assertEquals("BATCH", IndexEvent.Action.BATCH.name());
+    }
+
+    @Test
+    void testCoalesce() {
+        final var componentA = new Component();
+        componentA.setUuid(UUID.randomUUID());
+        componentA.setName("acme-lib-a");
+        final var componentB = new Component();
+        componentB.setUuid(UUID.randomUUID());
+        final var componentC = new Component();
+        componentC.setUuid(UUID.randomUUID());
+        final var componentD = new Component();
+        componentD.setUuid(UUID.randomUUID());
+        final var project = new Project();
+        project.setUuid(UUID.randomUUID());
+
+        final var projectEvent = new IndexEvent(IndexEvent.Action.UPDATE, project);
+        final var otherEvent = new ProjectMetricsUpdateEvent(project.getUuid());
+        final var commitEvent = new IndexEvent(IndexEvent.Action.COMMIT, Component.class);
+
+        final List<Event> events = IndexEvent.coalesce(List.of(
+                new IndexEvent(IndexEvent.Action.CREATE, componentA),
+                projectEvent,
+                new IndexEvent(IndexEvent.Action.CREATE, componentB),
+                new IndexEvent(IndexEvent.Action.UPDATE, componentA),
+                new IndexEvent(IndexEvent.Action.DELETE, componentB),
+                otherEvent,
+                new IndexEvent(IndexEvent.Action.DELETE, componentC),
+                new IndexEvent(IndexEvent.Action.CREATE, componentC),
+                new IndexEvent(IndexEvent.Action.CREATE, componentD),
+                commitEvent));
+
+        Assertions.assertEquals(4, events.size());
+        final var batchEvent = Assertions.assertInstanceOf(IndexEvent.class, events.get(0));
+        Assertions.assertEquals(IndexEvent.Action.BATCH, batchEvent.getAction());
+        Assertions.assertEquals(Component.class, batchEvent.getIndexableClass());
+        Assertions.assertEquals(4, batchEvent.getEvents().size());
+        Assertions.assertEquals(IndexEvent.Action.UPDATE, batchEvent.getEvents().get(0).getAction());
+        Assertions.assertEquals(new ComponentDocument(componentA), batchEvent.getEvents().get(0).getDocument());
+        Assertions.assertEquals(IndexEvent.Action.DELETE, batchEvent.getEvents().get(1).getAction());
+        Assertions.assertEquals(componentB.getUuid(), batchEvent.getEvents().get(1).getDocument().uuid());
+        Assertions.assertEquals(IndexEvent.Action.UPDATE, batchEvent.getEvents().get(2).getAction());
+        Assertions.assertEquals(componentC.getUuid(), batchEvent.getEvents().get(2).getDocument().uuid());
+        Assertions.assertEquals(IndexEvent.Action.CREATE, batchEvent.getEvents().get(3).getAction());
+        Assertions.assertEquals(componentD.getUuid(), batchEvent.getEvents().get(3).getDocument().uuid());
+        Assertions.assertSame(projectEvent, events.get(1));
+        Assertions.assertSame(otherEvent, events.get(2));
+        Assertions.assertSame(commitEvent, events.get(3));
     }
 }
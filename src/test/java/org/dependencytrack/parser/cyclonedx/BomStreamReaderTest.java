@@ -0,0 +1,161 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.cyclonedx;
+
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BomStreamReaderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testReadJson() throws Exception {
+        final File file = writeFile("bom.json", """
+                {
+                  "components": [
+                    {
+                      "type": "library",
+                      "name": "acme-lib-a",
+                      "components": [
+                        {
+                          "type": "library",
+                          "name": "acme-lib-a-child"
+                        }
+                      ]
+                    },
+                    {
+                      "type": "library",
+                      "name": "acme-lib-b"
+                    },
+                    {
+                      "type": "library",
+                      "name": "acme-lib-c"
+                    }
+                  ],
+                  "bomFormat": "CycloneDX",
+                  "specVersion": "1.5",
+                  "metadata": {
+                    "component": {
+                      "type": "application",
+                      "name": "acme-app",
+                      "components": [
+                        {
+                          "type": "library",
+                          "name": "acme-lib-metadata-a"
+                        },
+                        {
+                          "type": "library",
+                          "name": "acme-lib-metadata-b"
+                        }
+                      ]
+                    }
+                  },
+                  "dependencies": [
+                    {
+                      "ref": "acme-app"
+                    }
+                  ]
+                }
+                """);
+
+        assertRead(file, "acme-lib-metadata-a", "acme-lib-metadata-b");
+    }
+
+    @Test
+    void testReadXml() throws Exception {
+        final File file = writeFile("bom.xml", """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <bom xmlns="http://cyclonedx.org/schema/bom/1.5" version="1">
+                    <metadata>
+                        <component type="application">
+                            <name>acme-app</name>
+                        </component>
+                    </metadata>
+                    <components>
+                        <component type="library">
+                            <name>acme-lib-a</name>
+                            <components>
+                                <component type="library">
+                                    <name>acme-lib-a-child</name>
+                                </component>
+                            </components>
+                        </component>
+                        <component type="library">
+                            <name>acme-lib-b</name>
+                        </component>
+                        <component type="library">
+                            <name>acme-lib-c</name>
+                        </component>
+                    </components>
+                    <dependencies>
+                        <dependency ref="acme-app"/>
+                    </dependencies>
+                </bom>
+                """);
+
+        // NB: Components nested in metadata/component are not covered here, because
+        // the XML parser of cyclonedx-core-java fails to deserialize them.
+        assertRead(file);
+    }
+
+    private static void assertRead(final File file, final String... expectedMetadataComponentNames) throws Exception {
+        final BomStreamReader reader = BomStreamReader.create(file);
+
+        final Bom bom = reader.readWithoutComponents();
+        assertThat(bom.getComponents()).isNullOrEmpty();
+        assertThat(bom.getMetadata().getComponent().getName()).isEqualTo("acme-app");
+        if (expectedMetadataComponentNames.length > 0) {
+            assertThat(bom.getMetadata().getComponent().getComponents()).extracting(Component::getName)
+                    .containsExactly(expectedMetadataComponentNames);
+        } else {
+            assertThat(bom.getMetadata().getComponent().getComponents()).isNullOrEmpty();
+        }
+        assertThat(bom.getDependencies()).hasSize(1);
+
+        final var batches = new ArrayList<List<Component>>();
+        reader.readComponents(2, batches::add);
+        assertThat(batches).satisfiesExactly(
+                batch -> {
+                    assertThat(batch).extracting(Component::getName).containsExactly("acme-lib-a", "acme-lib-b");
+                    assertThat(batch.get(0).getComponents()).extracting(Component::getName)
+                            .containsExactly("acme-lib-a-child");
+                },
+                batch -> assertThat(batch).extracting(Component::getName).containsExactly("acme-lib-c"));
+    }
+
+    private File writeFile(final String fileName, final String content) throws Exception {
+        final Path path = tempDir.resolve(fileName);
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path.toFile();
+    }
+
+}
@@ -19,8 +19,10 @@
 package org.dependencytrack.parser.cyclonedx;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junitpioneer.jupiter.DefaultLocale;
@@ -183,6 +185,37 @@ class CycloneDxValidatorTest {
                                 valid with respect to its type, 'classification'.""");
     }
 
+    @Test
+    void testValidateXmlFileWithInvalidComponentType(@TempDir final Path tempDir) throws Exception {
+        final Path bomFile = tempDir.resolve("bom.xml");
+        Files.writeString(bomFile, """
+                <?xml version="1.0"?>
+                 <bom serialNumber="urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79" version="1" xmlns="http://cyclonedx.org/schema/bom/1.2">
+                     <components>
+                         <component type="foo">
+                             <name>acme-library</name>
+                             <version>1.0.0</version>
+                         </component>
+                         <component type="bar">
+                             <name>acme-library</name>
+                             <version>2.0.0</version>
+                         </component>
+                     </components>
+                 </bom>
+                """);
+
+        // Validate repeatedly to ensure that the cached schema is reusable.
+        for (int i = 0; i < 2; i++) {
+            assertThatExceptionOfType(InvalidBomException.class)
+                    .isThrownBy(() -> validator.validate(bomFile.toFile()))
+                    .withMessage("Schema validation failed")
+                    .extracting(InvalidBomException::getValidationErrors, InstanceOfAssertFactories.list(String.class))
+                    .hasSize(4)
+                    .anySatisfy(error -> assertThat(error).startsWith("cvc-enumeration-valid: Value 'foo'"))
+                    .anySatisfy(error -> assertThat(error).startsWith("cvc-enumeration-valid: Value 'bar'"));
+        }
+    }
+
     @Test
         // https://github.com/DependencyTrack/dependency-track/issues/3696
     void testValidateJsonWithSpecVersionAtTheBottom() {
@@ -0,0 +1,75 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.parser.epss;
+
+import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.model.Vulnerability;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EpssParserTest extends PersistenceCapableTest {
+
+    @Test
+    void testParseUpdatesOnlyChangedScores() throws Exception {
+        final var vulnA = new Vulnerability();
+        vulnA.setVulnId("CVE-2024-0001");
+        vulnA.setSource(Vulnerability.Source.NVD);
+        qm.persist(vulnA);
+
+        final var vulnB = new Vulnerability();
+        vulnB.setVulnId("CVE-2024-0002");
+        vulnB.setSource(Vulnerability.Source.NVD);
+        vulnB.setEpssScore(new BigDecimal("0.00043"));
+        vulnB.setEpssPercentile(new BigDecimal("0.08931"));
+        qm.persist(vulnB);
+
+        final var vulnC = new Vulnerability();
+        vulnC.setVulnId("CVE-2024-0003");
+        vulnC.setSource(Vulnerability.Source.GITHUB);
+        qm.persist(vulnC);
+
+        final String csv = """
+                #model_version:v2023.03.01,score_date:2024-01-01T00:00:00+0000
+                cve,epss,percentile
+                CVE-2024-0001,0.12345,0.98765
+                CVE-2024-0002,0.000430000,0.089310000
+                CVE-2024-0003,0.5,0.5
+                CVE-2024-0004,0.1,0.1
+                """;
+
+        final EpssParser.ImportStats stats = new EpssParser().parse(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        assertThat(stats.rowsProcessed()).isEqualTo(4);
+        assertThat(stats.rowsUpdated()).isEqualTo(1);
+        assertThat(stats.rowsUnchanged()).isEqualTo(3);
+
+        qm.getPersistenceManager().evictAll();
+        assertThat(qm.getVulnerabilityByVulnId(Vulnerability.Source.NVD, "CVE-2024-0001")).satisfies(vuln -> {
+            assertThat(vuln.getEpssScore()).isEqualByComparingTo("0.12345");
+            assertThat(vuln.getEpssPercentile()).isEqualByComparingTo("0.98765");
+        });
+        assertThat(qm.getVulnerabilityByVulnId(Vulnerability.Source.GITHUB, "CVE-2024-0003").getEpssScore()).isNull();
+    }
+
+}
@@ -132,4 +132,84 @@ class ProjectQueryManagerTest extends PersistenceCapableTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void testGetProjectsWithMetricsUsesMostRecentMetrics() {
+        final Project projectA = qm.createProject("Acme Application A", null, "1.0", null, null, null, true, false);
+        final Project projectB = qm.createProject("Acme Application B", null, "1.0", null, null, null, true, false);
+
+        final var olderMetrics = new ProjectMetrics();
+        olderMetrics.setProject(projectA);
+        olderMetrics.setCritical(1);
+        olderMetrics.setFirstOccurrence(new Date(1000));
+        olderMetrics.setLastOccurrence(new Date(1000));
+        qm.persist(olderMetrics);
+
+        final var newerMetrics = new ProjectMetrics();
+        newerMetrics.setProject(projectA);
+        newerMetrics.setCritical(2);
+        newerMetrics.setFirstOccurrence(new Date(2000));
+        newerMetrics.setLastOccurrence(new Date(2000));
+        qm.persist(newerMetrics);
+
+        List<Project> projects = qm.getProjects(true).getList(Project.class);
+        Assertions.assertEquals(2, projects.size());
+        Assertions.assertEquals(2, projects.get(0).getMetrics().getCritical());
+        Assertions.assertNull(projects.get(1).getMetrics());
+
+        // Metrics updates that do not change anything only bump the lastOccurrence of the existing metrics.
+        qm.runInTransaction(() -> olderMetrics.setLastOccurrence(new Date(3000)));
+
+        projects = qm.getProjects(true).getList(Project.class);
+        Assertions.assertEquals(projectA.getUuid(), projects.get(0).getUuid());
+        Assertions.assertEquals(1, projects.get(0).getMetrics().getCritical());
+        Assertions.assertEquals(projectB.getUuid(), projects.get(1).getUuid());
+        Assertions.assertNull(projects.get(1).getMetrics());
+    }
+
+    @Test
+    void testProjectHierarchyIsMaintainedOnParentChanges() {
+        final Project projectA = qm.createProject("Acme Application A", null, "1.0", null, null, null, true, false);
+        final Project projectB = qm.createProject("Acme Application B", null, "1.0", null, projectA, null, true, false);
+        final Project projectC = qm.createProject("Acme Application C", null, "1.0", null, projectB, null, false, false);
+        final Project projectD = qm.createProject("Acme Application D", null, "1.0", null, null, null, true, false);
+
+        Assertions.assertEquals(List.of(projectB.getId(), projectA.getId()), qm.getAncestorProjectIds(projectC));
+        Assertions.assertTrue(qm.isDescendantOfProject(projectC, projectA));
+        Assertions.assertFalse(qm.isDescendantOfProject(projectA, projectC));
+        Assertions.assertTrue(qm.hasActiveDescendant(projectA));
+        Assertions.assertFalse(qm.hasActiveDescendant(projectB));
+
+        // Move B (including its child C) from A to D.
+        final var transientProjectB = new Project();
+        transientProjectB.setName(projectB.getName());
+        transientProjectB.setVersion(projectB.getVersion());
+        transientProjectB.setUuid(projectB.getUuid());
+        transientProjectB.setActive(true);
+        transientProjectB.setParent(projectD);
+        qm.updateProject(transientProjectB, false);
+
+        Assertions.assertEquals(List.of(projectB.getId(), projectD.getId()), qm.getAncestorProjectIds(projectC));
+        Assertions.assertFalse(qm.isDescendantOfProject(projectC, projectA));
+        Assertions.assertFalse(qm.hasActiveDescendant(projectA));
+        Assertions.assertTrue(qm.hasActiveDescendant(projectD));
+        Assertions.assertEquals(List.of(projectC.getId(), projectB.getId()),
+                qm.getDescendantProjects(projectD).stream().map(Project::getId).toList());
+
+        // A project must not be moved below one of its own descendants.
+        final var transientProjectD = new Project();
+        transientProjectD.setName(projectD.getName());
+        transientProjectD.setVersion(projectD.getVersion());
+        transientProjectD.setUuid(projectD.getUuid());
+        transientProjectD.setActive(true);
+        transientProjectD.setParent(projectC);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> qm.updateProject(transientProjectD, false));
+
+        qm.recursivelyDelete(projectD, false);
+        Assertions.assertNull(qm.getObjectByUuid(Project.class, projectB.getUuid()));
+        Assertions.assertNull(qm.getObjectByUuid(Project.class, projectC.getUuid()));
+        Assertions.assertFalse(qm.rebuildProjectHierarchyIfNecessary());
+        Assertions.assertTrue(qm.getDescendantProjects(projectA).isEmpty());
+    }
+
+}
@@ -21,6 +21,8 @@ package org.dependencytrack.policy;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.regex.PatternSyntaxException;
+
 class MatcherTest {
 
     @Test
@@ -54,4 +56,19 @@ class MatcherTest {
         Assertions.assertTrue(Matcher.matches("something", "^some.*"));
         Assertions.assertTrue(Matcher.matches("something", ".*thing$"));
     }
+
+    @Test
+    void checkRepeatedEvaluation() {
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertTrue(Matcher.matches("pkg:maven/com.acme/acme-lib@1.0.0", "com.acme/acme-*"));
+            Assertions.assertFalse(Matcher.matches("pkg:maven/org.acme/acme-lib@1.0.0", "com.acme/acme-*"));
+        }
+    }
+
+    @Test
+    void checkInvalidRegex() {
+        // Invalid patterns must fail consistently, rather than being cached.
+        Assertions.assertThrows(PatternSyntaxException.class, () -> Matcher.matches("something", "^some(thing"));
+        Assertions.assertThrows(PatternSyntaxException.class, () -> Matcher.matches("something", "^some(thing"));
+    }
 }
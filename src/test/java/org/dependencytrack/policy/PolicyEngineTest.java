@@ -24,6 +24,7 @@ import alpine.notification.NotificationService;
 import alpine.notification.Subscriber;
 import alpine.notification.Subscription;
 import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.model.AnalysisState;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.License;
 import org.dependencytrack.model.LicenseGroup;
@@ -172,6 +173,45 @@ class PolicyEngineTest extends PersistenceCapableTest {
         Assertions.assertEquals(1, violations.size());
     }
 
+    @Test
+    void evaluateComponentsOfMultipleProjects() {
+        Policy policy = qm.createPolicy("Test Policy", Operator.ANY, ViolationState.INFO);
+        qm.createPolicyCondition(policy, Subject.SEVERITY, PolicyCondition.Operator.IS, Severity.CRITICAL.name());
+        Project projectA = qm.createProject("Project A", null, "1", null, null, null, true, false);
+        Project projectB = qm.createProject("Project B", null, "1", null, null, null, true, false);
+        policy.setProjects(List.of(projectA));
+        qm.persist(policy);
+        Vulnerability vulnerability = new Vulnerability();
+        vulnerability.setVulnId("12345");
+        vulnerability.setSource(Vulnerability.Source.INTERNAL);
+        vulnerability.setSeverity(Severity.CRITICAL);
+        qm.persist(vulnerability);
+
+        final var components = new ArrayList<Component>();
+        for (final Project project : List.of(projectA, projectB)) {
+            for (int i = 0; i < 2; i++) {
+                Component component = new Component();
+                component.setName("Test Component " + i);
+                component.setVersion("1.0");
+                component.setProject(project);
+                qm.persist(component);
+                qm.addVulnerability(vulnerability, component, AnalyzerIdentity.INTERNAL_ANALYZER);
+                components.add(component);
+            }
+        }
+
+        // Suppressed vulnerabilities must not cause violations.
+        qm.makeAnalysis(components.get(1), vulnerability, AnalysisState.FALSE_POSITIVE, null, null, null, true);
+
+        PolicyEngine policyEngine = new PolicyEngine();
+        List<PolicyViolation> violations = policyEngine.evaluate(components);
+        assertThat(violations).satisfiesExactly(violation ->
+                assertThat(violation.getComponent().getId()).isEqualTo(components.get(0).getId()));
+        assertThat(qm.getAllPolicyViolations(components.get(0))).hasSize(1);
+        assertThat(qm.getAllPolicyViolations(components.get(1))).isEmpty();
+        assertThat(qm.getAllPolicyViolations(projectB)).isEmpty();
+    }
+
     @Test
     void noPolicyAssignedToParentProject() {
         Policy policy = qm.createPolicy("Test Policy", Operator.ANY, ViolationState.INFO);
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.policy;
+
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.Policy;
+import org.dependencytrack.model.PolicyCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the evaluation of 50 regular expression based {@link Policy}s against 10k {@link Component}s,
+ * as performed by {@link PolicyEngine} for the PURL subject.
+ * <p>
+ * Not executed as part of the regular test suite. Run it via {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PolicyEvaluationBenchmark {
+
+    private static final String[] NAMESPACES = {"com.acme", "org.apache.logging.log4j", "io.netty", "com.fasterxml.jackson.core", "org.springframework"};
+
+    private List<Policy> policies;
+    private List<Component> components;
+    private PackageURLPolicyEvaluator evaluator;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(666);
+
+        policies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final var condition = new PolicyCondition();
+            condition.setSubject(PolicyCondition.Subject.PACKAGE_URL);
+            condition.setOperator(i % 2 == 0 ? PolicyCondition.Operator.MATCHES : PolicyCondition.Operator.NO_MATCH);
+            condition.setValue("pkg:maven/%s/*-%d@*".formatted(NAMESPACES[i % NAMESPACES.length], i));
+
+            final var policy = new Policy();
+            policy.setName("policy-" + i);
+            policy.setPolicyConditions(List.of(condition));
+            condition.setPolicy(policy);
+            policies.add(policy);
+        }
+
+        components = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            final var component = new Component();
+            component.setPurl("pkg:maven/%s/lib-%d@%d.%d.%d".formatted(
+                    NAMESPACES[random.nextInt(NAMESPACES.length)], random.nextInt(100),
+                    random.nextInt(5), random.nextInt(20), random.nextInt(10)));
+            components.add(component);
+        }
+
+        evaluator = new PackageURLPolicyEvaluator();
+    }
+
+    @Benchmark
+    public void evaluate(final Blackhole blackhole) {
+        for (final Component component : components) {
+            for (final Policy policy : policies) {
+                blackhole.consume(evaluator.evaluate(policy, component));
+            }
+        }
+    }
+
+    @Benchmark
+    public void evaluateUncompiled(final Blackhole blackhole) {
+        // Baseline that compiles the pattern of every condition for every component.
+        for (final Component component : components) {
+            final String canonicalPurl = component.getPurl().canonicalize();
+            for (final Policy policy : policies) {
+                for (final PolicyCondition condition : policy.getPolicyConditions()) {
+                    blackhole.consume(canonicalPurl.matches(Matcher.toRegex(condition.getValue())));
+                }
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PolicyEvaluationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
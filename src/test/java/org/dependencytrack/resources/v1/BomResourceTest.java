@@ -150,6 +150,41 @@ class BomResourceTest extends ResourceTest {
 
     }
 
+    @Test
+    void exportProjectAsCycloneDxXMLInventoryTest() {
+        Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
+        Component componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib-a");
+        componentA.setVersion("1.0");
+        componentA = qm.createComponent(componentA, false);
+        Component componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib-b");
+        componentB.setVersion("1.0");
+        componentB = qm.createComponent(componentB, false);
+        componentA.setDirectDependencies("[{\"uuid\": \"%s\"}]".formatted(componentB.getUuid()));
+        project.setDirectDependencies("[{\"uuid\": \"%s\"}]".formatted(componentA.getUuid()));
+        qm.persist(project);
+
+        Response response = jersey.target(V1_BOM + "/cyclonedx/project/" + project.getUuid())
+                .queryParam("format", "xml")
+                .queryParam("variant", "inventory")
+                .request()
+                .header(X_API_KEY, apiKey)
+                .get(Response.class);
+        assertThat(response.getStatus()).isEqualTo(200);
+
+        final String body = getPlainTextBody(response);
+        assertThatNoException().isThrownBy(() -> CycloneDxValidator.getInstance().validate(body.getBytes()));
+        assertThat(body)
+                .containsOnlyOnce("<components>")
+                .containsOnlyOnce("<dependencies>")
+                .contains("<name>acme-lib-a</name>", "<name>acme-lib-b</name>")
+                .contains("<dependency ref=\"%s\">".formatted(componentA.getUuid()));
+        assertThat(body.indexOf("acme-lib-a")).isLessThan(body.indexOf("acme-lib-b"));
+    }
+
     private static String[] jsonVersionSpecTests() {
         return new String[]{"1.2", "1.3", "1.4", "1.5", "1.6", null}; // JSON is only supported  >= 1.2
     }
@@ -22,12 +22,14 @@ package org.dependencytrack.resources.v1;
 import alpine.server.filters.ApiFilter;
 import alpine.server.filters.AuthenticationFilter;
 import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
 import jakarta.ws.rs.core.Response;
 import net.javacrumbs.jsonunit.core.Option;
 import org.apache.http.HttpStatus;
 import org.dependencytrack.JerseyTestExtension;
 import org.dependencytrack.ResourceTest;
 import org.dependencytrack.model.Component;
+import org.dependencytrack.model.ComponentDependency;
 import org.dependencytrack.model.ComponentIdentity;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.RepositoryMetaComponent;
@@ -38,10 +40,16 @@ import org.json.JSONArray;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import javax.jdo.Query;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -378,4 +386,183 @@ class DependencyGraphResourceTest extends ResourceTest {
                         """);
     }
 
+    @Test
+    void getDependencyGraphSubtreeAndPathsWithCycleTest() {
+        final Project project = qm.createProject("Acme Application", null, null, null, null, null, true, false);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib-a");
+        qm.createComponent(componentA, false);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib-b");
+        qm.createComponent(componentB, false);
+
+        final var componentC = new Component();
+        componentC.setProject(project);
+        componentC.setName("acme-lib-c");
+        qm.createComponent(componentC, false);
+
+        // project -> A -> B -> C -> B (cycle), and A -> C
+        qm.runInTransaction(() -> {
+            project.setDirectDependencies(new JSONArray().put(new ComponentIdentity(componentA).toJSON()).toString());
+            componentA.setDirectDependencies(new JSONArray()
+                    .put(new ComponentIdentity(componentB).toJSON())
+                    .put(new ComponentIdentity(componentC).toJSON()).toString());
+            componentB.setDirectDependencies(new JSONArray().put(new ComponentIdentity(componentC).toJSON()).toString());
+            componentC.setDirectDependencies(new JSONArray().put(new ComponentIdentity(componentB).toJSON()).toString());
+        });
+
+        Response response = jersey.target(V1_DEPENDENCY_GRAPH + "/project/" + project.getUuid() + "/subtree")
+                .queryParam("depth", 10)
+                .request()
+                .header(X_API_KEY, apiKey)
+                .get();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SC_OK);
+        assertThatJson(getPlainTextBody(response))
+                .withOptions(Option.IGNORING_ARRAY_ORDER, Option.IGNORING_EXTRA_FIELDS)
+                .isEqualTo(/* language=JSON */ """
+                        {
+                          "nodes": [
+                            {"uuid": "%s", "name": "acme-lib-a"},
+                            {"uuid": "%s", "name": "acme-lib-b"},
+                            {"uuid": "%s", "name": "acme-lib-c"}
+                          ],
+                          "edges": [
+                            {"child": "%1$s"},
+                            {"parent": "%1$s", "child": "%2$s"},
+                            {"parent": "%1$s", "child": "%3$s"},
+                            {"parent": "%2$s", "child": "%3$s"},
+                            {"parent": "%3$s", "child": "%2$s"}
+                          ],
+                          "truncated": false
+                        }
+                        """.formatted(componentA.getUuid(), componentB.getUuid(), componentC.getUuid()));
+
+        response = jersey.target(V1_DEPENDENCY_GRAPH + "/project/" + project.getUuid() + "/subtree")
+                .queryParam("component", componentA.getUuid())
+                .queryParam("depth", 1)
+                .request()
+                .header(X_API_KEY, apiKey)
+                .get();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SC_OK);
+        final JsonObject subtree = parseJsonObject(response);
+        assertThat(subtree.getJsonArray("nodes")).hasSize(3);
+        assertThat(subtree.getBoolean("truncated")).isTrue();
+
+        response = jersey.target(V1_DEPENDENCY_GRAPH + "/component/" + componentC.getUuid() + "/paths")
+                .request()
+                .header(X_API_KEY, apiKey)
+                .get();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SC_OK);
+        assertThatJson(getPlainTextBody(response))
+                .withOptions(Option.IGNORING_ARRAY_ORDER, Option.IGNORING_EXTRA_FIELDS)
+                .isEqualTo(/* language=JSON */ """
+                        {
+                          "paths": [
+                            [
+                              {"uuid": "%1$s", "name": "acme-lib-a"},
+                              {"uuid": "%3$s", "name": "acme-lib-c"}
+                            ],
+                            [
+                              {"uuid": "%1$s", "name": "acme-lib-a"},
+                              {"uuid": "%2$s", "name": "acme-lib-b"},
+                              {"uuid": "%3$s", "name": "acme-lib-c"}
+                            ]
+                          ],
+                          "truncated": false
+                        }
+                        """.formatted(componentA.getUuid(), componentB.getUuid(), componentC.getUuid()));
+    }
+
+    @Test
+    void getDependencyGraphSubtreeConcurrentlyPopulatesEdgesOnceTest() throws Exception {
+        final Project project = qm.createProject("Acme Application", null, null, null, null, null, true, false);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib-a");
+        qm.createComponent(componentA, false);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib-b");
+        qm.createComponent(componentB, false);
+
+        // project -> A -> B
+        qm.runInTransaction(() -> {
+            project.setDirectDependencies(new JSONArray().put(new ComponentIdentity(componentA).toJSON()).toString());
+            componentA.setDirectDependencies(new JSONArray().put(new ComponentIdentity(componentB).toJSON()).toString());
+        });
+
+        final int numRequests = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(numRequests);
+        try {
+            final var startLatch = new CountDownLatch(1);
+            final var futures = new ArrayList<Future<Integer>>();
+            for (int i = 0; i < numRequests; i++) {
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    return jersey.target(V1_DEPENDENCY_GRAPH + "/project/" + project.getUuid() + "/subtree")
+                            .request()
+                            .header(X_API_KEY, apiKey)
+                            .get()
+                            .getStatus();
+                }));
+            }
+            startLatch.countDown();
+
+            for (final Future<Integer> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isEqualTo(HttpStatus.SC_OK);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Query<ComponentDependency> query = qm.getPersistenceManager().newQuery(ComponentDependency.class);
+        query.setFilter("projectId == :projectId");
+        query.setParameters(project.getId());
+        assertThat(qm.detach(query.executeList()))
+                .extracting(ComponentDependency::toEdge)
+                .containsExactlyInAnyOrder(
+                        new ComponentDependency.Edge(null, componentA.getId()),
+                        new ComponentDependency.Edge(componentA.getId(), componentB.getId()));
+    }
+
+    @Test
+    void getDependencyGraphSubtreeWithoutResolvableEdgesMarksGraphPopulatedTest() {
+        final Project project = qm.createProject("Acme Application", null, null, null, null, null, true, false);
+
+        // The direct dependency does not exist in the project, so no edge can be resolved.
+        final var unknownComponent = new Component();
+        unknownComponent.setUuid(UUID.randomUUID());
+        unknownComponent.setName("acme-lib-unknown");
+        qm.runInTransaction(() -> project.setDirectDependencies(
+                new JSONArray().put(new ComponentIdentity(unknownComponent).toJSON()).toString()));
+        assertThat(project.isDependencyGraphPopulated()).isFalse();
+
+        final Response response = jersey.target(V1_DEPENDENCY_GRAPH + "/project/" + project.getUuid() + "/subtree")
+                .request()
+                .header(X_API_KEY, apiKey)
+                .get();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SC_OK);
+
+        qm.getPersistenceManager().refresh(project);
+        assertThat(project.isDependencyGraphPopulated()).isTrue();
+    }
+
+    @Test
+    void getDependencyGraphSubtreeWithInvalidDepthTest() {
+        final Project project = qm.createProject("Acme Application", null, null, null, null, null, true, false);
+
+        final Response response = jersey.target(V1_DEPENDENCY_GRAPH + "/project/" + project.getUuid() + "/subtree")
+                .queryParam("depth", 0)
+                .request()
+                .header(X_API_KEY, apiKey)
+                .get();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SC_BAD_REQUEST);
+    }
+
 }
@@ -164,14 +164,12 @@ class SearchResourceTest extends ResourceTest {
 
         await("Index event dispatch")
                 .atMost(Duration.ofSeconds(5))
-                .untilAsserted(() -> assertThat(EVENTS).satisfiesExactlyInAnyOrder(
+                .untilAsserted(() -> assertThat(EVENTS).satisfiesExactly(
                         event -> {
                             assertThat(event).isInstanceOf(IndexEvent.class);
-                            assertThat(((IndexEvent) event).getIndexableClass()).isEqualTo(Vulnerability.class);
-                        },
-                        event -> {
-                            assertThat(event).isInstanceOf(IndexEvent.class);
-                            assertThat(((IndexEvent) event).getIndexableClass()).isEqualTo(License.class);
+                            assertThat(((IndexEvent) event).getAction()).isEqualTo(IndexEvent.Action.REINDEX);
+                            assertThat(((IndexEvent) event).getIndexableClasses())
+                                    .containsExactlyInAnyOrder(Vulnerability.class, License.class);
                         }
                 ));
     }
@@ -20,10 +20,12 @@ package org.dependencytrack.search;
 
 import org.dependencytrack.PersistenceCapableTest;
 import org.dependencytrack.model.Component;
+import org.dependencytrack.model.Project;
 import org.dependencytrack.search.document.ComponentDocument;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.UUID;
 
 class ComponentIndexerTest extends PersistenceCapableTest {
@@ -79,6 +81,36 @@ class ComponentIndexerTest extends PersistenceCapableTest {
 
     @Test
     void reindexTest() {
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        final var components = new ArrayList<Component>();
+        for (int i = 0; i < 5; i++) {
+            final var component = new Component();
+            component.setProject(project);
+            component.setGroup("acme");
+            component.setName("reindex-library-" + i);
+            component.setVersion("1.0.0");
+            qm.persist(component);
+            components.add(component);
+        }
+
+        // Documents without a corresponding database record must not survive a rebuild.
+        final var staleComponent = new Component();
+        staleComponent.setUuid(UUID.randomUUID());
+        staleComponent.setName("stale-library");
+        ComponentIndexer.getInstance().add(new ComponentDocument(staleComponent));
+        ComponentIndexer.getInstance().commit();
+
         ComponentIndexer.getInstance().reindex();
+
+        final var searchManager = new SearchManager();
+        for (final Component component : components) {
+            SearchResult result = searchManager.searchIndex(ComponentIndexer.getInstance(), component.getUuid().toString(), 10);
+            Assertions.assertEquals(1, result.getResults().get("component").size());
+        }
+        SearchResult result = searchManager.searchIndex(ComponentIndexer.getInstance(), staleComponent.getUuid().toString(), 10);
+        Assertions.assertEquals(0, result.getResults().get("component").size());
     }
 }
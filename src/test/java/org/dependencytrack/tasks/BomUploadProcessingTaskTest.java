@@ -18,6 +18,7 @@
  */
 package org.dependencytrack.tasks;
 
+import alpine.common.metrics.Metrics;
 import alpine.event.framework.Event;
 import alpine.event.framework.EventService;
 import alpine.model.IConfigProperty.PropertyType;
@@ -46,9 +47,11 @@ import org.dependencytrack.model.VulnerableSoftware;
 import org.dependencytrack.notification.NotificationGroup;
 import org.dependencytrack.notification.NotificationScope;
 import org.dependencytrack.notification.vo.BomProcessingFailed;
+import org.dependencytrack.notification.vo.BomValidationFailed;
 import org.dependencytrack.notification.vo.NewVulnerabilityIdentified;
 import org.dependencytrack.parser.spdx.json.SpdxLicenseDetailParser;
 import org.dependencytrack.search.document.ComponentDocument;
+import org.dependencytrack.util.BomSpoolUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -169,7 +172,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         qm.createVulnerability(vulnerability2, false);
 
         final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                resourceToByteArray("/unit/bom-1.xml"));
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-1.xml")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -290,7 +293,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
 
         final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                resourceToByteArray("/unit/bom-empty.json"));
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-empty.json")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -311,7 +314,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                   "bomFormat": "CycloneDX",
                 """.getBytes(StandardCharsets.UTF_8);
 
-        new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes));
+        new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes)));
         assertConditionWithTimeout(() -> NOTIFICATIONS.size() >= 2, Duration.ofSeconds(5));
 
         assertThat(NOTIFICATIONS).satisfiesExactly(
@@ -328,7 +331,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                     assertThat(subject.getBom()).isEqualTo("ewogICJib21Gb3JtYXQiOiAiQ3ljbG9uZURYIiwK");
                     assertThat(subject.getFormat()).isEqualTo(Bom.Format.CYCLONEDX);
                     assertThat(subject.getSpecVersion()).isNull();
-                    assertThat(subject.getCause()).isEqualTo("Unable to parse BOM from byte array");
+                    assertThat(subject.getCause()).isEqualTo("Unable to parse BOM");
                 }
         );
 
@@ -337,6 +340,64 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         assertThat(project.getLastBomImport()).isNull();
     }
 
+    @Test
+    void informWithSchemaInvalidCycloneDxBomAndValidationEnabledTest() throws Exception {
+        final Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
+
+        final byte[] bomBytes = """
+                {
+                  "bomFormat": "CycloneDX",
+                  "specVersion": "1.2",
+                  "version": 1,
+                  "components": [
+                    {
+                      "type": "foo",
+                      "name": "acme-library",
+                      "version": "1.0.0"
+                    }
+                  ]
+                }
+                """.getBytes(StandardCharsets.UTF_8);
+
+        new BomUploadProcessingTask(true).inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes)));
+        assertConditionWithTimeout(() -> NOTIFICATIONS.size() >= 2, Duration.ofSeconds(5));
+
+        assertThat(NOTIFICATIONS).satisfiesExactly(
+                notification -> assertThat(notification.getGroup()).isEqualTo(NotificationGroup.PROJECT_CREATED.name()),
+                notification -> {
+                    assertThat(notification.getScope()).isEqualTo(NotificationScope.PORTFOLIO.name());
+                    assertThat(notification.getGroup()).isEqualTo(NotificationGroup.BOM_VALIDATION_FAILED.name());
+                    assertThat(notification.getLevel()).isEqualTo(NotificationLevel.ERROR);
+                    assertThat(notification.getSubject()).isInstanceOf(BomValidationFailed.class);
+                    final var subject = (BomValidationFailed) notification.getSubject();
+                    assertThat(subject.getProject().getUuid()).isEqualTo(project.getUuid());
+                    assertThat(subject.getErrors()).containsExactly("""
+                            $.components[0].type: does not have a value in the enumeration \
+                            ["application", "framework", "library", "container", "operating-system", "device", "firmware", "file"]\
+                            """);
+                }
+        );
+
+        qm.getPersistenceManager().refresh(project);
+        assertThat(project.getLastBomImport()).isNull();
+        assertThat(qm.getAllComponents(project)).isEmpty();
+    }
+
+    @Test
+    void informShouldDeleteSpooledBomTest() throws Exception {
+        final Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
+
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-1.xml")));
+        assertThat(bomUploadEvent.getFile()).exists();
+
+        new BomUploadProcessingTask().inform(bomUploadEvent);
+        awaitBomProcessedNotification(bomUploadEvent);
+
+        assertThat(bomUploadEvent.getFile()).doesNotExist();
+        assertThat(qm.getAllComponents(project)).isNotEmpty();
+    }
+
     @Test
     void informWithNonExistentProjectTest() throws Exception {
         final Project project = new Project();
@@ -344,7 +405,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         project.setUuid(UUID.randomUUID());
         project.setName("test-project");
 
-        var bomUploadEvent = new BomUploadEvent(project, resourceToByteArray("/unit/bom-1.xml"));
+        var bomUploadEvent = new BomUploadEvent(project, BomSpoolUtil.spool(resourceToByteArray("/unit/bom-1.xml")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
 
         await("BOM Processing Failed Notification")
@@ -361,7 +422,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         final var project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
 
         final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                resourceToByteArray("/unit/bom-metadata-components.json"));
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-metadata-components.json")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -388,7 +449,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithExistingDuplicateComponentsTest() {
+    void informWithExistingDuplicateComponentsTest() throws Exception {
         final var project = new Project();
         project.setName("acme-app");
         project.setVersion("1.0.0");
@@ -429,7 +490,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -446,19 +507,21 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         assertThat(EVENTS).satisfiesExactlyInAnyOrder(
                 event -> {
                     assertThat(event).isInstanceOf(IndexEvent.class);
-                    final var indexEvent = (IndexEvent) event;
-                    assertThat(indexEvent.getIndexableClass()).isEqualTo(Component.class);
-                    assertThat(indexEvent.getAction()).isEqualTo(IndexEvent.Action.UPDATE);
-                    final var searchDoc = (ComponentDocument) indexEvent.getDocument();
-                    assertThat(searchDoc.uuid()).isEqualTo(transientComponentA.getUuid());
-                },
-                event -> {
-                    assertThat(event).isInstanceOf(IndexEvent.class);
-                    final var indexEvent = (IndexEvent) event;
-                    assertThat(indexEvent.getIndexableClass()).isEqualTo(Component.class);
-                    assertThat(indexEvent.getAction()).isEqualTo(IndexEvent.Action.DELETE);
-                    final var searchDoc = (ComponentDocument) indexEvent.getDocument();
-                    assertThat(searchDoc.uuid()).isEqualTo(transientComponentB.getUuid());
+                    final var batchEvent = (IndexEvent) event;
+                    assertThat(batchEvent.getIndexableClass()).isEqualTo(Component.class);
+                    assertThat(batchEvent.getAction()).isEqualTo(IndexEvent.Action.BATCH);
+                    assertThat(batchEvent.getEvents()).satisfiesExactlyInAnyOrder(
+                            indexEvent -> {
+                                assertThat(indexEvent.getAction()).isEqualTo(IndexEvent.Action.UPDATE);
+                                final var searchDoc = (ComponentDocument) indexEvent.getDocument();
+                                assertThat(searchDoc.uuid()).isEqualTo(transientComponentA.getUuid());
+                            },
+                            indexEvent -> {
+                                assertThat(indexEvent.getAction()).isEqualTo(IndexEvent.Action.DELETE);
+                                final var searchDoc = (ComponentDocument) indexEvent.getDocument();
+                                assertThat(searchDoc.uuid()).isEqualTo(transientComponentB.getUuid());
+                            }
+                    );
                 },
                 event -> {
                     assertThat(event).isInstanceOf(IndexEvent.class);
@@ -471,12 +534,93 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         );
     }
 
+    @Test
+    void informWithUnchangedAndChangedComponentsTest() throws Exception {
+        final var project = new Project();
+        project.setName("acme-app");
+        project.setVersion("1.0.0");
+        qm.persist(project);
+
+        final String bomTemplate = """
+                {
+                  "bomFormat": "CycloneDX",
+                  "specVersion": "1.4",
+                  "version": 1,
+                  "components": [
+                    {
+                      "type": "library",
+                      "group": "com.acme",
+                      "name": "acme-lib-a",
+                      "version": "1.0.0"
+                    },
+                    {
+                      "type": "library",
+                      "group": "com.acme",
+                      "name": "acme-lib-b",
+                      "version": "1.0.0",
+                      "description": "%s"
+                    }
+                  ]
+                }
+                """;
+
+        final var initialBomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
+                BomSpoolUtil.spool(bomTemplate.formatted("foo").getBytes(StandardCharsets.UTF_8)));
+        new BomUploadProcessingTask().inform(initialBomUploadEvent);
+        awaitBomProcessedNotification(initialBomUploadEvent);
+
+        qm.getPersistenceManager().evictAll();
+        assertThat(qm.getAllComponents(project)).hasSize(2).allSatisfy(
+                component -> assertThat(component.getBomContentHash()).isNotNull());
+        await("Analysis events")
+                .atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(EVENTS)
+                        .anySatisfy(event -> assertThat(event).isInstanceOf(ProjectVulnerabilityAnalysisEvent.class))
+                        .anySatisfy(event -> assertThat(event).isInstanceOf(RepositoryMetaEvent.class)));
+
+        // Uploading the identical BOM again must not touch, or trigger analysis of, any component.
+        EVENTS.clear();
+        NOTIFICATIONS.clear();
+        final var identicalBomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
+                BomSpoolUtil.spool(bomTemplate.formatted("foo").getBytes(StandardCharsets.UTF_8)));
+        new BomUploadProcessingTask().inform(identicalBomUploadEvent);
+        awaitBomProcessedNotification(identicalBomUploadEvent);
+
+        assertThat(EVENTS).noneSatisfy(event -> assertThat(event).isInstanceOfAny(
+                ProjectVulnerabilityAnalysisEvent.class, RepositoryMetaEvent.class));
+        assertThat(EVENTS).noneSatisfy(event -> {
+            assertThat(event).isInstanceOf(IndexEvent.class);
+            assertThat(((IndexEvent) event).getIndexableClass()).isEqualTo(Component.class);
+        });
+
+        // Changing one component must limit analysis to that component.
+        EVENTS.clear();
+        NOTIFICATIONS.clear();
+        final var changedBomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
+                BomSpoolUtil.spool(bomTemplate.formatted("bar").getBytes(StandardCharsets.UTF_8)));
+        new BomUploadProcessingTask().inform(changedBomUploadEvent);
+        awaitBomProcessedNotification(changedBomUploadEvent);
+
+        qm.getPersistenceManager().evictAll();
+        final Component componentB = qm.getAllComponents(project).stream()
+                .filter(component -> "acme-lib-b".equals(component.getName()))
+                .findAny()
+                .orElseThrow();
+        assertThat(componentB.getDescription()).isEqualTo("bar");
+        await("Analysis event")
+                .atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(EVENTS).anySatisfy(event -> {
+                    assertThat(event).isInstanceOf(ProjectVulnerabilityAnalysisEvent.class);
+                    assertThat(((ProjectVulnerabilityAnalysisEvent) event).componentUuids()).containsOnly(componentB.getUuid());
+                }));
+    }
+
     @Test
     void informWithBloatedBomTest() throws Exception {
         final var project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
 
         final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                resourceToByteArray("/unit/bom-bloated.json"));
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-bloated.json")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -531,7 +675,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         final Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
 
         final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                resourceToByteArray("/unit/bom-custom-license.json"));
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-custom-license.json")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -556,7 +700,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithBomContainingLicenseExpressionTest() {
+    void informWithBomContainingLicenseExpressionTest() throws Exception {
         final var project = new Project();
         project.setName("acme-app");
         qm.persist(project);
@@ -584,7 +728,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -596,7 +740,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithBomContainingLicenseExpressionWithSingleIdTest() {
+    void informWithBomContainingLicenseExpressionWithSingleIdTest() throws Exception {
         final var license = new License();
         license.setLicenseId("EPL-2.0");
         license.setName("Eclipse Public License 2.0");
@@ -629,7 +773,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -642,7 +786,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithBomContainingInvalidLicenseExpressionTest() {
+    void informWithBomContainingInvalidLicenseExpressionTest() throws Exception {
         final var project = new Project();
         project.setName("acme-app");
         qm.persist(project);
@@ -670,7 +814,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -682,7 +826,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test // https://github.com/DependencyTrack/dependency-track/issues/3433
-    void informIssue3433Test() {
+    void informIssue3433Test() throws Exception {
         final var license = new License();
         license.setLicenseId("GPL-3.0-or-later");
         license.setName("GPL-3.0-or-later");
@@ -714,7 +858,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -726,7 +870,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
 
     @Test
         // https://github.com/DependencyTrack/dependency-track/issues/3498
-    void informUpdateExistingLicenseTest() {
+    void informUpdateExistingLicenseTest() throws Exception {
         final var existingLicense = new License();
         existingLicense.setLicenseId("GPL-3.0-or-later");
         existingLicense.setName("GPL-3.0-or-later");
@@ -766,7 +910,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), existingBomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(existingBomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -801,7 +945,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), updatedBomBytes));
+        new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(updatedBomBytes)));
         awaitBomProcessedNotification(bomUploadEvent);
         qm.getPersistenceManager().evictAll();
 
@@ -813,7 +957,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test // https://github.com/DependencyTrack/dependency-track/issues/3498
-    void informDeleteExistingLicenseTest() {
+    void informDeleteExistingLicenseTest() throws Exception {
         final var existingLicense = new License();
         existingLicense.setLicenseId("GPL-3.0-or-later");
         existingLicense.setName("GPL-3.0-or-later");
@@ -848,7 +992,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), existingBomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(existingBomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -877,7 +1021,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), updatedBomBytes));
+        new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(updatedBomBytes)));
         awaitBomProcessedNotification(bomUploadEvent);
         qm.getPersistenceManager().evictAll();
 
@@ -894,7 +1038,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         final Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
 
         final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                resourceToByteArray("/unit/bom-service.json"));
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-service.json")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -903,7 +1047,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithExistingComponentPropertiesAndBomWithoutComponentProperties() {
+    void informWithExistingComponentPropertiesAndBomWithoutComponentProperties() throws Exception {
         final var project = new Project();
         project.setName("acme-app");
         qm.persist(project);
@@ -921,7 +1065,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         componentProperty.setPropertyType(PropertyType.STRING);
         qm.persist(componentProperty);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), """
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool("""
                 {
                   "bomFormat": "CycloneDX",
                   "specVersion": "1.4",
@@ -934,7 +1078,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                     }
                   ]
                 }
-                """.getBytes());
+                """.getBytes()));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -943,7 +1087,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithExistingComponentPropertiesAndBomWithComponentProperties() {
+    void informWithExistingComponentPropertiesAndBomWithComponentProperties() throws Exception {
         final var project = new Project();
         project.setName("acme-app");
         qm.persist(project);
@@ -961,7 +1105,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         componentProperty.setPropertyType(PropertyType.STRING);
         qm.persist(componentProperty);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), """
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool("""
                 {
                   "bomFormat": "CycloneDX",
                   "specVersion": "1.4",
@@ -980,7 +1124,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                     }
                   ]
                 }
-                """.getBytes());
+                """.getBytes()));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -994,7 +1138,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithExistingDuplicateComponentPropertiesAndBomWithDuplicateComponentProperties() {
+    void informWithExistingDuplicateComponentPropertiesAndBomWithDuplicateComponentProperties() throws Exception {
         final var project = new Project();
         project.setName("acme-app");
         qm.persist(project);
@@ -1019,7 +1163,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         componentPropertyB.setPropertyType(PropertyType.STRING);
         qm.persist(componentPropertyB);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), """
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool("""
                 {
                   "bomFormat": "CycloneDX",
                   "specVersion": "1.4",
@@ -1042,7 +1186,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                     }
                   ]
                 }
-                """.getBytes());
+                """.getBytes()));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -1060,7 +1204,172 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithLicenseResolutionByNameTest() {
+    void informWithExistingComponentsAndBomWithChangedComponentPropertiesTest() throws Exception {
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib-a");
+        componentA.setClassifier(Classifier.LIBRARY);
+        qm.persist(componentA);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib-b");
+        componentB.setClassifier(Classifier.LIBRARY);
+        qm.persist(componentB);
+
+        final var componentPropertyA = new ComponentProperty();
+        componentPropertyA.setComponent(componentA);
+        componentPropertyA.setPropertyName("foo");
+        componentPropertyA.setPropertyValue("bar");
+        componentPropertyA.setPropertyType(PropertyType.STRING);
+        qm.persist(componentPropertyA);
+
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool("""
+                {
+                  "bomFormat": "CycloneDX",
+                  "specVersion": "1.4",
+                  "serialNumber": "urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79",
+                  "version": 1,
+                  "components": [
+                    {
+                      "type": "library",
+                      "name": "acme-lib-a",
+                      "properties": [
+                        {
+                          "name": "baz",
+                          "value": "qux"
+                        }
+                      ]
+                    },
+                    {
+                      "type": "library",
+                      "name": "acme-lib-b",
+                      "properties": [
+                        {
+                          "name": "foo",
+                          "value": "bar"
+                        }
+                      ]
+                    }
+                  ]
+                }
+                """.getBytes()));
+        new BomUploadProcessingTask().inform(bomUploadEvent);
+        awaitBomProcessedNotification(bomUploadEvent);
+
+        qm.getPersistenceManager().evictAll();
+        assertThatExceptionOfType(JDOObjectNotFoundException.class)
+                .isThrownBy(() -> qm.getPersistenceManager().refresh(componentPropertyA));
+        assertThat(componentA.getProperties()).satisfiesExactly(property -> {
+            assertThat(property.getPropertyName()).isEqualTo("baz");
+            assertThat(property.getPropertyValue()).isEqualTo("qux");
+        });
+        assertThat(componentB.getProperties()).satisfiesExactly(property -> {
+            assertThat(property.getPropertyName()).isEqualTo("foo");
+            assertThat(property.getPropertyValue()).isEqualTo("bar");
+        });
+    }
+
+    @Test
+    void informWithExistingComponentsAndBomWithChangedComponentFieldsTest() throws Exception {
+        final var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib-a");
+        componentA.setVersion("1.0.0");
+        componentA.setClassifier(Classifier.LIBRARY);
+        componentA.setDescription("old description");
+        qm.persist(componentA);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib-b");
+        componentB.setClassifier(Classifier.LIBRARY);
+        qm.persist(componentB);
+
+        final double statementBatchesBefore = getReconcileStatementBatches();
+
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool("""
+                {
+                  "bomFormat": "CycloneDX",
+                  "specVersion": "1.4",
+                  "serialNumber": "urn:uuid:3e671687-395b-41f5-a30f-a58921a69b79",
+                  "version": 1,
+                  "components": [
+                    {
+                      "type": "library",
+                      "supplier": {
+                        "name": "Acme Inc"
+                      },
+                      "name": "acme-lib-a",
+                      "version": "1.0.0",
+                      "description": "new description",
+                      "hashes": [
+                        {
+                          "alg": "SHA-256",
+                          "content": "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824"
+                        }
+                      ],
+                      "externalReferences": [
+                        {
+                          "type": "website",
+                          "url": "https://acme.example.com"
+                        }
+                      ]
+                    },
+                    {
+                      "type": "library",
+                      "name": "acme-lib-b",
+                      "description": "new description"
+                    },
+                    {
+                      "type": "library",
+                      "name": "acme-lib-c",
+                      "purl": "pkg:maven/acme/acme-lib-c@2.0.0?type=jar"
+                    }
+                  ]
+                }
+                """.getBytes()));
+        new BomUploadProcessingTask().inform(bomUploadEvent);
+        awaitBomProcessedNotification(bomUploadEvent);
+
+        qm.getPersistenceManager().evictAll();
+        assertThat(componentA.getDescription()).isEqualTo("new description");
+        assertThat(componentA.getSupplier()).isNotNull();
+        assertThat(componentA.getSupplier().getName()).isEqualTo("Acme Inc");
+        assertThat(componentA.getSha256()).isEqualTo("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+        assertThat(componentA.getExternalReferences()).satisfiesExactly(externalReference -> {
+            assertThat(externalReference.getType()).isEqualTo(org.cyclonedx.model.ExternalReference.Type.WEBSITE);
+            assertThat(externalReference.getUrl()).isEqualTo("https://acme.example.com");
+        });
+        assertThat(componentA.getBomContentHash()).isNotNull();
+        assertThat(componentB.getDescription()).isEqualTo("new description");
+        assertThat(componentB.getBomContentHash()).isNotNull();
+
+        assertThat(qm.getAllComponents(project)).anySatisfy(component -> {
+            assertThat(component.getName()).isEqualTo("acme-lib-c");
+            assertThat(component.getPurl().canonicalize()).isEqualTo("pkg:maven/acme/acme-lib-c@2.0.0?type=jar");
+            assertThat(component.getPurlCoordinates().canonicalize()).isEqualTo("pkg:maven/acme/acme-lib-c@2.0.0");
+            assertThat(component.getUuid()).isNotNull();
+        });
+
+        // One batch inserting the new component, and one batch per distinct set of changed columns.
+        assertThat(getReconcileStatementBatches() - statementBatchesBefore).isEqualTo(3);
+    }
+
+    private static double getReconcileStatementBatches() {
+        return Metrics.getRegistry().get("bom_upload_reconcile_statements").summary().totalAmount();
+    }
+
+    @Test
+    void informWithLicenseResolutionByNameTest() throws Exception {
         final var license = new License();
         license.setLicenseId("MIT");
         license.setName("MIT License");
@@ -1092,7 +1401,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -1103,7 +1412,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithLicenseResolutionByIdOrNameTest() {
+    void informWithLicenseResolutionByIdOrNameTest() throws Exception {
         final var license = new License();
         license.setLicenseId("MIT");
         license.setName("MIT License");
@@ -1135,7 +1444,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -1146,7 +1455,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informWithEmptyComponentAndServiceNameTest() {
+    void informWithEmptyComponentAndServiceNameTest() throws Exception {
         final var project = new Project();
         project.setName("acme-license-app");
         qm.persist(project);
@@ -1171,7 +1480,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -1190,7 +1499,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
 
         for (int i = 0; i < 3; i++) {
             var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                    resourceToByteArray("/unit/bom-issue1905.json"));
+                    BomSpoolUtil.spool(resourceToByteArray("/unit/bom-issue1905.json")));
             new BomUploadProcessingTask().inform(bomUploadEvent);
 
             // Make sure processing did not fail.
@@ -1226,7 +1535,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         // Ensure processing does not fail, and the number of components ingested doesn't change.
         for (int i = 0; i < 3; i++) {
             var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                    resourceToByteArray("/unit/bom-issue2519.xml"));
+                    BomSpoolUtil.spool(resourceToByteArray("/unit/bom-issue2519.xml")));
             new BomUploadProcessingTask().inform(bomUploadEvent);
 
             // Make sure processing did not fail.
@@ -1245,11 +1554,11 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         final byte[] bomBytes = resourceToByteArray("/unit/bom-issue2859.xml");
 
         assertThatNoException()
-                .isThrownBy(() -> new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes)));
+                .isThrownBy(() -> new BomUploadProcessingTask().inform(new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes))));
     }
 
     @Test // https://github.com/DependencyTrack/dependency-track/issues/3309
-    void informIssue3309Test() {
+    void informIssue3309Test() throws Exception {
         final var project = new Project();
         project.setName("acme-app");
         qm.persist(project);
@@ -1278,14 +1587,14 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes();
 
-        var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
         assertProjectAuthors.run();
 
         NOTIFICATIONS.clear();
 
-        bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
         assertProjectAuthors.run();
@@ -1299,7 +1608,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         // Ensure processing does not fail, and the number of components ingested doesn't change.
         for (int i = 0; i < 2; i++) {
             var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                    resourceToByteArray("/unit/bom-issue3371.json"));
+                    BomSpoolUtil.spool(resourceToByteArray("/unit/bom-issue3371.json")));
             new BomUploadProcessingTask().inform(bomUploadEvent);
 
             // Make sure processing did not fail.
@@ -1324,7 +1633,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
 
     @Test
         // https://github.com/DependencyTrack/dependency-track/issues/3957
-    void informIssue3957Test() {
+    void informIssue3957Test() throws Exception {
         final var licenseA = new License();
         licenseA.setLicenseId("GPL-1.0");
         licenseA.setName("GNU General Public License v1.0 only");
@@ -1361,7 +1670,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -1373,7 +1682,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
     }
 
     @Test
-    void informIssue3981Test() {
+    void informIssue3981Test() throws Exception {
         final var project = new Project();
         project.setName("acme-license-app");
         project.setVersion("1.2.3");
@@ -1402,7 +1711,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), bomBytes);
+        var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
         NOTIFICATIONS.clear();
@@ -1432,7 +1741,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
                 }
                 """.getBytes(StandardCharsets.UTF_8);
 
-        bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, clonedProject.getId()), bomBytes);
+        bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, clonedProject.getId()), BomSpoolUtil.spool(bomBytes));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -1455,7 +1764,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         List<String> boms = new ArrayList<>(Arrays.asList("/unit/bom-issue3936-authors.json", "/unit/bom-issue3936-author.json", "/unit/bom-issue3936-both.json"));
         for (String bom : boms) {
             final var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                    resourceToByteArray(bom));
+                    BomSpoolUtil.spool(resourceToByteArray(bom)));
             new BomUploadProcessingTask().inform(bomUploadEvent);
             awaitBomProcessedNotification(bomUploadEvent);
 
@@ -1475,7 +1784,7 @@ class BomUploadProcessingTaskTest extends PersistenceCapableTest {
         qm.persist(project);
 
         var bomUploadEvent = new BomUploadEvent(qm.detach(Project.class, project.getId()),
-                resourceToByteArray("/unit/bom-issue4455.json"));
+                BomSpoolUtil.spool(resourceToByteArray("/unit/bom-issue4455.json")));
         new BomUploadProcessingTask().inform(bomUploadEvent);
         awaitBomProcessedNotification(bomUploadEvent);
 
@@ -33,18 +33,25 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GITHUB_ADVISORIES_ENABLED;
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GOOGLE_OSV_BASE_URL;
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GOOGLE_OSV_ENABLED;
+import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS;
 import static org.dependencytrack.model.ConfigPropertyConstants.VULNERABILITY_SOURCE_NVD_ENABLED;
 
 class OsvDownloadTaskTest extends PersistenceCapableTest {
@@ -655,6 +662,47 @@ class OsvDownloadTaskTest extends PersistenceCapableTest {
         Assertions.assertEquals(Severity.CRITICAL, vulnerability.getSeverity());
     }
 
+    @Test
+    void testImportAdvisoriesSkipsUnmodifiedAdvisories() throws Exception {
+        qm.createConfigProperty(
+                VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getGroupName(),
+                VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getPropertyName(),
+                /* 2022-03-01T00:00:00Z */ "{\"Maven\": 1646092800}",
+                VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getPropertyType(),
+                null
+        );
+
+        final var zipOutputStream = new ByteArrayOutputStream();
+        try (final var zipOut = new ZipOutputStream(zipOutputStream)) {
+            for (final String fileName : List.of("osv-GHSA-77rv-6vfw-x4gc.json", "osv-vulnerability-no-range.json")) {
+                zipOut.putNextEntry(new ZipEntry(fileName));
+                zipOut.write(Files.readAllBytes(Paths.get("src/test/resources/unit/osv.jsons", fileName)));
+                zipOut.closeEntry();
+            }
+
+            // Unparseable advisories must not prevent the last modification time from advancing.
+            zipOut.putNextEntry(new ZipEntry("osv-broken.json"));
+            zipOut.write("{\"id\": ".getBytes(StandardCharsets.UTF_8));
+            zipOut.closeEntry();
+        }
+
+        final var task = new OsvDownloadTask();
+        task.importAdvisories("Maven", new ZipInputStream(new ByteArrayInputStream(zipOutputStream.toByteArray())));
+
+        // Modified on 2022-06-09, after the last import.
+        assertThat(qm.getVulnerabilityByVulnId(Vulnerability.Source.GITHUB, "GHSA-77rv-6vfw-x4gc")).isNotNull();
+
+        // Modified on 2022-01-09, before the last import.
+        assertThat(qm.getVulnerabilityByVulnId(Vulnerability.Source.OSV, "GSD-2022-1000008")).isNull();
+
+        qm.getPersistenceManager().evictAll();
+        final var lastModifiedProperty = qm.getConfigProperty(
+                VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getGroupName(),
+                VULNERABILITY_SOURCE_GOOGLE_OSV_LAST_MODIFIED_EPOCH_SECONDS.getPropertyName());
+        assertThat(new JSONObject(lastModifiedProperty.getPropertyValue()).getLong("Maven"))
+                .isEqualTo(LocalDateTime.of(2022, 6, 9, 7, 1, 32).toEpochSecond(ZoneOffset.UTC));
+    }
+
     private void prepareJsonObject(String filePath) throws IOException {
         // parse OSV json file to Advisory object
         String jsonString = new String(Files.readAllBytes(Paths.get(filePath)));
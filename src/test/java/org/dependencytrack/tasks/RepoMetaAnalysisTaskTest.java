@@ -1,5 +1,6 @@
 package org.dependencytrack.tasks;
 
+import alpine.Config;
 import alpine.event.framework.EventService;
 import com.github.packageurl.PackageURL;
 import com.github.tomakehurst.wiremock.client.WireMock;
@@ -9,18 +10,22 @@ import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import jakarta.ws.rs.core.MediaType;
 import org.dependencytrack.PersistenceCapableTest;
+import org.dependencytrack.common.ConfigKey;
 import org.dependencytrack.event.RepositoryMetaEvent;
 import org.dependencytrack.model.Component;
 import org.dependencytrack.model.ConfigPropertyConstants;
 import org.dependencytrack.model.Project;
 import org.dependencytrack.model.RepositoryMetaComponent;
 import org.dependencytrack.model.RepositoryType;
+import org.dependencytrack.persistence.QueryManager;
 import org.dependencytrack.tasks.repositories.RepositoryMetaAnalyzerTask;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -226,4 +231,102 @@ class RepoMetaAnalysisTaskTest extends PersistenceCapableTest {
         qm.getPersistenceManager().refresh(metaComponent);
         assertThat(metaComponent.getLatestVersion()).isEqualTo("4.13.2");
     }
+
+    @Test
+    void informTestCoalescesComponentsWithIdenticalCoordinates() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.anyUrl())
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withBody(mavenMetadata("acme", "acme-coalesced", "2.0.0"))));
+        Project projectA = qm.createProject("Acme Example A", null, "1.0", null, null, null, true, false);
+        Project projectB = qm.createProject("Acme Example B", null, "1.0", null, null, null, true, false);
+        Component componentA = createComponent(projectA, "pkg:maven/acme/acme-coalesced@1.0.0", false);
+        Component componentB = createComponent(projectB, "pkg:maven/acme/acme-coalesced@1.0.0", false);
+        Component internalComponent = createComponent(projectB, "pkg:maven/acme/acme-coalesced@1.0.0", true);
+        qm.createRepository(RepositoryType.MAVEN, "public", wmRuntimeInfo.getHttpBaseUrl() + "/public", true, false, false, null, null);
+        qm.createRepository(RepositoryType.MAVEN, "internal", wmRuntimeInfo.getHttpBaseUrl() + "/internal", true, true, false, null, null);
+        final var analyzedComponents = new AtomicInteger();
+        new RepositoryMetaAnalyzerTask() {
+            @Override
+            protected boolean isRepositoryMetaComponentStillValid(final QueryManager qm, final RepositoryType repositoryType, final String namespace, final String name) {
+                analyzedComponents.incrementAndGet();
+                return super.isRepositoryMetaComponentStillValid(qm, repositoryType, namespace, name);
+            }
+        }.inform(new RepositoryMetaEvent(List.of(componentA, componentB, internalComponent)));
+
+        // Internal components are not coalesced with non-internal ones, as they're resolved from different repositories.
+        assertThat(analyzedComponents).hasValue(2);
+    }
+
+    @Test
+    void informTestDoesNotSendCredentialsToRepositoryWithoutAuthentication() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/private/.*"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(404)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/public/.*"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withBody(mavenMetadata("acme", "acme-credentials", "2.0.0"))));
+        Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
+        Component component = createComponent(project, "pkg:maven/acme/acme-credentials@1.0.0", false);
+        qm.createRepository(RepositoryType.MAVEN, "private", wmRuntimeInfo.getHttpBaseUrl() + "/private", true, false, true, "testUser", "testPassword");
+        qm.createRepository(RepositoryType.MAVEN, "public", wmRuntimeInfo.getHttpBaseUrl() + "/public", true, false, false, null, null);
+        new RepositoryMetaAnalyzerTask().inform(new RepositoryMetaEvent(List.of(component)));
+
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathMatching("/private/.*"))
+                .withHeader("Authorization", containing("Basic")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlPathMatching("/public/.*"))
+                .withoutHeader("Authorization"));
+        RepositoryMetaComponent metaComponent = qm.getRepositoryMetaComponent(RepositoryType.MAVEN, "acme", "acme-credentials");
+        assertThat(metaComponent.getLatestVersion()).isEqualTo("2.0.0");
+    }
+
+    @Test
+    void informTestAnalyzesChunksOfComponentsConcurrently() throws Exception {
+        // NB: The default parallelism of the analyzer is greater than 1, and more components
+        // than fit into a single chunk are analyzed, such that chunks are handed to workers.
+        assertThat(Config.getInstance().getPropertyAsInt(ConfigKey.REPO_META_ANALYZER_PARALLELISM)).isGreaterThan(1);
+
+        WireMock.stubFor(WireMock.get(WireMock.anyUrl())
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withBody(mavenMetadata("acme", "acme-parallel", "2.0.0"))));
+        Project project = qm.createProject("Acme Example", null, "1.0", null, null, null, true, false);
+        final var components = new ArrayList<Component>();
+        for (int i = 0; i < 60; i++) {
+            components.add(createComponent(project, "pkg:maven/acme/acme-parallel-%d@1.0.0".formatted(i), false));
+        }
+        qm.createRepository(RepositoryType.MAVEN, "test", wmRuntimeInfo.getHttpBaseUrl(), true, false, false, null, null);
+        new RepositoryMetaAnalyzerTask().inform(new RepositoryMetaEvent(components));
+
+        WireMock.verify(60, WireMock.getRequestedFor(WireMock.anyUrl()));
+        for (int i = 0; i < 60; i++) {
+            RepositoryMetaComponent metaComponent = qm.getRepositoryMetaComponent(RepositoryType.MAVEN, "acme", "acme-parallel-" + i);
+            assertThat(metaComponent).isNotNull();
+            assertThat(metaComponent.getLatestVersion()).isEqualTo("2.0.0");
+        }
+    }
+
+    private Component createComponent(final Project project, final String purl, final boolean internal) throws Exception {
+        Component component = new Component();
+        component.setProject(project);
+        component.setPurl(new PackageURL(purl));
+        component.setName(component.getPurl().getName());
+        component.setInternal(internal);
+        return qm.createComponent(component, false);
+    }
+
+    private static String mavenMetadata(final String groupId, final String artifactId, final String latestVersion) {
+        return """
+                <metadata>
+                <groupId>%s</groupId>
+                <artifactId>%s</artifactId>
+                <versioning>
+                <latest>%s</latest>
+                <release>%s</release>
+                <lastUpdated>20210213164433</lastUpdated>
+                </versioning>
+                </metadata>
+                """.formatted(groupId, artifactId, latestVersion, latestVersion);
+    }
 }
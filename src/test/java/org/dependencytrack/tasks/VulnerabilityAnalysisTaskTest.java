@@ -32,11 +32,13 @@ import org.dependencytrack.model.Project;
 import org.dependencytrack.model.Vulnerability;
 import org.dependencytrack.model.VulnerabilityAnalysisLevel;
 import org.dependencytrack.model.VulnerableSoftware;
+import org.dependencytrack.tasks.scanners.AnalyzerIdentity;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -112,6 +114,58 @@ class VulnerabilityAnalysisTaskTest extends PersistenceCapableTest {
         assertThat(qm.getAllVulnerabilities(component)).hasSize(1);
     }
 
+    @Test
+    void shouldAttributeFindingsToReportingAnalyzer() {
+        qm.createConfigProperty(
+                SCANNER_INTERNAL_ENABLED.getGroupName(),
+                SCANNER_INTERNAL_ENABLED.getPropertyName(),
+                "true",
+                SCANNER_INTERNAL_ENABLED.getPropertyType(),
+                SCANNER_INTERNAL_ENABLED.getDescription());
+
+        final var project = new Project();
+        project.setName("acme-app");
+        project.setVersion("1.0.0");
+        qm.persist(project);
+
+        final var componentA = new Component();
+        componentA.setProject(project);
+        componentA.setName("acme-lib");
+        componentA.setVersion("2.0.0");
+        componentA.setPurl("pkg:maven/com.acme/acme-lib@2.0.0");
+        qm.persist(componentA);
+
+        final var componentB = new Component();
+        componentB.setProject(project);
+        componentB.setName("acme-lib");
+        componentB.setVersion("2.0.0");
+        componentB.setPurl("pkg:maven/com.acme/acme-lib@2.0.0?type=jar");
+        qm.persist(componentB);
+
+        final var vuln = new Vulnerability();
+        vuln.setVulnId("INT-123");
+        vuln.setSource(Vulnerability.Source.INTERNAL);
+        qm.persist(vuln);
+
+        final var vs = new VulnerableSoftware();
+        vs.setPurlType("maven");
+        vs.setPurlNamespace("com.acme");
+        vs.setPurlName("acme-lib");
+        vs.setVersion("2.0.0");
+        vs.setVulnerabilities(List.of(vuln));
+        qm.persist(vs);
+
+        new VulnerabilityAnalysisTask().inform(
+                new ProjectVulnerabilityAnalysisEvent(project, VulnerabilityAnalysisLevel.ON_DEMAND));
+
+        assertThat(qm.getAllVulnerabilities(componentA)).hasSize(1);
+        assertThat(qm.getAllVulnerabilities(componentB)).hasSize(1);
+        assertThat(qm.getFindingAttribution(vuln, componentA).getAnalyzerIdentity())
+                .isEqualTo(AnalyzerIdentity.INTERNAL_ANALYZER);
+        assertThat(qm.getFindingAttribution(vuln, componentB).getAnalyzerIdentity())
+                .isEqualTo(AnalyzerIdentity.INTERNAL_ANALYZER);
+    }
+
     @Test
     void shouldAnalyzeProject() {
         qm.createConfigProperty(
@@ -224,6 +278,56 @@ class VulnerabilityAnalysisTaskTest extends PersistenceCapableTest {
         });
     }
 
+    @Test
+    void shouldAnalyzePortfolioConcurrently() {
+        qm.createConfigProperty(
+                SCANNER_INTERNAL_ENABLED.getGroupName(),
+                SCANNER_INTERNAL_ENABLED.getPropertyName(),
+                "true",
+                SCANNER_INTERNAL_ENABLED.getPropertyType(),
+                SCANNER_INTERNAL_ENABLED.getDescription());
+
+        final var vuln = new Vulnerability();
+        vuln.setVulnId("INT-123");
+        vuln.setSource(Vulnerability.Source.INTERNAL);
+        qm.persist(vuln);
+
+        final var vs = new VulnerableSoftware();
+        vs.setPurlType("maven");
+        vs.setPurlNamespace("com.acme");
+        vs.setPurlName("acme-lib");
+        vs.setVersion("2.0.0");
+        vs.setVulnerabilities(List.of(vuln));
+        qm.persist(vs);
+
+        final var components = new ArrayList<Component>();
+        for (int i = 0; i < 5; i++) {
+            final var project = new Project();
+            project.setName("acme-app-" + i);
+            project.setVersion("1.0.0");
+            qm.persist(project);
+
+            final var component = new Component();
+            component.setProject(project);
+            component.setName("acme-lib");
+            component.setVersion("2.0.0");
+            component.setPurl("pkg:maven/com.acme/acme-lib@2.0.0");
+            qm.persist(component);
+            components.add(component);
+        }
+
+        new VulnerabilityAnalysisTask(3).inform(new PortfolioVulnerabilityAnalysisEvent());
+
+        for (final Component component : components) {
+            assertThat(qm.getAllVulnerabilities(component)).hasSize(1);
+        }
+
+        await("Event reception")
+                .atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(EVENTS).hasSize(5));
+        assertThat(EVENTS).allSatisfy(event -> assertThat(event).isInstanceOf(ProjectMetricsUpdateEvent.class));
+    }
+
     @Test
     void shouldThrowWhenInformedAboutUnexpectedEvent() {
         assertThatExceptionOfType(IllegalArgumentException.class)
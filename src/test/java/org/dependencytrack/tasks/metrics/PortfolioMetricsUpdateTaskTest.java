@@ -18,6 +18,7 @@
  */
 package org.dependencytrack.tasks.metrics;
 
+import alpine.event.framework.Event;
 import alpine.event.framework.EventService;
 import net.jcip.annotations.NotThreadSafe;
 import org.dependencytrack.event.CallbackEvent;
@@ -40,6 +41,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -274,4 +278,84 @@ class PortfolioMetricsUpdateTaskTest extends AbstractMetricsUpdateTaskTest {
         assertThat(componentSuppressed.getLastInheritedRiskScore()).isZero();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testUpdateMetricsWithConcurrencyOfOne() {
+        var vuln = new Vulnerability();
+        vuln.setVulnId("INTERNAL-001");
+        vuln.setSource(Vulnerability.Source.INTERNAL);
+        vuln.setSeverity(Severity.HIGH);
+        vuln = qm.createVulnerability(vuln, false);
+
+        // Create projects of different sizes, such that they are dispatched in a different
+        // order than they were created in. Only one project update may be in flight at any time.
+        final var projectUuids = new UUID[3];
+        for (int i = 0; i < 3; i++) {
+            var project = new Project();
+            project.setName("acme-app-" + i);
+            project = qm.createProject(project, List.of(), false);
+            projectUuids[i] = project.getUuid();
+
+            for (int j = 0; j <= i; j++) {
+                var component = new Component();
+                component.setProject(project);
+                component.setName("acme-lib-" + j);
+                component = qm.createComponent(component, false);
+                qm.addVulnerability(vuln, component, AnalyzerIdentity.NONE);
+            }
+        }
+
+        RecordingProjectMetricsUpdateTask.reset();
+        EventService.getInstance().unsubscribe(ProjectMetricsUpdateTask.class);
+        EventService.getInstance().subscribe(ProjectMetricsUpdateEvent.class, RecordingProjectMetricsUpdateTask.class);
+        try {
+            new PortfolioMetricsUpdateTask(1).inform(new PortfolioMetricsUpdateEvent());
+        } finally {
+            EventService.getInstance().unsubscribe(RecordingProjectMetricsUpdateTask.class);
+            EventService.getInstance().subscribe(ProjectMetricsUpdateEvent.class, ProjectMetricsUpdateTask.class);
+        }
+
+        assertThat(RecordingProjectMetricsUpdateTask.DISPATCHED_PROJECTS)
+                .containsExactly(projectUuids[2], projectUuids[1], projectUuids[0]);
+        assertThat(RecordingProjectMetricsUpdateTask.MAX_IN_FLIGHT).hasValue(1);
+
+        final PortfolioMetrics metrics = qm.getMostRecentPortfolioMetrics();
+        assertThat(metrics.getProjects()).isEqualTo(3);
+        assertThat(metrics.getVulnerableProjects()).isEqualTo(3);
+        assertThat(metrics.getComponents()).isEqualTo(6);
+        assertThat(metrics.getVulnerableComponents()).isEqualTo(6);
+        assertThat(metrics.getHigh()).isEqualTo(6);
+        assertThat(metrics.getVulnerabilities()).isEqualTo(6);
+    }
+
+    /**
+     * A {@link ProjectMetricsUpdateTask} that records the order in which project metrics updates
+     * are processed, and the highest number of updates that were in flight at the same time.
+     */
+    public static class RecordingProjectMetricsUpdateTask extends ProjectMetricsUpdateTask {
+
+        private static final List<UUID> DISPATCHED_PROJECTS = new CopyOnWriteArrayList<>();
+        private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+        private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+
+        private static void reset() {
+            DISPATCHED_PROJECTS.clear();
+            IN_FLIGHT.set(0);
+            MAX_IN_FLIGHT.set(0);
+        }
+
+        @Override
+        public void inform(final Event e) {
+            if (e instanceof final ProjectMetricsUpdateEvent event) {
+                DISPATCHED_PROJECTS.add(event.getUuid());
+            }
+            MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                super.inform(e);
+            } finally {
+                IN_FLIGHT.decrementAndGet();
+            }
+        }
+
+    }
+
+}
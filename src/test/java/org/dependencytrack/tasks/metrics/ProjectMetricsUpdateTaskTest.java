@@ -221,6 +221,122 @@ class ProjectMetricsUpdateTaskTest extends AbstractMetricsUpdateTaskTest {
         assertThat(componentSuppressed.getLastInheritedRiskScore()).isZero();
     }
 
+    @Test
+    void testUpdateMetricsSetBasedVulnerabilities() {
+        var project = new Project();
+        project.setName("acme-app");
+        project = qm.createProject(project, List.of(), false);
+
+        var vuln = this.prepareVulnerability("");
+
+        // Create a component with an unaudited vulnerability.
+        var componentUnaudited = this.prepareVulnerableComponent("acme-lib-a", vuln, project);
+
+        // Create a project with an audited vulnerability.
+        var componentAudited = this.prepareVulnerableComponent("acme-lib-b", vuln, project);
+        qm.makeAnalysis(componentAudited, vuln, AnalysisState.NOT_AFFECTED, null, null, null, false);
+
+        // Create a project with a suppressed vulnerability.
+        var componentSuppressed = this.prepareVulnerableComponent("acme-lib-c", vuln, project);
+        qm.makeAnalysis(componentSuppressed, vuln, AnalysisState.FALSE_POSITIVE, null, null, null, true);
+
+        new ProjectMetricsUpdateTask(true).inform(new ProjectMetricsUpdateEvent(project.getUuid()));
+
+        final ProjectMetrics metrics = qm.getMostRecentProjectMetrics(project);
+        assertThat(metrics.getComponents()).isEqualTo(3);
+        assertThat(metrics.getVulnerableComponents()).isEqualTo(2); // Finding for one component is suppressed
+        assertThat(metrics.getHigh()).isEqualTo(2); // One is suppressed
+        assertThat(metrics.getVulnerabilities()).isEqualTo(2); // One is suppressed
+        assertThat(metrics.getSuppressed()).isEqualTo(1);
+        assertThat(metrics.getFindingsTotal()).isEqualTo(2); // One is suppressed
+        assertThat(metrics.getFindingsAudited()).isEqualTo(1);
+        assertThat(metrics.getFindingsUnaudited()).isEqualTo(1);
+        assertThat(metrics.getInheritedRiskScore()).isEqualTo(10.0);
+
+        final DependencyMetrics componentMetrics = qm.getMostRecentDependencyMetrics(componentAudited);
+        assertThat(componentMetrics.getVulnerabilities()).isEqualTo(1);
+        assertThat(componentMetrics.getFindingsAudited()).isEqualTo(1);
+        assertThat(componentMetrics.getFindingsUnaudited()).isZero();
+
+        qm.getPersistenceManager().refreshAll(project, componentUnaudited, componentAudited, componentSuppressed);
+        assertThat(project.getLastInheritedRiskScore()).isEqualTo(10.0);
+        assertThat(componentUnaudited.getLastInheritedRiskScore()).isEqualTo(5.0);
+        assertThat(componentAudited.getLastInheritedRiskScore()).isEqualTo(5.0);
+        assertThat(componentSuppressed.getLastInheritedRiskScore()).isZero();
+    }
+
+    @Test
+    void testUpdateMetricsSetBasedPolicyViolations() {
+        var project = new Project();
+        project.setName("acme-app");
+        project = qm.createProject(project, List.of(), false);
+
+        // Create a component with an unaudited violation.
+        var componentUnaudited = new Component();
+        componentUnaudited.setProject(project);
+        componentUnaudited.setName("acme-lib-a");
+        componentUnaudited = qm.createComponent(componentUnaudited, false);
+        createPolicyViolation(componentUnaudited, Policy.ViolationState.FAIL, PolicyViolation.Type.LICENSE);
+
+        // Create a component with an audited violation.
+        var componentAudited = new Component();
+        componentAudited.setProject(project);
+        componentAudited.setName("acme-lib-b");
+        componentAudited = qm.createComponent(componentAudited, false);
+        final var violationAudited = createPolicyViolation(componentAudited, Policy.ViolationState.WARN, PolicyViolation.Type.OPERATIONAL);
+        qm.makeViolationAnalysis(componentAudited, violationAudited, ViolationAnalysisState.APPROVED, false);
+
+        // Create a component with a suppressed violation.
+        var componentSuppressed = new Component();
+        componentSuppressed.setProject(project);
+        componentSuppressed.setName("acme-lib-c");
+        componentSuppressed = qm.createComponent(componentSuppressed, false);
+        final var violationSuppressed = createPolicyViolation(componentSuppressed, Policy.ViolationState.INFO, PolicyViolation.Type.SECURITY);
+        qm.makeViolationAnalysis(componentSuppressed, violationSuppressed, ViolationAnalysisState.REJECTED, true);
+
+        new ProjectMetricsUpdateTask(true).inform(new ProjectMetricsUpdateEvent(project.getUuid()));
+
+        final ProjectMetrics metrics = qm.getMostRecentProjectMetrics(project);
+        assertThat(metrics.getComponents()).isEqualTo(3);
+        assertThat(metrics.getPolicyViolationsFail()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsWarn()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsInfo()).isZero(); // Suppressed
+        assertThat(metrics.getPolicyViolationsTotal()).isEqualTo(2);
+        assertThat(metrics.getPolicyViolationsAudited()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsUnaudited()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsSecurityTotal()).isZero(); // Suppressed
+        assertThat(metrics.getPolicyViolationsSecurityAudited()).isZero();
+        assertThat(metrics.getPolicyViolationsLicenseTotal()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsLicenseUnaudited()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsOperationalTotal()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsOperationalAudited()).isEqualTo(1);
+        assertThat(metrics.getPolicyViolationsOperationalUnaudited()).isZero();
+    }
+
+    @Test
+    void testUpdateMetricsSetBasedUnchanged() {
+        var project = new Project();
+        project.setName("acme-app");
+        project = qm.createProject(project, List.of(), false);
+
+        final var vuln = this.prepareVulnerability("");
+        final var component = this.prepareVulnerableComponent("acme-lib-a", vuln, project);
+
+        // Record initial component metrics
+        new ProjectMetricsUpdateTask(true).inform(new ProjectMetricsUpdateEvent(project.getUuid()));
+        final DependencyMetrics metrics = qm.getMostRecentDependencyMetrics(component);
+        assertThat(metrics.getLastOccurrence()).isEqualTo(metrics.getFirstOccurrence());
+
+        // Run the task a second time, without any metric being changed
+        final var beforeSecondRun = new Date();
+        new ProjectMetricsUpdateTask(true).inform(new ProjectMetricsUpdateEvent(project.getUuid()));
+
+        // Ensure that no new record was created, but the lastOccurrence timestamp was updated
+        qm.getPersistenceManager().refresh(metrics);
+        assertThat(qm.getMostRecentDependencyMetrics(component).getId()).isEqualTo(metrics.getId());
+        assertThat(metrics.getLastOccurrence()).isAfterOrEqualTo(beforeSecondRun);
+    }
+
     @Test
     void testCollectionLogicChanged() {
         var project = new Project();
@@ -0,0 +1,158 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks.repositories;
+
+import alpine.common.logging.Logger;
+import alpine.common.metrics.Metrics;
+import com.github.packageurl.PackageURL;
+import io.micrometer.core.instrument.Timer;
+import org.dependencytrack.model.Component;
+import org.dependencytrack.model.RepositoryType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryHostLimiterTest {
+
+    @Test
+    void testAnalyzeLimitsConcurrentRequests() throws Exception {
+        final var limiter = new RepositoryHostLimiter("concurrency.limiter.test", 2, 0);
+        final var inFlight = new AtomicInteger();
+        final var maxInFlight = new AtomicInteger();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final var futures = new ArrayList<Future<MetaModel>>();
+            for (int i = 0; i < 8; i++) {
+                final var analyzer = new TestMetaAnalyzer(component -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                    return false;
+                });
+                futures.add(executor.submit(() -> limiter.analyze(analyzer, createComponent())));
+            }
+            for (final Future<MetaModel> future : futures) {
+                assertThat(future.get()).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testAnalyzeRecordsLatencyByHostAndOutcome() throws Exception {
+        final var limiter = RepositoryHostLimiter.forUrl("https://Outcome.Limiter.Test/repository/");
+        final var failNextRequest = new AtomicInteger(1);
+        final var analyzer = new TestMetaAnalyzer(component -> failNextRequest.getAndSet(0) == 1);
+
+        limiter.analyze(analyzer, createComponent());
+        limiter.analyze(analyzer, createComponent());
+        limiter.analyze(analyzer, createComponent());
+
+        assertThat(getRequestTimer("outcome.limiter.test", "failure").count()).isEqualTo(1);
+        assertThat(getRequestTimer("outcome.limiter.test", "success").count()).isEqualTo(2);
+        assertThat(analyzer.consumeRequestFailure()).isFalse();
+    }
+
+    @Test
+    void testAnalyzeRecordsFailureWhenRateLimitDoesNotPermitRequest() throws Exception {
+        final var limiter = new RepositoryHostLimiter("ratelimit.limiter.test", 1, 1, Duration.ofMillis(10));
+        final var requestsHandled = new AtomicInteger();
+        final var analyzer = new TestMetaAnalyzer(component -> {
+            requestsHandled.incrementAndGet();
+            return false;
+        });
+
+        // Only one request per second is permitted, so the second one times out
+        // while waiting for permission, and must not be passed on to the analyzer.
+        assertThat(limiter.analyze(analyzer, createComponent())).isNotNull();
+        assertThat(limiter.analyze(analyzer, createComponent())).isNotNull();
+
+        assertThat(requestsHandled).hasValue(1);
+        assertThat(getRequestTimer("ratelimit.limiter.test", "success").count()).isEqualTo(1);
+        assertThat(getRequestTimer("ratelimit.limiter.test", "failure").count()).isEqualTo(1);
+    }
+
+    private static Timer getRequestTimer(final String host, final String outcome) {
+        return Metrics.getRegistry().get("repository_meta_analyzer_requests")
+                .tags("host", host, "outcome", outcome)
+                .timer();
+    }
+
+    private static Component createComponent() throws Exception {
+        final var component = new Component();
+        component.setPurl(new PackageURL("pkg:maven/acme/acme-lib@1.0.0"));
+        return component;
+    }
+
+    private interface RequestHandler {
+
+        /**
+         * @return {@code true} when the request should be considered failed
+         */
+        boolean handle(Component component);
+
+    }
+
+    private static final class TestMetaAnalyzer extends AbstractMetaAnalyzer {
+
+        private static final Logger LOGGER = Logger.getLogger(TestMetaAnalyzer.class);
+
+        private final RequestHandler requestHandler;
+
+        private TestMetaAnalyzer(final RequestHandler requestHandler) {
+            this.requestHandler = requestHandler;
+        }
+
+        @Override
+        public RepositoryType supportedRepositoryType() {
+            return RepositoryType.MAVEN;
+        }
+
+        @Override
+        public boolean isApplicable(final Component component) {
+            return true;
+        }
+
+        @Override
+        public MetaModel analyze(final Component component) {
+            if (requestHandler.handle(component)) {
+                handleUnexpectedHttpResponse(LOGGER, baseUrl, 500, "Internal Server Error", component);
+            }
+            return new MetaModel(component);
+        }
+
+    }
+
+}
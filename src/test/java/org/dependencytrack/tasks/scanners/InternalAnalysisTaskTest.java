@@ -80,4 +80,137 @@ class InternalAnalysisTaskTest extends PersistenceCapableTest {
         assertThat(vulnerabilities.getList(Vulnerability.class).get(0).getVulnId()).isEqualTo("CVE-2020-23904");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testWithVulnerableSoftwareIndex() throws CpeParsingException, CpeEncodingException {
+        var project = new Project();
+        project.setName("acme-app");
+        project = qm.createProject(project, Collections.emptyList(), false);
+        var cpeComponent = new Component();
+        cpeComponent.setProject(project);
+        cpeComponent.setGroup("xiph");
+        cpeComponent.setName("speex");
+        cpeComponent.setVersion("1.2");
+        cpeComponent.setCpe("cpe:2.3:a:xiph:speex:1.2:-:*:*:*:*:*:*");
+        cpeComponent = qm.createComponent(cpeComponent, false);
+        var purlComponent = new Component();
+        purlComponent.setProject(project);
+        purlComponent.setName("github.com/tidwall/gjson");
+        purlComponent.setVersion("v1.6.0");
+        purlComponent.setPurl("pkg:golang/github.com/tidwall/gjson@v1.6.0?type=module");
+        purlComponent = qm.createComponent(purlComponent, false);
+        var unaffectedComponent = new Component();
+        unaffectedComponent.setProject(project);
+        unaffectedComponent.setName("github.com/tidwall/gjson");
+        unaffectedComponent.setVersion("v1.6.5");
+        unaffectedComponent.setPurl("pkg:golang/github.com/tidwall/gjson@v1.6.5?type=module");
+        unaffectedComponent = qm.createComponent(unaffectedComponent, false);
+
+        var cpeVs = ModelConverter.convertCpe23UriToVulnerableSoftware("cpe:2.3:a:xiph:speex:1.2:-:*:*:*:*:*:*");
+        cpeVs = qm.persist(cpeVs);
+        var cpeVuln = new Vulnerability();
+        cpeVuln.setVulnId("CVE-2020-23904");
+        cpeVuln.setSource(Vulnerability.Source.NVD);
+        cpeVuln.setVulnerableSoftware(List.of(cpeVs));
+        qm.createVulnerability(cpeVuln, false);
+
+        var purlVs = new VulnerableSoftware();
+        purlVs.setPurlType("golang");
+        purlVs.setPurlNamespace("github.com/tidwall");
+        purlVs.setPurlName("gjson");
+        purlVs.setVersionEndExcluding("1.6.5");
+        purlVs.setVulnerable(true);
+        purlVs = qm.persist(purlVs);
+        var purlVuln = new Vulnerability();
+        purlVuln.setVulnId("GHSA-wjm3-fq3r-5x46");
+        purlVuln.setSource(Vulnerability.Source.GITHUB);
+        purlVuln.setVulnerableSoftware(List.of(purlVs));
+        qm.createVulnerability(purlVuln, false);
+
+        final var vsIndex = new VulnerableSoftwareIndex(true, 64 * 1024 * 1024);
+        new InternalAnalysisTask(vsIndex).analyze(List.of(cpeComponent, purlComponent, unaffectedComponent));
+        assertThat(vsIndex.getState()).isEqualTo(VulnerableSoftwareIndex.State.READY);
+        assertThat(vsIndex.size()).isEqualTo(2);
+
+        assertThat(qm.getVulnerabilities(cpeComponent).getList(Vulnerability.class))
+                .extracting(Vulnerability::getVulnId).containsExactly("CVE-2020-23904");
+        assertThat(qm.getVulnerabilities(purlComponent).getList(Vulnerability.class))
+                .extracting(Vulnerability::getVulnId).containsExactly("GHSA-wjm3-fq3r-5x46");
+        assertThat(qm.getVulnerabilities(unaffectedComponent).getTotal()).isZero();
+    }
+
+    @Test
+    void testVulnerableSoftwareIndexIncrementalUpdate() {
+        var project = new Project();
+        project.setName("acme-app");
+        project = qm.createProject(project, Collections.emptyList(), false);
+        var component = new Component();
+        component.setProject(project);
+        component.setName("github.com/tidwall/gjson");
+        component.setVersion("v1.6.0");
+        component.setPurl("pkg:golang/github.com/tidwall/gjson@v1.6.0?type=module");
+        component = qm.createComponent(component, false);
+
+        final var vsIndex = new VulnerableSoftwareIndex(true, 64 * 1024 * 1024);
+        assertThat(vsIndex.ensureBuilt(qm)).isTrue();
+        assertThat(vsIndex.size()).isZero();
+
+        var vulnerableSoftware = new VulnerableSoftware();
+        vulnerableSoftware.setPurlType("golang");
+        vulnerableSoftware.setPurlNamespace("github.com/tidwall");
+        vulnerableSoftware.setPurlName("gjson");
+        vulnerableSoftware.setVersionEndExcluding("1.6.5");
+        vulnerableSoftware.setVulnerable(true);
+        vulnerableSoftware = qm.persist(vulnerableSoftware);
+
+        var vulnerability = new Vulnerability();
+        vulnerability.setVulnId("GHSA-wjm3-fq3r-5x46");
+        vulnerability.setSource(Vulnerability.Source.GITHUB);
+        vulnerability.setVulnerableSoftware(List.of(vulnerableSoftware));
+        vulnerability = qm.createVulnerability(vulnerability, false);
+
+        vsIndex.update(vulnerability);
+        assertThat(vsIndex.size()).isEqualTo(1);
+
+        new InternalAnalysisTask(vsIndex).analyze(List.of(component));
+        assertThat(qm.getVulnerabilities(component).getTotal()).isEqualTo(1);
+
+        vulnerability.setVulnerableSoftware(Collections.emptyList());
+        vsIndex.update(vulnerability);
+        assertThat(vsIndex.size()).isZero();
+    }
+
+    @Test
+    void testVulnerableSoftwareIndexOverBudget() {
+        var project = new Project();
+        project.setName("acme-app");
+        project = qm.createProject(project, Collections.emptyList(), false);
+        var component = new Component();
+        component.setProject(project);
+        component.setName("github.com/tidwall/gjson");
+        component.setVersion("v1.6.0");
+        component.setPurl("pkg:golang/github.com/tidwall/gjson@v1.6.0?type=module");
+        component = qm.createComponent(component, false);
+
+        var vulnerableSoftware = new VulnerableSoftware();
+        vulnerableSoftware.setPurlType("golang");
+        vulnerableSoftware.setPurlNamespace("github.com/tidwall");
+        vulnerableSoftware.setPurlName("gjson");
+        vulnerableSoftware.setVersionEndExcluding("1.6.5");
+        vulnerableSoftware.setVulnerable(true);
+        vulnerableSoftware = qm.persist(vulnerableSoftware);
+
+        var vulnerability = new Vulnerability();
+        vulnerability.setVulnId("GHSA-wjm3-fq3r-5x46");
+        vulnerability.setSource(Vulnerability.Source.GITHUB);
+        vulnerability.setVulnerableSoftware(List.of(vulnerableSoftware));
+        qm.createVulnerability(vulnerability, false);
+
+        // The index is discarded, and analysis falls back to database queries.
+        final var vsIndex = new VulnerableSoftwareIndex(true, 1);
+        new InternalAnalysisTask(vsIndex).analyze(List.of(component));
+        assertThat(vsIndex.getState()).isEqualTo(VulnerableSoftwareIndex.State.OVER_BUDGET);
+        assertThat(vsIndex.size()).isZero();
+        assertThat(qm.getVulnerabilities(component).getTotal()).isEqualTo(1);
+    }
+
+}
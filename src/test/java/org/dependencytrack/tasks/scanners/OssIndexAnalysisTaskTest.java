@@ -95,6 +95,102 @@ class OssIndexAnalysisTaskTest extends PersistenceCapableTest {
         assertThat(analysisTask.shouldAnalyze(new PackageURL("pkg:maven/com.fasterxml.woodstox/woodstox-core@5.0.0?foo=bar#baz"))).isFalse();
     }
 
+    @Test
+    void testApplyAnalysisFromCacheInBulk() {
+        var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        var vuln = new Vulnerability();
+        vuln.setVulnId("CVE-2020-36518");
+        vuln.setSource(Vulnerability.Source.NVD);
+        qm.persist(vuln);
+
+        var componentWithVuln = new Component();
+        componentWithVuln.setProject(project);
+        componentWithVuln.setName("jackson-databind");
+        componentWithVuln.setPurl("pkg:maven/com.fasterxml.jackson.core/jackson-databind@2.13.1");
+        qm.persist(componentWithVuln);
+
+        var componentWithoutVuln = new Component();
+        componentWithoutVuln.setProject(project);
+        componentWithoutVuln.setName("woodstox-core");
+        componentWithoutVuln.setPurl("pkg:maven/com.fasterxml.woodstox/woodstox-core@5.0.0");
+        qm.persist(componentWithoutVuln);
+
+        var componentWithStaleCache = new Component();
+        componentWithStaleCache.setProject(project);
+        componentWithStaleCache.setName("commons-text");
+        componentWithStaleCache.setPurl("pkg:maven/org.apache.commons/commons-text@1.9");
+        qm.persist(componentWithStaleCache);
+
+        var componentWithoutCache = new Component();
+        componentWithoutCache.setProject(project);
+        componentWithoutCache.setName("commons-lang3");
+        componentWithoutCache.setPurl("pkg:maven/org.apache.commons/commons-lang3@3.12.0");
+        qm.persist(componentWithoutCache);
+
+        qm.updateComponentAnalysisCache(ComponentAnalysisCache.CacheType.VULNERABILITY, wmRuntimeInfo.getHttpBaseUrl(),
+                Vulnerability.Source.OSSINDEX.name(), componentWithVuln.getPurl().toString(), new Date(),
+                Json.createObjectBuilder()
+                        .add("vulnIds", Json.createArrayBuilder().add(vuln.getId()))
+                        .build());
+        qm.updateComponentAnalysisCache(ComponentAnalysisCache.CacheType.VULNERABILITY, wmRuntimeInfo.getHttpBaseUrl(),
+                Vulnerability.Source.OSSINDEX.name(), componentWithoutVuln.getPurl().toString(), new Date(),
+                Json.createObjectBuilder()
+                        .add("vulnIds", Json.createArrayBuilder())
+                        .build());
+        qm.updateComponentAnalysisCache(ComponentAnalysisCache.CacheType.VULNERABILITY, wmRuntimeInfo.getHttpBaseUrl(),
+                Vulnerability.Source.OSSINDEX.name(), componentWithStaleCache.getPurl().toString(), new Date(0),
+                Json.createObjectBuilder()
+                        .add("vulnIds", Json.createArrayBuilder().add(vuln.getId()))
+                        .build());
+
+        final List<Component> uncachedComponents = analysisTask.applyAnalysisFromCache(
+                List.of(componentWithVuln, componentWithoutVuln, componentWithStaleCache, componentWithoutCache));
+        assertThat(uncachedComponents).containsExactly(componentWithStaleCache, componentWithoutCache);
+
+        qm.getPersistenceManager().evictAll();
+        assertThat(qm.getAllVulnerabilities(componentWithVuln)).satisfiesExactly(
+                v -> assertThat(v.getVulnId()).isEqualTo("CVE-2020-36518"));
+        assertThat(qm.getAllVulnerabilities(componentWithoutVuln)).isEmpty();
+        assertThat(qm.getAllVulnerabilities(componentWithStaleCache)).isEmpty();
+    }
+
+    @Test
+    void testApplyAnalysisFromCacheServedFromMemory() {
+        var project = new Project();
+        project.setName("acme-app");
+        qm.persist(project);
+
+        var component = new Component();
+        component.setProject(project);
+        component.setName("jackson-databind");
+        component.setPurl("pkg:maven/com.fasterxml.jackson.core/jackson-databind@2.13.1");
+        qm.persist(component);
+
+        qm.updateComponentAnalysisCache(ComponentAnalysisCache.CacheType.VULNERABILITY, wmRuntimeInfo.getHttpBaseUrl(),
+                Vulnerability.Source.OSSINDEX.name(), component.getPurl().toString(), new Date(),
+                Json.createObjectBuilder()
+                        .add("vulnIds", Json.createArrayBuilder())
+                        .build());
+        assertThat(analysisTask.applyAnalysisFromCache(List.of(component))).isEmpty();
+
+        // Delete the cache entry behind the back of the in-memory cache.
+        qm.getPersistenceManager().newQuery(ComponentAnalysisCache.class).deletePersistentAll();
+        assertThat(analysisTask.applyAnalysisFromCache(List.of(component))).isEmpty();
+        assertThat(analysisTask.shouldAnalyze(component.getPurl())).isFalse();
+
+        // Updating the cache entry invalidates the in-memory cache.
+        qm.updateComponentAnalysisCache(ComponentAnalysisCache.CacheType.VULNERABILITY, wmRuntimeInfo.getHttpBaseUrl(),
+                Vulnerability.Source.OSSINDEX.name(), component.getPurl().toString(), new Date(0),
+                Json.createObjectBuilder()
+                        .add("vulnIds", Json.createArrayBuilder())
+                        .build());
+        assertThat(analysisTask.applyAnalysisFromCache(List.of(component))).containsExactly(component);
+        assertThat(analysisTask.shouldAnalyze(component.getPurl())).isTrue();
+    }
+
     @Test
     void testAnalyzeWithRateLimiting() {
         stubFor(post(urlPathEqualTo("/api/v3/component-report"))
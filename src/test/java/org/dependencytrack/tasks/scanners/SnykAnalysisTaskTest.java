@@ -745,7 +745,9 @@ class SnykAnalysisTaskTest extends PersistenceCapableTest {
         new SnykAnalysisTask().inform(
                 new SnykAnalysisEvent(List.of(component), VulnerabilityAnalysisLevel.BOM_UPLOAD_ANALYSIS));
 
-        assertConditionWithTimeout(() -> NOTIFICATIONS.size() > 0, Duration.ofSeconds(5));
+        // Wait for the analyzer's notification specifically; PROJECT_CREATED may be dispatched before it.
+        assertConditionWithTimeout(() -> NOTIFICATIONS.stream()
+                .anyMatch(notification -> NotificationScope.SYSTEM.name().equals(notification.getScope())), Duration.ofSeconds(5));
         assertThat(NOTIFICATIONS).anySatisfy(notification -> {
             assertThat(notification.getScope()).isEqualTo(NotificationScope.SYSTEM.name());
             assertThat(notification.getLevel()).isEqualTo(NotificationLevel.WARNING);
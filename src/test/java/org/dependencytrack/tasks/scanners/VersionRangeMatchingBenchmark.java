@@ -0,0 +1,129 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.tasks.scanners;
+
+import org.dependencytrack.model.VulnerableSoftware;
+import org.dependencytrack.util.ComponentVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the version range matching performed by {@link AbstractVulnerableSoftwareAnalysisTask}
+ * for CPE and PURL based {@link VulnerableSoftware} records.
+ * <p>
+ * Not executed as part of the regular test suite. Run it via {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionRangeMatchingBenchmark {
+
+    private List<VulnerableSoftware> cpeVsList;
+    private List<VulnerableSoftware> purlVsList;
+    private List<String> targetVersions;
+
+    @Setup
+    public void setUp() {
+        final var random = new Random(666);
+
+        cpeVsList = new ArrayList<>();
+        purlVsList = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            final int major = random.nextInt(5);
+            final int minor = random.nextInt(20);
+
+            final var cpeVs = new VulnerableSoftware();
+            cpeVs.setCpe23("cpe:2.3:a:apache:log4j:*:*:*:*:*:*:*:*");
+            cpeVs.setVersion("*");
+            cpeVs.setVersionStartIncluding("%d.0.0".formatted(major));
+            cpeVs.setVersionEndExcluding("%d.%d.%d".formatted(major, minor, random.nextInt(10)));
+            cpeVsList.add(cpeVs);
+
+            final var purlVs = new VulnerableSoftware();
+            purlVs.setPurlType("maven");
+            purlVs.setPurlNamespace("com.fasterxml.jackson.core");
+            purlVs.setPurlName("jackson-databind");
+            purlVs.setVersionStartExcluding("%d.%d.0-rc1".formatted(major, minor));
+            purlVs.setVersionEndIncluding("%d.%d.%d.Final".formatted(major, minor, random.nextInt(10)));
+            purlVsList.add(purlVs);
+        }
+
+        targetVersions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            targetVersions.add("%d.%d.%d".formatted(random.nextInt(5), random.nextInt(20), random.nextInt(10)));
+        }
+    }
+
+    @Benchmark
+    public void cpeRangeMatching(final Blackhole blackhole) {
+        for (final String targetVersion : targetVersions) {
+            for (final VulnerableSoftware vs : cpeVsList) {
+                blackhole.consume(AbstractVulnerableSoftwareAnalysisTask.compareVersions(vs, targetVersion));
+            }
+        }
+    }
+
+    @Benchmark
+    public void purlRangeMatching(final Blackhole blackhole) {
+        for (final String targetVersion : targetVersions) {
+            for (final VulnerableSoftware vs : purlVsList) {
+                blackhole.consume(AbstractVulnerableSoftwareAnalysisTask.compareVersions(vs, targetVersion));
+            }
+        }
+    }
+
+    @Benchmark
+    public void purlRangeMatchingUncached(final Blackhole blackhole) {
+        // Baseline that parses every version on every comparison.
+        for (final String targetVersion : targetVersions) {
+            final var target = new ComponentVersion(targetVersion);
+            for (final VulnerableSoftware vs : purlVsList) {
+                blackhole.consume(new ComponentVersion(vs.getVersionStartExcluding()).compareTo(target) < 0
+                        && new ComponentVersion(vs.getVersionEndIncluding()).compareTo(target) >= 0);
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VersionRangeMatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Dependency-Track.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.dependencytrack.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatObject;
+
+class ComponentVersionTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "1.2.3|1,2,3",
+            "10.0.0.1|10,0,0,1",
+            "v2.14.0|v2,14,0",
+            "2.14.0-rc1|2,14,0,rc1",
+            "1.0.0.Final|1,0,0",
+            "1.0.0-SNAPSHOT|1,0,0,snapshot",
+            "1.2.3a|1,2,3a",
+            "1:2.30-0ubuntu1.2|2,30",
+            "2022-01-01|2022,01,01",
+            "...|...",
+            "foo|foo"
+    })
+    void testParseVersion(final String version, final String expectedParts) {
+        final List<String> expected = Arrays.asList(expectedParts.split(","));
+        assertThat(new ComponentVersion(version).getVersionParts()).isEqualTo(expected);
+        assertThat(ComponentVersion.ofCached(version).getVersionParts()).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            "1.2.3, 1.2.4, -1",
+            "1.2.3, 1.2.3.0, 0",
+            "2.14.0, 2.9.1, 1",
+            "2.14.0-rc1, 2.14.0-rc2, -1"
+    })
+    void testCompareTo(final String left, final String right, final int expected) {
+        assertThat(Integer.signum(new ComponentVersion(left).compareTo(new ComponentVersion(right)))).isEqualTo(expected);
+        assertThat(Integer.signum(ComponentVersion.ofCached(left).compareTo(ComponentVersion.ofCached(right)))).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"1.2.3", "1.0.0-SNAPSHOT"})
+    void testOfCachedReturnsImmutableParts(final String version) {
+        final ComponentVersion first = ComponentVersion.ofCached(version);
+        final ComponentVersion second = ComponentVersion.ofCached(version);
+        assertThatObject(first).isNotSameAs(second);
+        assertThat(first.getVersionParts()).isSameAs(second.getVersionParts());
+        assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(() -> first.getVersionParts().add("4"));
+    }
+
+}